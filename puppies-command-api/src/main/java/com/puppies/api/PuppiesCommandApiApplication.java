@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
@@ -15,13 +16,14 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  * Key architectural features:
  * - Command side of CQRS (write operations only)
  * - JWT-based stateless authentication  
- * - Event publishing to RabbitMQ
+ * - Event publishing to RabbitMQ through a transactional outbox
  * - Business logic and validation
  * - Write database operations
  */
 @SpringBootApplication
 @EnableJpaRepositories
 @EnableTransactionManagement
+@EnableScheduling
 public class PuppiesCommandApiApplication {
 
     public static void main(String[] args) {
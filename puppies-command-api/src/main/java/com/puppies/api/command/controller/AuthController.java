@@ -4,6 +4,7 @@ import com.puppies.api.command.dto.AuthRequest;
 import com.puppies.api.command.dto.AuthResponse;
 import com.puppies.api.command.service.AuthService;
 import com.puppies.api.common.constants.ApiConstants;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,11 +31,29 @@ public class AuthController {
      * POST /api/auth/login (alias)
      * 
      * @param request Authentication request with email and password
+     * @param httpRequest The HTTP request, whose client address keys the login lockout
      * @return JWT token and user information
      */
     @PostMapping({"/token", "/login"})
-    public ResponseEntity<AuthResponse> authenticate(@Valid @RequestBody AuthRequest request) {
-        AuthResponse response = authService.authenticate(request);
+    public ResponseEntity<AuthResponse> authenticate(@Valid @RequestBody AuthRequest request,
+                                                     HttpServletRequest httpRequest) {
+        AuthResponse response = authService.authenticate(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Log out by revoking the presented JWT token.
+     * 
+     * POST /api/auth/logout
+     * 
+     * @param authorization Authorization header with the Bearer token
+     * @return Success response
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            authService.logout(authorization.substring(7));
+        }
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
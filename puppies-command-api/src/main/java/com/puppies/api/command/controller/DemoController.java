@@ -7,6 +7,7 @@ import com.puppies.api.command.service.ImageDownloadService;
 import com.puppies.api.command.service.PostCommandService;
 import com.puppies.api.command.service.SystemHealthService;
 import com.puppies.api.common.constants.ApiConstants;
+import com.puppies.api.event.PublisherConfirmTracker;
 import com.puppies.api.service.DogImageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -42,6 +43,7 @@ public class DemoController {
     private final ImageDownloadService imageDownloadService;
     private final SystemHealthService systemHealthService;
     private final DemoStatsService demoStatsService;
+    private final PublisherConfirmTracker publisherConfirmTracker;
     private final RestTemplate restTemplate;
 
     @Value("${app.query-api.base-url:" + ApiConstants.ApiUrls.DEFAULT_QUERY_API_BASE_URL + "}")
@@ -300,6 +302,13 @@ public class DemoController {
         }
     }
 
+    @Operation(summary = "📨 Event Publishing Stats", 
+               description = "Publisher confirm counters, in-flight depth and confirm latency histograms")
+    @GetMapping("/events/stats")
+    public ResponseEntity<?> getEventPublishingStats() {
+        return ResponseEntity.ok(publisherConfirmTracker.getStats());
+    }
+
     @Operation(summary = "🩺 System Health Check", 
                description = "Check health of all system components (Command API, Query API, Sync Worker, External APIs)")
     @GetMapping("/health")
@@ -4,12 +4,14 @@ import com.puppies.api.command.dto.CreatePostRequest;
 import com.puppies.api.command.dto.CreatePostResponse;
 import com.puppies.api.command.service.PostCommandService;
 import com.puppies.api.common.constants.ApiConstants;
+import com.puppies.api.security.AuthenticatedUser;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -58,12 +60,12 @@ public class PostCommandController {
      * POST /api/posts/{postId}/like
      * 
      * @param postId The ID of the post to like
-     * @param authentication The authenticated user
+     * @param user The authenticated user
      * @return Success response
      */
     @PostMapping("/{postId}/like")
-    public ResponseEntity<Void> likePost(@PathVariable Long postId, Authentication authentication) {
-        postCommandService.likePost(postId, authentication.getName());
+    public ResponseEntity<Void> likePost(@PathVariable Long postId, @AuthenticationPrincipal AuthenticatedUser user) {
+        postCommandService.likePost(postId, user);
         return ResponseEntity.noContent().build();
     }
 
@@ -5,9 +5,15 @@ import com.puppies.api.command.dto.AuthResponse;
 import com.puppies.api.data.entity.User;
 import com.puppies.api.data.repository.UserRepository;
 import com.puppies.api.security.JwtService;
+import com.puppies.api.security.ParsedTokenCache;
+import com.puppies.api.security.TokenDigest;
+import com.puppies.api.security.TokenRevocationCache;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
@@ -26,17 +32,25 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final TokenRevocationCache tokenRevocationCache;
+    private final ParsedTokenCache parsedTokenCache;
 
     /**
      * Authenticate user and generate JWT token.
      * 
      * @param request Authentication request with email and password
+     * @param clientAddress Address of the client, which together with the email keys the lockout
      * @return Response with JWT token and user information
      * @throws AuthenticationException if authentication fails
+     * @throws LockedException if the account is locked for this client after repeated failed logins
      */
-    public AuthResponse authenticate(AuthRequest request) {
+    public AuthResponse authenticate(AuthRequest request, String clientAddress) {
         log.info("Attempting authentication for user: {}", request.getEmail());
 
+        if (tokenRevocationCache.isLocked(request.getEmail(), clientAddress)) {
+            throw new LockedException("Account temporarily locked after repeated failed logins");
+        }
+
         try {
             // Authenticate user using Spring Security
             Authentication authentication = authenticationManager.authenticate(
@@ -47,6 +61,7 @@ public class AuthService {
             );
 
             log.info("Authentication successful for user: {}", request.getEmail());
+            tokenRevocationCache.recordLoginSuccess(request.getEmail(), clientAddress);
 
             // Extract user details from authentication object
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
@@ -57,15 +72,36 @@ public class AuthService {
             User user = userRepository.findByEmail(authenticatedEmail)
                     .orElseThrow(() -> new RuntimeException("User not found after successful authentication"));
 
-            // Generate JWT token using authenticated email (more secure)
-            String token = jwtService.generateToken(authenticatedEmail);
+            // Generate JWT token using authenticated email (more secure),
+            // carrying ID and name so later requests need no user lookup
+            String token = jwtService.generateToken(user.getId(), user.getName(), authenticatedEmail);
 
             // Return response with token and user info
             return AuthResponse.success(token, user.getId(), user.getName(), user.getEmail());
 
         } catch (AuthenticationException e) {
             log.warn("Authentication failed for user: {}", request.getEmail());
+            if (e instanceof BadCredentialsException) {
+                tokenRevocationCache.recordLoginFailure(request.getEmail(), clientAddress);
+            }
             throw e;
         }
     }
+
+    /**
+     * Revoke a token until it expires, so it stops authenticating requests.
+     * Invalid or expired tokens are ignored, since they already cannot authenticate.
+     * 
+     * @param token The JWT token to revoke
+     */
+    public void logout(String token) {
+        TokenDigest digest = TokenDigest.of(token);
+        try {
+            tokenRevocationCache.revoke(digest, jwtService.verify(token).expiresAt());
+            parsedTokenCache.invalidate(digest);
+            log.info("Token revoked on logout");
+        } catch (JwtException e) {
+            log.debug("Ignoring logout with invalid token: {}", e.getMessage());
+        }
+    }
 }
@@ -2,20 +2,19 @@ package com.puppies.api.command.service;
 
 import com.puppies.api.command.dto.CreatePostRequest;
 import com.puppies.api.command.dto.CreatePostResponse;
-import com.puppies.api.data.entity.Like;
 import com.puppies.api.data.entity.Post;
 import com.puppies.api.data.entity.User;
 import com.puppies.api.data.repository.LikeRepository;
 import com.puppies.api.data.repository.PostRepository;
 import com.puppies.api.data.repository.UserRepository;
-import com.puppies.api.event.EventPublisher;
+import com.puppies.api.event.EventOutbox;
 import com.puppies.api.event.PostCreatedEvent;
 import com.puppies.api.event.PostLikedEvent;
 import com.puppies.api.event.PostUnlikedEvent;
 import com.puppies.api.exception.ResourceNotFoundException;
+import com.puppies.api.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -33,7 +32,7 @@ public class PostCommandService {
     private final UserRepository userRepository;
     private final LikeRepository likeRepository;
     private final FileStorageService fileStorageService;
-    private final EventPublisher eventPublisher;
+    private final EventOutbox eventOutbox;
 
     /**
      * Create a new post with image upload.
@@ -44,7 +43,6 @@ public class PostCommandService {
      * @return Response with created post information
      */
     @Transactional
-    @CacheEvict(value = {"feed", "posts"}, allEntries = true)
     public CreatePostResponse createPost(CreatePostRequest request, MultipartFile image, String authorEmail) {
         log.info("Creating new post for user: {}", authorEmail);
 
@@ -65,7 +63,7 @@ public class PostCommandService {
         // Save post to database
         Post savedPost = postRepository.save(post);
 
-        // 🚀 PUBLISH DOMAIN EVENT for read store synchronization
+        // 🚀 RECORD DOMAIN EVENT in the outbox; the relay publishes it after commit
         PostCreatedEvent event = PostCreatedEvent.from(
                 savedPost.getId(),
                 savedPost.getAuthor().getId(),
@@ -74,9 +72,9 @@ public class PostCommandService {
                 savedPost.getTextContent(),
                 savedPost.getCreatedAt()
         );
-        eventPublisher.publishEvent(event);
+        eventOutbox.append(event);
 
-        log.info("Post created successfully with ID: {} and event published", savedPost.getId());
+        log.info("Post created successfully with ID: {} and event recorded", savedPost.getId());
 
         // Return response DTO
         return CreatePostResponse.from(
@@ -91,37 +89,32 @@ public class PostCommandService {
     /**
      * Like a post.
      * 
+     * The user comes from the authenticated principal and the like is inserted with a
+     * single statement that skips duplicates, so the happy path neither loads the user
+     * nor the post. Only a skipped insert checks whether the post exists.
+     * 
      * @param postId The ID of the post to like
-     * @param userEmail The email of the authenticated user
+     * @param user The authenticated user
      * @throws ResourceNotFoundException if post not found
      * @throws IllegalStateException if post is already liked by user
      */
     @Transactional
-    @CacheEvict(value = {"posts", "feed"}, allEntries = true)
-    public void likePost(Long postId, String userEmail) {
-        log.info("User {} attempting to like post {}", userEmail, postId);
-
-        // Find user and post
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userEmail));
-
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found: " + postId));
-
-        // Check if already liked
-        if (likeRepository.existsByUserIdAndPostId(user.getId(), postId)) {
+    public void likePost(Long postId, AuthenticatedUser user) {
+        log.info("User {} attempting to like post {}", user.email(), postId);
+
+        // Insert the like unless it exists; zero rows means duplicate or missing post
+        if (likeRepository.insertIfAbsent(user.id(), postId) == 0) {
+            if (!postRepository.existsById(postId)) {
+                throw new ResourceNotFoundException("Post not found: " + postId);
+            }
             throw new IllegalStateException("Post already liked by user");
         }
 
-        // Create new like
-        Like like = new Like(user, post);
-        likeRepository.save(like);
-
-        // 🚀 PUBLISH DOMAIN EVENT for read store synchronization
-        PostLikedEvent event = PostLikedEvent.from(postId, user.getId(), user.getName());
-        eventPublisher.publishEvent(event);
+        // 🚀 RECORD DOMAIN EVENT in the outbox; the relay publishes it after commit
+        PostLikedEvent event = PostLikedEvent.from(postId, user.id(), user.name());
+        eventOutbox.append(event);
 
-        log.info("Post {} liked successfully by user {} and event published", postId, userEmail);
+        log.info("Post {} liked successfully by user {} and event recorded", postId, user.email());
     }
 
     /**
@@ -132,7 +125,6 @@ public class PostCommandService {
      * @throws ResourceNotFoundException if post not found or not liked
      */
     @Transactional
-    @CacheEvict(value = {"posts", "feed"}, allEntries = true)
     public void unlikePost(Long postId, String userEmail) {
         log.info("User {} attempting to unlike post {}", userEmail, postId);
 
@@ -153,11 +145,11 @@ public class PostCommandService {
         // Remove like
         likeRepository.deleteByUserIdAndPostId(user.getId(), postId);
 
-        // 🚀 PUBLISH DOMAIN EVENT for read store synchronization
+        // 🚀 RECORD DOMAIN EVENT in the outbox; the relay publishes it after commit
         PostUnlikedEvent event = PostUnlikedEvent.from(postId, user.getId(), user.getName());
-        eventPublisher.publishEvent(event);
+        eventOutbox.append(event);
 
-        log.info("Post {} unliked successfully by user {} and event published", postId, userEmail);
+        log.info("Post {} unliked successfully by user {} and event recorded", postId, userEmail);
     }
 
 }
\ No newline at end of file
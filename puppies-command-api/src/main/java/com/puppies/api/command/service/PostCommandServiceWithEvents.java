@@ -15,7 +15,6 @@ import com.puppies.api.event.PostUnlikedEvent;
 import com.puppies.api.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -41,7 +40,6 @@ public class PostCommandServiceWithEvents {
      * Create a new post with image upload and publish PostCreatedEvent.
      */
     @Transactional
-    @CacheEvict(value = {"feed", "posts"}, allEntries = true)
     public CreatePostResponse createPost(CreatePostRequest request, MultipartFile image, String authorEmail) {
         log.info("Creating new post for user: {}", authorEmail);
 
@@ -89,7 +87,6 @@ public class PostCommandServiceWithEvents {
      * Like a post and publish PostLikedEvent.
      */
     @Transactional
-    @CacheEvict(value = {"posts", "feed"}, allEntries = true)
     public void likePost(Long postId, String userEmail) {
         log.info("User {} attempting to like post {}", userEmail, postId);
 
@@ -120,7 +117,6 @@ public class PostCommandServiceWithEvents {
      * Unlike a post and publish PostUnlikedEvent.
      */
     @Transactional
-    @CacheEvict(value = {"posts", "feed"}, allEntries = true)
     public void unlikePost(Long postId, String userEmail) {
         log.info("User {} attempting to unlike post {}", userEmail, postId);
 
@@ -3,6 +3,7 @@ package com.puppies.api.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.puppies.api.event.PublisherConfirmTracker;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
@@ -170,12 +171,17 @@ public class RabbitMQConfig {
 
     /**
      * RabbitTemplate with JSON converter.
+     * Publisher confirms and returns are reported to the confirm tracker, which bounds
+     * the events in flight and measures confirm latency.
      */
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory,
+                                         PublisherConfirmTracker confirmTracker) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter());
         template.setMandatory(true); // Ensure messages are routed
+        template.setConfirmCallback(confirmTracker);
+        template.setReturnsCallback(confirmTracker);
         return template;
     }
 
@@ -0,0 +1,75 @@
+package com.puppies.api.data.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event waiting in the transactional outbox.
+ * 
+ * Rows are written in the same transaction as the change they describe, so an event
+ * exists exactly when its change committed. The outbox relay publishes them to RabbitMQ
+ * and deletes each row once the broker confirms it. Rows that fail too often are
+ * dead-lettered: they stay in the table for inspection but are no longer relayed.
+ */
+@Entity
+@Table(name = "event_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "id")
+@ToString(exclude = {"payload"})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true, length = 36)
+    private String eventId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "aggregate_id", length = 50)
+    private String aggregateId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "dead_lettered_at")
+    private LocalDateTime deadLetteredAt;
+
+    /**
+     * Record a failed relay attempt; the row stays in the outbox for the next run.
+     */
+    public void recordFailure(String reason) {
+        this.attempts++;
+        this.lastError = reason != null && reason.length() > 500 ? reason.substring(0, 500) : reason;
+    }
+
+    /**
+     * Stop relaying this event; it stays in the outbox for inspection or a manual replay.
+     */
+    public void deadLetter() {
+        this.deadLetteredAt = LocalDateTime.now();
+    }
+
+    public boolean isDeadLettered() {
+        return deadLetteredAt != null;
+    }
+}
@@ -44,6 +44,19 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     @Query("DELETE FROM Like l WHERE l.user.id = :userId AND l.post.id = :postId")
     void deleteByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
 
+    /**
+     * Insert a like in a single statement, unless it already exists.
+     * The post is checked in the same statement, so nothing is inserted for a missing post.
+     * 
+     * @return 1 if the like was inserted, 0 if it already existed or the post does not exist
+     */
+    @Modifying
+    @Query(value = "INSERT INTO likes (user_id, post_id, created_at) " +
+                   "SELECT :userId, p.id, CURRENT_TIMESTAMP FROM posts p WHERE p.id = :postId " +
+                   "ON CONFLICT (user_id, post_id) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("postId") Long postId);
+
     /**
      * Count total likes received by a user across all their posts.
      */
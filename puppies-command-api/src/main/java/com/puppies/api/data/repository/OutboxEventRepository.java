@@ -0,0 +1,24 @@
+package com.puppies.api.data.repository;
+
+import com.puppies.api.data.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for the transactional event outbox.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Lock the oldest pending events for relaying; dead-lettered events are skipped.
+     * SKIP LOCKED lets several relay instances drain the outbox without waiting on each other.
+     */
+    @Query(value = "SELECT * FROM event_outbox WHERE dead_lettered_at IS NULL ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,64 @@
+package com.puppies.api.event;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram over fixed bucket bounds.
+ * Cheap enough to record on every publish and every confirm.
+ */
+final class BucketHistogram {
+
+    private final long[] upperBounds;
+    private final String unit;
+    private final LongAdder[] buckets;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * @param upperBounds ascending exclusive upper bounds; values above the last go to an overflow bucket
+     * @param unit        suffix for bucket names, e.g. "ms"
+     */
+    BucketHistogram(long[] upperBounds, String unit) {
+        this.upperBounds = upperBounds.clone();
+        this.unit = unit;
+        this.buckets = new LongAdder[upperBounds.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long value) {
+        long sample = Math.max(0L, value);
+        int bucket = 0;
+        while (bucket < upperBounds.length && sample >= upperBounds[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        total.add(sample);
+        max.accumulate(sample);
+    }
+
+    /**
+     * Count, mean and max, plus bucket counts keyed by their bound
+     * ("lt_5ms" counts values below 5ms and at or above the previous bound).
+     */
+    Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        long samples = count.sum();
+        snapshot.put("count", samples);
+        snapshot.put("mean", samples == 0 ? 0.0 : (double) total.sum() / samples);
+        snapshot.put("max", max.get());
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < upperBounds.length; i++) {
+            counts.put("lt_" + upperBounds[i] + unit, buckets[i].sum());
+        }
+        counts.put("ge_" + upperBounds[upperBounds.length - 1] + unit, buckets[upperBounds.length].sum());
+        snapshot.put("buckets", counts);
+        return snapshot;
+    }
+}
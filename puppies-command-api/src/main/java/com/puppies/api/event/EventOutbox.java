@@ -0,0 +1,52 @@
+package com.puppies.api.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.puppies.api.data.entity.OutboxEvent;
+import com.puppies.api.data.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Transactional outbox for domain events.
+ * 
+ * Commands append their events here instead of publishing them directly. The event row
+ * commits or rolls back together with the command's changes, so a rolled back command
+ * never emits an event, and the command no longer waits on RabbitMQ. The
+ * {@link OutboxRelay} publishes the rows in the background.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Append an event to the outbox as part of the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(DomainEvent event) {
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+                .eventId(event.getEventId())
+                .eventType(event.getEventType())
+                .aggregateId(event.getAggregateId())
+                .payload(serialize(event))
+                .build();
+        outboxEventRepository.save(outboxEvent);
+
+        log.debug("Event {} with ID: {} appended to outbox", event.getEventType(), event.getEventId());
+    }
+
+    private String serialize(DomainEvent event) {
+        try {
+            return objectMapper.writerFor(DomainEvent.class).writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new EventPublisher.EventPublishingException("Failed to serialize event", e);
+        }
+    }
+}
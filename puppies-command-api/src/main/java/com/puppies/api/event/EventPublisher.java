@@ -3,9 +3,12 @@ package com.puppies.api.event;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service for publishing domain events to RabbitMQ.
  * 
@@ -19,6 +22,7 @@ public class EventPublisher {
 
     private final RabbitTemplate rabbitTemplate;
     private final ObjectMapper objectMapper;
+    private final PublisherConfirmTracker confirmTracker;
     
     // Exchange and routing key constants
     private static final String DOMAIN_EVENTS_EXCHANGE = "puppies.domain.events";
@@ -55,6 +59,66 @@ public class EventPublisher {
         }
     }
 
+    /**
+     * Publish a domain event without blocking on the broker.
+     * 
+     * The send takes an in-flight slot and returns; the broker's publisher confirm
+     * completes the returned future asynchronously. Nacked or returned events are
+     * resent with backoff until they are confirmed or run out of attempts, in which
+     * case the future fails with an {@link EventPublishingException}. Callers can
+     * therefore keep many events in flight and wait for their confirms together.
+     */
+    public CompletableFuture<Void> publishConfirmed(DomainEvent event) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        send(event, 1, result);
+        return result;
+    }
+
+    private void send(DomainEvent event, int attempt, CompletableFuture<Void> result) {
+        String routingKey = getRoutingKey(event);
+        CorrelationData correlationData;
+        try {
+            correlationData = confirmTracker.begin(event.getEventId() + ":" + attempt);
+        } catch (EventPublishingException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+
+        try {
+            rabbitTemplate.convertAndSend(DOMAIN_EVENTS_EXCHANGE, routingKey, event, correlationData);
+        } catch (Exception e) {
+            confirmTracker.abandon(correlationData);
+            retryOrFail(event, attempt, "Send failed: " + e.getMessage(), result);
+            return;
+        }
+
+        correlationData.getFuture().whenComplete((confirm, error) -> {
+            String failure = null;
+            if (error != null) {
+                failure = "Confirm failed: " + error.getMessage();
+            } else if (!confirm.isAck()) {
+                failure = "Nacked by broker: " + confirm.getReason();
+            } else if (correlationData.getReturned() != null) {
+                failure = "Returned by broker: " + correlationData.getReturned().getReplyText();
+            }
+
+            if (failure == null) {
+                log.debug("Event {} confirmed after {} attempt(s)", event.getEventId(), attempt);
+                result.complete(null);
+            } else {
+                retryOrFail(event, attempt, failure, result);
+            }
+        });
+    }
+
+    private void retryOrFail(DomainEvent event, int attempt, String failure, CompletableFuture<Void> result) {
+        log.warn("Event {} attempt {} not confirmed: {}", event.getEventId(), attempt, failure);
+        if (!confirmTracker.scheduleRetry(attempt, () -> send(event, attempt + 1, result))) {
+            result.completeExceptionally(new EventPublishingException(
+                    "Event " + event.getEventId() + " not confirmed after " + attempt + " attempts: " + failure, null));
+        }
+    }
+
     /**
      * Determine the routing key based on event type.
      */
@@ -0,0 +1,181 @@
+package com.puppies.api.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.puppies.api.data.entity.OutboxEvent;
+import com.puppies.api.data.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background relay draining the transactional outbox to RabbitMQ.
+ *
+ * Each run locks a batch of the oldest outbox rows, publishes them without waiting, then
+ * waits once for the broker's publisher confirms. Events of different aggregates are pipelined;
+ * an event is only sent once the previous event of its aggregate in the batch is confirmed, so
+ * each aggregate's events reach the broker in outbox order. Confirmed rows are deleted in the
+ * same transaction; rows that were not confirmed in time, or ran out of publish retries, stay
+ * in the outbox and are retried on the next run, and so do the later rows of their aggregate,
+ * which are held back without counting as a failed attempt. A row that has failed max-attempts
+ * times, such as an unreadable payload or an unroutable event, is dead-lettered so it no longer
+ * holds up the events behind it. Delivery is at-least-once, so consumers must tolerate the
+ * occasional duplicate (for example after a confirm timeout).
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+    private final int maxAttempts;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       EventPublisher eventPublisher,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+                       @Value("${outbox.relay.max-attempts:10}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Drain the outbox, batch after batch, until a batch comes back short or not fully settled.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:200}")
+    public void drain() {
+        try {
+            BatchResult result;
+            do {
+                result = transactionTemplate.execute(status -> relayBatch());
+            } while (result != null && result.fetched() == batchSize
+                    && result.confirmed() + result.deadLettered() == result.fetched());
+        } catch (Exception e) {
+            log.error("Outbox relay run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Publish one locked batch and settle it against the broker's confirms.
+     */
+    BatchResult relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return new BatchResult(0, 0, 0);
+        }
+
+        // Publish the whole batch first, chaining each aggregate's events on the previous confirm
+        AtomicBoolean settled = new AtomicBoolean();
+        Map<String, CompletableFuture<Void>> lastConfirmByAggregate = new HashMap<>();
+        List<CompletableFuture<Void>> confirms = new ArrayList<>(batch.size());
+        for (OutboxEvent outboxEvent : batch) {
+            CompletableFuture<Void> previous = outboxEvent.getAggregateId() != null
+                    ? lastConfirmByAggregate.get(outboxEvent.getAggregateId()) : null;
+            CompletableFuture<Void> confirm = previous == null
+                    ? publish(outboxEvent)
+                    : previous.thenCompose(ignored -> settled.get()
+                            ? CompletableFuture.failedFuture(new IllegalStateException("Batch already settled"))
+                            : publish(outboxEvent));
+            confirms.add(confirm);
+            if (outboxEvent.getAggregateId() != null) {
+                lastConfirmByAggregate.put(outboxEvent.getAggregateId(), confirm);
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        List<OutboxEvent> confirmed = new ArrayList<>(batch.size());
+        Set<String> blockedAggregates = new HashSet<>();
+        int deadLettered = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent outboxEvent = batch.get(i);
+            if (outboxEvent.getAggregateId() != null && blockedAggregates.contains(outboxEvent.getAggregateId())) {
+                // An earlier event of this aggregate was not relayed, so this one waits for the next run
+                continue;
+            }
+            String failure = awaitConfirm(confirms.get(i), deadline);
+            if (failure == null) {
+                confirmed.add(outboxEvent);
+                continue;
+            }
+            if (outboxEvent.getAggregateId() != null) {
+                blockedAggregates.add(outboxEvent.getAggregateId());
+            }
+            outboxEvent.recordFailure(failure);
+            if (outboxEvent.getAttempts() >= maxAttempts) {
+                outboxEvent.deadLetter();
+                deadLettered++;
+                log.error("Outbox event {} ({}) dead-lettered after {} attempts: {}",
+                        outboxEvent.getEventId(), outboxEvent.getEventType(), outboxEvent.getAttempts(), failure);
+                continue;
+            }
+            log.warn("Outbox event {} ({}) not relayed, attempt {}: {}",
+                    outboxEvent.getEventId(), outboxEvent.getEventType(), outboxEvent.getAttempts(), failure);
+        }
+        settled.set(true);
+        outboxEventRepository.deleteAllInBatch(confirmed);
+
+        log.debug("Outbox relay published {} of {} events", confirmed.size(), batch.size());
+        return new BatchResult(batch.size(), confirmed.size(), deadLettered);
+    }
+
+    /**
+     * Send one outbox row; the future completes once the broker confirms it.
+     */
+    private CompletableFuture<Void> publish(OutboxEvent outboxEvent) {
+        try {
+            DomainEvent event = objectMapper.readValue(outboxEvent.getPayload(), DomainEvent.class);
+            return eventPublisher.publishConfirmed(event);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(
+                    new EventPublisher.EventPublishingException("Publish failed: " + e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Wait for a confirm until the batch deadline; returns the failure reason, or null if confirmed.
+     */
+    private String awaitConfirm(CompletableFuture<Void> confirm, long deadline) {
+        try {
+            long remaining = Math.max(0L, deadline - System.nanoTime());
+            confirm.get(remaining, TimeUnit.NANOSECONDS);
+            return null;
+        } catch (TimeoutException e) {
+            return "No publisher confirm within " + confirmTimeoutMs + "ms";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted while waiting for publisher confirm";
+        } catch (ExecutionException e) {
+            return e.getCause().getMessage();
+        }
+    }
+
+    record BatchResult(int fetched, int confirmed, int deadLettered) {
+    }
+}
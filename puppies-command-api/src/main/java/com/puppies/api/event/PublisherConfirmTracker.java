@@ -0,0 +1,179 @@
+package com.puppies.api.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks publishes that are waiting for a publisher confirm.
+ *
+ * Registered as the RabbitTemplate's confirm and returns callback. Publishers take a slot
+ * before each send, so many events can be in flight on a channel while the number of
+ * unconfirmed events stays bounded; the slot is released when the broker acks or nacks.
+ * Also schedules retries of nacked or returned events with exponential backoff, and records
+ * in-flight depth and confirm latency for monitoring.
+ */
+@Component
+@Slf4j
+public class PublisherConfirmTracker implements RabbitTemplate.ConfirmCallback, RabbitTemplate.ReturnsCallback {
+
+    private final int maxInFlight;
+    private final long acquireTimeoutMs;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    private final Semaphore slots;
+    private final Map<String, Long> sentAt = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService retryScheduler;
+    private final BucketHistogram confirmLatencyMs = new BucketHistogram(
+            new long[] {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000}, "ms");
+    private final BucketHistogram inFlightDepth = new BucketHistogram(
+            new long[] {1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024}, "");
+
+    private final LongAdder acked = new LongAdder();
+    private final LongAdder nacked = new LongAdder();
+    private final LongAdder returned = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public PublisherConfirmTracker(@Value("${events.publisher.max-in-flight:500}") int maxInFlight,
+                                   @Value("${events.publisher.acquire-timeout-ms:5000}") long acquireTimeoutMs,
+                                   @Value("${events.publisher.max-attempts:5}") int maxAttempts,
+                                   @Value("${events.publisher.initial-backoff-ms:100}") long initialBackoffMs,
+                                   @Value("${events.publisher.max-backoff-ms:2000}") long maxBackoffMs) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = Math.max(1L, initialBackoffMs);
+        this.maxBackoffMs = Math.max(this.initialBackoffMs, maxBackoffMs);
+        this.slots = new Semaphore(this.maxInFlight);
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-publish-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Take an in-flight slot for a send, waiting while the window is full.
+     *
+     * @throws EventPublisher.EventPublishingException if no slot frees up in time
+     */
+    public CorrelationData begin(String correlationId) {
+        try {
+            if (!slots.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new EventPublisher.EventPublishingException(
+                        "Too many unconfirmed events in flight (" + maxInFlight + ")", null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventPublisher.EventPublishingException("Interrupted while waiting for a publish slot", e);
+        }
+        inFlightDepth.record(getInFlight());
+        sentAt.put(correlationId, System.nanoTime());
+        return new CorrelationData(correlationId);
+    }
+
+    /**
+     * Give back the slot of a send that never reached the broker.
+     */
+    public void abandon(CorrelationData correlationData) {
+        if (sentAt.remove(correlationData.getId()) != null) {
+            slots.release();
+        }
+    }
+
+    @Override
+    public void confirm(CorrelationData correlationData, boolean ack, String cause) {
+        if (correlationData == null) {
+            return;
+        }
+        Long started = sentAt.remove(correlationData.getId());
+        if (started == null) {
+            return;
+        }
+        slots.release();
+        confirmLatencyMs.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        if (ack) {
+            acked.increment();
+        } else {
+            nacked.increment();
+            log.warn("Event {} nacked by broker: {}", correlationData.getId(), cause);
+        }
+    }
+
+    @Override
+    public void returnedMessage(ReturnedMessage returnedMessage) {
+        returned.increment();
+        log.warn("Event returned by broker ({} {}): exchange={}, routingKey={}",
+                returnedMessage.getReplyCode(), returnedMessage.getReplyText(),
+                returnedMessage.getExchange(), returnedMessage.getRoutingKey());
+    }
+
+    /**
+     * Schedule another attempt after a failed one, with exponential backoff.
+     *
+     * @param attempt the attempt that just failed, starting at 1
+     * @return false when the event has used up its attempts
+     */
+    public boolean scheduleRetry(int attempt, Runnable retry) {
+        if (attempt >= maxAttempts) {
+            failed.increment();
+            return false;
+        }
+        retried.increment();
+        retryScheduler.schedule(retry, backoffMs(attempt), TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    /**
+     * Delay before the attempt following {@code attempt}: initial backoff doubled per attempt, capped.
+     */
+    long backoffMs(int attempt) {
+        long backoff = initialBackoffMs << Math.min(attempt - 1, 20);
+        return Math.min(backoff, maxBackoffMs);
+    }
+
+    /**
+     * Current number of unconfirmed events.
+     */
+    public int getInFlight() {
+        return maxInFlight - slots.availablePermits();
+    }
+
+    /**
+     * Confirm counters, in-flight depth and confirm latency histograms for monitoring.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("inFlight", getInFlight());
+        stats.put("maxInFlight", maxInFlight);
+        stats.put("acked", acked.sum());
+        stats.put("nacked", nacked.sum());
+        stats.put("returned", returned.sum());
+        stats.put("retried", retried.sum());
+        stats.put("failed", failed.sum());
+        stats.put("inFlightDepth", inFlightDepth.snapshot());
+        stats.put("confirmLatencyMs", confirmLatencyMs.snapshot());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+}
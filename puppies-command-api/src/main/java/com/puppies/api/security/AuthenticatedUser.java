@@ -0,0 +1,22 @@
+package com.puppies.api.security;
+
+import java.security.Principal;
+
+/**
+ * Principal of an authenticated request.
+ * 
+ * Carries the user's ID and name next to the email, so commands can act on the
+ * user without loading the User entity again. {@link #getName()} returns the email,
+ * which keeps {@code Authentication.getName()} working as before.
+ *
+ * @param id    user ID
+ * @param email user email (the JWT subject)
+ * @param name  user display name
+ */
+public record AuthenticatedUser(Long id, String email, String name) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
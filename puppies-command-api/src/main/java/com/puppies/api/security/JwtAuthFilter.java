@@ -9,13 +9,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 /**
  * JWT Authentication Filter that intercepts HTTP requests to validate JWT tokens.
@@ -25,6 +24,12 @@ import java.io.IOException;
  * 2. Validates the token using JwtService
  * 3. Sets the authentication in SecurityContext if token is valid
  * 
+ * The principal comes from the token's user ID and name claims, so authenticated
+ * requests do not touch the database. Older tokens without those claims resolve
+ * their principal through the PrincipalCache. Verified tokens are cached by digest,
+ * so a warm token skips signature verification and claims parsing, and every token
+ * is checked against the revocation cache. Login lockout only blocks password logins.
+ * 
  * This enables stateless authentication for the REST API.
  */
 @Component
@@ -33,7 +38,9 @@ import java.io.IOException;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final ParsedTokenCache parsedTokenCache;
+    private final TokenRevocationCache tokenRevocationCache;
 
     @Override
     protected void doFilterInternal(
@@ -50,7 +57,6 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // Check if Authorization header exists and starts with "Bearer "
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -62,32 +68,25 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            // Extract username (email) from JWT token
-            userEmail = jwtService.extractUsername(jwt);
-
-            // If we have a username and no authentication is set yet
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                
-                // Load user details from database
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-                // Validate token against user details
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null, // No credentials needed for JWT
-                            userDetails.getAuthorities()
-                    );
-                    
-                    // Set authentication details
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
-                    // Set authentication in SecurityContext
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    
-                    log.debug("JWT authentication successful for user: {}", userEmail);
+            // Only authenticate if no authentication is set yet
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+
+                // Reuse the verified token if cached, otherwise verify and cache it
+                TokenDigest digest = TokenDigest.of(jwt);
+                VerifiedToken token = parsedTokenCache.get(digest);
+                if (token == null) {
+                    token = jwtService.verify(jwt);
+                    if (token.principal() == null) {
+                        token = token.withPrincipal(principalCache.get(token.subject()));
+                    }
+                    parsedTokenCache.put(digest, token);
+                }
+
+                // Reject logged out tokens
+                if (tokenRevocationCache.isRevoked(digest)) {
+                    log.debug("Rejected revoked token for user: {}", token.subject());
+                } else {
+                    authenticate(token.principal(), request);
                 }
             }
         } catch (Exception e) {
@@ -100,6 +99,26 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Set the authenticated principal in the SecurityContext.
+     */
+    private void authenticate(AuthenticatedUser principal, HttpServletRequest request) {
+        // Create authentication token
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null, // No credentials needed for JWT
+                Collections.emptyList() // No specific authorities for this simple implementation
+        );
+
+        // Set authentication details
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        // Set authentication in SecurityContext
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        log.debug("JWT authentication successful for user: {}", principal.email());
+    }
+
     /**
      * Check if the request path is a public endpoint that doesn't require authentication.
      */
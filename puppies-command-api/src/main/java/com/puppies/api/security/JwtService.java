@@ -1,6 +1,7 @@
 package com.puppies.api.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -22,12 +23,19 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
+    // Claims carrying the principal, so requests need no user lookup
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String USER_NAME_CLAIM = "name";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    private volatile SecretKey signInKey;
+    private volatile JwtParser parser;
+
     /**
      * Extract username (email) from JWT token.
      */
@@ -58,6 +66,16 @@ public class JwtService {
         return generateToken(claims, username);
     }
 
+    /**
+     * Generate JWT token carrying the user's ID and name as claims.
+     */
+    public String generateToken(Long userId, String name, String username) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userId);
+        claims.put(USER_NAME_CLAIM, name);
+        return generateToken(claims, username);
+    }
+
     /**
      * Generate JWT token with custom claims.
      */
@@ -78,6 +96,33 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Verify a token's signature and expiry and read everything authentication needs
+     * from its claims, in a single parse.
+     * 
+     * @return the verified token; its principal is null if the token predates the
+     *         user ID and name claims
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return new VerifiedToken(
+                claims.getSubject(),
+                principalFrom(claims),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L,
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE
+        );
+    }
+
+    private AuthenticatedUser principalFrom(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        String name = claims.get(USER_NAME_CLAIM, String.class);
+        if (!(userId instanceof Number id) || name == null || claims.getSubject() == null) {
+            return null;
+        }
+        return new AuthenticatedUser(id.longValue(), claims.getSubject(), name);
+    }
+
     /**
      * Validate JWT token against user details.
      */
@@ -97,18 +142,31 @@ public class JwtService {
      * Extract all claims from JWT token.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
     /**
-     * Get the signing key for JWT operations.
+     * Get the signing key for JWT operations, derived once from the configured secret.
      */
     private SecretKey getSignInKey() {
-        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        if (signInKey == null) {
+            byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
+            signInKey = Keys.hmacShaKeyFor(keyBytes);
+        }
+        return signInKey;
+    }
+
+    /**
+     * Get the token parser; it is immutable and thread-safe, so one instance is reused.
+     */
+    private JwtParser getParser() {
+        if (parser == null) {
+            parser = Jwts.parser()
+                    .verifyWith(getSignInKey())
+                    .build();
+        }
+        return parser;
     }
 }
\ No newline at end of file
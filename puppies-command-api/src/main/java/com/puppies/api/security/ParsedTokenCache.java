@@ -0,0 +1,76 @@
+package com.puppies.api.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of verified tokens keyed by token digest.
+ * 
+ * A warm token skips HMAC verification and claims parsing in {@link JwtService}:
+ * authentication becomes a digest and a map lookup. Entries are only served until the
+ * token's own expiry, and the map is bounded; when it is full, expired entries are
+ * dropped first and then arbitrary ones down to 90% of the bound, which at worst costs
+ * those tokens a re-verification.
+ */
+@Component
+public class ParsedTokenCache {
+
+    private final Map<TokenDigest, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    public ParsedTokenCache(@Value("${jwt.token-cache.max-size:10000}") int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    ParsedTokenCache(int maxSize, LongSupplier clock) {
+        this.maxSize = Math.max(1, maxSize);
+        this.clock = clock;
+    }
+
+    /**
+     * Verified token for a digest, or null if it is not cached or has expired.
+     */
+    public VerifiedToken get(TokenDigest digest) {
+        VerifiedToken token = tokens.get(digest);
+        if (token == null) {
+            return null;
+        }
+        if (token.isExpired(clock.getAsLong())) {
+            tokens.remove(digest, token);
+            return null;
+        }
+        return token;
+    }
+
+    public void put(TokenDigest digest, VerifiedToken token) {
+        if (tokens.size() >= maxSize) {
+            makeRoom();
+        }
+        tokens.put(digest, token);
+    }
+
+    public void invalidate(TokenDigest digest) {
+        tokens.remove(digest);
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private void makeRoom() {
+        long now = clock.getAsLong();
+        tokens.values().removeIf(token -> token.isExpired(now));
+        Iterator<TokenDigest> iterator = tokens.keySet().iterator();
+        int target = maxSize - Math.max(1, maxSize / 10);
+        while (tokens.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.puppies.api.security;
+
+import com.puppies.api.data.entity.User;
+import com.puppies.api.data.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory cache of authenticated principals by email.
+ * 
+ * Tokens issued before user ID and name were added to the claims only carry the email;
+ * for those, the filter resolves the principal here, which hits the database once per
+ * user and TTL instead of on every request. Bounded and LRU-evicted.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final LongSupplier clock;
+    private final Map<String, CachedPrincipal> principals;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${jwt.principal-cache.ttl-ms:300000}") long ttlMs,
+                          @Value("${jwt.principal-cache.max-size:10000}") int maxSize) {
+        this(userRepository, ttlMs, maxSize, System::currentTimeMillis);
+    }
+
+    PrincipalCache(UserRepository userRepository, long ttlMs, int maxSize, LongSupplier clock) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+        this.principals = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Principal for an email, loaded from the database when missing or expired.
+     *
+     * @throws UsernameNotFoundException if no user has this email
+     */
+    public AuthenticatedUser get(String email) {
+        long now = clock.getAsLong();
+        CachedPrincipal cached = principals.get(email);
+        if (cached != null && now - cached.loadedAt() < ttlMs) {
+            return cached.principal();
+        }
+
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getEmail(), user.getName());
+        principals.put(email, new CachedPrincipal(principal, now));
+        log.debug("Principal cached for user: {}", email);
+        return principal;
+    }
+
+    private record CachedPrincipal(AuthenticatedUser principal, long loadedAt) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.puppies.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Token revocation and password login lockout state.
+ * 
+ * Since requests are authenticated from the signed token alone, this is how a token
+ * stops working before it expires: logged out tokens are revoked by digest, and each
+ * entry expires on its own at the token's {@code exp}. Failed password logins are counted
+ * per email and client address, and too many lock password logins for that pair only;
+ * other clients can still log in to the account and its existing tokens keep working, so
+ * failed guesses cannot lock out or log out a user.
+ * 
+ * All three maps are bounded Caffeine caches. The bound on revoked tokens is a trade-off:
+ * once it is exceeded, the oldest revocations are evicted and those tokens work again
+ * until they expire, so it should cover the logouts expected within one token lifetime.
+ * The state is per instance: a token revoked on one node is still accepted by the
+ * others, so a multi-node deployment must route logout-sensitive traffic to one node or
+ * share revocations before relying on logout.
+ */
+@Component
+@Slf4j
+public class TokenRevocationCache {
+
+    private final Cache<TokenDigest, Long> revokedTokens;
+    private final Cache<LoginKey, Long> lockedUntil;
+    private final Cache<LoginKey, LoginFailures> loginFailures;
+
+    private final int maxLoginFailures;
+    private final long failureWindowMs;
+    private final long lockoutMs;
+    private final LongSupplier clock;
+
+    public TokenRevocationCache(@Value("${jwt.lockout.max-failures:5}") int maxLoginFailures,
+                                @Value("${jwt.lockout.failure-window-ms:900000}") long failureWindowMs,
+                                @Value("${jwt.lockout.duration-ms:900000}") long lockoutMs,
+                                @Value("${jwt.lockout.max-tracked-logins:10000}") long maxTrackedLogins,
+                                @Value("${jwt.revocation.max-tokens:100000}") long maxRevokedTokens) {
+        this(maxLoginFailures, failureWindowMs, lockoutMs, maxTrackedLogins, maxRevokedTokens,
+                System::currentTimeMillis);
+    }
+
+    TokenRevocationCache(int maxLoginFailures, long failureWindowMs, long lockoutMs, long maxTrackedLogins,
+                         long maxRevokedTokens, LongSupplier clock) {
+        this.maxLoginFailures = Math.max(1, maxLoginFailures);
+        this.failureWindowMs = failureWindowMs;
+        this.lockoutMs = lockoutMs;
+        this.clock = clock;
+        this.revokedTokens = Caffeine.newBuilder()
+                .maximumSize(maxRevokedTokens)
+                .expireAfter(Expiry.creating((TokenDigest digest, Long expiresAt) ->
+                        Duration.ofMillis(Math.max(0L, expiresAt - clock.getAsLong()))))
+                .build();
+        this.lockedUntil = Caffeine.newBuilder()
+                .maximumSize(maxTrackedLogins)
+                .expireAfterWrite(Duration.ofMillis(Math.max(1L, lockoutMs)))
+                .build();
+        this.loginFailures = Caffeine.newBuilder()
+                .maximumSize(maxTrackedLogins)
+                .expireAfterWrite(Duration.ofMillis(Math.max(1L, failureWindowMs)))
+                .build();
+    }
+
+    /**
+     * Revoke a single token until it expires.
+     */
+    public void revoke(TokenDigest digest, long expiresAt) {
+        if (expiresAt > clock.getAsLong()) {
+            revokedTokens.put(digest, expiresAt);
+        }
+    }
+
+    public boolean isRevoked(TokenDigest digest) {
+        Long expiresAt = revokedTokens.getIfPresent(digest);
+        return expiresAt != null && expiresAt > clock.getAsLong();
+    }
+
+    /**
+     * Whether password logins for the account from this client are locked. Tokens are not affected.
+     */
+    public boolean isLocked(String email, String clientAddress) {
+        Long until = lockedUntil.getIfPresent(LoginKey.of(email, clientAddress));
+        return until != null && until > clock.getAsLong();
+    }
+
+    /**
+     * Count a failed login; locks the account for this client once the failures within the
+     * window reach the limit.
+     * 
+     * @return true if this failure locked the account
+     */
+    public boolean recordLoginFailure(String email, String clientAddress) {
+        LoginKey key = LoginKey.of(email, clientAddress);
+        long now = clock.getAsLong();
+        LoginFailures failures = loginFailures.asMap().compute(key, (ignored, current) ->
+                current == null || now - current.windowStart() >= failureWindowMs
+                        ? new LoginFailures(1, now)
+                        : new LoginFailures(current.count() + 1, current.windowStart()));
+        if (failures.count() < maxLoginFailures) {
+            return false;
+        }
+        loginFailures.invalidate(key);
+        lockedUntil.put(key, now + lockoutMs);
+        log.warn("Account {} locked for client {} for {}ms after {} failed logins",
+                email, clientAddress, lockoutMs, failures.count());
+        return true;
+    }
+
+    public void recordLoginSuccess(String email, String clientAddress) {
+        loginFailures.invalidate(LoginKey.of(email, clientAddress));
+    }
+
+    long trackedLogins() {
+        loginFailures.cleanUp();
+        return loginFailures.estimatedSize();
+    }
+
+    long revokedTokens() {
+        revokedTokens.cleanUp();
+        return revokedTokens.estimatedSize();
+    }
+
+    private record LoginKey(String email, String clientAddress) {
+
+        static LoginKey of(String email, String clientAddress) {
+            return new LoginKey(email != null ? email.toLowerCase(Locale.ROOT) : "", String.valueOf(clientAddress));
+        }
+    }
+
+    private record LoginFailures(int count, long windowStart) {
+    }
+}
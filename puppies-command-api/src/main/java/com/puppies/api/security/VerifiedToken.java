@@ -0,0 +1,20 @@
+package com.puppies.api.security;
+
+/**
+ * What authentication needs from a token whose signature has been verified.
+ *
+ * @param subject   user email (the JWT subject)
+ * @param principal principal built from the claims; null for tokens without user ID and name claims
+ * @param issuedAt  epoch millis the token was issued at
+ * @param expiresAt epoch millis the token expires at
+ */
+public record VerifiedToken(String subject, AuthenticatedUser principal, long issuedAt, long expiresAt) {
+
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+
+    public VerifiedToken withPrincipal(AuthenticatedUser resolved) {
+        return new VerifiedToken(subject, resolved, issuedAt, expiresAt);
+    }
+}
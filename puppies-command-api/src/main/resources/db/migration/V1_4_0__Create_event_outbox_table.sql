@@ -0,0 +1,29 @@
+-- Migration: Create event outbox table
+-- Description: Transactional outbox for domain events, drained to RabbitMQ by the outbox relay
+-- Author: Puppies API Team
+-- Date: 2024-02-01
+
+CREATE TABLE event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id VARCHAR(50),
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+
+    -- One outbox row per event
+    CONSTRAINT uk_event_outbox_event_id UNIQUE (event_id)
+);
+
+-- Comments for documentation
+COMMENT ON TABLE event_outbox IS 'Domain events written in the command transaction and deleted once the broker confirms them';
+COMMENT ON COLUMN event_outbox.id IS 'Primary key - relay order';
+COMMENT ON COLUMN event_outbox.event_id IS 'Domain event ID';
+COMMENT ON COLUMN event_outbox.event_type IS 'Domain event type (POST_CREATED, POST_LIKED, ...)';
+COMMENT ON COLUMN event_outbox.aggregate_id IS 'Aggregate the event relates to';
+COMMENT ON COLUMN event_outbox.payload IS 'Event serialized as JSON';
+COMMENT ON COLUMN event_outbox.created_at IS 'Timestamp when the event was written';
+COMMENT ON COLUMN event_outbox.attempts IS 'Failed relay attempts so far';
+COMMENT ON COLUMN event_outbox.last_error IS 'Reason of the last failed relay attempt';
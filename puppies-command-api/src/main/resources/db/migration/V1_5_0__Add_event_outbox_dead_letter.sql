@@ -0,0 +1,12 @@
+-- Migration: Dead-letter status for the event outbox
+-- Description: Rows that keep failing are parked instead of blocking the head of the outbox
+-- Author: Puppies API Team
+-- Date: 2024-02-08
+
+ALTER TABLE event_outbox ADD COLUMN dead_lettered_at TIMESTAMP WITH TIME ZONE;
+
+-- The relay only ever scans rows that are still pending
+CREATE INDEX idx_event_outbox_pending ON event_outbox (id) WHERE dead_lettered_at IS NULL;
+
+-- Comments for documentation
+COMMENT ON COLUMN event_outbox.dead_lettered_at IS 'When the relay gave up on the event after too many failed attempts; NULL while pending';
@@ -5,6 +5,8 @@ import com.puppies.api.command.dto.AuthResponse;
 import com.puppies.api.data.entity.User;
 import com.puppies.api.data.repository.UserRepository;
 import com.puppies.api.security.JwtService;
+import com.puppies.api.security.ParsedTokenCache;
+import com.puppies.api.security.TokenRevocationCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 
@@ -35,6 +38,8 @@ import static org.mockito.Mockito.*;
 @DisplayName("AuthService Tests")
 class AuthServiceTest {
 
+    private static final String CLIENT_ADDRESS = "203.0.113.7";
+
     @Mock
     private AuthenticationManager authenticationManager;
     
@@ -43,6 +48,12 @@ class AuthServiceTest {
     
     @Mock
     private UserRepository userRepository;
+
+    @Mock
+    private TokenRevocationCache tokenRevocationCache;
+
+    @Mock
+    private ParsedTokenCache parsedTokenCache;
     
     @Mock
     private Authentication authentication;
@@ -78,13 +89,27 @@ class AuthServiceTest {
                 .thenThrow(new BadCredentialsException("Invalid credentials"));
 
         // When/Then
-        assertThatThrownBy(() -> authService.authenticate(validAuthRequest))
+        assertThatThrownBy(() -> authService.authenticate(validAuthRequest, CLIENT_ADDRESS))
                 .isInstanceOf(BadCredentialsException.class)
                 .hasMessage("Invalid credentials");
 
         // Verify no token generation or user lookup happened
         verify(userRepository, never()).findByEmail(any());
         verify(jwtService, never()).generateToken(any());
+        verify(tokenRevocationCache).recordLoginFailure("john@example.com", CLIENT_ADDRESS);
+    }
+
+    @Test
+    @DisplayName("Should reject login to a locked account without checking credentials")
+    void authenticate_WithLockedAccount_ShouldThrowLockedException() {
+        // Given
+        when(tokenRevocationCache.isLocked("john@example.com", CLIENT_ADDRESS)).thenReturn(true);
+
+        // When/Then
+        assertThatThrownBy(() -> authService.authenticate(validAuthRequest, CLIENT_ADDRESS))
+                .isInstanceOf(LockedException.class);
+
+        verifyNoInteractions(authenticationManager, userRepository, jwtService);
     }
 
 
@@ -93,7 +118,7 @@ class AuthServiceTest {
     @DisplayName("Should handle null request gracefully")
     void authenticate_WithNullRequest_ShouldThrowNullPointerException() {
         // When/Then
-        assertThatThrownBy(() -> authService.authenticate(null))
+        assertThatThrownBy(() -> authService.authenticate(null, CLIENT_ADDRESS))
                 .isInstanceOf(NullPointerException.class);
 
         // Verify no interactions
@@ -113,7 +138,7 @@ class AuthServiceTest {
                 .thenThrow(new BadCredentialsException("Invalid credentials"));
 
         // When/Then
-        assertThatThrownBy(() -> authService.authenticate(requestWithEmptyEmail))
+        assertThatThrownBy(() -> authService.authenticate(requestWithEmptyEmail, CLIENT_ADDRESS))
                 .isInstanceOf(BadCredentialsException.class);
 
         // Verify authentication was attempted
@@ -2,17 +2,17 @@ package com.puppies.api.command.service;
 
 import com.puppies.api.command.dto.CreatePostRequest;
 import com.puppies.api.command.dto.CreatePostResponse;
-import com.puppies.api.data.entity.Like;
 import com.puppies.api.data.entity.Post;
 import com.puppies.api.data.entity.User;
 import com.puppies.api.data.repository.LikeRepository;
 import com.puppies.api.data.repository.PostRepository;
 import com.puppies.api.data.repository.UserRepository;
-import com.puppies.api.event.EventPublisher;
+import com.puppies.api.event.EventOutbox;
 import com.puppies.api.event.PostCreatedEvent;
 import com.puppies.api.event.PostLikedEvent;
 import com.puppies.api.event.PostUnlikedEvent;
 import com.puppies.api.exception.ResourceNotFoundException;
+import com.puppies.api.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -55,7 +55,7 @@ class PostCommandServiceTest {
     private FileStorageService fileStorageService;
     
     @Mock
-    private EventPublisher eventPublisher;
+    private EventOutbox eventOutbox;
     
     @Mock
     private MultipartFile imageFile;
@@ -64,6 +64,7 @@ class PostCommandServiceTest {
     private PostCommandService postCommandService;
 
     private User testUser;
+    private AuthenticatedUser principal;
     private Post testPost;
     private CreatePostRequest createPostRequest;
 
@@ -76,6 +77,7 @@ class PostCommandServiceTest {
                 .password("hashedPassword")
                 .createdAt(LocalDateTime.now())
                 .build();
+        principal = new AuthenticatedUser(1L, "john@example.com", "John Doe");
 
         testPost = Post.builder()
                 .id(1L)
@@ -118,7 +120,7 @@ class PostCommandServiceTest {
 
         // Verify event publishing
         ArgumentCaptor<PostCreatedEvent> eventCaptor = ArgumentCaptor.forClass(PostCreatedEvent.class);
-        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        verify(eventOutbox).append(eventCaptor.capture());
         
         PostCreatedEvent publishedEvent = eventCaptor.getValue();
         assertThat(publishedEvent.getPostId()).isEqualTo(1L);
@@ -142,44 +144,31 @@ class PostCommandServiceTest {
         // Verify no file upload or post save occurred
         verify(fileStorageService, never()).uploadFile(any());
         verify(postRepository, never()).save(any());
-        verify(eventPublisher, never()).publishEvent(any());
+        verify(eventOutbox, never()).append(any());
     }
 
     @Test
-    @DisplayName("Should like post successfully and publish event")
+    @DisplayName("Should like post with a single insert and publish event")
     void likePost_WithValidData_ShouldCreateLikeAndPublishEvent() {
         // Given
         Long postId = 1L;
-        String userEmail = "john@example.com";
-        
-        when(postRepository.findById(postId)).thenReturn(Optional.of(testPost));
-        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
-        when(likeRepository.existsByUserIdAndPostId(testUser.getId(), postId)).thenReturn(false);
-        
-        Like savedLike = Like.builder()
-                .id(1L)
-                .user(testUser)
-                .post(testPost)
-                .createdAt(LocalDateTime.now())
-                .build();
-        when(likeRepository.save(any(Like.class))).thenReturn(savedLike);
+        when(likeRepository.insertIfAbsent(testUser.getId(), postId)).thenReturn(1);
 
         // When
-        postCommandService.likePost(postId, userEmail);
+        postCommandService.likePost(postId, principal);
 
         // Then
-        verify(postRepository).findById(postId);
-        verify(userRepository).findByEmail(userEmail);
-        verify(likeRepository).existsByUserIdAndPostId(testUser.getId(), postId);
-        verify(likeRepository).save(any(Like.class));
+        verify(likeRepository).insertIfAbsent(testUser.getId(), postId);
+        verifyNoInteractions(userRepository, postRepository);
 
         // Verify event publishing
         ArgumentCaptor<PostLikedEvent> eventCaptor = ArgumentCaptor.forClass(PostLikedEvent.class);
-        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        verify(eventOutbox).append(eventCaptor.capture());
         
         PostLikedEvent publishedEvent = eventCaptor.getValue();
         assertThat(publishedEvent.getPostId()).isEqualTo(postId);
         assertThat(publishedEvent.getUserId()).isEqualTo(testUser.getId());
+        assertThat(publishedEvent.getUserName()).isEqualTo("John Doe");
     }
 
     @Test
@@ -187,17 +176,15 @@ class PostCommandServiceTest {
     void likePost_WithNonExistentPost_ShouldThrowResourceNotFoundException() {
         // Given
         Long postId = 999L;
-        String userEmail = "john@example.com";
-        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
-        when(postRepository.findById(postId)).thenReturn(Optional.empty());
+        when(likeRepository.insertIfAbsent(testUser.getId(), postId)).thenReturn(0);
+        when(postRepository.existsById(postId)).thenReturn(false);
 
         // When/Then
-        assertThatThrownBy(() -> postCommandService.likePost(postId, userEmail))
+        assertThatThrownBy(() -> postCommandService.likePost(postId, principal))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Post not found: " + postId);
 
-        verify(likeRepository, never()).save(any());
-        verify(eventPublisher, never()).publishEvent(any());
+        verify(eventOutbox, never()).append(any());
     }
 
     @Test
@@ -205,19 +192,15 @@ class PostCommandServiceTest {
     void likePost_WhenAlreadyLiked_ShouldThrowIllegalStateException() {
         // Given
         Long postId = 1L;
-        String userEmail = "john@example.com";
-        
-        when(postRepository.findById(postId)).thenReturn(Optional.of(testPost));
-        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(testUser));
-        when(likeRepository.existsByUserIdAndPostId(testUser.getId(), postId)).thenReturn(true);
+        when(likeRepository.insertIfAbsent(testUser.getId(), postId)).thenReturn(0);
+        when(postRepository.existsById(postId)).thenReturn(true);
 
         // When/Then
-        assertThatThrownBy(() -> postCommandService.likePost(postId, userEmail))
+        assertThatThrownBy(() -> postCommandService.likePost(postId, principal))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessage("Post already liked by user");
 
-        verify(likeRepository, never()).save(any());
-        verify(eventPublisher, never()).publishEvent(any());
+        verify(eventOutbox, never()).append(any());
     }
 
     @Test
@@ -242,7 +225,7 @@ class PostCommandServiceTest {
 
         // Verify event publishing
         ArgumentCaptor<PostUnlikedEvent> eventCaptor = ArgumentCaptor.forClass(PostUnlikedEvent.class);
-        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        verify(eventOutbox).append(eventCaptor.capture());
         
         PostUnlikedEvent publishedEvent = eventCaptor.getValue();
         assertThat(publishedEvent.getPostId()).isEqualTo(postId);
@@ -266,6 +249,6 @@ class PostCommandServiceTest {
                 .hasMessage("Like not found for post: " + postId);
 
         verify(likeRepository, never()).deleteByUserIdAndPostId(anyLong(), anyLong());
-        verify(eventPublisher, never()).publishEvent(any());
+        verify(eventOutbox, never()).append(any());
     }
 }
\ No newline at end of file
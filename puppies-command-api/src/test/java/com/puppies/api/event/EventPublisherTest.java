@@ -9,9 +9,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -35,6 +41,9 @@ class EventPublisherTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private PublisherConfirmTracker confirmTracker;
+
     @InjectMocks
     private EventPublisher eventPublisher;
 
@@ -291,4 +300,73 @@ class EventPublisherTest {
                 eq(postCreatedEvent)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should complete the future once the broker acks the event")
+    void publishConfirmed_WhenAcked_ShouldCompleteFuture() {
+        // Given
+        when(confirmTracker.begin(anyString())).thenAnswer(invocation -> new CorrelationData(invocation.getArgument(0)));
+        confirmWith(true);
+
+        // When
+        CompletableFuture<Void> result = eventPublisher.publishConfirmed(postLikedEvent);
+
+        // Then
+        assertThat(result).isCompleted().isNotCompletedExceptionally();
+        verify(confirmTracker).begin(postLikedEvent.getEventId() + ":1");
+        verify(rabbitTemplate).convertAndSend(
+                eq("puppies.domain.events"), eq("post.events.liked"), eq(postLikedEvent), any(CorrelationData.class));
+        verify(confirmTracker, never()).scheduleRetry(anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should resend a nacked event through the retry scheduler")
+    void publishConfirmed_WhenNacked_ShouldRetryWithBackoff() {
+        // Given
+        when(confirmTracker.begin(anyString())).thenAnswer(invocation -> new CorrelationData(invocation.getArgument(0)));
+        when(confirmTracker.scheduleRetry(anyInt(), any())).thenAnswer(invocation -> {
+            Runnable retry = invocation.getArgument(1);
+            retry.run();
+            return true;
+        });
+        confirmWith(false, true);
+
+        // When
+        CompletableFuture<Void> result = eventPublisher.publishConfirmed(postLikedEvent);
+
+        // Then
+        assertThat(result).isCompleted().isNotCompletedExceptionally();
+        verify(confirmTracker).scheduleRetry(eq(1), any());
+        verify(confirmTracker).begin(postLikedEvent.getEventId() + ":2");
+        verify(rabbitTemplate, times(2)).convertAndSend(
+                anyString(), anyString(), eq(postLikedEvent), any(CorrelationData.class));
+    }
+
+    @Test
+    @DisplayName("Should fail the future when the event runs out of attempts")
+    void publishConfirmed_WhenAttemptsExhausted_ShouldFailFuture() {
+        // Given
+        when(confirmTracker.begin(anyString())).thenAnswer(invocation -> new CorrelationData(invocation.getArgument(0)));
+        when(confirmTracker.scheduleRetry(anyInt(), any())).thenReturn(false);
+        confirmWith(false);
+
+        // When
+        CompletableFuture<Void> result = eventPublisher.publishConfirmed(postLikedEvent);
+
+        // Then
+        assertThatThrownBy(result::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(EventPublisher.EventPublishingException.class)
+                .hasMessageContaining("Nacked by broker");
+    }
+
+    private void confirmWith(Boolean... acks) {
+        Deque<Boolean> replies = new ArrayDeque<>(List.of(acks));
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            boolean ack = replies.size() > 1 ? replies.poll() : replies.peek();
+            correlationData.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "test nack"));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+}
@@ -0,0 +1,227 @@
+package com.puppies.api.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.puppies.api.data.entity.OutboxEvent;
+import com.puppies.api.data.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxRelay.
+ *
+ * Tests batched publishing from the outbox and how confirm outcomes
+ * decide which rows are removed, retried or dead-lettered.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, eventPublisher, objectMapper,
+                transactionManager, 10, 1000, 3);
+    }
+
+    @Test
+    @DisplayName("Should publish a batch and delete the confirmed rows")
+    void drain_WhenAllConfirmed_ShouldDeleteBatch() throws Exception {
+        // Given
+        OutboxEvent created = outboxRow(1L, PostCreatedEvent.from(
+                1L, 1L, "John Doe", "http://example.com/image.jpg", "Test content", LocalDateTime.now()));
+        OutboxEvent liked = outboxRow(2L, PostLikedEvent.from(1L, 2L, "Jane Doe"));
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(created, liked));
+        confirmAllExcept(Set.of());
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        ArgumentCaptor<DomainEvent> eventCaptor = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(eventPublisher, times(2)).publishConfirmed(eventCaptor.capture());
+        assertThat(eventCaptor.getAllValues().get(0)).isInstanceOf(PostCreatedEvent.class);
+        assertThat(eventCaptor.getAllValues().get(1)).isInstanceOf(PostLikedEvent.class);
+        assertThat(((PostLikedEvent) eventCaptor.getAllValues().get(1)).getUserId()).isEqualTo(2L);
+        verify(outboxEventRepository).deleteAllInBatch(List.of(created, liked));
+    }
+
+    @Test
+    @DisplayName("Should keep unconfirmed rows in the outbox for the next run")
+    void drain_WhenEventNotConfirmed_ShouldKeepRowAndRecordFailure() throws Exception {
+        // Given
+        OutboxEvent first = outboxRow(1L, PostLikedEvent.from(1L, 2L, "Jane Doe"));
+        OutboxEvent second = outboxRow(2L, PostUnlikedEvent.from(1L, 2L, "Jane Doe"));
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(first, second));
+        confirmAllExcept(Set.of(second.getEventId()));
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        verify(outboxEventRepository).deleteAllInBatch(List.of(first));
+        assertThat(second.getAttempts()).isEqualTo(1);
+        assertThat(second.getLastError()).contains("not confirmed");
+        assertThat(first.getAttempts()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hold back later events of an aggregate whose earlier event failed")
+    void relayBatch_WithMixedOutcomes_ShouldKeepPerAggregateOrder() throws Exception {
+        // Given: post 1's creation is not confirmed; post 2 is unaffected
+        OutboxEvent created = outboxRow(1L, PostCreatedEvent.from(
+                1L, 1L, "John Doe", "http://example.com/image.jpg", "Test content", LocalDateTime.now()));
+        OutboxEvent otherLiked = outboxRow(2L, PostLikedEvent.from(2L, 3L, "Jane Doe"));
+        OutboxEvent liked = outboxRow(3L, PostLikedEvent.from(1L, 2L, "Jane Doe"));
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(created, otherLiked, liked));
+        confirmAllExcept(Set.of(created.getEventId()));
+
+        // When
+        OutboxRelay.BatchResult result = outboxRelay.relayBatch();
+
+        // Then: the like for post 1 is never sent ahead of its post and waits without a failed attempt
+        ArgumentCaptor<DomainEvent> eventCaptor = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(eventPublisher, times(2)).publishConfirmed(eventCaptor.capture());
+        assertThat(eventCaptor.getAllValues()).extracting(DomainEvent::getEventId)
+                .containsExactly(created.getEventId(), otherLiked.getEventId());
+        verify(outboxEventRepository).deleteAllInBatch(List.of(otherLiked));
+        assertThat(created.getAttempts()).isEqualTo(1);
+        assertThat(liked.getAttempts()).isZero();
+        assertThat(result).isEqualTo(new OutboxRelay.BatchResult(3, 1, 0));
+    }
+
+    @Test
+    @DisplayName("Should skip rows whose payload cannot be read")
+    void drain_WithUnreadablePayload_ShouldNotPublishRow() {
+        // Given
+        OutboxEvent broken = OutboxEvent.builder()
+                .id(1L)
+                .eventId("broken")
+                .eventType("POST_LIKED")
+                .payload("{not json")
+                .build();
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(broken));
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        verify(eventPublisher, never()).publishConfirmed(any());
+        verify(outboxEventRepository).deleteAllInBatch(List.of());
+        assertThat(broken.getAttempts()).isEqualTo(1);
+        assertThat(broken.getLastError()).startsWith("Publish failed");
+    }
+
+    @Test
+    @DisplayName("Should dead-letter a row once it reaches the max attempts")
+    void drain_WhenRowKeepsFailing_ShouldDeadLetterAfterMaxAttempts() {
+        // Given
+        OutboxEvent broken = OutboxEvent.builder()
+                .id(1L)
+                .eventId("broken")
+                .eventType("POST_LIKED")
+                .payload("{not json")
+                .build();
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(broken));
+
+        // When
+        outboxRelay.drain();
+        outboxRelay.drain();
+
+        // Then
+        assertThat(broken.getAttempts()).isEqualTo(2);
+        assertThat(broken.isDeadLettered()).isFalse();
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        assertThat(broken.getAttempts()).isEqualTo(3);
+        assertThat(broken.isDeadLettered()).isTrue();
+        verify(outboxEventRepository, times(3)).deleteAllInBatch(List.of());
+    }
+
+    @Test
+    @DisplayName("Should keep draining past a full batch once its failing rows are dead-lettered")
+    void relayBatch_WithDeadLetteredRows_ShouldCountThemAsSettled() throws Exception {
+        // Given
+        OutboxEvent liked = outboxRow(1L, PostLikedEvent.from(1L, 2L, "Jane Doe"));
+        OutboxEvent broken = OutboxEvent.builder()
+                .id(2L)
+                .eventId("broken")
+                .eventType("POST_LIKED")
+                .payload("{not json")
+                .attempts(2)
+                .build();
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(liked, broken));
+        confirmAllExcept(Set.of());
+
+        // When
+        OutboxRelay.BatchResult result = outboxRelay.relayBatch();
+
+        // Then
+        assertThat(result).isEqualTo(new OutboxRelay.BatchResult(2, 1, 1));
+        assertThat(broken.isDeadLettered()).isTrue();
+        verify(outboxEventRepository).deleteAllInBatch(List.of(liked));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the outbox is empty")
+    void drain_WithEmptyOutbox_ShouldNotPublish() {
+        // Given
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of());
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        verifyNoInteractions(eventPublisher);
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+    }
+
+    private OutboxEvent outboxRow(Long id, DomainEvent event) throws Exception {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventId(event.getEventId())
+                .eventType(event.getEventType())
+                .aggregateId(event.getAggregateId())
+                .payload(objectMapper.writerFor(DomainEvent.class).writeValueAsString(event))
+                .build();
+    }
+
+    private void confirmAllExcept(Set<String> failedEventIds) {
+        when(eventPublisher.publishConfirmed(any(DomainEvent.class))).thenAnswer(invocation -> {
+            DomainEvent event = invocation.getArgument(0);
+            return failedEventIds.contains(event.getEventId())
+                    ? CompletableFuture.failedFuture(new EventPublisher.EventPublishingException(
+                            "Event " + event.getEventId() + " not confirmed after 5 attempts", null))
+                    : CompletableFuture.completedFuture(null);
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package com.puppies.api.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for PublisherConfirmTracker.
+ */
+@DisplayName("PublisherConfirmTracker Tests")
+class PublisherConfirmTrackerTest {
+
+    private PublisherConfirmTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new PublisherConfirmTracker(2, 50, 3, 10, 25);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should bound the events in flight until the broker confirms them")
+    void begin_WhenWindowFull_ShouldWaitForConfirm() {
+        // Given
+        CorrelationData first = tracker.begin("event-1:1");
+        tracker.begin("event-2:1");
+
+        // When / Then
+        assertThat(tracker.getInFlight()).isEqualTo(2);
+        assertThatThrownBy(() -> tracker.begin("event-3:1"))
+                .isInstanceOf(EventPublisher.EventPublishingException.class)
+                .hasMessageContaining("in flight");
+
+        tracker.confirm(first, true, null);
+        assertThat(tracker.getInFlight()).isEqualTo(1);
+        assertThat(tracker.begin("event-3:1").getId()).isEqualTo("event-3:1");
+    }
+
+    @Test
+    @DisplayName("Should count acks and nacks and record confirm latency")
+    @SuppressWarnings("unchecked")
+    void confirm_ShouldUpdateStats() {
+        // Given
+        CorrelationData acked = tracker.begin("event-1:1");
+        CorrelationData nacked = tracker.begin("event-2:1");
+        CorrelationData abandoned = tracker.begin("event-3:1");
+
+        // When
+        tracker.confirm(acked, true, null);
+        tracker.confirm(nacked, false, "test nack");
+        tracker.abandon(abandoned);
+        tracker.confirm(acked, true, null); // duplicate confirm is ignored
+
+        // Then
+        Map<String, Object> stats = tracker.getStats();
+        assertThat(stats)
+                .containsEntry("inFlight", 0)
+                .containsEntry("acked", 1L)
+                .containsEntry("nacked", 1L);
+        assertThat((Map<String, Object>) stats.get("confirmLatencyMs")).containsEntry("count", 2L);
+        assertThat((Map<String, Object>) stats.get("inFlightDepth")).containsEntry("count", 3L);
+    }
+
+    @Test
+    @DisplayName("Should back off exponentially and stop after the last attempt")
+    void scheduleRetry_ShouldBackOffAndGiveUp() throws Exception {
+        // Given
+        CountDownLatch retried = new CountDownLatch(1);
+
+        // When
+        boolean scheduled = tracker.scheduleRetry(1, retried::countDown);
+        boolean exhausted = tracker.scheduleRetry(3, () -> { });
+
+        // Then
+        assertThat(scheduled).isTrue();
+        assertThat(retried.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(exhausted).isFalse();
+        assertThat(tracker.backoffMs(1)).isEqualTo(10);
+        assertThat(tracker.backoffMs(2)).isEqualTo(20);
+        assertThat(tracker.backoffMs(3)).isEqualTo(25);
+        assertThat(tracker.getStats())
+                .containsEntry("retried", 1L)
+                .containsEntry("failed", 1L);
+    }
+}
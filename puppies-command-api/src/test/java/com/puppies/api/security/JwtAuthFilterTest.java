@@ -0,0 +1,154 @@
+package com.puppies.api.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JwtAuthFilter.
+ *
+ * Signature verification and principal lookup are mocked; the token and revocation
+ * caches are real, so tests can check which requests reach JwtService at all.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthFilter Tests")
+class JwtAuthFilterTest {
+
+    private static final String TOKEN = "header.payload.signature";
+    private static final String EMAIL = "john@example.com";
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final AuthenticatedUser principal = new AuthenticatedUser(1L, EMAIL, "John Doe");
+    private TokenRevocationCache tokenRevocationCache;
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationCache = new TokenRevocationCache(5, 60_000, 60_000, 100, 100, now::get);
+        filter = new JwtAuthFilter(jwtService, principalCache, new ParsedTokenCache(100, now::get),
+                tokenRevocationCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate from the token's claims and verify a repeated token only once")
+    void doFilter_WithRepeatedToken_ShouldVerifyOnce() throws Exception {
+        // Given
+        when(jwtService.verify(TOKEN)).thenReturn(verifiedToken(principal));
+
+        // When
+        Authentication first = filter(TOKEN);
+        Authentication second = filter(TOKEN);
+
+        // Then
+        assertThat(first.getPrincipal()).isEqualTo(principal);
+        assertThat(second.getPrincipal()).isEqualTo(principal);
+        verify(jwtService, times(1)).verify(TOKEN);
+        verifyNoInteractions(principalCache);
+    }
+
+    @Test
+    @DisplayName("Should resolve the principal of a token without user claims through the principal cache")
+    void doFilter_WithLegacyToken_ShouldUsePrincipalCache() throws Exception {
+        // Given
+        when(jwtService.verify(TOKEN)).thenReturn(verifiedToken(null));
+        when(principalCache.get(EMAIL)).thenReturn(principal);
+
+        // When
+        filter(TOKEN);
+        Authentication authentication = filter(TOKEN);
+
+        // Then
+        assertThat(authentication.getPrincipal()).isEqualTo(principal);
+        verify(principalCache, times(1)).get(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should not authenticate a revoked token, even once it is cached")
+    void doFilter_WithRevokedToken_ShouldNotAuthenticate() throws Exception {
+        // Given
+        when(jwtService.verify(TOKEN)).thenReturn(verifiedToken(principal));
+        assertThat(filter(TOKEN)).isNotNull();
+        SecurityContextHolder.clearContext();
+
+        // When
+        tokenRevocationCache.revoke(TokenDigest.of(TOKEN), now.get() + 60_000);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(TOKEN), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should continue unauthenticated when the token fails verification")
+    void doFilter_WithInvalidToken_ShouldNotAuthenticate() throws Exception {
+        // Given
+        when(jwtService.verify(TOKEN)).thenThrow(new RuntimeException("bad signature"));
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request(TOKEN), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not look at tokens on public endpoints")
+    void doFilter_OnPublicEndpoint_ShouldSkipToken() throws Exception {
+        // Given
+        MockHttpServletRequest request = request(TOKEN);
+        request.setServletPath("/api/auth/login");
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(jwtService, principalCache);
+    }
+
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/posts");
+        request.setServletPath("/api/posts");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private VerifiedToken verifiedToken(AuthenticatedUser claimsPrincipal) {
+        return new VerifiedToken(EMAIL, claimsPrincipal, now.get(), now.get() + 60_000);
+    }
+}
@@ -0,0 +1,67 @@
+package com.puppies.api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ParsedTokenCache.
+ */
+@DisplayName("ParsedTokenCache Tests")
+class ParsedTokenCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final AuthenticatedUser principal = new AuthenticatedUser(1L, "john@example.com", "John Doe");
+    private ParsedTokenCache tokenCache;
+
+    @BeforeEach
+    void setUp() {
+        tokenCache = new ParsedTokenCache(10, now::get);
+    }
+
+    @Test
+    @DisplayName("Should serve a cached token until the token expires")
+    void get_ShouldStopAtTokenExpiry() {
+        // Given
+        TokenDigest digest = TokenDigest.of("header.payload.signature");
+        tokenCache.put(digest, verifiedToken(5_000));
+
+        // When / Then
+        assertThat(tokenCache.get(digest).principal()).isEqualTo(principal);
+        assertThat(tokenCache.get(TokenDigest.of("header.payload.signaturf"))).isNull();
+        now.addAndGet(5_000);
+        assertThat(tokenCache.get(digest)).isNull();
+        assertThat(tokenCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stay within its bound, dropping expired tokens first")
+    void put_WhenFull_ShouldEvict() {
+        // Given
+        TokenDigest expiring = TokenDigest.of("token-expiring");
+        tokenCache.put(expiring, verifiedToken(1_000));
+        for (int i = 1; i < 10; i++) {
+            tokenCache.put(TokenDigest.of("token-" + i), verifiedToken(60_000));
+        }
+        now.addAndGet(1_000);
+
+        // When
+        tokenCache.put(TokenDigest.of("token-new"), verifiedToken(60_000));
+        for (int i = 10; i < 30; i++) {
+            tokenCache.put(TokenDigest.of("token-" + i), verifiedToken(60_000));
+        }
+
+        // Then
+        assertThat(tokenCache.size()).isLessThanOrEqualTo(10);
+        assertThat(tokenCache.get(expiring)).isNull();
+        assertThat(tokenCache.get(TokenDigest.of("token-29"))).isNotNull();
+    }
+
+    private VerifiedToken verifiedToken(long ttlMs) {
+        return new VerifiedToken(principal.email(), principal, now.get(), now.get() + ttlMs);
+    }
+}
@@ -0,0 +1,107 @@
+package com.puppies.api.security;
+
+import com.puppies.api.data.entity.User;
+import com.puppies.api.data.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PrincipalCache.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PrincipalCache Tests")
+class PrincipalCacheTest {
+
+    private static final String EMAIL = "john@example.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(userRepository, 60_000, 2, now::get);
+    }
+
+    @Test
+    @DisplayName("Should load a principal once and serve it from memory within the TTL")
+    void get_WithinTtl_ShouldHitDatabaseOnce() {
+        // Given
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user(1L, EMAIL)));
+
+        // When
+        AuthenticatedUser first = principalCache.get(EMAIL);
+        now.addAndGet(59_999);
+        AuthenticatedUser second = principalCache.get(EMAIL);
+
+        // Then
+        assertThat(first).isEqualTo(new AuthenticatedUser(1L, EMAIL, "John Doe"));
+        assertThat(second).isSameAs(first);
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should reload a principal once its TTL has passed")
+    void get_AfterTtl_ShouldReload() {
+        // Given
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user(1L, EMAIL)));
+        principalCache.get(EMAIL);
+
+        // When
+        now.addAndGet(60_000);
+        principalCache.get(EMAIL);
+
+        // Then
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used principal beyond its bound")
+    void get_BeyondMaxSize_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        when(userRepository.findByEmail(anyString()))
+                .thenAnswer(invocation -> Optional.of(user(1L, invocation.getArgument(0))));
+        principalCache.get("a@example.com");
+        principalCache.get("b@example.com");
+        principalCache.get("a@example.com");
+
+        // When - c pushes out b, which was used least recently
+        principalCache.get("c@example.com");
+        principalCache.get("a@example.com");
+        principalCache.get("b@example.com");
+
+        // Then
+        verify(userRepository, times(1)).findByEmail("a@example.com");
+        verify(userRepository, times(2)).findByEmail("b@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reject an email with no user and cache nothing")
+    void get_WithUnknownEmail_ShouldThrow() {
+        // Given
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> principalCache.get(EMAIL)).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> principalCache.get(EMAIL)).isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    private static User user(Long id, String email) {
+        return User.builder().id(id).email(email).name("John Doe").build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.puppies.api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TokenRevocationCache.
+ */
+@DisplayName("TokenRevocationCache Tests")
+class TokenRevocationCacheTest {
+
+    private static final String CLIENT = "203.0.113.7";
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private TokenRevocationCache revocationCache;
+
+    @BeforeEach
+    void setUp() {
+        revocationCache = new TokenRevocationCache(3, 60_000, 120_000, 100, 100, now::get);
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked token until it would have expired")
+    void revoke_ShouldLastUntilTokenExpiry() {
+        // Given
+        TokenDigest digest = TokenDigest.of("header.payload.signature");
+        revocationCache.revoke(digest, now.get() + 10_000);
+
+        // When / Then
+        assertThat(revocationCache.isRevoked(digest)).isTrue();
+        assertThat(revocationCache.isRevoked(TokenDigest.of("header.payload.signaturf"))).isFalse();
+        now.addAndGet(10_000);
+        assertThat(revocationCache.isRevoked(digest)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should lock an account after repeated failed logins within the window")
+    void recordLoginFailure_ShouldLockAfterLimit() {
+        // When
+        revocationCache.recordLoginFailure("john@example.com", CLIENT);
+        revocationCache.recordLoginFailure("john@example.com", CLIENT);
+        boolean locked = revocationCache.recordLoginFailure("john@example.com", CLIENT);
+
+        // Then
+        assertThat(locked).isTrue();
+        assertThat(revocationCache.isLocked("john@example.com", CLIENT)).isTrue();
+        assertThat(revocationCache.isLocked("jane@example.com", CLIENT)).isFalse();
+        assertThat(revocationCache.isLocked("JOHN@example.com", CLIENT)).isTrue();
+        assertThat(revocationCache.isLocked("john@example.com", "198.51.100.9")).isFalse();
+        now.addAndGet(120_000);
+        assertThat(revocationCache.isLocked("john@example.com", CLIENT)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should forget failures after a successful login or outside the window")
+    void recordLoginFailure_ShouldResetOnSuccessAndWindow() {
+        // Given
+        revocationCache.recordLoginFailure("john@example.com", CLIENT);
+        revocationCache.recordLoginFailure("john@example.com", CLIENT);
+        revocationCache.recordLoginSuccess("john@example.com", CLIENT);
+
+        // When
+        boolean lockedAfterSuccess = revocationCache.recordLoginFailure("john@example.com", CLIENT);
+        revocationCache.recordLoginFailure("john@example.com", CLIENT);
+        now.addAndGet(60_000);
+        boolean lockedAfterWindow = revocationCache.recordLoginFailure("john@example.com", CLIENT);
+
+        // Then
+        assertThat(lockedAfterSuccess).isFalse();
+        assertThat(lockedAfterWindow).isFalse();
+        assertThat(revocationCache.isLocked("john@example.com", CLIENT)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should bound the failures tracked for a spray of different emails")
+    void recordLoginFailure_ForManyEmails_ShouldStayBounded() {
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            revocationCache.recordLoginFailure("user" + i + "@example.com", CLIENT);
+        }
+
+        // Then
+        assertThat(revocationCache.trackedLogins()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should bound revoked tokens and drop them once expired")
+    void revoke_ForManyTokens_ShouldStayBounded() {
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            revocationCache.revoke(TokenDigest.of("header.payload." + i), now.get() + 10_000);
+        }
+        revocationCache.revoke(TokenDigest.of("header.payload.expired"), now.get());
+
+        // Then
+        assertThat(revocationCache.revokedTokens()).isLessThanOrEqualTo(100);
+        assertThat(revocationCache.isRevoked(TokenDigest.of("header.payload.expired"))).isFalse();
+    }
+}
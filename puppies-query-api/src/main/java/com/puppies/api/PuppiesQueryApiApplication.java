@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
@@ -18,11 +19,13 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  * - Redis caching for improved performance
  * - Denormalized data for fast queries
  * - Feed generation and content serving
+ * - Scheduled cache warming and cache size reconciliation
  */
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "com.puppies.api.read.repository")
 @EnableTransactionManagement
 @EnableCaching
+@EnableScheduling
 public class PuppiesQueryApiApplication {
 
     public static void main(String[] args) {
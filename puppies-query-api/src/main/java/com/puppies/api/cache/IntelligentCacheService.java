@@ -1,21 +1,21 @@
 package com.puppies.api.cache;
 
+import com.puppies.api.cache.expiration.EarlyExpirationPolicy;
 import com.puppies.api.cache.strategy.CacheStrategy;
 import com.puppies.api.cache.strategy.HotPostsCacheStrategy;
 import com.puppies.api.cache.strategy.UserBehaviorCacheStrategy;
+import com.puppies.api.cache.metrics.CacheLayerAccounting;
 import com.puppies.api.cache.metrics.CacheMetrics;
+import com.puppies.api.cache.metrics.CacheMetricsRegistry;
+import com.puppies.api.read.service.PostCacheWarmer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Intelligent cache service that implements smart caching strategies 
@@ -27,6 +27,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * - User behavior analytics 
  * - Cache warming for trending content
  * - Intelligent eviction policies
+ * - Jittered TTLs with probabilistic early recomputation of hot entries
  * - Performance metrics and monitoring
  */
 @Service
@@ -35,8 +36,11 @@ import java.util.concurrent.ConcurrentHashMap;
 public class IntelligentCacheService {
 
     private final CacheManager cacheManager;
-    private final RedisTemplate<String, Object> redisTemplate;
     private final CacheMetrics cacheMetrics;
+    private final CacheLayerAccounting cacheLayerAccounting;
+    private final CacheMetricsRegistry metricsRegistry;
+    private final PostCacheWarmer postCacheWarmer;
+    private final EarlyExpirationPolicy earlyExpirationPolicy;
     
     // Cache strategies
     private final HotPostsCacheStrategy hotPostsStrategy;
@@ -47,10 +51,6 @@ public class IntelligentCacheService {
     private static final String WARM_CACHE = "warm_posts";    // Moderately popular: 15min TTL  
     private static final String COLD_CACHE = "cold_posts";    // Low popularity: 5min TTL
     private static final String USER_CACHE = "user_behavior"; // User patterns: 1hour TTL
-    
-    // Tracking maps for intelligent decisions
-    private final Map<Long, PostMetrics> postMetrics = new ConcurrentHashMap<>();
-    private final Map<Long, UserCacheProfile> userProfiles = new ConcurrentHashMap<>();
 
     /**
      * Get post with intelligent caching based on popularity and user behavior.
@@ -68,22 +68,30 @@ public class IntelligentCacheService {
         Cache cache = cacheManager.getCache(cacheLayer);
         String cacheKey = buildPostCacheKey(postId, currentUserId);
         
-        if (cache != null) {
-            Cache.ValueWrapper cached = cache.get(cacheKey);
-            if (cached != null) {
+        Cache.ValueWrapper cached = cache != null ? cache.get(cacheKey) : null;
+        if (cached != null) {
+            if (!earlyExpirationPolicy.shouldRecomputeEarly(cacheLayer, cacheKey)) {
                 cacheMetrics.recordHit(cacheLayer);
                 log.debug("🎯 Cache HIT for post {} in {} layer", postId, cacheLayer);
                 return Optional.ofNullable(type.cast(cached.get()));
             }
+            // 4a. Close to expiry relative to its recompute cost - this reader refreshes it early
+            log.debug("⏳ Early recompute of post {} in {} layer", postId, cacheLayer);
+        } else {
+            // 4b. Cache miss
+            cacheMetrics.recordMiss(cacheLayer);
         }
         
-        // 4. Cache miss - load data and cache intelligently
-        cacheMetrics.recordMiss(cacheLayer);
+        // 5. Load data and cache intelligently
+        long started = System.nanoTime();
         T data = dataLoader.get();
+        long recomputeNanos = System.nanoTime() - started;
         
         if (data != null) {
-            cachePostIntelligently(postId, currentUserId, data, cacheLayer);
+            cachePostIntelligently(postId, currentUserId, data, cacheLayer, recomputeNanos);
             log.debug("📦 Cached post {} in {} layer", postId, cacheLayer);
+        } else if (cached != null) {
+            return Optional.ofNullable(type.cast(cached.get()));
         }
         
         return Optional.ofNullable(data);
@@ -100,24 +108,32 @@ public class IntelligentCacheService {
         
         // Choose cache strategy based on user behavior
         String cacheLayer = profile.isHighEngagement() ? HOT_CACHE : WARM_CACHE;
-        Duration ttl = profile.isHighEngagement() ? Duration.ofMinutes(30) : Duration.ofMinutes(10);
         
         Cache cache = cacheManager.getCache(cacheLayer);
-        if (cache != null) {
-            Cache.ValueWrapper cached = cache.get(cacheKey);
-            if (cached != null) {
+        Cache.ValueWrapper cached = cache != null ? cache.get(cacheKey) : null;
+        if (cached != null) {
+            if (!earlyExpirationPolicy.shouldRecomputeEarly(cacheLayer, cacheKey)) {
                 cacheMetrics.recordHit(cacheLayer + "_feed");
                 updateUserEngagement(userId, true); // Cache hit = good engagement
                 return Optional.ofNullable(type.cast(cached.get()));
             }
+            log.debug("⏳ Early recompute of {} feed for user {} in {} layer", feedType, userId, cacheLayer);
         }
         
-        // Load and cache with personalized TTL
+        // Load and cache with the layer's jittered TTL
+        long started = System.nanoTime();
         T data = dataLoader.get();
+        long recomputeNanos = System.nanoTime() - started;
         if (data != null && cache != null) {
             cache.put(cacheKey, data);
-            cacheMetrics.recordMiss(cacheLayer + "_feed");
-            updateUserEngagement(userId, false);
+            cacheLayerAccounting.recordPut(cacheLayer, cacheKey);
+            earlyExpirationPolicy.recordWrite(cacheLayer, cacheKey, recomputeNanos);
+            if (cached == null) {
+                cacheMetrics.recordMiss(cacheLayer + "_feed");
+                updateUserEngagement(userId, false);
+            }
+        } else if (cached != null) {
+            return Optional.ofNullable(type.cast(cached.get()));
         }
         
         return Optional.ofNullable(data);
@@ -127,7 +143,7 @@ public class IntelligentCacheService {
      * Update post access metrics for intelligent caching decisions.
      */
     private void updatePostAccessMetrics(Long postId, Long userId) {
-        PostMetrics metrics = postMetrics.computeIfAbsent(postId, k -> new PostMetrics(postId));
+        PostMetrics metrics = metricsRegistry.getOrCreatePost(postId);
         
         metrics.incrementViews();
         if (userId != null) {
@@ -137,8 +153,7 @@ public class IntelligentCacheService {
         
         // Track user interaction for behavior analysis (only if user is logged in)
         if (userId != null) {
-            UserCacheProfile profile = userProfiles.computeIfAbsent(userId, k -> new UserCacheProfile(userId));
-            profile.recordPostAccess(postId);
+            metricsRegistry.getOrCreateUser(userId).recordPostAccess(postId);
         }
     }
 
@@ -146,7 +161,7 @@ public class IntelligentCacheService {
      * Determine which cache layer (hot/warm/cold) to use based on post metrics.
      */
     private String determineCacheLayer(Long postId) {
-        PostMetrics metrics = postMetrics.get(postId);
+        PostMetrics metrics = metricsRegistry.getPost(postId);
         if (metrics == null) {
             return COLD_CACHE; // New posts start in cold cache
         }
@@ -174,18 +189,22 @@ public class IntelligentCacheService {
     /**
      * Cache post with intelligent placement and TTL.
      */
-    private void cachePostIntelligently(Long postId, Long userId, Object data, String cacheLayer) {
+    private void cachePostIntelligently(Long postId, Long userId, Object data, String cacheLayer, long recomputeNanos) {
         Cache cache = cacheManager.getCache(cacheLayer);
         if (cache == null) return;
         
         String cacheKey = buildPostCacheKey(postId, userId);
         cache.put(cacheKey, data);
+        cacheLayerAccounting.recordPut(cacheLayer, cacheKey);
+        earlyExpirationPolicy.recordWrite(cacheLayer, cacheKey, recomputeNanos);
         
         // Also cache in lower layers if it's hot content (cascade caching)
         if (HOT_CACHE.equals(cacheLayer)) {
             Cache warmCache = cacheManager.getCache(WARM_CACHE);
             if (warmCache != null) {
                 warmCache.put(cacheKey, data);
+                cacheLayerAccounting.recordPut(WARM_CACHE, cacheKey);
+                earlyExpirationPolicy.recordWrite(WARM_CACHE, cacheKey, recomputeNanos);
                 log.debug("🔥 Hot post {} also cached in warm layer", postId);
             }
         }
@@ -195,14 +214,14 @@ public class IntelligentCacheService {
      * Get or create user cache profile for personalized caching.
      */
     private UserCacheProfile getUserCacheProfile(Long userId) {
-        return userProfiles.computeIfAbsent(userId, k -> new UserCacheProfile(userId));
+        return metricsRegistry.getOrCreateUser(userId);
     }
 
     /**
      * Update user engagement metrics for cache strategy optimization.
      */
     private void updateUserEngagement(Long userId, boolean cacheHit) {
-        UserCacheProfile profile = userProfiles.get(userId);
+        UserCacheProfile profile = metricsRegistry.getUser(userId);
         if (profile != null) {
             if (cacheHit) {
                 profile.incrementCacheHits();
@@ -213,6 +232,14 @@ public class IntelligentCacheService {
         }
     }
 
+    /**
+     * Reclassify user engagement levels on a schedule instead of on every access.
+     */
+    @Scheduled(fixedDelayString = "${cqrs.cache.engagement.refresh-interval:60000}")
+    public void refreshUserEngagementLevels() {
+        metricsRegistry.users().forEach(UserCacheProfile::refreshEngagementLevel);
+    }
+
     /**
      * Pre-warm cache with trending/popular content.
      * Runs every 5 minutes to analyze trending posts and cache them proactively.
@@ -225,15 +252,13 @@ public class IntelligentCacheService {
             // 1. Identify trending posts based on recent metrics
             List<Long> trendingPosts = identifyTrendingPosts();
             
-            // 2. Pre-load trending posts into hot cache
-            for (Long postId : trendingPosts) {
-                warmTrendingPost(postId);
-            }
+            // 2. Bulk-load them with the top popularity pages into the hot layer
+            List<Long> warmedPosts = warmTrendingPosts(trendingPosts);
             
             // 3. Clean up old metrics to prevent memory leaks
             cleanupOldMetrics();
             
-            log.info("✅ Cache warming completed. Warmed {} trending posts", trendingPosts.size());
+            log.info("✅ Cache warming completed. Warmed {} posts ({} trending)", warmedPosts.size(), trendingPosts.size());
             
         } catch (Exception e) {
             log.error("❌ Error during cache warming", e);
@@ -244,7 +269,7 @@ public class IntelligentCacheService {
      * Analyze post metrics to identify trending content.
      */
     private List<Long> identifyTrendingPosts() {
-        return postMetrics.entrySet().stream()
+        return metricsRegistry.posts().entrySet().stream()
                 .filter(entry -> entry.getValue().isTrending())
                 .sorted((e1, e2) -> Double.compare(
                     e2.getValue().getPopularityScore(), 
@@ -255,36 +280,26 @@ public class IntelligentCacheService {
     }
 
     /**
-     * Pre-warm a trending post by loading it into hot cache.
+     * Pre-warm trending posts into the hot layer under their anonymous keys.
      */
-    private void warmTrendingPost(Long postId) {
-        try {
-            // This would trigger the actual data loading and caching
-            // In a real implementation, you'd call the actual service methods
-            log.debug("🌡️ Warming trending post: {}", postId);
-            
-            // Mark as warmed to avoid redundant warming
-            PostMetrics metrics = postMetrics.get(postId);
+    private List<Long> warmTrendingPosts(List<Long> trendingPosts) {
+        List<Long> warmedPosts = postCacheWarmer.warm(trendingPosts, postId -> buildPostCacheKey(postId, null));
+        
+        // Mark as warmed to avoid redundant warming
+        for (Long postId : warmedPosts) {
+            PostMetrics metrics = metricsRegistry.getPost(postId);
             if (metrics != null) {
                 metrics.markAsWarmed();
             }
-            
-        } catch (Exception e) {
-            log.warn("⚠️ Failed to warm post {}", postId, e);
         }
+        return warmedPosts;
     }
 
     /**
-     * Clean up old metrics to prevent memory leaks.
+     * Flush pending idle expiry in the bounded metrics registry; size bounds are enforced on write.
      */
     private void cleanupOldMetrics() {
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
-        
-        postMetrics.entrySet().removeIf(entry -> 
-            entry.getValue().getLastAccessed().isBefore(cutoff));
-        
-        userProfiles.entrySet().removeIf(entry ->
-            entry.getValue().getLastActivity().isBefore(cutoff));
+        metricsRegistry.cleanUp();
         
         log.debug("🧹 Cleaned up old cache metrics");
     }
@@ -302,7 +317,7 @@ public class IntelligentCacheService {
     /**
      * Build cache key for user feeds with engagement level.
      */
-    private String buildFeedCacheKey(Long userId, String feedType, String engagementLevel) {
+    private String buildFeedCacheKey(Long userId, String feedType, UserCacheProfile.EngagementLevel engagementLevel) {
         return String.format("feed:%s:user:%d:engagement:%s", feedType, userId, engagementLevel);
     }
 
@@ -318,12 +333,15 @@ public class IntelligentCacheService {
         stats.put("coldCacheSize", getCacheSize(COLD_CACHE));
         
         // Metrics overview
-        stats.put("totalPostsTracked", postMetrics.size());
-        stats.put("totalUsersTracked", userProfiles.size());
+        stats.put("totalPostsTracked", metricsRegistry.getPostCount());
+        stats.put("totalUsersTracked", metricsRegistry.getUserCount());
+        stats.put("metricsRegistry", metricsRegistry.getStats());
+        stats.put("lastWarming", postCacheWarmer.getLastReport());
+        stats.put("earlyExpiration", earlyExpirationPolicy.getStats());
         stats.put("cacheMetrics", cacheMetrics.getOverallStats());
         
         // Trending posts
-        long trendingCount = postMetrics.values().stream()
+        long trendingCount = metricsRegistry.posts().values().stream()
                 .mapToLong(m -> m.isTrending() ? 1 : 0)
                 .sum();
         stats.put("trendingPosts", trendingCount);
@@ -331,17 +349,10 @@ public class IntelligentCacheService {
         return stats;
     }
 
+    /**
+     * Tracked entry count of a layer; maintained incrementally, never by scanning Redis.
+     */
     private long getCacheSize(String cacheName) {
-        try {
-            Cache cache = cacheManager.getCache(cacheName);
-            if (cache != null) {
-                // This is a simplified size calculation
-                // In practice, you might need Redis-specific commands
-                return redisTemplate.keys(cacheName + ":*").size();
-            }
-        } catch (Exception e) {
-            log.warn("Failed to get cache size for {}", cacheName);
-        }
-        return 0;
+        return cacheLayerAccounting.getEntryCount(cacheName);
     }
 }
@@ -1,61 +1,85 @@
 package com.puppies.api.cache;
 
-import lombok.Getter;
+import com.puppies.api.cache.metrics.HyperLogLog;
+import com.puppies.api.cache.metrics.SlidingWindowCounter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
  * Tracks metrics for individual posts to enable intelligent caching decisions.
- * 
+ *
  * Metrics tracked:
  * - Views (total and per hour)
- * - Unique viewers  
+ * - Unique viewers
  * - Engagement rate (likes, comments vs views)
  * - Access patterns and recency
  * - Trending indicators
+ *
+ * Recording runs on every {@code IntelligentCacheService.getPost}, so it is lock-free and
+ * allocation-free: windowed counts live in fixed rings of atomic long buckets, unique viewers
+ * in HyperLogLog sketches, and timestamps are epoch millis. Nothing grows after construction,
+ * so {@link #ESTIMATED_HEAP_BYTES} holds however contended a post gets.
  */
-@Getter
 @Slf4j
 public class PostMetrics {
-    
+
+    private static final int VIEW_BUCKETS = 60;                      // 60 x 1 minute
+    private static final int ENGAGEMENT_BUCKETS = 12;                // 12 x 10 minutes
+    private static final int VIEWER_SKETCH_PRECISION = 8;
+
+    /**
+     * Approximate retained heap of one instance: the object with its boxed ID, three AtomicLong
+     * totals, the two bucket rings and the three sketches. About 2.4KB.
+     */
+    public static final int ESTIMATED_HEAP_BYTES = 96 + 3 * 24
+            + SlidingWindowCounter.estimatedHeapBytes(VIEW_BUCKETS)
+            + SlidingWindowCounter.estimatedHeapBytes(ENGAGEMENT_BUCKETS)
+            + 3 * HyperLogLog.estimatedHeapBytes(VIEWER_SKETCH_PRECISION);
+    private static final long HOUR_MILLIS = Duration.ofHours(1).toMillis();
+    private static final long ACCESS_RESOLUTION_MILLIS = 1000;
+
     private final Long postId;
-    private final AtomicLong totalViews = new AtomicLong(0);
-    private final AtomicLong totalLikes = new AtomicLong(0);
-    private final AtomicLong totalComments = new AtomicLong(0);
-    
+    private final LongSupplier clock;
+    private final AtomicLong totalViews = new AtomicLong();
+    private final AtomicLong totalLikes = new AtomicLong();
+    private final AtomicLong totalComments = new AtomicLong();
+
     // Time-based tracking
-    private final Map<LocalDateTime, Long> hourlyViews = new ConcurrentHashMap<>();
-    private final Set<Long> uniqueViewers = Collections.synchronizedSet(new HashSet<>());
-    private final Set<Long> recentViewers = Collections.synchronizedSet(new HashSet<>());
-    
-    private LocalDateTime lastAccessed = LocalDateTime.now();
-    private LocalDateTime createdAt = LocalDateTime.now();
-    private boolean isWarmed = false;
-    
-    // Engagement tracking
-    private final List<LocalDateTime> recentEngagements = Collections.synchronizedList(new ArrayList<>());
+    private final SlidingWindowCounter recentViews = new SlidingWindowCounter(VIEW_BUCKETS, Duration.ofMinutes(1));
+    private final SlidingWindowCounter recentEngagements = new SlidingWindowCounter(ENGAGEMENT_BUCKETS, Duration.ofMinutes(10));
+    private final HyperLogLog uniqueViewers = new HyperLogLog(VIEWER_SKETCH_PRECISION);
+    private volatile HyperLogLog currentHourViewers = new HyperLogLog(VIEWER_SKETCH_PRECISION);
+    private volatile HyperLogLog previousHourViewers;
+    private volatile long viewerHour;
+
+    private volatile long lastAccessed;
+    private final long createdAt;
+    private volatile boolean warmed = false;
 
     public PostMetrics(Long postId) {
+        this(postId, System::currentTimeMillis);
+    }
+
+    PostMetrics(Long postId, LongSupplier clock) {
         this.postId = postId;
+        this.clock = clock;
+        this.createdAt = clock.getAsLong();
+        this.lastAccessed = createdAt;
+        this.viewerHour = createdAt / HOUR_MILLIS;
     }
 
     /**
-     * Increment view count and update hourly tracking.
+     * Increment view count and update the per-minute window.
      */
     public void incrementViews() {
         totalViews.incrementAndGet();
-        
-        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
-        hourlyViews.merge(hour, 1L, Long::sum);
-        
-        // Clean old hourly data (keep last 24 hours)
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
-        hourlyViews.entrySet().removeIf(entry -> entry.getKey().isBefore(cutoff));
+        recentViews.increment(clock.getAsLong());
     }
 
     /**
@@ -63,43 +87,42 @@ public class PostMetrics {
      */
     public void addRecentAccess(Long userId) {
         uniqueViewers.add(userId);
-        recentViewers.add(userId);
-        
-        // Keep only recent viewers (last hour)
-        if (recentViewers.size() > 1000) {
-            recentViewers.clear();
-        }
+        currentHourSketch(clock.getAsLong()).add(userId);
     }
 
     /**
      * Record engagement (like, comment, share).
      */
     public void recordEngagement(String type) {
-        recentEngagements.add(LocalDateTime.now());
-        
-        switch (type.toLowerCase()) {
-            case "like" -> totalLikes.incrementAndGet();
-            case "comment" -> totalComments.incrementAndGet();
+        recentEngagements.increment(clock.getAsLong());
+
+        if ("like".equalsIgnoreCase(type)) {
+            totalLikes.incrementAndGet();
+        } else if ("comment".equalsIgnoreCase(type)) {
+            totalComments.incrementAndGet();
         }
-        
-        // Clean old engagements (keep last 2 hours)
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(2);
-        recentEngagements.removeIf(time -> time.isBefore(cutoff));
     }
 
     /**
-     * Get views in the last hour.
+     * Get views in the last 60 minutes.
      */
     public long getViewsInLastHour() {
-        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
-        return hourlyViews.getOrDefault(currentHour, 0L);
+        return recentViews.sum(clock.getAsLong());
     }
 
     /**
-     * Get unique viewers in the last hour.
+     * Estimated unique viewers over the current and previous clock hour.
      */
     public long getUniqueViewersInLastHour() {
-        return recentViewers.size();
+        currentHourSketch(clock.getAsLong());
+        return HyperLogLog.estimateUnion(currentHourViewers, previousHourViewers);
+    }
+
+    /**
+     * Estimated unique viewers since tracking started.
+     */
+    public long getUniqueViewers() {
+        return uniqueViewers.estimate();
     }
 
     /**
@@ -108,7 +131,7 @@ public class PostMetrics {
     public double getEngagementRate() {
         long views = totalViews.get();
         if (views == 0) return 0.0;
-        
+
         long engagements = totalLikes.get() + totalComments.get();
         return (double) engagements / views;
     }
@@ -120,18 +143,19 @@ public class PostMetrics {
     public boolean isTrending() {
         // Must have minimum activity
         if (totalViews.get() < 10) return false;
-        
+
         // Check recent engagement velocity
-        long recentEngagements = this.recentEngagements.size();
-        long viewsLastHour = getViewsInLastHour();
-        
+        long now = clock.getAsLong();
+        long recentEngagementCount = recentEngagements.sum(now);
+        long viewsLastHour = recentViews.sum(now);
+
         // Trending criteria:
         // 1. Recent views > 20 per hour OR
-        // 2. High engagement rate (>5%) with recent activity OR  
+        // 2. High engagement rate (>5%) with recent activity OR
         // 3. Rapid engagement growth (>10 engagements in 2 hours)
         return (viewsLastHour > 20) ||
                (getEngagementRate() > 0.05 && viewsLastHour > 5) ||
-               (recentEngagements > 10);
+               (recentEngagementCount > 10);
     }
 
     /**
@@ -142,7 +166,7 @@ public class PostMetrics {
         double engagementScore = getEngagementRate() * 1000 * 0.4;
         double recencyScore = getRecencyScore() * 0.2;
         double trendingBonus = isTrending() ? 100 : 0;
-        
+
         return viewsScore + engagementScore + recencyScore + trendingBonus;
     }
 
@@ -150,13 +174,13 @@ public class PostMetrics {
      * Calculate recency score (newer posts get higher scores).
      */
     private double getRecencyScore() {
-        long hoursOld = ChronoUnit.HOURS.between(createdAt, LocalDateTime.now());
-        
+        long hoursOld = (clock.getAsLong() - createdAt) / HOUR_MILLIS;
+
         // Posts lose 10% score per hour, but level off after 24 hours
         if (hoursOld >= 24) {
             return 10; // Minimum score for old posts
         }
-        
+
         return Math.max(10, 100 - (hoursOld * 3.75)); // 90 points spread over 24 hours
     }
 
@@ -165,32 +189,61 @@ public class PostMetrics {
      */
     public boolean shouldEvict() {
         // Evict if no activity in last 2 hours AND low total engagement
-        LocalDateTime twoHoursAgo = LocalDateTime.now().minusHours(2);
-        boolean noRecentActivity = lastAccessed.isBefore(twoHoursAgo);
+        boolean noRecentActivity = lastAccessed < clock.getAsLong() - 2 * HOUR_MILLIS;
         boolean lowEngagement = getEngagementRate() < 0.01 && totalViews.get() < 50;
-        
+
         return noRecentActivity && lowEngagement;
     }
 
     /**
-     * Update last accessed time.
+     * Update last accessed time; skipped within the same second to keep the hot path write-light.
      */
     public void updateLastAccessed() {
-        this.lastAccessed = LocalDateTime.now();
+        long now = clock.getAsLong();
+        if (now - lastAccessed >= ACCESS_RESOLUTION_MILLIS) {
+            lastAccessed = now;
+        }
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public long getTotalViews() {
+        return totalViews.get();
+    }
+
+    public long getTotalLikes() {
+        return totalLikes.get();
+    }
+
+    public long getTotalComments() {
+        return totalComments.get();
     }
 
     /**
-     * Get total views as AtomicLong.
+     * Last access time in epoch millis.
      */
-    public AtomicLong getTotalViews() {
-        return totalViews;
+    public long getLastAccessed() {
+        return lastAccessed;
+    }
+
+    /**
+     * Tracking start time in epoch millis.
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isWarmed() {
+        return warmed;
     }
 
     /**
      * Mark this post as cache-warmed.
      */
     public void markAsWarmed() {
-        this.isWarmed = true;
+        this.warmed = true;
     }
 
     /**
@@ -202,15 +255,33 @@ public class PostMetrics {
         summary.put("totalViews", totalViews.get());
         summary.put("totalLikes", totalLikes.get());
         summary.put("totalComments", totalComments.get());
-        summary.put("uniqueViewers", uniqueViewers.size());
+        summary.put("uniqueViewers", getUniqueViewers());
+        summary.put("uniqueViewersLastHour", getUniqueViewersInLastHour());
         summary.put("viewsLastHour", getViewsInLastHour());
         summary.put("engagementRate", String.format("%.2f%%", getEngagementRate() * 100));
         summary.put("isTrending", isTrending());
         summary.put("popularityScore", String.format("%.1f", getPopularityScore()));
         summary.put("shouldEvict", shouldEvict());
-        summary.put("isWarmed", isWarmed);
-        summary.put("lastAccessed", lastAccessed);
-        
+        summary.put("isWarmed", warmed);
+        summary.put("lastAccessed", Instant.ofEpochMilli(lastAccessed));
+
         return summary;
     }
-}
\ No newline at end of file
+
+    /**
+     * Sketch for the current clock hour; rotates once per hour, the only allocation on this path.
+     */
+    private HyperLogLog currentHourSketch(long now) {
+        long hour = now / HOUR_MILLIS;
+        if (hour != viewerHour) {
+            synchronized (this) {
+                if (hour != viewerHour) {
+                    previousHourViewers = hour == viewerHour + 1 ? currentHourViewers : null;
+                    currentHourViewers = new HyperLogLog(VIEWER_SKETCH_PRECISION);
+                    viewerHour = hour;
+                }
+            }
+        }
+        return currentHourViewers;
+    }
+}
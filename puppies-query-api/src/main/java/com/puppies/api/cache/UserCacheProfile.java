@@ -1,198 +1,257 @@
 package com.puppies.api.cache;
 
-import lombok.Getter;
-
-import java.time.LocalDateTime;
-import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.LongSupplier;
 
 /**
  * User behavior profile for personalized caching strategies.
- * 
+ *
  * Tracks user patterns to optimize cache placement and TTL:
  * - Activity level (high/medium/low engagement users)
  * - Content preferences and access patterns
  * - Cache hit/miss ratios for performance optimization
  * - Session behavior and timing patterns
+ *
+ * Millions of these are held at once, so the model is compact: primitive counters, an
+ * exponentially decayed access rate instead of a timestamp list, and small circular buffers
+ * of epoch millis. The engagement level is recomputed on a schedule by
+ * {@link #refreshEngagementLevel()}, not on every access.
  */
-@Getter
 public class UserCacheProfile {
-    
+
+    /**
+     * Engagement classification driving cache layer and TTL choices.
+     */
+    public enum EngagementLevel {
+        LOW, MEDIUM, HIGH
+    }
+
+    /**
+     * Approximate retained heap of one instance including its two ring buffers.
+     */
+    public static final int ESTIMATED_HEAP_BYTES = 384;
+
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+    private static final long SESSION_GAP_MILLIS = Duration.ofMinutes(30).toMillis();
+    private static final int RECENT_POSTS = 10;
+    private static final int RECENT_SESSIONS = 16;
+
+    private static final AtomicLongFieldUpdater<UserCacheProfile> TOTAL_POST_ACCESSES =
+            AtomicLongFieldUpdater.newUpdater(UserCacheProfile.class, "totalPostAccesses");
+    private static final AtomicLongFieldUpdater<UserCacheProfile> CACHE_HITS =
+            AtomicLongFieldUpdater.newUpdater(UserCacheProfile.class, "cacheHits");
+    private static final AtomicLongFieldUpdater<UserCacheProfile> CACHE_MISSES =
+            AtomicLongFieldUpdater.newUpdater(UserCacheProfile.class, "cacheMisses");
+
     private final Long userId;
-    private final AtomicLong totalPostAccesses = new AtomicLong(0);
-    private final AtomicLong cacheHits = new AtomicLong(0);
-    private final AtomicLong cacheMisses = new AtomicLong(0);
-    
-    // Activity tracking
-    private LocalDateTime lastActivity = LocalDateTime.now();
-    private LocalDateTime profileCreated = LocalDateTime.now();
-    private final Set<Long> accessedPosts = Collections.synchronizedSet(new LinkedHashSet<>());
-    
+    private final LongSupplier clock;
+    private volatile long totalPostAccesses;
+    private volatile long cacheHits;
+    private volatile long cacheMisses;
+
+    // Activity tracking (epoch millis)
+    private volatile long lastActivity;
+    private final long profileCreated;
+    private final long[] recentPosts = new long[RECENT_POSTS];
+    private int recentPostCount;
+
     // Engagement patterns
-    private final List<LocalDateTime> sessionTimes = Collections.synchronizedList(new ArrayList<>());
-    private final List<LocalDateTime> postAccessTimes = Collections.synchronizedList(new ArrayList<>());
-    private String engagementLevel = "MEDIUM"; // LOW, MEDIUM, HIGH
+    private final long[] sessionStarts = new long[RECENT_SESSIONS];
+    private int sessionCount;
+    private double decayedDailyAccesses;
+    private long decayedAt;
+    private volatile EngagementLevel engagementLevel = EngagementLevel.MEDIUM;
 
     public UserCacheProfile(Long userId) {
+        this(userId, System::currentTimeMillis);
+    }
+
+    UserCacheProfile(Long userId, LongSupplier clock) {
         this.userId = userId;
+        this.clock = clock;
+        this.profileCreated = clock.getAsLong();
+        this.lastActivity = profileCreated;
+        this.decayedAt = profileCreated;
     }
 
     /**
      * Record a post access for behavior analysis.
      */
     public void recordPostAccess(Long postId) {
-        totalPostAccesses.incrementAndGet();
-        accessedPosts.add(postId);
-        
-        // Track post access time for engagement calculation
-        LocalDateTime now = LocalDateTime.now();
-        postAccessTimes.add(now);
-        
-        // Keep only recent post access times (last 1000)
-        if (postAccessTimes.size() > 1000) {
-            postAccessTimes.remove(0);
+        TOTAL_POST_ACCESSES.incrementAndGet(this);
+        long now = clock.getAsLong();
+        synchronized (this) {
+            decayedDailyAccesses = decayedAccessesAt(now) + 1;
+            decayedAt = Math.max(decayedAt, now);
+            recentPosts[recentPostCount % RECENT_POSTS] = postId;
+            recentPostCount++;
         }
-        
-        updateLastActivity();
-        
-        // Keep only recent accessed posts (last 100)
-        if (accessedPosts.size() > 100) {
-            Iterator<Long> iterator = accessedPosts.iterator();
-            iterator.next();
-            iterator.remove();
-        }
-        
-        // Update engagement level based on activity
-        updateEngagementLevel();
+        updateLastActivity(now);
     }
 
     /**
      * Record cache hit for performance tracking.
      */
     public void incrementCacheHits() {
-        cacheHits.incrementAndGet();
+        CACHE_HITS.incrementAndGet(this);
     }
 
     /**
      * Record cache miss for performance tracking.
      */
     public void incrementCacheMisses() {
-        cacheMisses.incrementAndGet();
+        CACHE_MISSES.incrementAndGet(this);
     }
 
     /**
-     * Update last activity timestamp.
+     * Update last activity timestamp; activity after a 30 minute gap starts a new session.
      */
     public void updateLastActivity() {
-        this.lastActivity = LocalDateTime.now();
-        recordSessionActivity();
+        updateLastActivity(clock.getAsLong());
     }
 
-    /**
-     * Get last activity timestamp.
-     */
-    public LocalDateTime getLastActivity() {
-        return lastActivity;
+    private void updateLastActivity(long now) {
+        long previous = lastActivity;
+        if (sessionCount == 0 || now - previous > SESSION_GAP_MILLIS) {
+            synchronized (this) {
+                if (sessionCount == 0 || now - sessionStarts[(sessionCount - 1) % RECENT_SESSIONS] > SESSION_GAP_MILLIS) {
+                    sessionStarts[sessionCount % RECENT_SESSIONS] = now;
+                    sessionCount++;
+                }
+            }
+        }
+        if (now > previous) {
+            lastActivity = now;
+        }
     }
 
     /**
-     * Record session activity for pattern analysis.
+     * Get last activity timestamp in epoch millis.
      */
-    private void recordSessionActivity() {
-        sessionTimes.add(LocalDateTime.now());
-        
-        // Keep only recent sessions (last 50)
-        if (sessionTimes.size() > 50) {
-            sessionTimes.remove(0);
-        }
+    public long getLastActivity() {
+        return lastActivity;
     }
 
     /**
-     * Analyze user activity to update engagement level.
+     * Reclassify the engagement level from the decayed access rate, session frequency and hit rate.
+     * Called on a schedule so the request path never pays for it.
      */
-    private void updateEngagementLevel() {
-        long accessesPerDay = getAccessesInLastDay();
+    public void refreshEngagementLevel() {
+        double accessesPerDay = getAccessesPerDay();
         double sessionFrequency = getSessionFrequency();
         double cacheHitRate = getCacheHitRate();
-        
+
         // High engagement: >50 accesses/day OR >10 sessions/day with good hit rate
         if (accessesPerDay > 50 || (sessionFrequency > 10 && cacheHitRate > 0.7)) {
-            engagementLevel = "HIGH";
+            engagementLevel = EngagementLevel.HIGH;
         }
         // Low engagement: <5 accesses/day OR poor cache performance
         else if (accessesPerDay < 5 || cacheHitRate < 0.3) {
-            engagementLevel = "LOW";
+            engagementLevel = EngagementLevel.LOW;
         }
         // Everything else is medium
         else {
-            engagementLevel = "MEDIUM";
+            engagementLevel = EngagementLevel.MEDIUM;
         }
     }
 
     /**
-     * Get post accesses in the last 24 hours.
+     * Post accesses per day as an exponentially decayed counter with a one day time constant.
+     * A steady rate of r accesses per day converges to r.
      */
-    private long getAccessesInLastDay() {
-        LocalDateTime dayAgo = LocalDateTime.now().minusDays(1);
-        return postAccessTimes.stream()
-                .mapToLong(time -> time.isAfter(dayAgo) ? 1 : 0)
-                .sum();
+    public synchronized double getAccessesPerDay() {
+        return decayedAccessesAt(clock.getAsLong());
+    }
+
+    private double decayedAccessesAt(long now) {
+        long elapsed = now - decayedAt;
+        if (elapsed <= 0) {
+            return decayedDailyAccesses;
+        }
+        return decayedDailyAccesses * Math.exp(-(double) elapsed / DAY_MILLIS);
     }
 
     /**
-     * Calculate average sessions per day.
+     * Calculate average sessions per day over the recent session buffer.
      */
-    private double getSessionFrequency() {
-        if (sessionTimes.isEmpty()) return 0;
-        
-        LocalDateTime firstSession = sessionTimes.get(0);
-        long daysSinceFirst = java.time.temporal.ChronoUnit.DAYS.between(firstSession, LocalDateTime.now());
-        
+    private synchronized double getSessionFrequency() {
+        if (sessionCount == 0) return 0;
+
+        int retained = Math.min(sessionCount, RECENT_SESSIONS);
+        long firstSession = sessionStarts[(sessionCount - retained) % RECENT_SESSIONS];
+        long daysSinceFirst = (clock.getAsLong() - firstSession) / DAY_MILLIS;
+
         if (daysSinceFirst == 0) daysSinceFirst = 1; // Avoid division by zero
-        
-        return (double) sessionTimes.size() / daysSinceFirst;
+
+        return (double) retained / daysSinceFirst;
     }
 
     /**
      * Calculate cache hit rate for this user.
      */
     public double getCacheHitRate() {
-        long totalRequests = cacheHits.get() + cacheMisses.get();
+        long hits = cacheHits;
+        long totalRequests = hits + cacheMisses;
         if (totalRequests == 0) return 0;
-        
-        return (double) cacheHits.get() / totalRequests;
+
+        return (double) hits / totalRequests;
     }
 
     /**
      * Check if this is a high engagement user.
      */
     public boolean isHighEngagement() {
-        return "HIGH".equals(engagementLevel);
+        return engagementLevel == EngagementLevel.HIGH;
     }
 
     /**
      * Check if this is a low engagement user.
      */
     public boolean isLowEngagement() {
-        return "LOW".equals(engagementLevel);
+        return engagementLevel == EngagementLevel.LOW;
     }
 
     /**
-     * Get current engagement level.
+     * Get engagement level as of the last refresh.
      */
-    public String getEngagementLevel() {
+    public EngagementLevel getEngagementLevel() {
         return engagementLevel;
     }
 
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getTotalPostAccesses() {
+        return totalPostAccesses;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * Profile creation time in epoch millis.
+     */
+    public long getProfileCreated() {
+        return profileCreated;
+    }
+
     /**
      * Get recommended cache TTL based on user behavior.
      */
     public int getRecommendedCacheTtlMinutes() {
         return switch (engagementLevel) {
-            case "HIGH" -> 30;   // High engagement users get longer cache
-            case "MEDIUM" -> 15; // Medium engagement gets standard cache
-            case "LOW" -> 5;     // Low engagement gets shorter cache
-            default -> 10;
+            case HIGH -> 30;   // High engagement users get longer cache
+            case MEDIUM -> 15; // Medium engagement gets standard cache
+            case LOW -> 5;     // Low engagement gets shorter cache
         };
     }
 
@@ -201,10 +260,9 @@ public class UserCacheProfile {
      */
     public int getRecommendedCacheCapacity() {
         return switch (engagementLevel) {
-            case "HIGH" -> 100;   // Cache more items for active users
-            case "MEDIUM" -> 50;  // Standard cache size
-            case "LOW" -> 20;     // Smaller cache for inactive users
-            default -> 50;
+            case HIGH -> 100;   // Cache more items for active users
+            case MEDIUM -> 50;  // Standard cache size
+            case LOW -> 20;     // Smaller cache for inactive users
         };
     }
 
@@ -216,23 +274,22 @@ public class UserCacheProfile {
     }
 
     /**
-     * Get user content preferences based on access history.
+     * Get user content preferences based on access history, oldest first.
      */
-    public List<Long> getPreferredContent() {
-        // Return recently accessed posts as preference indicators
-        return new ArrayList<>(accessedPosts).subList(
-            Math.max(0, accessedPosts.size() - 10), 
-            accessedPosts.size()
-        );
+    public synchronized List<Long> getPreferredContent() {
+        int retained = Math.min(recentPostCount, RECENT_POSTS);
+        List<Long> preferred = new ArrayList<>(retained);
+        for (int i = recentPostCount - retained; i < recentPostCount; i++) {
+            preferred.add(recentPosts[i % RECENT_POSTS]);
+        }
+        return preferred;
     }
 
     /**
      * Check if user profile should be archived (inactive).
      */
     public boolean shouldArchive() {
-        LocalDateTime weekAgo = LocalDateTime.now().minusWeeks(1);
-        return lastActivity.isBefore(weekAgo) && isLowEngagement();
+        long weekAgo = clock.getAsLong() - Duration.ofDays(7).toMillis();
+        return lastActivity < weekAgo && isLowEngagement();
     }
-
-
-}
\ No newline at end of file
+}
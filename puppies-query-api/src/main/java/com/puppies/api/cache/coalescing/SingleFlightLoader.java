@@ -0,0 +1,199 @@
+package com.puppies.api.cache.coalescing;
+
+import com.puppies.api.config.QueryCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight loading of cache misses, keyed by cache key.
+ *
+ * When a popular page expires every concurrent request misses at once. Within a node only the
+ * first miss runs the loader; the others wait on its future and share the result. A caller that
+ * wins the slot just after a previous flight finished re-reads the cache first, so it does not
+ * load a page that flight has just written. With the Redis
+ * lease enabled, only the node holding the lease for a key loads it; other nodes re-read the cache
+ * until the page appears, the lease lapses or the wait times out, and then load on their own.
+ */
+@Component
+@Slf4j
+public class SingleFlightLoader {
+
+    static final String LEASE_PREFIX = "cache:lease:";
+
+    private static final RedisScript<Long> RELEASE_LEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final QueryCacheProperties.SingleFlight settings;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalescedWaiters = new LongAdder();
+    private final LongAdder waitTimeouts = new LongAdder();
+    private final LongAdder recheckHits = new LongAdder();
+    private final LongAdder leasesAcquired = new LongAdder();
+    private final LongAdder leaseWaitHits = new LongAdder();
+    private final LongAdder leaseWaitMisses = new LongAdder();
+
+    public SingleFlightLoader(StringRedisTemplate stringRedisTemplate, QueryCacheProperties cacheProperties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.settings = cacheProperties.getSingleFlight();
+    }
+
+    /**
+     * Load the value for a missed key, sharing one load among concurrent callers.
+     *
+     * @param key    cache key of the missed entry
+     * @param cached re-reads the cache; returns null while the entry is still missing
+     * @param loader loads the value and writes it to the cache
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> cached, Supplier<T> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedWaiters.increment();
+            return (T) await(key, existing, loader);
+        }
+
+        try {
+            T value = cached.get();
+            if (value != null) {
+                recheckHits.increment();
+            } else {
+                value = settings.isLeaseEnabled() ? loadUnderLease(key, cached, loader) : loadNow(loader);
+            }
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Coalescing counters for monitoring.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loads", loads.sum());
+        stats.put("coalescedWaiters", coalescedWaiters.sum());
+        stats.put("waitTimeouts", waitTimeouts.sum());
+        stats.put("recheckHits", recheckHits.sum());
+        stats.put("inFlight", inFlight.size());
+        stats.put("leaseEnabled", settings.isLeaseEnabled());
+        stats.put("leasesAcquired", leasesAcquired.sum());
+        stats.put("leaseWaitHits", leaseWaitHits.sum());
+        stats.put("leaseWaitMisses", leaseWaitMisses.sum());
+        return stats;
+    }
+
+    private Object await(String key, CompletableFuture<Object> flight, Supplier<?> loader) {
+        try {
+            return flight.get(settings.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            waitTimeouts.increment();
+            log.warn("Single-flight wait for {} timed out, loading directly", key);
+            return loadNow(loader);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Single-flight load failed for " + key, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + key, e);
+        }
+    }
+
+    private <T> T loadUnderLease(String key, Supplier<T> cached, Supplier<T> loader) {
+        String leaseKey = LEASE_PREFIX + key;
+        String token = UUID.randomUUID().toString();
+        Boolean acquired;
+        try {
+            acquired = stringRedisTemplate.opsForValue().setIfAbsent(leaseKey, token, settings.getLeaseTtl());
+        } catch (Exception e) {
+            log.warn("Could not take lease for {}: {}", key, e.getMessage());
+            return loadNow(loader);
+        }
+
+        if (Boolean.TRUE.equals(acquired)) {
+            leasesAcquired.increment();
+            try {
+                return loadNow(loader);
+            } finally {
+                releaseLease(leaseKey, token);
+            }
+        }
+
+        T value = awaitOtherNode(leaseKey, cached);
+        if (value != null) {
+            leaseWaitHits.increment();
+            return value;
+        }
+        leaseWaitMisses.increment();
+        return loadNow(loader);
+    }
+
+    /**
+     * Re-read the cache while another node holds the lease. Returns null if the lease lapses
+     * or the wait times out before the entry appears.
+     */
+    private <T> T awaitOtherNode(String leaseKey, Supplier<T> cached) {
+        long deadline = System.nanoTime() + settings.getWaitTimeout().toNanos();
+        long pollMillis = Math.max(1, settings.getLeasePollInterval().toMillis());
+        try {
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(pollMillis);
+                T value = cached.get();
+                if (value != null) {
+                    return value;
+                }
+                if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(leaseKey))) {
+                    return cached.get();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Lease wait for {} failed: {}", leaseKey, e.getMessage());
+        }
+        return null;
+    }
+
+    private void releaseLease(String leaseKey, String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_LEASE, List.of(leaseKey), token);
+        } catch (Exception e) {
+            log.warn("Could not release lease {}: {}", leaseKey, e.getMessage());
+        }
+    }
+
+    private <T> T loadNow(Supplier<T> loader) {
+        loads.increment();
+        return loader.get();
+    }
+}
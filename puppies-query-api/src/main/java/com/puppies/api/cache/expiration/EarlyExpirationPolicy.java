@@ -0,0 +1,152 @@
+package com.puppies.api.cache.expiration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.puppies.api.common.constants.QueryApiConstants;
+import com.puppies.api.config.QueryCacheProperties;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Expiration policy for the hot, warm and cold post layers.
+ *
+ * Each key's TTL is shortened by a per-key fraction of the configured jitter, derived from the key's
+ * hash, so keys written together by a warming run expire spread out instead of at once. Redis and
+ * this policy compute the same TTL for a key, which lets readers know when an entry expires.
+ *
+ * On top of that, reads apply XFetch: an entry is recomputed early with a probability that grows as
+ * its expiry approaches and with the time its last recomputation took, so one reader refreshes an
+ * expensive hot entry shortly before it lapses instead of every reader missing together. Expiry and
+ * recompute cost are tracked for entries written through this node; entries written elsewhere still
+ * get the jitter.
+ */
+@Component
+public class EarlyExpirationPolicy {
+
+    private final QueryCacheProperties.EarlyExpiration settings;
+    private final LongSupplier clock;
+    private final DoubleSupplier random;
+    private final Cache<String, TrackedEntry> tracked;
+
+    private final LongAdder earlyRecomputes = new LongAdder();
+
+    public EarlyExpirationPolicy(QueryCacheProperties cacheProperties) {
+        this(cacheProperties, System::currentTimeMillis, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    EarlyExpirationPolicy(QueryCacheProperties cacheProperties, LongSupplier clock, DoubleSupplier random) {
+        this.settings = cacheProperties.getEarlyExpiration();
+        this.clock = clock;
+        this.random = random;
+        Duration longestTtl = Stream.of(settings.getHot(), settings.getWarm(), settings.getCold())
+                .map(QueryCacheProperties.EarlyExpiration.Region::getTtl)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofHours(1));
+        this.tracked = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxTrackedKeys())
+                .expireAfterWrite(longestTtl)
+                .build();
+    }
+
+    /**
+     * Whether the region is governed by this policy.
+     */
+    public boolean covers(String region) {
+        return settingsFor(region) != null;
+    }
+
+    /**
+     * TTL of a key in a covered region: the configured TTL shortened by the key's share of the jitter.
+     */
+    public Duration ttl(String region, Object key) {
+        QueryCacheProperties.EarlyExpiration.Region config = settingsFor(region);
+        if (config == null) {
+            throw new IllegalArgumentException("No expiration settings for region " + region);
+        }
+        double jitter = Math.min(Math.max(config.getJitter(), 0.0), 1.0);
+        long ttlMillis = config.getTtl().toMillis();
+        return Duration.ofMillis(ttlMillis - (long) (ttlMillis * jitter * unitHash(key)));
+    }
+
+    /**
+     * Redis TTL function applying the per-key jitter of a region.
+     */
+    public RedisCacheWriter.TtlFunction ttlFunction(String region) {
+        return (key, value) -> ttl(region, key);
+    }
+
+    /**
+     * Record a write so later reads know when the entry expires and what recomputing it costs.
+     *
+     * @param recomputeNanos time it took to load the written value
+     */
+    public void recordWrite(String region, String key, long recomputeNanos) {
+        if (!settings.isEnabled() || !covers(region)) {
+            return;
+        }
+        long expiresAt = clock.getAsLong() + ttl(region, key).toMillis();
+        tracked.put(region + "::" + key, new TrackedEntry(expiresAt, Math.max(0L, recomputeNanos) / 1_000_000.0));
+    }
+
+    /**
+     * XFetch decision for a cache hit: true when this reader should recompute the entry now.
+     */
+    public boolean shouldRecomputeEarly(String region, String key) {
+        if (!settings.isEnabled()) {
+            return false;
+        }
+        QueryCacheProperties.EarlyExpiration.Region config = settingsFor(region);
+        TrackedEntry entry = config != null ? tracked.getIfPresent(region + "::" + key) : null;
+        if (entry == null) {
+            return false;
+        }
+        // XFetch: now - delta * beta * ln(rand) >= expiry, with rand in (0, 1]
+        double gap = -entry.recomputeMillis() * config.getBeta() * Math.log(1.0 - random.getAsDouble());
+        if (clock.getAsLong() + gap >= entry.expiresAt()) {
+            earlyRecomputes.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Early recomputation counters for monitoring.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", settings.isEnabled());
+        stats.put("trackedKeys", tracked.estimatedSize());
+        stats.put("earlyRecomputes", earlyRecomputes.sum());
+        return stats;
+    }
+
+    private QueryCacheProperties.EarlyExpiration.Region settingsFor(String region) {
+        return switch (region) {
+            case QueryApiConstants.CacheNames.HOT_POSTS -> settings.getHot();
+            case QueryApiConstants.CacheNames.WARM_POSTS -> settings.getWarm();
+            case QueryApiConstants.CacheNames.COLD_POSTS -> settings.getCold();
+            default -> null;
+        };
+    }
+
+    /**
+     * Stable value in [0, 1) derived from the key, so every node picks the same TTL for it.
+     */
+    private static double unitHash(Object key) {
+        long h = String.valueOf(key).hashCode() * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 29;
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    private record TrackedEntry(long expiresAt, double recomputeMillis) {
+    }
+}
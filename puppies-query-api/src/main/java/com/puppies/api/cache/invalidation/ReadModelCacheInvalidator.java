@@ -0,0 +1,121 @@
+package com.puppies.api.cache.invalidation;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.puppies.api.cache.twolevel.TwoLevelCacheManager;
+import com.puppies.api.common.constants.QueryApiConstants;
+import com.puppies.api.read.service.PageGenerationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drops this node's local copies of the cached data touched by a read model change.
+ *
+ * The sync worker publishes which posts, authors and feeds it changed, after it has already
+ * deleted the touched entries from Redis and moved the affected paged listings (the author's
+ * posts, the post listing, the affected users' feeds) to a new generation, once per change.
+ * Every query-api node receives the message and only drops local state: its memoized generations
+ * of those listings, so stale pages are never read again, and its L1 copies of the single entries.
+ * Nothing is written to Redis here, so a change costs the same however many nodes there are.
+ */
+@Component
+@Slf4j
+public class ReadModelCacheInvalidator {
+
+    static final String USER_FEED_COUNT = "user_feed_count";
+
+    private final CacheManager cacheManager;
+    private final PageGenerationService pageGenerationService;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong evictedKeys = new AtomicLong();
+    private final AtomicLong forgottenGenerations = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public ReadModelCacheInvalidator(CacheManager cacheManager, PageGenerationService pageGenerationService) {
+        this.cacheManager = cacheManager;
+        this.pageGenerationService = pageGenerationService;
+    }
+
+    /**
+     * Apply a JSON invalidation message from the sync worker; failures only leave pages to expire by TTL.
+     */
+    public void onMessage(String message) {
+        try {
+            invalidate(objectMapper.readValue(message, ReadModelInvalidation.class));
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            log.warn("⚠️ Failed to apply read model invalidation {}: {}", message, e.getMessage());
+        }
+    }
+
+    public void invalidate(ReadModelInvalidation invalidation) {
+        messages.incrementAndGet();
+        long evicted = 0;
+
+        for (Long postId : invalidation.getPostIds()) {
+            evicted += evictLocal(QueryApiConstants.CacheNames.POST, postId);
+        }
+
+        for (Long authorId : invalidation.getAuthorIds()) {
+            forget(QueryApiConstants.CacheKeys.AUTHOR_POSTS_PREFIX + authorId);
+            evicted += evictLocal(QueryApiConstants.CacheNames.AUTHOR_POST_COUNT, authorId);
+        }
+
+        if (invalidation.isNewPosts()) {
+            forget(QueryApiConstants.CacheKeys.POSTS_PREFIX);
+        }
+
+        if (invalidation.isAllFeeds()) {
+            forget(PageGenerationService.ALL_FEEDS);
+            evicted += clearLocal(USER_FEED_COUNT);
+        } else {
+            for (Long userId : invalidation.getFeedUserIds()) {
+                forget(PageGenerationService.userFeedListing(userId));
+                evicted += evictLocal(USER_FEED_COUNT, userId);
+            }
+        }
+
+        evictedKeys.addAndGet(evicted);
+        log.debug("🧹 Read model invalidation applied locally: {} L1 keys dropped for {}", evicted, invalidation);
+    }
+
+    /**
+     * Invalidation counters for this node.
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "messages", messages.get(),
+            "evictedKeys", evictedKeys.get(),
+            "forgottenGenerations", forgottenGenerations.get(),
+            "failures", failures.get()
+        );
+    }
+
+    private void forget(String listing) {
+        pageGenerationService.forget(listing);
+        forgottenGenerations.incrementAndGet();
+    }
+
+    private long evictLocal(String cacheName, Object key) {
+        if (!(cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager)) {
+            return 0;
+        }
+        twoLevelCacheManager.evictLocal(cacheName, key);
+        return 1;
+    }
+
+    private long clearLocal(String cacheName) {
+        if (!(cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager)) {
+            return 0;
+        }
+        twoLevelCacheManager.clearLocal(cacheName);
+        return 1;
+    }
+}
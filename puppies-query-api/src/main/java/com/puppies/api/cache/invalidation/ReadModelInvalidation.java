@@ -0,0 +1,46 @@
+package com.puppies.api.cache.invalidation;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Read model change published by the sync worker after its transaction commits.
+ *
+ * Mirrors the sync worker message; unknown fields are ignored so either side can add
+ * hints without a coordinated deploy.
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ReadModelInvalidation {
+
+    /**
+     * Posts whose read_posts row changed.
+     */
+    private Set<Long> postIds = new LinkedHashSet<>();
+
+    /**
+     * Authors whose post listings changed.
+     */
+    private Set<Long> authorIds = new LinkedHashSet<>();
+
+    /**
+     * Users whose feed or liked-posts pages changed.
+     */
+    private Set<Long> feedUserIds = new LinkedHashSet<>();
+
+    /**
+     * A post was created, so the first page of the global listings moved.
+     */
+    private boolean newPosts;
+
+    /**
+     * Every feed changed. Only sent for rare global changes; a post's fan-out lists its
+     * recipients in feedUserIds, one message per fan-out page.
+     */
+    private boolean allFeeds;
+}
@@ -0,0 +1,276 @@
+package com.puppies.api.cache.metrics;
+
+import com.puppies.api.cache.twolevel.TwoLevelCacheManager;
+import com.puppies.api.common.constants.QueryApiConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Incremental entry and byte accounting for the hot/warm/cold cache layers.
+ *
+ * Replaces KEYS-based sizing, which blocks Redis for the whole keyspace. Puts and evictions
+ * update per-layer counts as they happen; evictions and clears through two-level regions are
+ * reported by the cache manager. The stored size of a new entry is measured shortly after
+ * with pipelined STRLEN batches. A key waits in the measurement queue at most once, however often
+ * it is rewritten, and each pass drains the whole queue. Entries that expire by TTL are not observed here, so a background
+ * reconciler periodically walks each layer with SCAN and corrects the tracked state in place.
+ */
+@Component
+@Slf4j
+public class CacheLayerAccounting implements TwoLevelCacheManager.RemovalListener {
+
+    static final List<String> LAYERS = List.of(
+            QueryApiConstants.CacheNames.HOT_POSTS,
+            QueryApiConstants.CacheNames.WARM_POSTS,
+            QueryApiConstants.CacheNames.COLD_POSTS);
+
+    private static final String KEY_SEPARATOR = "::";
+    private static final int UNMEASURED = -1;
+    private static final int BATCH_SIZE = 500;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Map<String, LayerUsage> layers = new LinkedHashMap<>();
+    private final Queue<PendingMeasure> pending = new ConcurrentLinkedQueue<>();
+    private final Set<PendingMeasure> pendingKeys = ConcurrentHashMap.newKeySet();
+
+    public CacheLayerAccounting(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        LAYERS.forEach(layer -> layers.put(layer, new LayerUsage()));
+    }
+
+    /**
+     * Record a write; its byte size is filled in by the next measurement pass.
+     */
+    public void recordPut(String layer, String key) {
+        LayerUsage usage = layers.get(layer);
+        if (usage == null) {
+            return;
+        }
+        if (usage.entrySizes.putIfAbsent(key, UNMEASURED) == null) {
+            usage.inserts.incrementAndGet();
+        }
+        PendingMeasure measure = new PendingMeasure(layer, key);
+        if (pendingKeys.add(measure)) {
+            pending.add(measure);
+        }
+    }
+
+    public void recordEvict(String layer, String key) {
+        LayerUsage usage = layers.get(layer);
+        if (usage == null) {
+            return;
+        }
+        recordEvictIfPresent(usage, key);
+    }
+
+    public void recordClear(String layer) {
+        LayerUsage usage = layers.get(layer);
+        if (usage != null) {
+            usage.entrySizes.clear();
+            usage.bytes.set(0);
+        }
+    }
+
+    @Override
+    public void onEvict(String cacheName, Object key) {
+        recordEvict(cacheName, String.valueOf(key));
+    }
+
+    @Override
+    public void onClear(String cacheName) {
+        recordClear(cacheName);
+    }
+
+    /**
+     * Tracked entry count of a layer, or 0 for untracked layers.
+     */
+    public long getEntryCount(String layer) {
+        LayerUsage usage = layers.get(layer);
+        return usage == null ? 0 : usage.entrySizes.size();
+    }
+
+    /**
+     * Per-layer entries, bytes and reconciliation status.
+     */
+    public Map<String, Object> getLayerUsage() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        layers.forEach((layer, usage) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("entries", usage.entrySizes.size());
+            stats.put("bytes", usage.bytes.get());
+            stats.put("inserts", usage.inserts.get());
+            stats.put("lastReconciledAt", usage.lastReconciledAt);
+            stats.put("lastReconcileDrift", usage.lastReconcileDrift);
+            result.put(layer, stats);
+        });
+        result.put("pendingMeasurements", pendingKeys.size());
+        return result;
+    }
+
+    /**
+     * Measure the stored size of every queued entry, one pipelined round trip per batch.
+     * Keys queued while the pass runs wait for the next pass, so a pass always ends.
+     */
+    @Scheduled(fixedDelayString = "${cqrs.cache.accounting.measure-interval:5000}")
+    public void measurePending() {
+        int remaining = pendingKeys.size();
+        List<PendingMeasure> batch = new ArrayList<>(BATCH_SIZE);
+        while (remaining > 0) {
+            PendingMeasure next;
+            while (batch.size() < BATCH_SIZE && remaining > 0 && (next = pending.poll()) != null) {
+                // Leaving the set first lets a rewrite during the measurement queue the key again
+                pendingKeys.remove(next);
+                batch.add(next);
+                remaining--;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                measureBatch(batch);
+            } catch (Exception e) {
+                // Entries of the failed batch stay unmeasured until the next reconcile
+                log.warn("Failed to measure {} cache entries: {}", batch.size(), e.getMessage());
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void measureBatch(List<PendingMeasure> batch) {
+        List<Long> sizes = strLen(batch.stream().map(m -> m.layer() + KEY_SEPARATOR + m.key()).toList());
+        for (int i = 0; i < batch.size(); i++) {
+            PendingMeasure measure = batch.get(i);
+            applyMeasuredSize(layers.get(measure.layer()), measure.key(), sizes.get(i));
+        }
+    }
+
+    /**
+     * Correct each layer from a SCAN of Redis, dropping entries that expired by TTL.
+     */
+    @Scheduled(fixedDelayString = "${cqrs.cache.accounting.reconcile-interval:300000}",
+               initialDelayString = "${cqrs.cache.accounting.reconcile-interval:300000}")
+    public void reconcile() {
+        for (String layer : LAYERS) {
+            try {
+                reconcileLayer(layer);
+            } catch (Exception e) {
+                log.warn("Failed to reconcile cache layer {}: {}", layer, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reconcile into the live map rather than replacing it, so puts and evictions recorded while
+     * the SCAN runs are kept: only keys tracked before the SCAN started and not found by it are
+     * dropped, and scanned sizes overwrite tracked ones.
+     */
+    void reconcileLayer(String layer) {
+        LayerUsage usage = layers.get(layer);
+        String redisPrefix = layer + KEY_SEPARATOR;
+        Set<String> trackedBefore = new HashSet<>(usage.entrySizes.keySet());
+        Map<String, Integer> scanned = new HashMap<>();
+
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        ScanOptions options = ScanOptions.scanOptions().match(redisPrefix + "*").count(BATCH_SIZE).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == BATCH_SIZE || !cursor.hasNext()) {
+                    List<Long> sizes = strLen(batch);
+                    for (int i = 0; i < batch.size(); i++) {
+                        long size = sizes.get(i);
+                        if (size > 0) {
+                            scanned.put(batch.get(i).substring(redisPrefix.length()), (int) size);
+                        }
+                    }
+                    batch.clear();
+                }
+            }
+        }
+
+        long drift = 0;
+        for (String key : trackedBefore) {
+            if (!scanned.containsKey(key) && usage.entrySizes.remove(key) != null) {
+                drift++;
+            }
+        }
+        for (Map.Entry<String, Integer> entry : scanned.entrySet()) {
+            if (usage.entrySizes.put(entry.getKey(), entry.getValue()) == null) {
+                drift--;
+            }
+        }
+        long bytes = 0;
+        for (int size : usage.entrySizes.values()) {
+            bytes += Math.max(size, 0);
+        }
+        usage.bytes.set(bytes);
+        usage.lastReconciledAt = LocalDateTime.now();
+        usage.lastReconcileDrift = drift;
+        log.debug("🧮 Reconciled cache layer {}: {} entries, {} bytes, drift {}", layer, usage.entrySizes.size(), bytes, drift);
+    }
+
+    private void applyMeasuredSize(LayerUsage usage, String key, Long measured) {
+        int size = measured == null ? 0 : measured.intValue();
+        if (size == 0) {
+            // Expired or evicted before it could be measured
+            recordEvictIfPresent(usage, key);
+            return;
+        }
+        Integer previous = usage.entrySizes.replace(key, size);
+        if (previous != null) {
+            usage.bytes.addAndGet(size - Math.max(previous, 0));
+        }
+    }
+
+    private void recordEvictIfPresent(LayerUsage usage, String key) {
+        Integer previous = usage.entrySizes.remove(key);
+        if (previous != null && previous > 0) {
+            usage.bytes.addAndGet(-previous);
+        }
+    }
+
+    private List<Long> strLen(List<String> keys) {
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.stringCommands().strLen(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        List<Long> sizes = new ArrayList<>(results.size());
+        for (Object result : results) {
+            sizes.add(result instanceof Number number ? number.longValue() : 0L);
+        }
+        return sizes;
+    }
+
+    private record PendingMeasure(String layer, String key) {
+    }
+
+    private static final class LayerUsage {
+        private final Map<String, Integer> entrySizes = new ConcurrentHashMap<>();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong inserts = new AtomicLong();
+        private volatile LocalDateTime lastReconciledAt;
+        private volatile long lastReconcileDrift;
+    }
+}
@@ -85,6 +85,22 @@ public class CacheMetrics {
         return total > 0 ? (double) hits / total : 0.0;
     }
 
+    /**
+     * Total hits recorded for a cache layer.
+     */
+    public long getHits(String cacheLayer) {
+        AtomicLong hits = cacheHits.get(cacheLayer);
+        return hits != null ? hits.get() : 0;
+    }
+
+    /**
+     * Total misses recorded for a cache layer.
+     */
+    public long getMisses(String cacheLayer) {
+        AtomicLong misses = cacheMisses.get(cacheLayer);
+        return misses != null ? misses.get() : 0;
+    }
+
     /**
      * Get average response time for an operation.
      */
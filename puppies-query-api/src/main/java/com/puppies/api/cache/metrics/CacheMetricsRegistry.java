@@ -0,0 +1,173 @@
+package com.puppies.api.cache.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.puppies.api.cache.PostMetrics;
+import com.puppies.api.cache.UserCacheProfile;
+import com.puppies.api.config.QueryCacheProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared, memory-bounded registry of per-post metrics and per-user cache profiles.
+ *
+ * IntelligentCacheService and the hot posts and user behavior strategies all read the same
+ * instances from here instead of keeping their own maps. Each region is a Caffeine cache weighed
+ * by the estimated heap bytes of its entries, so a crawl or traffic spike evicts the least valuable
+ * entries (W-TinyLFU: an LRU admission window in front of an LFU main space) instead of growing
+ * the heap. Entries idle for the configured TTL are dropped as well.
+ */
+@Component
+public class CacheMetricsRegistry {
+
+    static final String POSTS = "postMetrics";
+    static final String USERS = "userProfiles";
+
+    private final Cache<Long, PostMetrics> posts;
+    private final Cache<Long, UserCacheProfile> users;
+    private final Map<String, RegionStats> regions = new LinkedHashMap<>();
+
+    public CacheMetricsRegistry(QueryCacheProperties cacheProperties) {
+        this(cacheProperties, ForkJoinPool.commonPool());
+    }
+
+    CacheMetricsRegistry(QueryCacheProperties cacheProperties, Executor maintenanceExecutor) {
+        QueryCacheProperties.MetricsRegistry settings = cacheProperties.getMetricsRegistry();
+        RegionStats postStats = new RegionStats(settings.getPostMetricsBudget().toBytes());
+        RegionStats userStats = new RegionStats(settings.getUserProfilesBudget().toBytes());
+        regions.put(POSTS, postStats);
+        regions.put(USERS, userStats);
+
+        this.posts = Caffeine.newBuilder()
+                .maximumWeight(postStats.budgetBytes)
+                .weigher((Long postId, PostMetrics metrics) -> PostMetrics.ESTIMATED_HEAP_BYTES)
+                .expireAfterAccess(settings.getIdleTtl())
+                .executor(maintenanceExecutor)
+                .removalListener((Long postId, PostMetrics metrics, RemovalCause cause) -> postStats.recordRemoval(cause))
+                .build();
+        this.users = Caffeine.newBuilder()
+                .maximumWeight(userStats.budgetBytes)
+                .weigher((Long userId, UserCacheProfile profile) -> UserCacheProfile.ESTIMATED_HEAP_BYTES)
+                .expireAfterAccess(settings.getIdleTtl())
+                .executor(maintenanceExecutor)
+                .removalListener((Long userId, UserCacheProfile profile, RemovalCause cause) -> userStats.recordRemoval(cause))
+                .build();
+    }
+
+    /**
+     * Metrics of a post, created on first access.
+     */
+    public PostMetrics getOrCreatePost(Long postId) {
+        return posts.get(postId, PostMetrics::new);
+    }
+
+    public PostMetrics getPost(Long postId) {
+        return posts.getIfPresent(postId);
+    }
+
+    public void putPost(Long postId, PostMetrics metrics) {
+        posts.put(postId, metrics);
+    }
+
+    /**
+     * Live view of tracked post metrics, keyed by post ID.
+     */
+    public Map<Long, PostMetrics> posts() {
+        return posts.asMap();
+    }
+
+    /**
+     * Profile of a user, created on first access.
+     */
+    public UserCacheProfile getOrCreateUser(Long userId) {
+        return users.get(userId, UserCacheProfile::new);
+    }
+
+    public UserCacheProfile getUser(Long userId) {
+        return users.getIfPresent(userId);
+    }
+
+    public void putUser(Long userId, UserCacheProfile profile) {
+        users.put(userId, profile);
+    }
+
+    /**
+     * Live view of tracked user profiles.
+     */
+    public Collection<UserCacheProfile> users() {
+        return users.asMap().values();
+    }
+
+    public long getPostCount() {
+        return posts.estimatedSize();
+    }
+
+    public long getUserCount() {
+        return users.estimatedSize();
+    }
+
+    /**
+     * Run pending expiration and eviction work now instead of on the next access.
+     */
+    public void cleanUp() {
+        posts.cleanUp();
+        users.cleanUp();
+    }
+
+    /**
+     * Occupancy and eviction gauges per region.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put(POSTS, regionStats(POSTS, posts));
+        stats.put(USERS, regionStats(USERS, users));
+        return stats;
+    }
+
+    private Map<String, Object> regionStats(String region, Cache<Long, ?> cache) {
+        RegionStats regionStats = regions.get(region);
+        long usedBytes = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        long now = System.currentTimeMillis();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", cache.estimatedSize());
+        stats.put("usedBytes", usedBytes);
+        stats.put("budgetBytes", regionStats.budgetBytes);
+        stats.put("occupancy", String.format("%.2f%%", usedBytes * 100.0 / regionStats.budgetBytes));
+        stats.put("evictions", regionStats.evictions.sum());
+        stats.put("expirations", regionStats.expirations.sum());
+        stats.put("evictionsLastMinute", regionStats.recentEvictions.sum(now));
+        return stats;
+    }
+
+    private static final class RegionStats {
+
+        private final long budgetBytes;
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder expirations = new LongAdder();
+        private final SlidingWindowCounter recentEvictions = new SlidingWindowCounter(12, Duration.ofSeconds(5));
+
+        private RegionStats(long budgetBytes) {
+            this.budgetBytes = budgetBytes;
+        }
+
+        private void recordRemoval(RemovalCause cause) {
+            if (cause == RemovalCause.SIZE) {
+                evictions.increment();
+                recentEvictions.increment(System.currentTimeMillis());
+            } else if (cause == RemovalCause.EXPIRED) {
+                expirations.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.puppies.api.cache.metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Fixed-size HyperLogLog cardinality sketch for long identifiers.
+ *
+ * Uses 2^precision one-byte registers; precision 8 takes 256 bytes and estimates with roughly
+ * 6.5% standard error, with linear counting keeping small cardinalities close to exact. Adding
+ * an element is a hash and at most a compare-and-set on one register, so it is lock-free and
+ * never allocates.
+ */
+public final class HyperLogLog {
+
+    private static final VarHandle REGISTERS = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final int precision;
+    private final byte[] registers;
+    private final double alphaMM;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision must be between 4 and 16: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+        int m = registers.length;
+        double alpha = switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+        this.alphaMM = alpha * m * m;
+    }
+
+    /**
+     * Retained heap of a sketch with the given precision: the object and its register array.
+     */
+    public static int estimatedHeapBytes(int precision) {
+        return 32 + 16 + (1 << precision);
+    }
+
+    public void add(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (64 - precision));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        byte current;
+        do {
+            current = (byte) REGISTERS.getVolatile(registers, index);
+            if (current >= rank) {
+                return;
+            }
+        } while (!REGISTERS.compareAndSet(registers, index, current, rank));
+    }
+
+    public long estimate() {
+        return estimate(this, null);
+    }
+
+    /**
+     * Estimated cardinality of the union of two sketches with the same precision, without allocating.
+     */
+    public static long estimateUnion(HyperLogLog first, HyperLogLog second) {
+        if (second != null && second.precision != first.precision) {
+            throw new IllegalArgumentException("Cannot combine sketches of different precision");
+        }
+        return estimate(first, second);
+    }
+
+    private static long estimate(HyperLogLog first, HyperLogLog second) {
+        int m = first.registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (int i = 0; i < m; i++) {
+            int register = (byte) REGISTERS.getVolatile(first.registers, i);
+            if (second != null) {
+                register = Math.max(register, (byte) REGISTERS.getVolatile(second.registers, i));
+            }
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = first.alphaMM / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * SplitMix64 finalizer; spreads sequential IDs over the whole 64-bit range.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
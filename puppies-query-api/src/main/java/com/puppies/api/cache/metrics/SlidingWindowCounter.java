@@ -0,0 +1,80 @@
+package com.puppies.api.cache.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Event counter over a sliding time window, kept as a fixed ring of atomic long buckets.
+ *
+ * Each bucket covers one bucket width and is stamped with the index of the period it counts, so
+ * an expired bucket is recognised and reset by the first writer of a new period. Recording never
+ * allocates or takes a lock. Buckets are plain atomic longs rather than LongAdders, whose cells
+ * grow under contention, so the footprint stays at {@link #estimatedHeapBytes} and heap budgets
+ * built on it hold. A writer racing the reset of a rolled-over bucket can lose its increment,
+ * which is an acceptable error for cache heuristics.
+ */
+public final class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final AtomicLongArray buckets;
+    private final AtomicLongArray bucketPeriods;
+
+    public SlidingWindowCounter(int bucketCount, Duration bucketWidth) {
+        this.bucketMillis = bucketWidth.toMillis();
+        this.buckets = new AtomicLongArray(bucketCount);
+        this.bucketPeriods = new AtomicLongArray(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            bucketPeriods.set(i, -1);
+        }
+    }
+
+    /**
+     * Retained heap of a counter with the given number of buckets: the object and two
+     * AtomicLongArrays, each a 16 byte wrapper around a long array with a 16 byte header.
+     */
+    public static int estimatedHeapBytes(int bucketCount) {
+        return 32 + 2 * (16 + 16 + 8 * bucketCount);
+    }
+
+    public void increment(long nowMillis) {
+        add(nowMillis, 1);
+    }
+
+    public void add(long nowMillis, long delta) {
+        long period = nowMillis / bucketMillis;
+        int index = (int) (period % buckets.length());
+        long stamped = bucketPeriods.get(index);
+        if (stamped != period) {
+            if (stamped > period) {
+                return; // Late write for a period that has already been overwritten
+            }
+            if (bucketPeriods.compareAndSet(index, stamped, period)) {
+                buckets.set(index, 0);
+            }
+        }
+        buckets.addAndGet(index, delta);
+    }
+
+    /**
+     * Events recorded within the whole window ending at {@code nowMillis}.
+     */
+    public long sum(long nowMillis) {
+        return sum(nowMillis, buckets.length());
+    }
+
+    /**
+     * Events recorded within the most recent {@code bucketCount} buckets.
+     */
+    public long sum(long nowMillis, int bucketCount) {
+        long period = nowMillis / bucketMillis;
+        long oldest = period - Math.min(bucketCount, buckets.length()) + 1;
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            long stamped = bucketPeriods.get(i);
+            if (stamped >= oldest && stamped <= period) {
+                total += buckets.get(i);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,152 @@
+package com.puppies.api.cache.refresh;
+
+import com.puppies.api.common.constants.QueryApiConstants;
+import com.puppies.api.config.QueryCacheProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Stale-while-revalidate for the paged content regions.
+ *
+ * Pages are written as {@link StampedPage}s and kept in Redis until their hard TTL. A read past the
+ * soft TTL still returns the cached page and schedules one background reload per key on a small
+ * bounded pool, so the request that crosses the old fixed TTL no longer pays the database latency.
+ * When the refresh backlog is full the stale page is served as is and a later read retries.
+ */
+@Component
+@Slf4j
+public class PageRefreshScheduler {
+
+    private final QueryCacheProperties.StaleWhileRevalidate settings;
+    private final ThreadPoolExecutor executor;
+    private final LongSupplier clock;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public PageRefreshScheduler(QueryCacheProperties cacheProperties) {
+        this(cacheProperties, System::currentTimeMillis);
+    }
+
+    PageRefreshScheduler(QueryCacheProperties cacheProperties, LongSupplier clock) {
+        this.settings = cacheProperties.getStaleWhileRevalidate();
+        this.clock = clock;
+        int threads = Math.max(1, settings.getRefreshThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, settings.getRefreshQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "page-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Value to cache for a page: stamped with the write time while the mode is enabled.
+     */
+    public Object stamp(List<?> content) {
+        return settings.isEnabled() ? new StampedPage(content, clock.getAsLong()) : content;
+    }
+
+    /**
+     * Page content of a cached value, or null if the value is not a page. A stamped page past the
+     * soft TTL of its region is returned as well, after scheduling {@code refresh} for its key.
+     *
+     * @param region  cache region the value was read from
+     * @param key     cache key of the page
+     * @param value   cached value
+     * @param refresh reloads the page and writes it back; may be null when the caller cannot reload
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> read(String region, String key, Object value, Runnable refresh) {
+        if (value instanceof List<?> content) {
+            return (List<T>) content;
+        }
+        if (!(value instanceof StampedPage page)) {
+            return null;
+        }
+        if (settings.isEnabled() && refresh != null && isStale(region, page)) {
+            staleHits.increment();
+            schedule(region + "::" + key, refresh);
+        }
+        return (List<T>) page.content();
+    }
+
+    /**
+     * Refresh counters for monitoring.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", settings.isEnabled());
+        stats.put("staleHits", staleHits.sum());
+        stats.put("refreshesScheduled", scheduled.sum());
+        stats.put("refreshesDeduplicated", deduplicated.sum());
+        stats.put("refreshesRejected", rejected.sum());
+        stats.put("refreshesCompleted", completed.sum());
+        stats.put("refreshesFailed", failed.sum());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("active", executor.getActiveCount());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean isStale(String region, StampedPage page) {
+        Duration softTtl = switch (region) {
+            case QueryApiConstants.CacheNames.POST_CONTENT -> settings.getPostContentSoftTtl();
+            case QueryApiConstants.CacheNames.FEED_CONTENT -> settings.getFeedContentSoftTtl();
+            default -> null;
+        };
+        return softTtl != null && clock.getAsLong() - page.writtenAt() >= softTtl.toMillis();
+    }
+
+    private void schedule(String refreshKey, Runnable refresh) {
+        if (!pending.add(refreshKey)) {
+            deduplicated.increment();
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh.run();
+                    completed.increment();
+                } catch (Exception e) {
+                    failed.increment();
+                    log.warn("Background refresh of {} failed: {}", refreshKey, e.getMessage());
+                } finally {
+                    pending.remove(refreshKey);
+                }
+            });
+            scheduled.increment();
+        } catch (RejectedExecutionException e) {
+            pending.remove(refreshKey);
+            rejected.increment();
+            log.debug("Refresh backlog full, serving stale page for {}", refreshKey);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.puppies.api.cache.refresh;
+
+import java.util.List;
+
+/**
+ * A cached page together with the time it was written, so readers can tell a page past its
+ * soft TTL from a fresh one. Pages written without a stamp are treated as fresh.
+ *
+ * @param content   the cached page
+ * @param writtenAt epoch millis of the write
+ */
+public record StampedPage(List<?> content, long writtenAt) {
+}
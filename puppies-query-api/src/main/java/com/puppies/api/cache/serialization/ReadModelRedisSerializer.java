@@ -0,0 +1,370 @@
+package com.puppies.api.cache.serialization;
+
+import com.puppies.api.cache.refresh.StampedPage;
+import com.puppies.api.read.model.ReadFeedItem;
+import com.puppies.api.read.model.ReadPost;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary serializer for the read models kept in Redis.
+ *
+ * {@link ReadPost}, {@link ReadFeedItem}, lists of either (cached pages), {@link StampedPage}s wrapping
+ * such a list and {@code Long} totals are written field by field in a fixed schema: no class names, no property names, and timestamps as
+ * epoch seconds plus nanos. Payloads above the compression threshold are deflated at BEST_SPEED.
+ *
+ * Anything else, and any value written before a region was switched to this serializer, goes through
+ * the fallback serializer. Binary payloads start with a non-ASCII magic byte so the two never collide.
+ */
+public class ReadModelRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xB1;
+    private static final byte FLAG_COMPRESSED = 0x01;
+
+    private static final byte TYPE_LONG = 1;
+    private static final byte TYPE_POST = 2;
+    private static final byte TYPE_FEED_ITEM = 3;
+    private static final byte TYPE_POST_LIST = 4;
+    private static final byte TYPE_FEED_ITEM_LIST = 5;
+    private static final byte TYPE_EMPTY_LIST = 6;
+    private static final byte TYPE_STAMPED_PAGE = 7;
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+
+    /**
+     * @param fallback             serializer used for values outside the binary schema
+     * @param compressionThreshold payload size in bytes above which the body is compressed; 0 disables compression
+     */
+    public ReadModelRedisSerializer(RedisSerializer<Object> fallback, int compressionThreshold) {
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte type = typeOf(value);
+        if (type == 0) {
+            return fallback.serialize(value);
+        }
+
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(buffer);
+            out.writeByte(type);
+            writeBody(out, type, value);
+            out.flush();
+            return frame(buffer.toByteArray());
+        } catch (IOException e) {
+            throw new SerializationException("Could not write binary cache value", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+
+        try {
+            byte[] body = (bytes[1] & FLAG_COMPRESSED) != 0
+                    ? inflate(bytes)
+                    : Arrays.copyOfRange(bytes, 2, bytes.length);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+            return readBody(in, in.readByte());
+        } catch (IOException | DataFormatException e) {
+            throw new SerializationException("Could not read binary cache value", e);
+        }
+    }
+
+    /**
+     * Type tag for values covered by the schema, or 0 when the fallback must be used
+     */
+    private static byte typeOf(Object value) {
+        if (value instanceof Long) {
+            return TYPE_LONG;
+        }
+        if (value instanceof ReadPost) {
+            return TYPE_POST;
+        }
+        if (value instanceof ReadFeedItem) {
+            return TYPE_FEED_ITEM;
+        }
+        if (value instanceof StampedPage page) {
+            return typeOf(page.content()) == 0 ? 0 : TYPE_STAMPED_PAGE;
+        }
+        if (value instanceof List<?> list) {
+            if (list.isEmpty()) {
+                return TYPE_EMPTY_LIST;
+            }
+            if (list.stream().allMatch(ReadPost.class::isInstance)) {
+                return TYPE_POST_LIST;
+            }
+            if (list.stream().allMatch(ReadFeedItem.class::isInstance)) {
+                return TYPE_FEED_ITEM_LIST;
+            }
+        }
+        return 0;
+    }
+
+    private static void writeBody(DataOutputStream out, byte type, Object value) throws IOException {
+        switch (type) {
+            case TYPE_LONG -> out.writeLong((Long) value);
+            case TYPE_POST -> writePost(out, (ReadPost) value);
+            case TYPE_FEED_ITEM -> writeFeedItem(out, (ReadFeedItem) value);
+            case TYPE_POST_LIST -> {
+                List<?> posts = (List<?>) value;
+                out.writeInt(posts.size());
+                for (Object post : posts) {
+                    writePost(out, (ReadPost) post);
+                }
+            }
+            case TYPE_FEED_ITEM_LIST -> {
+                List<?> items = (List<?>) value;
+                out.writeInt(items.size());
+                for (Object item : items) {
+                    writeFeedItem(out, (ReadFeedItem) item);
+                }
+            }
+            case TYPE_STAMPED_PAGE -> {
+                StampedPage page = (StampedPage) value;
+                byte contentType = typeOf(page.content());
+                out.writeLong(page.writtenAt());
+                out.writeByte(contentType);
+                writeBody(out, contentType, page.content());
+            }
+            default -> {
+                // TYPE_EMPTY_LIST has no body
+            }
+        }
+    }
+
+    private static Object readBody(DataInputStream in, byte type) throws IOException {
+        switch (type) {
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_POST:
+                return readPost(in);
+            case TYPE_FEED_ITEM:
+                return readFeedItem(in);
+            case TYPE_POST_LIST: {
+                int size = in.readInt();
+                List<ReadPost> posts = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    posts.add(readPost(in));
+                }
+                return posts;
+            }
+            case TYPE_FEED_ITEM_LIST: {
+                int size = in.readInt();
+                List<ReadFeedItem> items = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    items.add(readFeedItem(in));
+                }
+                return items;
+            }
+            case TYPE_EMPTY_LIST:
+                return new ArrayList<>();
+            case TYPE_STAMPED_PAGE: {
+                long writtenAt = in.readLong();
+                return new StampedPage((List<?>) readBody(in, in.readByte()), writtenAt);
+            }
+            default:
+                throw new SerializationException("Unknown binary cache value type: " + type);
+        }
+    }
+
+    private static void writePost(DataOutputStream out, ReadPost post) throws IOException {
+        writeLong(out, post.getId());
+        writeLong(out, post.getAuthorId());
+        writeString(out, post.getAuthorName());
+        writeString(out, post.getContent());
+        writeString(out, post.getImageUrl());
+        writeLong(out, post.getLikeCount());
+        writeLong(out, post.getCommentCount());
+        writeLong(out, post.getViewCount());
+        writeDouble(out, post.getPopularityScore());
+        writeDateTime(out, post.getCreatedAt());
+        writeDateTime(out, post.getUpdatedAt());
+    }
+
+    private static ReadPost readPost(DataInputStream in) throws IOException {
+        return ReadPost.builder()
+                .id(readLong(in))
+                .authorId(readLong(in))
+                .authorName(readString(in))
+                .content(readString(in))
+                .imageUrl(readString(in))
+                .likeCount(readLong(in))
+                .commentCount(readLong(in))
+                .viewCount(readLong(in))
+                .popularityScore(readDouble(in))
+                .createdAt(readDateTime(in))
+                .updatedAt(readDateTime(in))
+                .build();
+    }
+
+    private static void writeFeedItem(DataOutputStream out, ReadFeedItem item) throws IOException {
+        writeLong(out, item.getId());
+        writeLong(out, item.getUserId());
+        writeLong(out, item.getPostId());
+        writeLong(out, item.getPostAuthorId());
+        writeString(out, item.getPostAuthorName());
+        writeString(out, item.getPostContent());
+        writeString(out, item.getPostImageUrl());
+        writeLong(out, item.getLikeCount());
+        out.writeByte(item.getIsLikedByUser() == null ? -1 : (item.getIsLikedByUser() ? 1 : 0));
+        writeDouble(out, item.getPopularityScore());
+        writeDateTime(out, item.getCreatedAt());
+        writeDateTime(out, item.getUpdatedAt());
+    }
+
+    private static ReadFeedItem readFeedItem(DataInputStream in) throws IOException {
+        ReadFeedItem.ReadFeedItemBuilder builder = ReadFeedItem.builder()
+                .id(readLong(in))
+                .userId(readLong(in))
+                .postId(readLong(in))
+                .postAuthorId(readLong(in))
+                .postAuthorName(readString(in))
+                .postContent(readString(in))
+                .postImageUrl(readString(in))
+                .likeCount(readLong(in));
+        byte liked = in.readByte();
+        return builder
+                .isLikedByUser(liked < 0 ? null : liked == 1)
+                .popularityScore(readDouble(in))
+                .createdAt(readDateTime(in))
+                .updatedAt(readDateTime(in))
+                .build();
+    }
+
+    // ========== Nullable field encoding: presence byte followed by the value ==========
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readDouble(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+
+    // ========== Framing and compression ==========
+
+    /**
+     * Prefix magic and flags; compressed frames also carry the raw length for a single-shot inflate
+     */
+    private byte[] frame(byte[] body) {
+        if (compressionThreshold > 0 && body.length > compressionThreshold) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(body);
+                deflater.finish();
+                byte[] compressed = new byte[body.length + 64];
+                int length = deflater.deflate(compressed);
+                if (deflater.finished() && length + 6 < body.length) {
+                    byte[] framed = new byte[6 + length];
+                    framed[0] = MAGIC;
+                    framed[1] = FLAG_COMPRESSED;
+                    writeInt(framed, 2, body.length);
+                    System.arraycopy(compressed, 0, framed, 6, length);
+                    return framed;
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+
+        byte[] framed = new byte[2 + body.length];
+        framed[0] = MAGIC;
+        System.arraycopy(body, 0, framed, 2, body.length);
+        return framed;
+    }
+
+    private static byte[] inflate(byte[] framed) throws DataFormatException {
+        int rawLength = ((framed[2] & 0xFF) << 24) | ((framed[3] & 0xFF) << 16)
+                | ((framed[4] & 0xFF) << 8) | (framed[5] & 0xFF);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(framed, 6, framed.length - 6);
+            byte[] body = new byte[rawLength];
+            int read = inflater.inflate(body);
+            if (read != rawLength) {
+                throw new DataFormatException("Expected " + rawLength + " bytes but inflated " + read);
+            }
+            return body;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+}
@@ -1,6 +1,7 @@
 package com.puppies.api.cache.service;
 
 import com.puppies.api.cache.IntelligentCacheService;
+import com.puppies.api.cache.metrics.CacheLayerAccounting;
 import com.puppies.api.common.constants.QueryApiConstants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +24,7 @@ public class CacheManagementService {
 
     private final IntelligentCacheService intelligentCacheService;
     private final CacheManager cacheManager;
+    private final CacheLayerAccounting cacheLayerAccounting;
 
     /**
      * Force cache warming for trending content.
@@ -51,6 +53,7 @@ public class CacheManagementService {
             var cache = cacheManager.getCache(layerName);
             if (cache != null) {
                 cache.clear();
+                cacheLayerAccounting.recordClear(layerName);
                 log.info(QueryApiConstants.LogMessages.CACHE_CLEARED, layerName);
                 
                 return Map.of(
@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -40,7 +41,7 @@ public class CacheMetricsService {
                     "cacheInfo", Map.of(
                         "isWarmed", postMetrics.isWarmed(),
                         "shouldEvict", postMetrics.shouldEvict(),
-                        "lastAccessed", postMetrics.getLastAccessed(),
+                        "lastAccessed", Instant.ofEpochMilli(postMetrics.getLastAccessed()),
                         "recommendedCacheLayer", determineOptimalCacheLayer(postMetrics)
                     ),
                     "performance", Map.of(
@@ -53,7 +54,7 @@ public class CacheMetricsService {
                 );
                 
                 log.info("📊 Retrieved real metrics for post {}: {} views, {}% engagement", 
-                        postId, postMetrics.getTotalViews().get(), 
+                        postId, postMetrics.getTotalViews(), 
                         String.format("%.2f", postMetrics.getEngagementRate() * 100));
                 
             } else {
@@ -87,7 +88,7 @@ public class CacheMetricsService {
     private String determineOptimalCacheLayer(PostMetrics metrics) {
         if (metrics.isTrending() || metrics.getViewsInLastHour() > QueryApiConstants.BusinessRules.HOT_CACHE_VIEWS_THRESHOLD) {
             return QueryApiConstants.CacheNames.HOT_POSTS;
-        } else if (metrics.getTotalViews().get() > QueryApiConstants.BusinessRules.WARM_CACHE_VIEWS_THRESHOLD || 
+        } else if (metrics.getTotalViews() > QueryApiConstants.BusinessRules.WARM_CACHE_VIEWS_THRESHOLD || 
                    metrics.getEngagementRate() > QueryApiConstants.BusinessRules.WARM_CACHE_ENGAGEMENT_THRESHOLD) {
             return QueryApiConstants.CacheNames.WARM_POSTS;
         } else {
@@ -1,11 +1,18 @@
 package com.puppies.api.cache.service;
 
 import com.puppies.api.cache.IntelligentCacheService;
+import com.puppies.api.cache.coalescing.SingleFlightLoader;
+import com.puppies.api.cache.refresh.PageRefreshScheduler;
+import com.puppies.api.cache.invalidation.ReadModelCacheInvalidator;
+import com.puppies.api.cache.metrics.CacheLayerAccounting;
 import com.puppies.api.cache.metrics.CacheMetrics;
 import com.puppies.api.cache.strategy.HotPostsCacheStrategy;
 import com.puppies.api.cache.strategy.UserBehaviorCacheStrategy;
+import com.puppies.api.cache.twolevel.TwoLevelCacheManager;
+import com.puppies.api.security.JwtTokenCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -25,6 +32,12 @@ public class CacheStatsService {
     private final CacheMetrics cacheMetrics;
     private final HotPostsCacheStrategy hotPostsStrategy;
     private final UserBehaviorCacheStrategy userBehaviorStrategy;
+    private final CacheManager cacheManager;
+    private final ReadModelCacheInvalidator readModelCacheInvalidator;
+    private final CacheLayerAccounting cacheLayerAccounting;
+    private final SingleFlightLoader singleFlightLoader;
+    private final PageRefreshScheduler pageRefreshScheduler;
+    private final JwtTokenCache jwtTokenCache;
 
     /**
      * Get comprehensive cache statistics and performance metrics.
@@ -39,6 +52,14 @@ public class CacheStatsService {
             // Performance metrics
             response.put("performance", cacheMetrics.getOverallStats());
             response.put("trends", cacheMetrics.getPerformanceTrends());
+            if (cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager) {
+                response.put("l1", twoLevelCacheManager.getLocalStats());
+            }
+            response.put("invalidation", readModelCacheInvalidator.getStats());
+            response.put("layers", cacheLayerAccounting.getLayerUsage());
+            response.put("singleFlight", singleFlightLoader.getStats());
+            response.put("staleWhileRevalidate", pageRefreshScheduler.getStats());
+            response.put("jwtTokens", jwtTokenCache.getStats());
             
             // Strategy statistics
             response.put("hotPostsStrategy", hotPostsStrategy.getStrategyStats());
@@ -1,11 +1,13 @@
 package com.puppies.api.cache.strategy;
 
 import com.puppies.api.cache.PostMetrics;
+import com.puppies.api.cache.metrics.CacheMetricsRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Cache strategy for hot/trending posts based on engagement metrics.
@@ -15,11 +17,12 @@ import java.util.concurrent.ConcurrentHashMap;
  * intelligent caching decisions.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class HotPostsCacheStrategy implements CacheStrategy {
 
-    // Track post metrics for decision making
-    private final Map<String, PostMetrics> postMetricsCache = new ConcurrentHashMap<>();
+    // Post metrics shared with IntelligentCacheService, bounded by heap budget
+    private final CacheMetricsRegistry metricsRegistry;
     
     // Thresholds for hot post classification
     private static final int HOT_VIEWS_THRESHOLD = 50;
@@ -33,7 +36,7 @@ public class HotPostsCacheStrategy implements CacheStrategy {
         
         // Always cache if it's trending or has high engagement
         boolean shouldCache = metrics.isTrending() || 
-                            metrics.getTotalViews().get() > HOT_VIEWS_THRESHOLD ||
+                            metrics.getTotalViews() > HOT_VIEWS_THRESHOLD ||
                             metrics.getEngagementRate() > HOT_ENGAGEMENT_THRESHOLD;
         
         log.debug("🔥 Hot posts strategy - Post {}: shouldCache={}, trending={}, views={}, engagement={:.2f}%",
@@ -74,7 +77,7 @@ public class HotPostsCacheStrategy implements CacheStrategy {
             return "hot_posts";
         }
         
-        if (metrics.getTotalViews().get() > HOT_VIEWS_THRESHOLD || 
+        if (metrics.getTotalViews() > HOT_VIEWS_THRESHOLD || 
             metrics.getEngagementRate() > HOT_ENGAGEMENT_THRESHOLD) {
             return "warm_posts";
         }
@@ -118,10 +121,10 @@ public class HotPostsCacheStrategy implements CacheStrategy {
             }
         }
         
-        // Try to extract from cache key and get from our cache
+        // Try to extract from cache key and get from the shared registry
         String postId = extractPostId(cacheKey);
         if (postId != null) {
-            return postMetricsCache.get(postId);
+            return getPostMetrics(postId);
         }
         
         return null;
@@ -145,11 +148,9 @@ public class HotPostsCacheStrategy implements CacheStrategy {
      * Update post metrics for strategy decisions.
      */
     public void updatePostMetrics(String postId, PostMetrics metrics) {
-        postMetricsCache.put(postId, metrics);
-        
-        // Clean up old metrics periodically
-        if (postMetricsCache.size() > 10000) {
-            cleanupOldMetrics();
+        Long id = parsePostId(postId);
+        if (id != null) {
+            metricsRegistry.putPost(id, metrics);
         }
     }
     
@@ -157,17 +158,16 @@ public class HotPostsCacheStrategy implements CacheStrategy {
      * Get post metrics for a specific post ID.
      */
     public PostMetrics getPostMetrics(String postId) {
-        return postMetricsCache.get(postId);
+        Long id = parsePostId(postId);
+        return id != null ? metricsRegistry.getPost(id) : null;
     }
 
-    /**
-     * Clean up old metrics to prevent memory leaks.
-     */
-    private void cleanupOldMetrics() {
-        postMetricsCache.entrySet().removeIf(entry -> 
-            entry.getValue().shouldEvict());
-        
-        log.debug("🧹 Cleaned up old post metrics, remaining: {}", postMetricsCache.size());
+    private Long parsePostId(String postId) {
+        try {
+            return Long.valueOf(postId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     /**
@@ -175,21 +175,22 @@ public class HotPostsCacheStrategy implements CacheStrategy {
      */
     public Map<String, Object> getStrategyStats() {
         Map<String, Object> stats = new java.util.HashMap<>();
+        Collection<PostMetrics> postMetrics = metricsRegistry.posts().values();
         
-        long trendingPosts = postMetricsCache.values().stream()
+        long trendingPosts = postMetrics.stream()
                 .mapToLong(m -> m.isTrending() ? 1 : 0)
                 .sum();
         
-        long hotPosts = postMetricsCache.values().stream()
-                .mapToLong(m -> m.getTotalViews().get() > HOT_VIEWS_THRESHOLD ? 1 : 0)
+        long hotPosts = postMetrics.stream()
+                .mapToLong(m -> m.getTotalViews() > HOT_VIEWS_THRESHOLD ? 1 : 0)
                 .sum();
         
-        double avgEngagementRate = postMetricsCache.values().stream()
+        double avgEngagementRate = postMetrics.stream()
                 .mapToDouble(PostMetrics::getEngagementRate)
                 .average()
                 .orElse(0.0);
         
-        stats.put("trackedPosts", postMetricsCache.size());
+        stats.put("trackedPosts", metricsRegistry.getPostCount());
         stats.put("trendingPosts", trendingPosts);
         stats.put("hotPosts", hotPosts);
         stats.put("avgEngagementRate", String.format("%.2f%%", avgEngagementRate * 100));
@@ -1,13 +1,16 @@
 package com.puppies.api.cache.strategy;
 
 import com.puppies.api.cache.UserCacheProfile;
+import com.puppies.api.cache.UserCacheProfile.EngagementLevel;
+import com.puppies.api.cache.metrics.CacheMetricsRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Cache strategy based on individual user behavior patterns.
@@ -19,16 +22,16 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Session frequency and duration
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class UserBehaviorCacheStrategy implements CacheStrategy {
 
-    // Track user profiles for personalized caching
-    private final Map<String, UserCacheProfile> userProfiles = new ConcurrentHashMap<>();
+    // User profiles shared with IntelligentCacheService, bounded by heap budget
+    private final CacheMetricsRegistry metricsRegistry;
     
     // Strategy parameters
     private static final double HIGH_ENGAGEMENT_CACHE_HIT_THRESHOLD = 0.8;
     private static final int HIGH_ENGAGEMENT_MIN_ACCESSES = 50;
-    private static final int MAX_PROFILES_CACHE = 10000;
 
     @Override
     public boolean shouldCache(Object content, String cacheKey, Object... context) {
@@ -71,10 +74,8 @@ public class UserBehaviorCacheStrategy implements CacheStrategy {
         
         // Engagement-based cache layer selection
         return switch (profile.getEngagementLevel()) {
-            case "HIGH" -> "warm_posts";
-            case "MEDIUM" -> "warm_posts";
-            case "LOW" -> "cold_posts";
-            default -> "warm_posts";
+            case HIGH, MEDIUM -> "warm_posts";
+            case LOW -> "cold_posts";
         };
     }
 
@@ -121,7 +122,7 @@ public class UserBehaviorCacheStrategy implements CacheStrategy {
         // Extract user ID from cache key and get profile
         String userId = extractUserId(cacheKey);
         if (userId != null) {
-            return userProfiles.get(userId);
+            return getProfile(userId);
         }
         
         return null;
@@ -148,11 +149,9 @@ public class UserBehaviorCacheStrategy implements CacheStrategy {
      * Update user profile for strategy decisions.
      */
     public void updateUserProfile(String userId, UserCacheProfile profile) {
-        userProfiles.put(userId, profile);
-        
-        // Periodic cleanup to prevent memory leaks
-        if (userProfiles.size() > MAX_PROFILES_CACHE) {
-            cleanupInactiveProfiles();
+        Long id = parseUserId(userId);
+        if (id != null) {
+            metricsRegistry.putUser(id, profile);
         }
     }
 
@@ -160,8 +159,7 @@ public class UserBehaviorCacheStrategy implements CacheStrategy {
      * Record user interaction for behavior analysis.
      */
     public void recordUserInteraction(String userId, String interactionType, boolean cacheHit) {
-        UserCacheProfile profile = userProfiles.computeIfAbsent(userId, 
-            k -> new UserCacheProfile(Long.parseLong(userId)));
+        UserCacheProfile profile = metricsRegistry.getOrCreateUser(Long.parseLong(userId));
         
         if (cacheHit) {
             profile.incrementCacheHits();
@@ -179,7 +177,7 @@ public class UserBehaviorCacheStrategy implements CacheStrategy {
      * Analyze user behavior to provide caching recommendations.
      */
     public Map<String, Object> analyzeUserBehavior(String userId) {
-        UserCacheProfile profile = userProfiles.get(userId);
+        UserCacheProfile profile = getProfile(userId);
         if (profile == null) {
             return Map.of("status", "No data available for user " + userId);
         }
@@ -204,34 +202,35 @@ public class UserBehaviorCacheStrategy implements CacheStrategy {
         return analysis;
     }
 
-    /**
-     * Clean up inactive user profiles.
-     */
-    private void cleanupInactiveProfiles() {
-        int sizeBefore = userProfiles.size();
-        
-        userProfiles.entrySet().removeIf(entry -> entry.getValue().shouldArchive());
-        
-        int sizeAfter = userProfiles.size();
-        log.debug("🧹 Cleaned up user profiles: {} → {} (removed {})", 
-                sizeBefore, sizeAfter, sizeBefore - sizeAfter);
+    private UserCacheProfile getProfile(String userId) {
+        Long id = parseUserId(userId);
+        return id != null ? metricsRegistry.getUser(id) : null;
+    }
+
+    private Long parseUserId(String userId) {
+        try {
+            return Long.valueOf(userId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     /**
      * Get users by engagement level for analysis.
      */
     public Map<String, Long> getUsersByEngagementLevel() {
-        Map<String, Long> counts = new HashMap<>();
-        counts.put("HIGH", 0L);
-        counts.put("MEDIUM", 0L);
-        counts.put("LOW", 0L);
-        
-        for (UserCacheProfile profile : userProfiles.values()) {
-            String level = profile.getEngagementLevel();
-            counts.merge(level, 1L, Long::sum);
+        Map<EngagementLevel, Long> counts = new EnumMap<>(EngagementLevel.class);
+        for (EngagementLevel level : EngagementLevel.values()) {
+            counts.put(level, 0L);
+        }
+        
+        for (UserCacheProfile profile : metricsRegistry.users()) {
+            counts.merge(profile.getEngagementLevel(), 1L, Long::sum);
         }
         
-        return counts;
+        Map<String, Long> byName = new HashMap<>();
+        counts.forEach((level, count) -> byName.put(level.name(), count));
+        return byName;
     }
 
     /**
@@ -240,26 +239,26 @@ public class UserBehaviorCacheStrategy implements CacheStrategy {
     public Map<String, Object> getStrategyStats() {
         Map<String, Object> stats = new HashMap<>();
         
-        stats.put("trackedUsers", userProfiles.size());
+        stats.put("trackedUsers", metricsRegistry.getUserCount());
         stats.put("usersByEngagement", getUsersByEngagementLevel());
         
         // Calculate average cache hit rate
-        double avgHitRate = userProfiles.values().stream()
+        double avgHitRate = metricsRegistry.users().stream()
                 .mapToDouble(UserCacheProfile::getCacheHitRate)
                 .average()
                 .orElse(0.0);
         stats.put("avgCacheHitRate", String.format("%.2f%%", avgHitRate * 100));
         
         // Count prioritized users
-        long prioritizedUsers = userProfiles.values().stream()
+        long prioritizedUsers = metricsRegistry.users().stream()
                 .mapToLong(p -> p.shouldPrioritizeInCache() ? 1 : 0)
                 .sum();
         stats.put("prioritizedUsers", prioritizedUsers);
         
         // Recent activity
-        LocalDateTime hourAgo = LocalDateTime.now().minusHours(1);
-        long activeUsersLastHour = userProfiles.values().stream()
-                .mapToLong(p -> p.getLastActivity().isAfter(hourAgo) ? 1 : 0)
+        long hourAgo = System.currentTimeMillis() - Duration.ofHours(1).toMillis();
+        long activeUsersLastHour = metricsRegistry.users().stream()
+                .mapToLong(p -> p.getLastActivity() > hourAgo ? 1 : 0)
                 .sum();
         stats.put("activeUsersLastHour", activeUsersLastHour);
         
@@ -272,7 +271,7 @@ public class UserBehaviorCacheStrategy implements CacheStrategy {
      * Get personalized cache recommendations for a user.
      */
     public Map<String, Object> getPersonalizedRecommendations(String userId) {
-        UserCacheProfile profile = userProfiles.get(userId);
+        UserCacheProfile profile = getProfile(userId);
         if (profile == null) {
             return Map.of("status", "No data for user " + userId);
         }
@@ -0,0 +1,134 @@
+package com.puppies.api.cache.twolevel;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache region backed by the shared on-heap L1 of a {@link TwoLevelCacheManager} and a Redis cache.
+ * Reads try L1 first and populate it from Redis on a miss; writes go through to Redis.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final Cache remote;
+    private final TwoLevelCacheManager manager;
+
+    TwoLevelCache(Cache remote, TwoLevelCacheManager manager) {
+        this.remote = remote;
+        this.manager = manager;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    /**
+     * The Redis-backed region behind L1.
+     */
+    public Cache getRemote() {
+        return remote;
+    }
+
+    /**
+     * Drop every node's L1 copy of entries that were written to the Redis region directly,
+     * bypassing this cache, e.g. by a pipelined bulk write.
+     */
+    public void evictWrittenRemotely(Collection<?> keys) {
+        manager.evictWrittenRemotely(getName(), keys);
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper local = manager.getLocal(getName(), key);
+        if (local != null) {
+            return local;
+        }
+        ValueWrapper value = remote.get(key);
+        if (value != null) {
+            manager.putLocal(getName(), key, new SimpleValueWrapper(value.get()));
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper local = manager.getLocal(getName(), key);
+        if (local != null) {
+            return (T) local.get();
+        }
+        T value = remote.get(key, valueLoader);
+        manager.putLocal(getName(), key, new SimpleValueWrapper(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        manager.putLocal(getName(), key, new SimpleValueWrapper(value));
+        manager.publishInvalidation(getName(), key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        manager.evictLocal(getName(), key);
+        if (existing == null) {
+            manager.publishInvalidation(getName(), key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        manager.remoteEvicted(getName(), key);
+        manager.evictLocal(getName(), key);
+        manager.publishInvalidation(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        manager.remoteEvicted(getName(), key);
+        manager.evictLocal(getName(), key);
+        manager.publishInvalidation(getName(), key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        manager.remoteCleared(getName());
+        manager.clearLocal(getName());
+        manager.publishInvalidation(getName(), TwoLevelCacheManager.CLEAR_ALL);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        manager.remoteCleared(getName());
+        manager.clearLocal(getName());
+        manager.publishInvalidation(getName(), TwoLevelCacheManager.CLEAR_ALL);
+        return invalidated;
+    }
+}
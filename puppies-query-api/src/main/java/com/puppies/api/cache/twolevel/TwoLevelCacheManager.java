@@ -0,0 +1,226 @@
+package com.puppies.api.cache.twolevel;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.puppies.api.cache.refresh.StampedPage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Two-level cache manager: a bounded on-heap L1 in front of the Redis cache manager.
+ *
+ * The L1 is a single Caffeine (W-TinyLFU) cache shared by all L1-enabled regions and bounded by
+ * weight, so one oversized region cannot crowd out the rest. Hot keys such as the first trending
+ * page are served without a network hop or deserialization.
+ *
+ * Writes and evictions go through to Redis and are broadcast on a Redis pub/sub channel so other
+ * query-api nodes drop their L1 copy. The short L1 TTL bounds staleness if a message is lost.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    public static final String INVALIDATION_CHANNEL = "puppies:cache:l1-invalidation";
+    static final String CLEAR_ALL = "*";
+    private static final String SEPARATOR = "|";
+
+    private final CacheManager remoteCacheManager;
+    private final StringRedisTemplate invalidationTemplate;
+    private final RemovalListener removalListener;
+    private final Set<String> localRegions;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final com.github.benmanes.caffeine.cache.Cache<LocalKey, Cache.ValueWrapper> localCache;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, StringRedisTemplate invalidationTemplate,
+                                Collection<String> localRegions, long maximumWeight, Duration localTtl) {
+        this(remoteCacheManager, invalidationTemplate, localRegions, maximumWeight, localTtl, RemovalListener.NONE);
+    }
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, StringRedisTemplate invalidationTemplate,
+                                Collection<String> localRegions, long maximumWeight, Duration localTtl,
+                                RemovalListener removalListener) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationTemplate = invalidationTemplate;
+        this.removalListener = removalListener;
+        this.localRegions = Set.copyOf(localRegions);
+        this.localCache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((LocalKey key, Cache.ValueWrapper value) -> weigh(value.get()))
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> localRegions.contains(n) ? new TwoLevelCache(remote, this) : remote);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    /**
+     * Apply an invalidation message published by any node; messages from this node are ignored.
+     */
+    public void onInvalidationMessage(String message) {
+        String[] parts = message.split("\\" + SEPARATOR, 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        if (CLEAR_ALL.equals(parts[2])) {
+            clearLocal(parts[1]);
+        } else {
+            evictLocal(parts[1], parts[2]);
+        }
+        log.debug("🔄 L1 invalidation applied: cache={}, key={}", parts[1], parts[2]);
+    }
+
+    /**
+     * L1 occupancy and hit statistics.
+     */
+    public Map<String, Object> getLocalStats() {
+        CacheStats stats = localCache.stats();
+        return Map.of(
+            "regions", List.copyOf(localRegions),
+            "entries", localCache.estimatedSize(),
+            "weight", localCache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L),
+            "hits", stats.hitCount(),
+            "misses", stats.missCount(),
+            "hitRate", stats.hitRate(),
+            "evictions", stats.evictionCount()
+        );
+    }
+
+    Cache.ValueWrapper getLocal(String cacheName, Object key) {
+        return localCache.getIfPresent(new LocalKey(cacheName, String.valueOf(key)));
+    }
+
+    void putLocal(String cacheName, Object key, Cache.ValueWrapper value) {
+        localCache.put(new LocalKey(cacheName, String.valueOf(key)), value);
+    }
+
+    /**
+     * Drop this node's L1 copy of an entry, leaving Redis and other nodes untouched.
+     */
+    public void evictLocal(String cacheName, Object key) {
+        localCache.invalidate(new LocalKey(cacheName, String.valueOf(key)));
+    }
+
+    /**
+     * Drop this node's L1 copies of a whole region, leaving Redis and other nodes untouched.
+     */
+    public void clearLocal(String cacheName) {
+        localCache.asMap().keySet().removeIf(key -> key.cacheName().equals(cacheName));
+    }
+
+    /**
+     * Report an entry removed from Redis through a two-level region.
+     */
+    void remoteEvicted(String cacheName, Object key) {
+        removalListener.onEvict(cacheName, key);
+    }
+
+    /**
+     * Report a two-level region cleared in Redis.
+     */
+    void remoteCleared(String cacheName) {
+        removalListener.onClear(cacheName);
+    }
+
+    /**
+     * Tell other nodes to drop their L1 copy; failures only widen the staleness window to the L1 TTL.
+     */
+    void publishInvalidation(String cacheName, Object key) {
+        try {
+            invalidationTemplate.convertAndSend(INVALIDATION_CHANNEL, invalidationMessage(cacheName, key));
+        } catch (Exception e) {
+            log.warn("Failed to publish L1 invalidation for {}::{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop the L1 copies of entries written straight to Redis, here and on the other nodes, with
+     * all invalidations published in one pipeline.
+     */
+    void evictWrittenRemotely(String cacheName, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        keys.forEach(key -> evictLocal(cacheName, key));
+        byte[] channel = INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+        try {
+            invalidationTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Object key : keys) {
+                    connection.publish(channel, invalidationMessage(cacheName, key).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to publish {} L1 invalidations for {}: {}", keys.size(), cacheName, e.getMessage());
+        }
+    }
+
+    private String invalidationMessage(String cacheName, Object key) {
+        return nodeId + SEPARATOR + cacheName + SEPARATOR + key;
+    }
+
+    /**
+     * Collections weigh one unit per element so a 50-item page costs more than a single post.
+     */
+    private static int weigh(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return 1 + collection.size();
+        }
+        if (value instanceof StampedPage page) {
+            return 1 + page.content().size();
+        }
+        return 1;
+    }
+
+    /**
+     * Notified when an entry or a whole region is removed from Redis through a two-level region.
+     * Dropping an L1 copy alone is not reported, since the Redis entry survives it.
+     */
+    public interface RemovalListener {
+
+        RemovalListener NONE = new RemovalListener() {
+            @Override
+            public void onEvict(String cacheName, Object key) {
+            }
+
+            @Override
+            public void onClear(String cacheName) {
+            }
+        };
+
+        void onEvict(String cacheName, Object key);
+
+        void onClear(String cacheName);
+    }
+
+    record LocalKey(String cacheName, String key) {
+    }
+}
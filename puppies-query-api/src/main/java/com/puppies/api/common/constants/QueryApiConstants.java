@@ -22,6 +22,7 @@ public final class QueryApiConstants {
         public static final String POST_CONTENT = "post_content";
         public static final String POST_TOTAL = "post_total";
         public static final String POST = "post";
+        public static final String FEED_CONTENT = "feed_content";
         public static final String RECENT_TRENDING = "recent_trending";
         public static final String HIGH_ENGAGEMENT = "high_engagement";
         public static final String AUTHOR_POST_COUNT = "author_post_count";
@@ -38,6 +39,8 @@ public final class QueryApiConstants {
         public static final String AUTHOR_POSTS_PREFIX = "author_posts_";
         public static final String CONTENT_SUFFIX = "_content_";
         public static final String TOTAL_SUFFIX = "_total";
+        public static final String CURSOR_SUFFIX = "_cursor_";
+        public static final String FIRST_PAGE_CURSOR = "first";
         public static final String POST_FORMAT = "post:%d:user:%s";
         public static final String FEED_FORMAT = "feed:%s:user:%d:engagement:%s";
         public static final String ANONYMOUS_USER = "anonymous";
@@ -78,6 +81,7 @@ public final class QueryApiConstants {
         public static final String FAILED_TO_WARM_CACHE = "Failed to warm cache";
         public static final String FAILED_TO_GET_CACHE_INSIGHTS = "Failed to get cache insights";
         public static final String FAILED_TO_SIMULATE_CACHE_LOAD = "Failed to simulate cache load";
+        public static final String INVALID_CURSOR = "Invalid or expired page cursor";
         public static final String MAX_SIMULATION_REQUESTS_EXCEEDED = "Maximum 1000 requests allowed for simulation";
     }
 
@@ -119,7 +123,8 @@ public final class QueryApiConstants {
         // Public endpoints
         public static final String[] PUBLIC_POST_ENDPOINTS = {
             "/api/posts", "/api/posts/{id}", "/api/posts/trending", 
-            "/api/posts/popular", "/api/posts/search", "/api/posts/author/{authorId}"
+            "/api/posts/popular", "/api/posts/search", "/api/posts/author/{authorId}",
+            "/api/posts/cursor", "/api/posts/trending/cursor", "/api/posts/author/{authorId}/cursor"
         };
         
         public static final String[] PUBLIC_FEED_ENDPOINTS = {
@@ -174,6 +179,8 @@ public final class QueryApiConstants {
         public static final String CACHE_MISS_POST = "📝 CACHE MISS - Loading post from DB: id={}";
         public static final String CACHE_STORE_POST = "📝 CACHE STORE - Loaded post: id={}, title={}";
         public static final String CACHE_STORE_POST_NOT_FOUND = "📝 CACHE STORE - Post not found: id={}";
+        public static final String CACHE_HIT_CURSOR = "🧭 CACHE HIT - Using cached cursor page: key={}, size={}";
+        public static final String CACHE_MISS_CURSOR = "🧭 CACHE MISS - Seeking cursor page from DB: key={}, size={}";
         public static final String CACHE_WARMING_START = "🔥 Starting cache warming process...";
         public static final String CACHE_WARMING_SUCCESS = "✅ Cache warming completed. Warmed {} trending posts";
         public static final String CACHE_WARMING_ERROR = "❌ Error during cache warming";
@@ -1,9 +1,17 @@
 package com.puppies.api.config;
 
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.puppies.api.cache.expiration.EarlyExpirationPolicy;
+import com.puppies.api.cache.invalidation.ReadModelCacheInvalidator;
+import com.puppies.api.cache.metrics.CacheLayerAccounting;
+import com.puppies.api.cache.refresh.StampedPage;
+import com.puppies.api.cache.serialization.ReadModelRedisSerializer;
+import com.puppies.api.cache.twolevel.TwoLevelCacheManager;
+import com.puppies.api.common.constants.QueryApiConstants;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -12,6 +20,9 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -25,6 +36,9 @@ import java.util.Map;
  * 
  * This configuration sets up Redis as the cache provider with different
  * TTL (Time To Live) values for different types of cached data.
+ * Regions listed in cqrs.cache.l1.regions are fronted by an on-heap L1
+ * kept coherent across nodes through Redis pub/sub. The hot/warm/cold layers
+ * take per-key jittered TTLs from {@link EarlyExpirationPolicy}.
  */
 @Configuration
 @EnableCaching
@@ -47,6 +61,10 @@ public class CacheConfig {
             ObjectMapper.DefaultTyping.NON_FINAL
         );
         
+        // NON_FINAL typing skips final types such as the StampedPage record, which could then
+        // not be read back as Object; give it the same wrapper-array type id explicitly
+        objectMapper.addMixIn(StampedPage.class, TypedCacheValueMixin.class);
+        
         // Configure for better compatibility
         objectMapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         objectMapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true);
@@ -55,30 +73,76 @@ public class CacheConfig {
     }
 
     /**
-     * Configure Redis cache manager with custom TTL for different cache regions.
+     * Two-level cache manager: on-heap L1 for the hottest regions in front of Redis.
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory, ObjectMapper redisObjectMapper) {
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory, ObjectMapper redisObjectMapper,
+                                     StringRedisTemplate stringRedisTemplate, QueryCacheProperties cacheProperties,
+                                     EarlyExpirationPolicy earlyExpirationPolicy,
+                                     CacheLayerAccounting cacheLayerAccounting) {
+        RedisCacheManager redisCacheManager = redisCacheManager(redisConnectionFactory, redisObjectMapper, cacheProperties,
+                earlyExpirationPolicy);
+        QueryCacheProperties.L1 l1 = cacheProperties.getL1();
+        if (!l1.isEnabled()) {
+            return redisCacheManager;
+        }
+        return new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate, l1.getRegions(), l1.getMaximumWeight(),
+                l1.getTtl(), cacheLayerAccounting);
+    }
+
+    /**
+     * Subscribe to L1 invalidations published by other query-api nodes and to
+     * read model invalidations published by the sync worker.
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            CacheManager cacheManager,
+                                                                            ReadModelCacheInvalidator readModelCacheInvalidator,
+                                                                            QueryCacheProperties cacheProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        if (cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager) {
+            container.addMessageListener(
+                (message, pattern) -> twoLevelCacheManager.onInvalidationMessage(new String(message.getBody())),
+                new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        }
+        QueryCacheProperties.Invalidation invalidation = cacheProperties.getInvalidation();
+        if (invalidation.isEnabled()) {
+            container.addMessageListener(
+                (message, pattern) -> readModelCacheInvalidator.onMessage(new String(message.getBody())),
+                new ChannelTopic(invalidation.getChannel()));
+        }
+        return container;
+    }
+
+    /**
+     * Configure Redis cache manager with custom TTL for different cache regions.
+     */
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory, ObjectMapper redisObjectMapper,
+                                                QueryCacheProperties cacheProperties, EarlyExpirationPolicy earlyExpirationPolicy) {
         
         // Default cache configuration with properly configured ObjectMapper
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(redisObjectMapper);
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10)) // Default TTL: 10 minutes
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer(redisObjectMapper)));
+                        .fromSerializer(jsonSerializer));
 
         // Custom configurations for specific cache regions
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
         
         // ===== PAGE CACHE CONFIGURATIONS =====
-        // Separate caches for Page components to avoid Redis serialization issues
+        // Separate caches for Page components to avoid Redis serialization issues.
+        // With stale-while-revalidate the fixed TTL becomes the soft TTL and Redis keeps pages until the hard TTL
+        QueryCacheProperties.StaleWhileRevalidate swr = cacheProperties.getStaleWhileRevalidate();
         cacheConfigurations.put("post_content", defaultConfig
-                .entryTtl(Duration.ofMinutes(10))); // Cache for List<ReadPost>
+                .entryTtl(swr.isEnabled() ? swr.getPostContentHardTtl() : Duration.ofMinutes(10))); // Cache for List<ReadPost>
         cacheConfigurations.put("post_total", defaultConfig
                 .entryTtl(Duration.ofMinutes(15))); // Cache for Long totals
         cacheConfigurations.put("feed_content", defaultConfig
-                .entryTtl(Duration.ofMinutes(8))); // Cache for List<ReadFeedItem>
+                .entryTtl(swr.isEnabled() ? swr.getFeedContentHardTtl() : Duration.ofMinutes(8))); // Cache for List<ReadFeedItem>
         cacheConfigurations.put("feed_total", defaultConfig
                 .entryTtl(Duration.ofMinutes(12))); // Cache for feed totals
         
@@ -91,20 +155,21 @@ public class CacheConfig {
                 .entryTtl(Duration.ofMinutes(2)));
         
         // 🚀 INTELLIGENT CACHE LAYERS for different content hotness levels
+        // TTLs come from cqrs.cache.early-expiration, shortened per key by the region's jitter
         
-        // Hot cache - trending/viral content (highest priority)
+        // Hot cache - trending/viral content (highest priority), 30min by default
         cacheConfigurations.put("hot_posts", defaultConfig
-                .entryTtl(Duration.ofMinutes(30))  // Longer TTL for hot content
+                .entryTtl(earlyExpirationPolicy.ttlFunction(QueryApiConstants.CacheNames.HOT_POSTS))
                 .disableCachingNullValues());       // Don't cache nulls for hot content
         
-        // Warm cache - moderately popular content
+        // Warm cache - moderately popular content, 15min by default
         cacheConfigurations.put("warm_posts", defaultConfig
-                .entryTtl(Duration.ofMinutes(15))  // Standard TTL
+                .entryTtl(earlyExpirationPolicy.ttlFunction(QueryApiConstants.CacheNames.WARM_POSTS))
                 .disableCachingNullValues());
         
-        // Cold cache - less popular content (shorter TTL to save memory)
+        // Cold cache - less popular content (shorter TTL to save memory), 5min by default
         cacheConfigurations.put("cold_posts", defaultConfig
-                .entryTtl(Duration.ofMinutes(5))   // Shorter TTL for cold content
+                .entryTtl(earlyExpirationPolicy.ttlFunction(QueryApiConstants.CacheNames.COLD_POSTS))
                 .disableCachingNullValues());
         
         // User behavior cache - personalized caching profiles
@@ -120,6 +185,16 @@ public class CacheConfig {
         cacheConfigurations.put("cold_feed", defaultConfig
                 .entryTtl(Duration.ofMinutes(2)));  // Inactive users get minimal cache
 
+        // ===== VALUE SERIALIZATION =====
+        // Read-model regions switched to the compact binary format keep their TTLs; JSON stays the fallback
+        QueryCacheProperties.Serialization serialization = cacheProperties.getSerialization();
+        RedisSerializationContext.SerializationPair<Object> binaryValues = RedisSerializationContext.SerializationPair
+                .fromSerializer(new ReadModelRedisSerializer(jsonSerializer, serialization.getCompressionThreshold()));
+        for (String region : serialization.getBinaryRegions()) {
+            cacheConfigurations.put(region, cacheConfigurations.getOrDefault(region, defaultConfig)
+                    .serializeValuesWith(binaryValues));
+        }
+
         return RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
@@ -146,4 +221,11 @@ public class CacheConfig {
         
         return template;
     }
-}
\ No newline at end of file
+
+    /**
+     * Type id for final cache values, matching what default typing writes for non-final ones.
+     */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_ARRAY)
+    private interface TypedCacheValueMixin {
+    }
+}
@@ -0,0 +1,315 @@
+package com.puppies.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tuning properties for the Query API cache layers.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "cqrs.cache")
+@Data
+public class QueryCacheProperties {
+
+    private L1 l1 = new L1();
+
+    private Serialization serialization = new Serialization();
+
+    private Totals totals = new Totals();
+
+    private Invalidation invalidation = new Invalidation();
+
+    private Generations generations = new Generations();
+
+    private MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    private Warming warming = new Warming();
+
+    private SingleFlight singleFlight = new SingleFlight();
+
+    private StaleWhileRevalidate staleWhileRevalidate = new StaleWhileRevalidate();
+
+    private EarlyExpiration earlyExpiration = new EarlyExpiration();
+
+    /**
+     * On-heap L1 settings for the two-level cache manager.
+     */
+    @Data
+    public static class L1 {
+
+        /**
+         * Front Redis with an on-heap L1 for the configured regions.
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Cache regions served from L1 before Redis.
+         */
+        private List<String> regions = new ArrayList<>();
+
+        /**
+         * Shared L1 budget; a cached list weighs one unit per element plus one.
+         * Default: 20000
+         */
+        private long maximumWeight = 20000;
+
+        /**
+         * Upper bound on L1 staleness if an invalidation message is lost.
+         * Default: 30s
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Redis value serialization settings.
+     */
+    @Data
+    public static class Serialization {
+
+        /**
+         * Cache regions written with the compact binary read-model serializer instead of JSON.
+         */
+        private List<String> binaryRegions = new ArrayList<>();
+
+        /**
+         * Binary payloads larger than this many bytes are compressed; 0 disables compression.
+         * Default: 1024
+         */
+        private int compressionThreshold = 1024;
+    }
+
+    /**
+     * Listing total settings.
+     */
+    @Data
+    public static class Totals {
+
+        /**
+         * How long a pg_class row estimate is reused before it is read again.
+         * Default: 60s
+         */
+        private Duration estimateTtl = Duration.ofSeconds(60);
+    }
+
+    /**
+     * Read model invalidations published by the sync worker.
+     */
+    @Data
+    public static class Invalidation {
+
+        /**
+         * Evict the pages named in sync worker invalidation messages.
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Redis pub/sub channel the sync worker publishes to.
+         */
+        private String channel = "puppies:cache:read-model-invalidation";
+    }
+
+    /**
+     * Generation counters that version paged listing keys.
+     */
+    @Data
+    public static class Generations {
+
+        /**
+         * How long a node reuses a generation before reading it from Redis again.
+         * Default: 1s
+         */
+        private Duration localTtl = Duration.ofSeconds(1);
+
+        /**
+         * Maximum number of generations memoized on-heap.
+         * Default: 10000
+         */
+        private long localMaximumSize = 10000;
+    }
+
+    /**
+     * On-heap budgets for the shared post metrics and user profile registry.
+     */
+    @Data
+    public static class MetricsRegistry {
+
+        /**
+         * Heap budget for tracked post metrics; the least valuable entries are evicted beyond it.
+         * Default: 64MB
+         */
+        private DataSize postMetricsBudget = DataSize.ofMegabytes(64);
+
+        /**
+         * Heap budget for tracked user cache profiles.
+         * Default: 16MB
+         */
+        private DataSize userProfilesBudget = DataSize.ofMegabytes(16);
+
+        /**
+         * Entries not read or written for this long are dropped.
+         * Default: 24h
+         */
+        private Duration idleTtl = Duration.ofHours(24);
+    }
+
+    /**
+     * Trending post cache warming.
+     */
+    @Data
+    public static class Warming {
+
+        /**
+         * Leading pages of the popularity listing preloaded on every warming run.
+         * Default: 3
+         */
+        private int pages = 3;
+
+        /**
+         * Page size of the preloaded listing pages; should match what clients request.
+         * Default: 10
+         */
+        private int pageSize = 10;
+    }
+
+    /**
+     * Coalescing of concurrent misses on the same listing page.
+     */
+    @Data
+    public static class SingleFlight {
+
+        /**
+         * How long a coalesced request waits for the in-flight load before loading on its own.
+         * Default: 5s
+         */
+        private Duration waitTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Also coalesce across query-api nodes with a Redis lease per page key.
+         * Default: false
+         */
+        private boolean leaseEnabled = false;
+
+        /**
+         * Lease lifetime; bounds how long other nodes defer to a loader that died.
+         * Default: 5s
+         */
+        private Duration leaseTtl = Duration.ofSeconds(5);
+
+        /**
+         * How often a node that lost the lease re-reads the cache while waiting.
+         * Default: 50ms
+         */
+        private Duration leasePollInterval = Duration.ofMillis(50);
+    }
+
+    /**
+     * Soft/hard TTLs for the paged content regions. Past the soft TTL a page is still served and
+     * reloaded in the background; Redis drops it at the hard TTL.
+     */
+    @Data
+    public static class StaleWhileRevalidate {
+
+        /**
+         * Serve pages past their soft TTL while a background refresh reloads them.
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Age after which a post_content page is refreshed in the background.
+         * Default: 10m
+         */
+        private Duration postContentSoftTtl = Duration.ofMinutes(10);
+
+        /**
+         * Redis TTL of post_content pages while the mode is enabled.
+         * Default: 20m
+         */
+        private Duration postContentHardTtl = Duration.ofMinutes(20);
+
+        /**
+         * Age after which a feed_content page is refreshed in the background.
+         * Default: 8m
+         */
+        private Duration feedContentSoftTtl = Duration.ofMinutes(8);
+
+        /**
+         * Redis TTL of feed_content pages while the mode is enabled.
+         * Default: 16m
+         */
+        private Duration feedContentHardTtl = Duration.ofMinutes(16);
+
+        /**
+         * Threads reloading stale pages.
+         * Default: 2
+         */
+        private int refreshThreads = 2;
+
+        /**
+         * Refreshes queued beyond the busy threads; further stale hits skip scheduling.
+         * Default: 100
+         */
+        private int refreshQueueCapacity = 100;
+    }
+
+    /**
+     * TTL jitter and XFetch-style early recomputation for the hot/warm/cold post layers.
+     */
+    @Data
+    public static class EarlyExpiration {
+
+        /**
+         * Recompute entries probabilistically before they expire; jitter applies regardless.
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Written keys whose expiry and recompute cost are tracked for early recomputation.
+         * Default: 100000
+         */
+        private long maxTrackedKeys = 100_000;
+
+        private Region hot = new Region(Duration.ofMinutes(30), 0.1);
+
+        private Region warm = new Region(Duration.ofMinutes(15), 0.1);
+
+        private Region cold = new Region(Duration.ofMinutes(5), 0.2);
+
+        @Data
+        public static class Region {
+
+            /**
+             * Upper bound of an entry's TTL.
+             */
+            private Duration ttl;
+
+            /**
+             * Fraction of the TTL an entry may be shortened by, chosen per key.
+             */
+            private double jitter;
+
+            /**
+             * XFetch beta; above 1 favours earlier recomputation.
+             * Default: 1.0
+             */
+            private double beta = 1.0;
+
+            public Region() {
+            }
+
+            Region(Duration ttl, double jitter) {
+                this.ttl = ttl;
+                this.jitter = jitter;
+            }
+        }
+    }
+}
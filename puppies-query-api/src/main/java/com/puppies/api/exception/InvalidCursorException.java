@@ -0,0 +1,15 @@
+package com.puppies.api.exception;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded or belongs to another listing.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
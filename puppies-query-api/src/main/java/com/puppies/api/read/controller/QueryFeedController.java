@@ -1,5 +1,7 @@
 package com.puppies.api.read.controller;
 
+import com.puppies.api.read.dto.CursorPage;
+import com.puppies.api.read.dto.SlicePage;
 import com.puppies.api.read.model.ReadFeedItem;
 import com.puppies.api.read.service.QueryFeedService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -7,7 +9,6 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,25 +32,39 @@ public class QueryFeedController {
     @Operation(summary = "📱 User Feed", 
                description = "Get user's personalized chronological feed with caching")
     @GetMapping("/user/{userId}")
-    public ResponseEntity<Page<ReadFeedItem>> getUserFeed(
+    public ResponseEntity<SlicePage<ReadFeedItem>> getUserFeed(
             @Parameter(description = "User ID") @PathVariable Long userId,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
         log.debug("📱 Getting feed for user: {}", userId);
-        Page<ReadFeedItem> feed = queryFeedService.getUserFeed(userId, page, size);
+        SlicePage<ReadFeedItem> feed = queryFeedService.getUserFeed(userId, page, size);
         return ResponseEntity.ok(feed);
     }
 
+    /**
+     * Get user's feed with cursor pagination
+     */
+    @Operation(summary = "🧭 User Feed (cursor)", 
+               description = "Get user's chronological feed using keyset pagination; pass nextCursor to fetch the next page. No total count.")
+    @GetMapping("/user/{userId}/cursor")
+    public ResponseEntity<CursorPage<ReadFeedItem>> getUserFeedByCursor(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Opaque cursor from the previous page (omit for the first page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+        log.debug("🧭 Getting feed by cursor for user: {}", userId);
+        return ResponseEntity.ok(queryFeedService.getUserFeedAfter(userId, cursor, size));
+    }
+
     /**
      * Get user's feed by popularity
      */
     @GetMapping("/user/{userId}/popular")
-    public ResponseEntity<Page<ReadFeedItem>> getUserFeedByPopularity(
+    public ResponseEntity<SlicePage<ReadFeedItem>> getUserFeedByPopularity(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         log.debug("🔥 Getting popular feed for user: {}", userId);
-        Page<ReadFeedItem> feed = queryFeedService.getUserFeedByPopularity(userId, page, size);
+        SlicePage<ReadFeedItem> feed = queryFeedService.getUserFeedByPopularity(userId, page, size);
         return ResponseEntity.ok(feed);
     }
 
@@ -59,11 +74,11 @@ public class QueryFeedController {
     @Operation(summary = "🌍 Trending Feed", 
                description = "Get global trending content feed with Redis caching")
     @GetMapping("/trending")
-    public ResponseEntity<Page<ReadFeedItem>> getTrendingFeed(
+    public ResponseEntity<SlicePage<ReadFeedItem>> getTrendingFeed(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
         log.debug("🌍 Getting global trending feed");
-        Page<ReadFeedItem> feed = queryFeedService.getTrendingFeed(page, size);
+        SlicePage<ReadFeedItem> feed = queryFeedService.getTrendingFeed(page, size);
         return ResponseEntity.ok(feed);
     }
 
@@ -85,12 +100,12 @@ public class QueryFeedController {
     @Operation(summary = "❤️ User Liked Posts", 
                description = "Get all posts that a user has liked with caching")
     @GetMapping("/user/{userId}/liked")
-    public ResponseEntity<Page<ReadFeedItem>> getUserLikedPosts(
+    public ResponseEntity<SlicePage<ReadFeedItem>> getUserLikedPosts(
             @Parameter(description = "User ID") @PathVariable Long userId,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
         log.debug("❤️ Getting liked posts for user: {}", userId);
-        Page<ReadFeedItem> feed = queryFeedService.getUserLikedPosts(userId, page, size);
+        SlicePage<ReadFeedItem> feed = queryFeedService.getUserLikedPosts(userId, page, size);
         return ResponseEntity.ok(feed);
     }
 }
\ No newline at end of file
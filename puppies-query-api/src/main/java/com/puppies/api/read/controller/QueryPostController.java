@@ -1,5 +1,7 @@
 package com.puppies.api.read.controller;
 
+import com.puppies.api.read.dto.CursorPage;
+import com.puppies.api.read.dto.SlicePage;
 import com.puppies.api.read.model.ReadPost;
 import com.puppies.api.read.model.ReadUserProfile;
 import com.puppies.api.read.service.QueryPostService;
@@ -10,7 +12,6 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -37,11 +38,11 @@ public class QueryPostController {
     @Operation(summary = "📖 All Posts", 
                description = "Get all posts ordered by creation date (newest first) with caching")
     @GetMapping
-    public ResponseEntity<Page<ReadPost>> getAllPosts(
+    public ResponseEntity<SlicePage<ReadPost>> getAllPosts(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
         log.debug("📖 Getting all posts - page: {}, size: {}", page, size);
-        Page<ReadPost> posts = queryPostService.getAllPosts(page, size);
+        SlicePage<ReadPost> posts = queryPostService.getAllPosts(page, size);
         return ResponseEntity.ok(posts);
     }
 
@@ -51,23 +52,49 @@ public class QueryPostController {
     @Operation(summary = "🔥 Trending Posts", 
                description = "Get trending posts ordered by popularity score with Redis caching")
     @GetMapping("/trending")
-    public ResponseEntity<Page<ReadPost>> getTrendingPosts(
+    public ResponseEntity<SlicePage<ReadPost>> getTrendingPosts(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
         log.debug("🔥 Getting trending posts - page: {}, size: {}", page, size);
-        Page<ReadPost> posts = queryPostService.getTrendingPosts(page, size);
+        SlicePage<ReadPost> posts = queryPostService.getTrendingPosts(page, size);
         return ResponseEntity.ok(posts);
     }
 
+    /**
+     * Get posts with cursor pagination
+     */
+    @Operation(summary = "🧭 All Posts (cursor)", 
+               description = "Get posts newest first using keyset pagination; pass nextCursor to fetch the next page. No total count.")
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ReadPost>> getAllPostsByCursor(
+            @Parameter(description = "Opaque cursor from the previous page (omit for the first page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+        log.debug("🧭 Getting posts by cursor - size: {}", size);
+        return ResponseEntity.ok(queryPostService.getAllPostsAfter(cursor, size));
+    }
+
+    /**
+     * Get trending posts with cursor pagination
+     */
+    @Operation(summary = "🧭 Trending Posts (cursor)", 
+               description = "Get trending posts by popularity using keyset pagination. No total count.")
+    @GetMapping("/trending/cursor")
+    public ResponseEntity<CursorPage<ReadPost>> getTrendingPostsByCursor(
+            @Parameter(description = "Opaque cursor from the previous page (omit for the first page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+        log.debug("🧭 Getting trending posts by cursor - size: {}", size);
+        return ResponseEntity.ok(queryPostService.getTrendingPostsAfter(cursor, size));
+    }
+
     /**
      * Get most liked posts
      */
     @GetMapping("/popular")
-    public ResponseEntity<Page<ReadPost>> getPopularPosts(
+    public ResponseEntity<SlicePage<ReadPost>> getPopularPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         log.debug("❤️ Getting popular posts - page: {}, size: {}", page, size);
-        Page<ReadPost> posts = queryPostService.getPopularPosts(page, size);
+        SlicePage<ReadPost> posts = queryPostService.getPopularPosts(page, size);
         return ResponseEntity.ok(posts);
     }
 
@@ -89,12 +116,12 @@ public class QueryPostController {
      * Search posts
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<ReadPost>> searchPosts(
+    public ResponseEntity<SlicePage<ReadPost>> searchPosts(
             @RequestParam String q,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         log.debug("🔍 Searching posts for: {}", q);
-        Page<ReadPost> posts = queryPostService.searchPosts(q, page, size);
+        SlicePage<ReadPost> posts = queryPostService.searchPosts(q, page, size);
         return ResponseEntity.ok(posts);
     }
 
@@ -104,15 +131,27 @@ public class QueryPostController {
     @Operation(summary = "👤 Posts by Author ID", 
                description = "Get posts by specific author using author ID in URL")
     @GetMapping("/author/{authorId}")
-    public ResponseEntity<Page<ReadPost>> getPostsByAuthor(
+    public ResponseEntity<SlicePage<ReadPost>> getPostsByAuthor(
             @Parameter(description = "Author ID") @PathVariable Long authorId,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
         log.debug("👤 Getting posts by author: {}", authorId);
-        Page<ReadPost> posts = queryPostService.getPostsByAuthor(authorId, page, size);
+        SlicePage<ReadPost> posts = queryPostService.getPostsByAuthor(authorId, page, size);
         return ResponseEntity.ok(posts);
     }
 
+    /**
+     * Get posts by author with cursor pagination
+     */
+    @GetMapping("/author/{authorId}/cursor")
+    public ResponseEntity<CursorPage<ReadPost>> getPostsByAuthorByCursor(
+            @Parameter(description = "Author ID") @PathVariable Long authorId,
+            @Parameter(description = "Opaque cursor from the previous page (omit for the first page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+        log.debug("🧭 Getting posts by author {} by cursor", authorId);
+        return ResponseEntity.ok(queryPostService.getPostsByAuthorAfter(authorId, cursor, size));
+    }
+
     /**
      * Get current user's own posts (using JWT token)
      */
@@ -133,7 +172,7 @@ public class QueryPostController {
                 .orElseThrow(() -> new RuntimeException("User profile not found for email: " + userEmail));
         
         // Get posts by the user's ID
-        Page<ReadPost> posts = queryPostService.getPostsByAuthor(userProfile.getId(), page, size);
+        SlicePage<ReadPost> posts = queryPostService.getPostsByAuthor(userProfile.getId(), page, size);
         
         log.info("📝 Retrieved {} posts for user {} (ID: {})", 
                 posts.getNumberOfElements(), userEmail, userProfile.getId());
@@ -0,0 +1,49 @@
+package com.puppies.api.read.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of an offset-paginated listing, fetched as a slice without a COUNT query.
+ * {@code hasNext} comes from the slice itself; {@code totalElements} is a maintained counter
+ * when {@code totalExact} is true, a planner estimate otherwise, or null when unknown.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlicePage<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private int numberOfElements;
+    private boolean hasNext;
+    private Long totalElements;
+    private boolean totalExact;
+
+    public static <T> SlicePage<T> of(List<T> content, int page, int size, boolean hasNext, Long totalElements, boolean totalExact) {
+        return SlicePage.<T>builder()
+                .content(content)
+                .page(page)
+                .size(size)
+                .numberOfElements(content.size())
+                .hasNext(hasNext)
+                .totalElements(totalElements)
+                .totalExact(totalExact)
+                .build();
+    }
+
+    /**
+     * Page rebuilt from cached content. A full page is assumed to have a successor
+     * unless an exact total says otherwise.
+     */
+    public static <T> SlicePage<T> fromCache(List<T> content, int page, int size, Long totalElements, boolean totalExact) {
+        boolean hasNext = content.size() >= size
+                && !(totalExact && totalElements != null && (long) (page + 1) * size >= totalElements);
+        return of(content, page, size, hasNext, totalElements, totalExact);
+    }
+}
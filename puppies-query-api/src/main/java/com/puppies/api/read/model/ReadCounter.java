@@ -0,0 +1,43 @@
+package com.puppies.api.read.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only maintained total for Query API
+ * Kept up to date by the Sync Worker alongside the rows it counts
+ */
+@Entity
+@Table(name = "read_counters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadCounter {
+
+    public static final String FEED_PREFIX = "feed:user:";
+    public static final String AUTHOR_POSTS_PREFIX = "posts:author:";
+
+    @Id
+    @Column(name = "counter_key", nullable = false, length = 100)
+    private String counterKey;
+
+    @Column(name = "counter_value", nullable = false)
+    private Long counterValue = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public static String feedKey(Long userId) {
+        return FEED_PREFIX + userId;
+    }
+
+    public static String authorPostsKey(Long authorId) {
+        return AUTHOR_POSTS_PREFIX + authorId;
+    }
+}
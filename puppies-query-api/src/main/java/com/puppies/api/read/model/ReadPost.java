@@ -44,7 +44,7 @@ public class ReadPost {
     @Column(name = "view_count", nullable = false)
     private Long viewCount = 0L;
 
-    @Column(name = "popularity_score")
+    @Column(name = "popularity_score", nullable = false)
     private Double popularityScore = 0.0;
 
     @Column(name = "created_at", nullable = false)
@@ -0,0 +1,29 @@
+package com.puppies.api.read.repository;
+
+import com.puppies.api.read.model.ReadCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for maintained totals and table size estimates from the read store
+ */
+@Repository
+public interface ReadCounterRepository extends JpaRepository<ReadCounter, String> {
+
+    /**
+     * Current value of a maintained counter
+     */
+    @Query("SELECT c.counterValue FROM ReadCounter c WHERE c.counterKey = :counterKey")
+    Optional<Long> findValueByCounterKey(@Param("counterKey") String counterKey);
+
+    /**
+     * Planner row estimate for a table, refreshed by ANALYZE/autovacuum; -1 if never analyzed
+     */
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE relname = :tableName AND relkind = 'r'",
+           nativeQuery = true)
+    Optional<Long> findEstimatedRowCount(@Param("tableName") String tableName);
+}
@@ -1,17 +1,19 @@
 package com.puppies.api.read.repository;
 
 import com.puppies.api.read.model.ReadFeedItem;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
- * Repository for read-only feed queries from the read store
+ * Repository for read-only feed queries from the read store.
+ * Paged listings return slices, so no COUNT query runs alongside them; totals come from TotalsService.
  */
 @Repository
 public interface ReadFeedItemRepository extends JpaRepository<ReadFeedItem, Long> {
@@ -19,17 +21,17 @@ public interface ReadFeedItemRepository extends JpaRepository<ReadFeedItem, Long
     /**
      * Get user's feed ordered by creation time (latest first)
      */
-    Page<ReadFeedItem> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    Slice<ReadFeedItem> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
 
     /**
      * Get user's feed ordered by popularity
      */
-    Page<ReadFeedItem> findByUserIdOrderByPopularityScoreDesc(Long userId, Pageable pageable);
+    Slice<ReadFeedItem> findByUserIdOrderByPopularityScoreDesc(Long userId, Pageable pageable);
 
     /**
      * Get trending feed items across all users
      */
-    Page<ReadFeedItem> findAllByOrderByPopularityScoreDesc(Pageable pageable);
+    Slice<ReadFeedItem> findAllByOrderByPopularityScoreDesc(Pageable pageable);
 
     /**
      * Get recent highly engaging posts for a user
@@ -40,7 +42,7 @@ public interface ReadFeedItemRepository extends JpaRepository<ReadFeedItem, Long
     /**
      * Get posts from specific author in user's feed
      */
-    Page<ReadFeedItem> findByUserIdAndPostAuthorIdOrderByCreatedAtDesc(Long userId, Long authorId, Pageable pageable);
+    Slice<ReadFeedItem> findByUserIdAndPostAuthorIdOrderByCreatedAtDesc(Long userId, Long authorId, Pageable pageable);
 
     /**
      * Count feed items for a user
@@ -50,11 +52,24 @@ public interface ReadFeedItemRepository extends JpaRepository<ReadFeedItem, Long
     /**
      * Find posts that user has liked in their feed
      */
-    Page<ReadFeedItem> findByUserIdAndIsLikedByUserTrueOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    Slice<ReadFeedItem> findByUserIdAndIsLikedByUserTrueOrderByCreatedAtDesc(Long userId, Pageable pageable);
 
     /**
      * Get discovery feed (posts from all users, high popularity)
      */
     @Query("SELECT f FROM ReadFeedItem f WHERE f.popularityScore > :minScore ORDER BY f.popularityScore DESC, f.createdAt DESC")
     List<ReadFeedItem> findDiscoveryFeed(@Param("minScore") Double minScore, Pageable pageable);
+
+    /**
+     * First page of a user's feed for keyset pagination
+     */
+    List<ReadFeedItem> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+
+    /**
+     * User's feed items created before the (createdAt, id) cursor
+     */
+    @Query(value = "SELECT * FROM read_feed_items WHERE user_id = :userId AND (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC",
+           nativeQuery = true)
+    List<ReadFeedItem> findUserFeedBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.puppies.api.read.repository;
+
+import com.puppies.api.read.model.ReadFeedRef;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for reference-only feed queries from the read store.
+ * Ordering and filtering on post attributes joins read_posts; the posts themselves
+ * are hydrated separately in one multi-get.
+ */
+@Repository
+public interface ReadFeedRefRepository extends JpaRepository<ReadFeedRef, ReadFeedRef.Key> {
+
+    /**
+     * Get user's feed references ordered by creation time (latest first)
+     */
+    Slice<ReadFeedRef> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+
+    /**
+     * Get user's feed references ordered by the referenced post's popularity
+     */
+    @Query("SELECT r FROM ReadFeedRef r, ReadPost p WHERE p.id = r.postId AND r.userId = :userId ORDER BY p.popularityScore DESC")
+    Slice<ReadFeedRef> findByUserIdOrderByPopularityScoreDesc(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Get recent highly engaging post references for a user
+     */
+    @Query("SELECT r FROM ReadFeedRef r, ReadPost p WHERE p.id = r.postId AND r.userId = :userId AND p.likeCount > :minLikes ORDER BY r.createdAt DESC")
+    List<ReadFeedRef> findRecentEngagingPosts(@Param("userId") Long userId, @Param("minLikes") Long minLikes, Pageable pageable);
+
+    /**
+     * Get references to posts from a specific author in user's feed
+     */
+    @Query("SELECT r FROM ReadFeedRef r, ReadPost p WHERE p.id = r.postId AND r.userId = :userId AND p.authorId = :authorId ORDER BY r.createdAt DESC")
+    Slice<ReadFeedRef> findByUserIdAndPostAuthorIdOrderByCreatedAtDesc(@Param("userId") Long userId, @Param("authorId") Long authorId, Pageable pageable);
+
+    /**
+     * Count feed references for a user
+     */
+    Long countByUserId(Long userId);
+
+    /**
+     * Find references to posts that user has liked
+     */
+    Slice<ReadFeedRef> findByUserIdAndIsLikedByUserTrueOrderByCreatedAtDesc(Long userId, Pageable pageable);
+
+    /**
+     * First page of a user's feed references for keyset pagination
+     */
+    List<ReadFeedRef> findByUserIdOrderByCreatedAtDescPostIdDesc(Long userId, Pageable pageable);
+
+    /**
+     * User's feed references created before the (createdAt, postId) cursor
+     */
+    @Query(value = "SELECT * FROM read_feed_refs WHERE user_id = :userId AND (created_at, post_id) < (:createdAt, :postId) ORDER BY created_at DESC, post_id DESC",
+           nativeQuery = true)
+    List<ReadFeedRef> findUserFeedBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("postId") Long postId, Pageable pageable);
+}
\ No newline at end of file
@@ -1,7 +1,7 @@
 package com.puppies.api.read.repository;
 
 import com.puppies.api.read.model.ReadPost;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 /**
- * Repository for read-only post queries from the read store
+ * Repository for read-only post queries from the read store.
+ * Paged listings return slices, so no COUNT query runs alongside them; totals come from TotalsService.
  */
 @Repository
 public interface ReadPostRepository extends JpaRepository<ReadPost, Long> {
@@ -20,22 +21,22 @@ public interface ReadPostRepository extends JpaRepository<ReadPost, Long> {
     /**
      * Find posts ordered by creation date (latest first)
      */
-    Page<ReadPost> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    Slice<ReadPost> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
     /**
      * Find trending posts (by popularity score)
      */
-    Page<ReadPost> findAllByOrderByPopularityScoreDesc(Pageable pageable);
+    Slice<ReadPost> findAllByOrderByPopularityScoreDesc(Pageable pageable);
 
     /**
      * Find most liked posts
      */
-    Page<ReadPost> findAllByOrderByLikeCountDesc(Pageable pageable);
+    Slice<ReadPost> findAllByOrderByLikeCountDesc(Pageable pageable);
 
     /**
      * Find posts by author
      */
-    Page<ReadPost> findByAuthorIdOrderByCreatedAtDesc(Long authorId, Pageable pageable);
+    Slice<ReadPost> findByAuthorIdOrderByCreatedAtDesc(Long authorId, Pageable pageable);
 
     /**
      * Find recent posts (last 24 hours) ordered by popularity
@@ -47,7 +48,7 @@ public interface ReadPostRepository extends JpaRepository<ReadPost, Long> {
      * Search posts by content
      */
     @Query("SELECT p FROM ReadPost p WHERE LOWER(p.content) LIKE LOWER(CONCAT('%', :searchTerm, '%')) ORDER BY p.createdAt DESC")
-    Page<ReadPost> searchByContent(@Param("searchTerm") String searchTerm, Pageable pageable);
+    Slice<ReadPost> searchByContent(@Param("searchTerm") String searchTerm, Pageable pageable);
 
     /**
      * Count posts by author
@@ -59,4 +60,49 @@ public interface ReadPostRepository extends JpaRepository<ReadPost, Long> {
      */
     @Query("SELECT p FROM ReadPost p WHERE p.likeCount > :threshold ORDER BY p.likeCount DESC")
     List<ReadPost> findHighEngagementPosts(@Param("threshold") Long threshold, Pageable pageable);
+
+    /**
+     * Get discovery posts (high popularity across all users)
+     */
+    @Query("SELECT p FROM ReadPost p WHERE p.popularityScore > :minScore ORDER BY p.popularityScore DESC, p.createdAt DESC")
+    List<ReadPost> findDiscoveryPosts(@Param("minScore") Double minScore, Pageable pageable);
+
+    // ========== Keyset (cursor) pagination: seek past the last row, never count ==========
+
+    /**
+     * First page of posts by creation date (latest first)
+     */
+    List<ReadPost> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    /**
+     * Posts created before the (createdAt, id) cursor
+     */
+    @Query(value = "SELECT * FROM read_posts WHERE (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC",
+           nativeQuery = true)
+    List<ReadPost> findPostsBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * First page of posts by popularity
+     */
+    List<ReadPost> findAllByOrderByPopularityScoreDescIdDesc(Pageable pageable);
+
+    /**
+     * Posts ranked below the (popularityScore, id) cursor
+     */
+    @Query(value = "SELECT * FROM read_posts WHERE (popularity_score, id) < (:popularityScore, :id) ORDER BY popularity_score DESC, id DESC",
+           nativeQuery = true)
+    List<ReadPost> findPostsRankedBelow(@Param("popularityScore") Double popularityScore, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * First page of an author's posts by creation date
+     */
+    List<ReadPost> findByAuthorIdOrderByCreatedAtDescIdDesc(Long authorId, Pageable pageable);
+
+    /**
+     * Author's posts created before the (createdAt, id) cursor
+     */
+    @Query(value = "SELECT * FROM read_posts WHERE author_id = :authorId AND (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC",
+           nativeQuery = true)
+    List<ReadPost> findAuthorPostsBefore(@Param("authorId") Long authorId, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id, Pageable pageable);
 }
\ No newline at end of file
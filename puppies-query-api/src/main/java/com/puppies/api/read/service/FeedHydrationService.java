@@ -0,0 +1,170 @@
+package com.puppies.api.read.service;
+
+import com.puppies.api.read.model.ReadFeedItem;
+import com.puppies.api.read.model.ReadFeedRef;
+import com.puppies.api.read.model.ReadPost;
+import com.puppies.api.read.repository.ReadFeedRefRepository;
+import com.puppies.api.read.repository.ReadPostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads feeds stored as (user, post) references and hydrates them from read_posts.
+ *
+ * Every page costs two queries regardless of size: one for the references and one
+ * {@code findAllById} multi-get for the posts they point at. Post bodies and counters
+ * therefore always come from the single read_posts row, so a like on a popular post
+ * no longer has to rewrite a copy in every recipient's feed.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class FeedHydrationService {
+
+    public static final String REFERENCE_MODE = "REFERENCE";
+
+    private final ReadFeedRefRepository readFeedRefRepository;
+    private final ReadPostRepository readPostRepository;
+    private final boolean referenceMode;
+
+    public FeedHydrationService(ReadFeedRefRepository readFeedRefRepository,
+                                ReadPostRepository readPostRepository,
+                                @Value("${cqrs.feed-storage-mode:COPY}") String feedStorageMode) {
+        this.readFeedRefRepository = readFeedRefRepository;
+        this.readPostRepository = readPostRepository;
+        this.referenceMode = REFERENCE_MODE.equalsIgnoreCase(feedStorageMode);
+    }
+
+    /**
+     * Whether feeds are read from references instead of denormalized feed items
+     */
+    public boolean isReferenceMode() {
+        return referenceMode;
+    }
+
+    public Slice<ReadFeedItem> findUserFeed(Long userId, Pageable pageable) {
+        return hydrate(readFeedRefRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable));
+    }
+
+    public Slice<ReadFeedItem> findUserFeedByPopularity(Long userId, Pageable pageable) {
+        return hydrate(readFeedRefRepository.findByUserIdOrderByPopularityScoreDesc(userId, pageable));
+    }
+
+    public List<ReadFeedItem> findRecentEngagingPosts(Long userId, Long minLikes, Pageable pageable) {
+        return hydrate(readFeedRefRepository.findRecentEngagingPosts(userId, minLikes, pageable));
+    }
+
+    public Slice<ReadFeedItem> findAuthorPostsInFeed(Long userId, Long authorId, Pageable pageable) {
+        return hydrate(readFeedRefRepository.findByUserIdAndPostAuthorIdOrderByCreatedAtDesc(userId, authorId, pageable));
+    }
+
+    public Slice<ReadFeedItem> findUserLikedPosts(Long userId, Pageable pageable) {
+        return hydrate(readFeedRefRepository.findByUserIdAndIsLikedByUserTrueOrderByCreatedAtDesc(userId, pageable));
+    }
+
+    /**
+     * Keyset page of a user's feed; the cursor's ID is the post ID, which breaks created_at ties.
+     *
+     * Returns up to {@code pageable.getPageSize()} hydrated items. References to posts no longer in
+     * read_posts are dropped, so when a window comes back short the next references are read until
+     * the page is full or the feed ends. Callers probing with {@code size + 1} therefore still see
+     * the probe row whenever another page exists.
+     */
+    public List<ReadFeedItem> findUserFeedBefore(Long userId, KeysetCursor cursor, Pageable pageable) {
+        int wanted = pageable.getPageSize();
+        List<ReadFeedItem> items = new ArrayList<>(wanted);
+        LocalDateTime createdAt = cursor != null ? cursor.createdAt() : null;
+        Long postId = cursor != null ? cursor.id() : null;
+        while (items.size() < wanted) {
+            Pageable window = PageRequest.of(0, wanted - items.size());
+            List<ReadFeedRef> refs = createdAt == null
+                    ? readFeedRefRepository.findByUserIdOrderByCreatedAtDescPostIdDesc(userId, window)
+                    : readFeedRefRepository.findUserFeedBefore(userId, createdAt, postId, window);
+            items.addAll(hydrate(refs));
+            if (refs.size() < window.getPageSize()) {
+                break;
+            }
+            ReadFeedRef last = refs.get(refs.size() - 1);
+            createdAt = last.getCreatedAt();
+            postId = last.getPostId();
+        }
+        return items;
+    }
+
+    /**
+     * Global trending feed; with references there is one row per post, so it reads read_posts directly
+     */
+    public Slice<ReadFeedItem> findTrendingFeed(Pageable pageable) {
+        return readPostRepository.findAllByOrderByPopularityScoreDesc(pageable).map(post -> toFeedItem(post, null));
+    }
+
+    /**
+     * Discovery feed read directly from read_posts
+     */
+    public List<ReadFeedItem> findDiscoveryFeed(Double minScore, Pageable pageable) {
+        return readPostRepository.findDiscoveryPosts(minScore, pageable).stream()
+                .map(post -> toFeedItem(post, null))
+                .toList();
+    }
+
+    private Slice<ReadFeedItem> hydrate(Slice<ReadFeedRef> refs) {
+        return new SliceImpl<>(hydrate(refs.getContent()), refs.getPageable(), refs.hasNext());
+    }
+
+    /**
+     * Hydrate references in their original order with a single multi-get.
+     * References whose post is no longer in read_posts are dropped.
+     */
+    List<ReadFeedItem> hydrate(List<ReadFeedRef> refs) {
+        if (refs.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> postIds = refs.stream().map(ReadFeedRef::getPostId).distinct().toList();
+        Map<Long, ReadPost> postsById = readPostRepository.findAllById(postIds).stream()
+                .collect(Collectors.toMap(ReadPost::getId, Function.identity()));
+
+        List<ReadFeedItem> items = new ArrayList<>(refs.size());
+        for (ReadFeedRef ref : refs) {
+            ReadPost post = postsById.get(ref.getPostId());
+            if (post == null) {
+                log.debug("Feed reference to missing post {} skipped for user {}", ref.getPostId(), ref.getUserId());
+                continue;
+            }
+            ReadFeedItem item = toFeedItem(post, ref.getUserId());
+            item.setIsLikedByUser(Boolean.TRUE.equals(ref.getIsLikedByUser()));
+            item.setCreatedAt(ref.getCreatedAt());
+            items.add(item);
+        }
+        return items;
+    }
+
+    private ReadFeedItem toFeedItem(ReadPost post, Long userId) {
+        return ReadFeedItem.builder()
+                .userId(userId)
+                .postId(post.getId())
+                .postAuthorId(post.getAuthorId())
+                .postAuthorName(post.getAuthorName())
+                .postContent(post.getContent())
+                .postImageUrl(post.getImageUrl())
+                .likeCount(post.getLikeCount())
+                .isLikedByUser(false)
+                .popularityScore(post.getPopularityScore())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .build();
+    }
+}
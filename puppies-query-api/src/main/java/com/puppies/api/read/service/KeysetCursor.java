@@ -0,0 +1,101 @@
+package com.puppies.api.read.service;
+
+import com.puppies.api.common.constants.QueryApiConstants;
+import com.puppies.api.exception.InvalidCursorException;
+import com.puppies.api.read.dto.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position in a keyset-paginated listing: the sort value and ID of the last row returned.
+ *
+ * Clients only ever see the opaque URL-safe token from {@link #encode()}. The token also names
+ * the ordering it was issued for, so a trending cursor cannot be replayed against the latest feed.
+ * Because the same position always produces the same token, it doubles as a stable cache key.
+ */
+public record KeysetCursor(Order order, long sortKey, long id) {
+
+    /**
+     * Orderings supported by cursor endpoints
+     */
+    public enum Order {
+        /** created_at DESC, id DESC */
+        CREATED_AT,
+        /** popularity_score DESC, id DESC */
+        POPULARITY
+    }
+
+    private static final String VERSION = "v1";
+
+    public static KeysetCursor ofCreatedAt(LocalDateTime createdAt, Long id) {
+        long micros = ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), createdAt);
+        return new KeysetCursor(Order.CREATED_AT, micros, id);
+    }
+
+    /**
+     * popularity_score is NOT NULL in the read store (missing scores are stored as 0),
+     * so mapping a null score to 0 matches the row's position in the ordering.
+     */
+    public static KeysetCursor ofPopularity(Double popularityScore, Long id) {
+        return new KeysetCursor(Order.POPULARITY, Double.doubleToLongBits(popularityScore != null ? popularityScore : 0.0), id);
+    }
+
+    public LocalDateTime createdAt() {
+        return LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC).plus(sortKey, ChronoUnit.MICROS);
+    }
+
+    public double popularityScore() {
+        return Double.longBitsToDouble(sortKey);
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + order.name() + ":" + sortKey + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a client-supplied token issued for the expected ordering
+     *
+     * @return the cursor, or null for a blank token (first page)
+     * @throws InvalidCursorException if the token is malformed or was issued for another ordering
+     */
+    public static KeysetCursor decode(String token, Order expectedOrder) {
+        if (token == null || token.isBlank() || QueryApiConstants.CacheKeys.FIRST_PAGE_CURSOR.equals(token)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 4 || !VERSION.equals(parts[0]) || !expectedOrder.name().equals(parts[1])) {
+                throw new InvalidCursorException(QueryApiConstants.ErrorMessages.INVALID_CURSOR);
+            }
+            return new KeysetCursor(expectedOrder, Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(QueryApiConstants.ErrorMessages.INVALID_CURSOR, e);
+        }
+    }
+
+    /**
+     * Build a page from rows fetched with a limit of {@code size + 1}; the extra row only signals that
+     * another page exists, and the cursor points at the last row actually returned.
+     */
+    public static <T> CursorPage<T> toPage(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext && !content.isEmpty()
+                ? cursorOf.apply(content.get(content.size() - 1)).encode()
+                : null;
+        return CursorPage.<T>builder()
+                .content(List.copyOf(content))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
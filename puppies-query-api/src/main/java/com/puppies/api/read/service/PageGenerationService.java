@@ -0,0 +1,125 @@
+package com.puppies.api.read.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.puppies.api.config.QueryCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generation counters that version the keys of paged listing caches.
+ *
+ * Each logical listing (the post listing, an author's posts, a user's feeds) has an INCR counter
+ * in Redis and its page keys embed the current value, e.g. {@code user_feed_42_g3.1_content_0_10}.
+ * Invalidating every page of a listing is a single INCR; pages of older generations are never read
+ * again and simply expire by TTL, so no SCAN over the page key space is needed.
+ *
+ * The sync worker owns the counters: it does the INCR once per change, before publishing the
+ * invalidation, so query nodes only read them. Generations are memoized on-heap for a short time
+ * so L1 page hits do not pay a Redis round trip; an invalidation message drops the memo at once,
+ * and a lost message is bounded by that window.
+ */
+@Service
+@Slf4j
+public class PageGenerationService {
+
+    /**
+     * Listing shared by every feed; bumped when a change is fanned out to all users.
+     */
+    public static final String ALL_FEEDS = "feeds";
+
+    /**
+     * Must match sync.invalidation.generation-key-prefix in the sync worker.
+     */
+    static final String KEY_PREFIX = "cache:generation:";
+    private static final String GENERATION_MARKER = "_g";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, Long> localGenerations;
+
+    public PageGenerationService(StringRedisTemplate stringRedisTemplate, QueryCacheProperties cacheProperties) {
+        QueryCacheProperties.Generations generations = cacheProperties.getGenerations();
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.localGenerations = Caffeine.newBuilder()
+                .maximumSize(generations.getLocalMaximumSize())
+                .expireAfterWrite(generations.getLocalTtl())
+                .build();
+    }
+
+    /**
+     * Listing shared by every feed view of one user (chronological, popular, liked).
+     */
+    public static String userFeedListing(Long userId) {
+        return "user_feed_" + userId;
+    }
+
+    /**
+     * Cache prefix of a listing versioned by its own generation.
+     */
+    public String versionedPrefix(String listing) {
+        return versionedPrefix(listing, List.of(listing));
+    }
+
+    /**
+     * Cache prefix versioned by the generations of all listings the pages depend on.
+     */
+    public String versionedPrefix(String cachePrefix, List<String> listings) {
+        List<Long> generations = currentGenerations(listings);
+        StringBuilder prefix = new StringBuilder(cachePrefix).append(GENERATION_MARKER);
+        for (int i = 0; i < generations.size(); i++) {
+            if (i > 0) {
+                prefix.append('.');
+            }
+            prefix.append(generations.get(i));
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * Drop the memoized generation of a listing the sync worker has moved on, so the next page
+     * read picks up the new generation from Redis.
+     */
+    public void forget(String listing) {
+        localGenerations.invalidate(listing);
+    }
+
+    private List<Long> currentGenerations(List<String> listings) {
+        List<Long> generations = new ArrayList<>(listings.size());
+        List<String> missing = new ArrayList<>();
+        for (String listing : listings) {
+            Long generation = localGenerations.getIfPresent(listing);
+            generations.add(generation);
+            if (generation == null) {
+                missing.add(listing);
+            }
+        }
+        if (missing.isEmpty()) {
+            return generations;
+        }
+
+        List<String> values = null;
+        try {
+            values = stringRedisTemplate.opsForValue().multiGet(missing.stream().map(l -> KEY_PREFIX + l).toList());
+        } catch (Exception e) {
+            log.warn("Failed to read listing generations {}: {}", missing, e.getMessage());
+        }
+        int next = 0;
+        for (int i = 0; i < generations.size(); i++) {
+            if (generations.get(i) != null) {
+                continue;
+            }
+            String value = values != null && next < values.size() ? values.get(next) : null;
+            next++;
+            long generation = value != null ? Long.parseLong(value) : 0L;
+            generations.set(i, generation);
+            if (values != null) {
+                localGenerations.put(listings.get(i), generation);
+            }
+        }
+        return generations;
+    }
+}
@@ -1,5 +1,6 @@
 package com.puppies.api.read.service;
 
+import com.puppies.api.cache.refresh.PageRefreshScheduler;
 import com.puppies.api.common.constants.QueryApiConstants;
 import com.puppies.api.read.model.ReadPost;
 import lombok.RequiredArgsConstructor;
@@ -9,10 +10,14 @@ import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Service responsible for caching operations related to posts.
  * Centralizes cache management and provides consistent caching behavior.
+ *
+ * Pages are stamped with their write time; a page read past its soft TTL is still returned and
+ * reloaded in the background through {@link PageRefreshScheduler} when the caller supplies a reloader.
  */
 @Service
 @RequiredArgsConstructor
@@ -20,12 +25,14 @@ import java.util.List;
 public class PostCacheService {
 
     private final CacheManager cacheManager;
+    private final PageRefreshScheduler pageRefreshScheduler;
 
     /**
-     * Get cached post content for pagination.
+     * Get cached post content for pagination, reloading it in the background once past its soft TTL.
+     *
+     * @param reloader loads the page from the read store; null disables the background refresh
      */
-    @SuppressWarnings("unchecked")
-    public List<ReadPost> getCachedPostContent(String cachePrefix, int page, int size) {
+    public List<ReadPost> getCachedPostContent(String cachePrefix, int page, int size, Supplier<List<ReadPost>> reloader) {
         try {
             Cache cache = cacheManager.getCache(QueryApiConstants.CacheNames.POST_CONTENT);
             String key = buildContentCacheKey(cachePrefix, page, size);
@@ -36,12 +43,15 @@ public class PostCacheService {
                 if (wrapper != null) {
                     Object value = wrapper.get();
                     log.debug("🔍 Found cached value of type: {}", value != null ? value.getClass().getSimpleName() : "null");
-                    if (value instanceof List) {
-                        List<ReadPost> result = (List<ReadPost>) value;
+                    Runnable refresh = reloader == null ? null
+                            : () -> cachePostContent(cachePrefix, page, size, reloader.get());
+                    List<ReadPost> result = pageRefreshScheduler.read(
+                            QueryApiConstants.CacheNames.POST_CONTENT, key, value, refresh);
+                    if (result != null) {
                         log.info("✅ CACHE HIT - Found {} cached posts for key: {}", result.size(), key);
                         return result;
                     } else {
-                        log.warn("❌ Cache value is not a List, it's: {}", value != null ? value.getClass().getName() : "null");
+                        log.warn("❌ Cache value is not a page, it's: {}", value != null ? value.getClass().getName() : "null");
                     }
                 } else {
                     log.debug("❌ No cache wrapper found for key: {}", key);
@@ -100,7 +110,7 @@ public class PostCacheService {
             Cache cache = cacheManager.getCache(QueryApiConstants.CacheNames.POST_CONTENT);
             if (cache != null) {
                 String key = buildContentCacheKey(cachePrefix, page, size);
-                cache.put(key, content);
+                cache.put(key, pageRefreshScheduler.stamp(content));
                 log.debug("💾 Cached content: {} items for key {}", content.size(), key);
             }
         } catch (Exception e) {
@@ -124,10 +134,61 @@ public class PostCacheService {
         }
     }
 
+    /**
+     * Get a cached keyset page; the cursor token is part of the key. Once past its soft TTL the
+     * page is reloaded in the background.
+     *
+     * @param reloader loads the page from the read store; null disables the background refresh
+     */
+    public List<ReadPost> getCachedCursorContent(String cachePrefix, String cursorToken, int size,
+                                                 Supplier<List<ReadPost>> reloader) {
+        try {
+            Cache cache = cacheManager.getCache(QueryApiConstants.CacheNames.POST_CONTENT);
+            if (cache != null) {
+                String key = buildCursorCacheKey(cachePrefix, cursorToken, size);
+                Cache.ValueWrapper wrapper = cache.get(key);
+                if (wrapper != null) {
+                    Runnable refresh = reloader == null ? null
+                            : () -> cacheCursorContent(cachePrefix, cursorToken, size, reloader.get());
+                    return pageRefreshScheduler.read(QueryApiConstants.CacheNames.POST_CONTENT, key, wrapper.get(), refresh);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to get cached cursor page for {}: {}", cachePrefix, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Cache a keyset page under its cursor token.
+     */
+    public void cacheCursorContent(String cachePrefix, String cursorToken, int size, List<ReadPost> content) {
+        try {
+            Cache cache = cacheManager.getCache(QueryApiConstants.CacheNames.POST_CONTENT);
+            if (cache != null) {
+                String key = buildCursorCacheKey(cachePrefix, cursorToken, size);
+                cache.put(key, pageRefreshScheduler.stamp(content));
+                log.debug("💾 Cached cursor page: {} items for key {}", content.size(), key);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to cache cursor page for {}: {}", cachePrefix, e.getMessage());
+        }
+    }
+
+    /**
+     * Build cache key for a keyset page.
+     */
+    static String buildCursorCacheKey(String cachePrefix, String cursorToken, int size) {
+        String token = cursorToken == null || cursorToken.isBlank()
+                ? QueryApiConstants.CacheKeys.FIRST_PAGE_CURSOR
+                : cursorToken;
+        return cachePrefix + QueryApiConstants.CacheKeys.CURSOR_SUFFIX + token + "_" + size;
+    }
+
     /**
      * Build cache key for content.
      */
-    private String buildContentCacheKey(String cachePrefix, int page, int size) {
+    static String buildContentCacheKey(String cachePrefix, int page, int size) {
         return cachePrefix + QueryApiConstants.CacheKeys.CONTENT_SUFFIX + page + "_" + size;
     }
 
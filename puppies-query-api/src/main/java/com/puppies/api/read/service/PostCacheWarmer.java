@@ -0,0 +1,226 @@
+package com.puppies.api.read.service;
+
+import com.puppies.api.cache.metrics.CacheLayerAccounting;
+import com.puppies.api.cache.metrics.CacheMetrics;
+import com.puppies.api.cache.refresh.PageRefreshScheduler;
+import com.puppies.api.cache.twolevel.TwoLevelCache;
+import com.puppies.api.common.constants.QueryApiConstants;
+import com.puppies.api.config.QueryCacheProperties;
+import com.puppies.api.read.model.ReadPost;
+import com.puppies.api.read.repository.ReadPostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Preloads trending posts so that a post that starts trending is served from cache before the
+ * first burst of readers arrives.
+ *
+ * One run reads the leading pages of the popularity listing, bulk-loads the remaining trending
+ * posts with a single {@code findAllById}, and writes the listing pages, the single-post entries
+ * and the hot layer entries to Redis in one pipeline using each region's own serializer and TTL.
+ * Since the pipeline bypasses the L1 of two-level regions, their L1 copies of the written keys are
+ * then dropped on every node. Regions that are not Redis-backed fall back to plain cache puts.
+ */
+@Service
+@Slf4j
+public class PostCacheWarmer {
+
+    private final ReadPostRepository readPostRepository;
+    private final PageGenerationService pageGenerationService;
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CacheLayerAccounting cacheLayerAccounting;
+    private final CacheMetrics cacheMetrics;
+    private final PageRefreshScheduler pageRefreshScheduler;
+    private final QueryCacheProperties.Warming settings;
+
+    // Hot layer counters at the previous run, for the per-window hit rate
+    private long lastHits;
+    private long lastMisses;
+    private Double lastWindowHitRate;
+    private volatile Map<String, Object> lastReport = Map.of();
+
+    public PostCacheWarmer(ReadPostRepository readPostRepository, PageGenerationService pageGenerationService,
+                           CacheManager cacheManager, StringRedisTemplate stringRedisTemplate,
+                           CacheLayerAccounting cacheLayerAccounting, CacheMetrics cacheMetrics,
+                           PageRefreshScheduler pageRefreshScheduler, QueryCacheProperties cacheProperties) {
+        this.readPostRepository = readPostRepository;
+        this.pageGenerationService = pageGenerationService;
+        this.cacheManager = cacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cacheLayerAccounting = cacheLayerAccounting;
+        this.cacheMetrics = cacheMetrics;
+        this.pageRefreshScheduler = pageRefreshScheduler;
+        this.settings = cacheProperties.getWarming();
+    }
+
+    /**
+     * Warm the popularity listing and the given trending posts.
+     *
+     * @param trendingPostIds posts identified as trending from access metrics
+     * @param hotKey          hot layer key of a post for anonymous readers
+     * @return IDs of every post written to the hot layer
+     */
+    public synchronized List<Long> warm(List<Long> trendingPostIds, Function<Long, String> hotKey) {
+        long started = System.nanoTime();
+        List<PendingWrite> writes = new ArrayList<>();
+        Map<Long, ReadPost> posts = new LinkedHashMap<>();
+
+        // 1. Leading pages of the popularity listing, cached under the same keys QueryPostService reads
+        String trendingPrefix = pageGenerationService.versionedPrefix(QueryApiConstants.CacheKeys.TRENDING_POSTS_PREFIX);
+        int pagesWarmed = 0;
+        for (int page = 0; page < settings.getPages(); page++) {
+            Slice<ReadPost> slice = readPostRepository.findAllByOrderByPopularityScoreDesc(
+                    PageRequest.of(page, settings.getPageSize()));
+            writes.add(new PendingWrite(QueryApiConstants.CacheNames.POST_CONTENT,
+                    PostCacheService.buildContentCacheKey(trendingPrefix, page, settings.getPageSize()),
+                    pageRefreshScheduler.stamp(slice.getContent())));
+            slice.getContent().forEach(post -> posts.put(post.getId(), post));
+            pagesWarmed++;
+            if (!slice.hasNext()) {
+                break;
+            }
+        }
+
+        // 2. Trending posts not on those pages, in one round trip
+        List<Long> missing = trendingPostIds.stream().filter(id -> !posts.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            readPostRepository.findAllById(missing).forEach(post -> posts.put(post.getId(), post));
+        }
+
+        // 3. Single-post and hot layer entries
+        List<String> hotKeys = new ArrayList<>(posts.size());
+        for (ReadPost post : posts.values()) {
+            String key = hotKey.apply(post.getId());
+            writes.add(new PendingWrite(QueryApiConstants.CacheNames.POST, post.getId(), post));
+            writes.add(new PendingWrite(QueryApiConstants.CacheNames.HOT_POSTS, key, post));
+            hotKeys.add(key);
+        }
+
+        int keysWritten = write(writes);
+        hotKeys.forEach(key -> cacheLayerAccounting.recordPut(QueryApiConstants.CacheNames.HOT_POSTS, key));
+
+        long wallTimeMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        lastReport = report(trendingPostIds.size(), pagesWarmed, posts.size(), keysWritten, wallTimeMs);
+        log.info("🔥 Warmed {} posts and {} listing pages ({} keys) in {}ms",
+                posts.size(), pagesWarmed, keysWritten, wallTimeMs);
+        return new ArrayList<>(posts.keySet());
+    }
+
+    /**
+     * Outcome of the last run: sizes, wall time and the hot layer hit rate around it.
+     */
+    public Map<String, Object> getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Write all entries, pipelining the Redis-backed ones. Returns the number of entries written.
+     */
+    private int write(List<PendingWrite> writes) {
+        List<RedisWrite> pipelined = new ArrayList<>(writes.size());
+        Map<TwoLevelCache, List<Object>> bypassedL1 = new LinkedHashMap<>();
+        int written = 0;
+        for (PendingWrite write : writes) {
+            Cache cache = cacheManager.getCache(write.cacheName());
+            if (cache == null) {
+                continue;
+            }
+            Cache remote = cache instanceof TwoLevelCache twoLevelCache ? twoLevelCache.getRemote() : cache;
+            try {
+                if (remote instanceof RedisCache redisCache) {
+                    pipelined.add(toRedisWrite(redisCache, write));
+                    if (cache instanceof TwoLevelCache twoLevelCache) {
+                        bypassedL1.computeIfAbsent(twoLevelCache, c -> new ArrayList<>()).add(write.key());
+                    }
+                } else {
+                    cache.put(write.key(), write.value());
+                }
+                written++;
+            } catch (Exception e) {
+                log.warn("Failed to stage warm entry {}::{}: {}", write.cacheName(), write.key(), e.getMessage());
+            }
+        }
+
+        if (!pipelined.isEmpty()) {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (RedisWrite write : pipelined) {
+                    connection.stringCommands().set(write.key(), write.value(), write.expiration(),
+                            RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+            bypassedL1.forEach(TwoLevelCache::evictWrittenRemotely);
+        }
+        return written;
+    }
+
+    private RedisWrite toRedisWrite(RedisCache redisCache, PendingWrite write) {
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        String key = String.valueOf(write.key());
+        if (config.usePrefix()) {
+            key = config.getKeyPrefixFor(redisCache.getName()) + key;
+        }
+        byte[] value = ByteUtils.getBytes(config.getValueSerializationPair().write(write.value()));
+        // Per-entry TTL, so jittered regions spread the expiry of a warming batch
+        Duration ttl = config.getTtlFunction().getTimeToLive(write.key(), write.value());
+        Expiration expiration = ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl);
+        return new RedisWrite(key.getBytes(StandardCharsets.UTF_8), value, expiration);
+    }
+
+    /**
+     * Build the run report. The hit rate uplift compares the hot layer hit rate in the window since
+     * the previous run with the window before it.
+     */
+    private Map<String, Object> report(int trendingPosts, int pagesWarmed, int postsWarmed, int keysWritten, long wallTimeMs) {
+        long hits = cacheMetrics.getHits(QueryApiConstants.CacheNames.HOT_POSTS);
+        long misses = cacheMetrics.getMisses(QueryApiConstants.CacheNames.HOT_POSTS);
+        long windowRequests = (hits - lastHits) + (misses - lastMisses);
+        Double windowHitRate = windowRequests > 0 ? (double) (hits - lastHits) / windowRequests : null;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("trendingPosts", trendingPosts);
+        report.put("pagesWarmed", pagesWarmed);
+        report.put("postsWarmed", postsWarmed);
+        report.put("keysWritten", keysWritten);
+        report.put("wallTimeMs", wallTimeMs);
+        if (windowHitRate != null) {
+            report.put("hotHitRateSinceLastWarming", String.format("%.2f%%", windowHitRate * 100));
+        }
+        if (windowHitRate != null && lastWindowHitRate != null) {
+            report.put("hotHitRateUplift", String.format("%+.2f%%", (windowHitRate - lastWindowHitRate) * 100));
+        }
+
+        lastHits = hits;
+        lastMisses = misses;
+        if (windowHitRate != null) {
+            lastWindowHitRate = windowHitRate;
+        }
+        return report;
+    }
+
+    private record PendingWrite(String cacheName, Object key, Object value) {
+    }
+
+    private record RedisWrite(byte[] key, byte[] value, Expiration expiration) {
+    }
+}
@@ -1,5 +1,10 @@
 package com.puppies.api.read.service;
 
+import com.puppies.api.cache.coalescing.SingleFlightLoader;
+import com.puppies.api.cache.refresh.PageRefreshScheduler;
+import com.puppies.api.common.constants.QueryApiConstants;
+import com.puppies.api.read.dto.CursorPage;
+import com.puppies.api.read.dto.SlicePage;
 import com.puppies.api.read.model.ReadFeedItem;
 import com.puppies.api.read.repository.ReadFeedItemRepository;
 import lombok.RequiredArgsConstructor;
@@ -7,17 +12,25 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Query service for feeds - read-only operations from read store
+ * 
+ * Feeds are read from denormalized feed items, or from (user, post) references
+ * hydrated by {@link FeedHydrationService} when cqrs.feed-storage-mode is REFERENCE.
+ * Paged feeds are loaded as slices; their totals come from {@link TotalsService}.
+ * Page keys are versioned by the user's feed generation and the all-feeds generation,
+ * so either can be invalidated with a single bump in {@link PageGenerationService}.
+ * Concurrent misses on a trending feed page share one load through {@link SingleFlightLoader}.
+ * Pages past their soft TTL are served while {@link PageRefreshScheduler} reloads them in the background.
  */
 @Service
 @RequiredArgsConstructor
@@ -26,90 +39,146 @@ import java.util.List;
 public class QueryFeedService {
 
     private final ReadFeedItemRepository readFeedItemRepository;
+    private final FeedHydrationService feedHydrationService;
+    private final TotalsService totalsService;
     private final CacheManager cacheManager;
+    private final PageGenerationService pageGenerationService;
+    private final SingleFlightLoader singleFlightLoader;
+    private final PageRefreshScheduler pageRefreshScheduler;
 
     /**
      * Get user's personalized feed (chronological)
      */
-    public Page<ReadFeedItem> getUserFeed(Long userId, int page, int size) {
+    public SlicePage<ReadFeedItem> getUserFeed(Long userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         
         // Try cache first for the content
-        String cachePrefix = "user_feed_" + userId;
-        List<ReadFeedItem> cachedContent = getCachedFeedContent(cachePrefix, page, size);
-        Long cachedTotal = getCachedFeedTotal(cachePrefix);
+        String cachePrefix = userFeedPrefix("user_feed_", userId);
+        Supplier<Slice<ReadFeedItem>> loader = () -> feedHydrationService.isReferenceMode()
+                ? feedHydrationService.findUserFeed(userId, pageable)
+                : readFeedItemRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        List<ReadFeedItem> cachedContent = getCachedFeedContent(cachePrefix, page, size, () -> loader.get().getContent());
         
-        if (cachedContent != null && cachedTotal != null) {
+        if (cachedContent != null) {
+            Long cachedTotal = getFeedTotal(cachePrefix, () -> totalsService.userFeedTotal(userId));
             log.info("📱 CACHE HIT - Using cached user feed: userId={}, page={}, size={}, total={}", userId, page, size, cachedTotal);
-            return new PageImpl<>(cachedContent, pageable, cachedTotal);
+            return SlicePage.fromCache(cachedContent, page, size, cachedTotal, true);
         }
         
         // Cache miss - load from DB
         log.info("📱 CACHE MISS - Loading user feed from DB: userId={}, page={}, size={}", userId, page, size);
-        Page<ReadFeedItem> result = readFeedItemRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        Slice<ReadFeedItem> result = loader.get();
         
-        // Cache the content and total separately
+        Long total = getFeedTotal(cachePrefix, () -> totalsService.userFeedTotal(userId));
         cacheFeedContent(cachePrefix, page, size, result.getContent());
-        cacheFeedTotal(cachePrefix, result.getTotalElements());
         
-        log.info("📱 CACHE STORE - Loaded {} feed items for user {}, total={}", result.getNumberOfElements(), userId, result.getTotalElements());
-        return result;
+        log.info("📱 CACHE STORE - Loaded {} feed items for user {}, total={}", result.getNumberOfElements(), userId, total);
+        return SlicePage.of(result.getContent(), page, size, result.hasNext(), total, true);
+    }
+
+    /**
+     * Get user's chronological feed using keyset pagination (no OFFSET scan, no total count)
+     */
+    public CursorPage<ReadFeedItem> getUserFeedAfter(Long userId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor, KeysetCursor.Order.CREATED_AT);
+        boolean referenceMode = feedHydrationService.isReferenceMode();
+        String cacheKey = userFeedPrefix("user_feed_", userId) + QueryApiConstants.CacheKeys.CURSOR_SUFFIX
+                + (after == null ? QueryApiConstants.CacheKeys.FIRST_PAGE_CURSOR : cursor) + "_" + size;
+        
+        Pageable pageable = PageRequest.of(0, size + 1);
+        Supplier<List<ReadFeedItem>> loader = () -> {
+            if (referenceMode) {
+                return feedHydrationService.findUserFeedBefore(userId, after, pageable);
+            }
+            return after == null
+                ? readFeedItemRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, pageable)
+                : readFeedItemRepository.findUserFeedBefore(userId, after.createdAt(), after.id(), pageable);
+        };
+        
+        List<ReadFeedItem> rows = getCachedFeedList(cacheKey, loader);
+        if (rows == null) {
+            log.info("📱 CACHE MISS - Seeking user feed from DB: userId={}, size={}", userId, size);
+            rows = loader.get();
+            cacheFeedList(cacheKey, rows);
+        }
+        
+        // Reference feeds have no feed item ID; the post ID breaks created_at ties instead
+        return KeysetCursor.toPage(rows, size, item ->
+            KeysetCursor.ofCreatedAt(item.getCreatedAt(), referenceMode ? item.getPostId() : item.getId()));
     }
 
     /**
      * Get user's feed ordered by popularity
      */
-    public Page<ReadFeedItem> getUserFeedByPopularity(Long userId, int page, int size) {
+    public SlicePage<ReadFeedItem> getUserFeedByPopularity(Long userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         
         // Try cache first for the content
-        String cachePrefix = "user_feed_popular_" + userId;
-        List<ReadFeedItem> cachedContent = getCachedFeedContent(cachePrefix, page, size);
-        Long cachedTotal = getCachedFeedTotal(cachePrefix);
+        String cachePrefix = userFeedPrefix("user_feed_popular_", userId);
+        Supplier<Slice<ReadFeedItem>> loader = () -> feedHydrationService.isReferenceMode()
+                ? feedHydrationService.findUserFeedByPopularity(userId, pageable)
+                : readFeedItemRepository.findByUserIdOrderByPopularityScoreDesc(userId, pageable);
+        List<ReadFeedItem> cachedContent = getCachedFeedContent(cachePrefix, page, size, () -> loader.get().getContent());
         
-        if (cachedContent != null && cachedTotal != null) {
+        if (cachedContent != null) {
+            Long cachedTotal = getFeedTotal(cachePrefix, () -> totalsService.userFeedTotal(userId));
             log.info("🌟 CACHE HIT - Using cached popular feed: userId={}, page={}, size={}, total={}", userId, page, size, cachedTotal);
-            return new PageImpl<>(cachedContent, pageable, cachedTotal);
+            return SlicePage.fromCache(cachedContent, page, size, cachedTotal, true);
         }
         
         // Cache miss - load from DB
         log.info("🌟 CACHE MISS - Loading popular feed from DB: userId={}, page={}, size={}", userId, page, size);
-        Page<ReadFeedItem> result = readFeedItemRepository.findByUserIdOrderByPopularityScoreDesc(userId, pageable);
+        Slice<ReadFeedItem> result = loader.get();
         
-        // Cache the content and total separately
+        Long total = getFeedTotal(cachePrefix, () -> totalsService.userFeedTotal(userId));
         cacheFeedContent(cachePrefix, page, size, result.getContent());
-        cacheFeedTotal(cachePrefix, result.getTotalElements());
         
-        log.info("🌟 CACHE STORE - Loaded {} popular feed items for user {}, total={}", result.getNumberOfElements(), userId, result.getTotalElements());
-        return result;
+        log.info("🌟 CACHE STORE - Loaded {} popular feed items for user {}, total={}", result.getNumberOfElements(), userId, total);
+        return SlicePage.of(result.getContent(), page, size, result.hasNext(), total, true);
     }
 
     /**
      * Get global trending feed
      */
-    public Page<ReadFeedItem> getTrendingFeed(int page, int size) {
+    public SlicePage<ReadFeedItem> getTrendingFeed(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         
         // Try cache first for the content
-        String cachePrefix = "trending_feed";
-        List<ReadFeedItem> cachedContent = getCachedFeedContent(cachePrefix, page, size);
-        Long cachedTotal = getCachedFeedTotal(cachePrefix);
-        
-        if (cachedContent != null && cachedTotal != null) {
-            log.info("🌍 CACHE HIT - Using cached trending feed: page={}, size={}, total={}", page, size, cachedTotal);
-            return new PageImpl<>(cachedContent, pageable, cachedTotal);
+        String cachePrefix = pageGenerationService.versionedPrefix("trending_feed", List.of(PageGenerationService.ALL_FEEDS));
+        Supplier<Slice<ReadFeedItem>> loader = () -> feedHydrationService.isReferenceMode()
+                ? feedHydrationService.findTrendingFeed(pageable)
+                : readFeedItemRepository.findAllByOrderByPopularityScoreDesc(pageable);
+        Supplier<SlicePage<ReadFeedItem>> cachedPage = () -> getCachedTrendingPage(cachePrefix, page, size, loader);
+        SlicePage<ReadFeedItem> cached = cachedPage.get();
+        if (cached != null) {
+            return cached;
         }
         
-        // Cache miss - load from DB
-        log.info("🌍 CACHE MISS - Loading trending feed from DB: page={}, size={}", page, size);
-        Page<ReadFeedItem> result = readFeedItemRepository.findAllByOrderByPopularityScoreDesc(pageable);
-        
-        // Cache the content and total separately
-        cacheFeedContent(cachePrefix, page, size, result.getContent());
-        cacheFeedTotal(cachePrefix, result.getTotalElements());
-        
-        log.info("🌍 CACHE STORE - Loaded {} trending feed items, total={}", result.getNumberOfElements(), result.getTotalElements());
-        return result;
+        // Cache miss - load from DB once for all concurrent callers
+        return singleFlightLoader.load(feedContentKey(cachePrefix, page, size), cachedPage, () -> {
+            log.info("🌍 CACHE MISS - Loading trending feed from DB: page={}, size={}", page, size);
+            Slice<ReadFeedItem> result = loader.get();
+            
+            Long total = getFeedTotal(cachePrefix, () -> trendingFeedTotal());
+            cacheFeedContent(cachePrefix, page, size, result.getContent());
+            
+            log.info("🌍 CACHE STORE - Loaded {} trending feed items, total={}", result.getNumberOfElements(), total);
+            return SlicePage.of(result.getContent(), page, size, result.hasNext(), total, false);
+        });
+    }
+
+    /**
+     * Cached trending feed page with its total, or null on a miss
+     */
+    private SlicePage<ReadFeedItem> getCachedTrendingPage(String cachePrefix, int page, int size,
+                                                          Supplier<Slice<ReadFeedItem>> loader) {
+        List<ReadFeedItem> cachedContent = getCachedFeedContent(cachePrefix, page, size, () -> loader.get().getContent());
+        if (cachedContent == null) {
+            return null;
+        }
+        Long cachedTotal = getFeedTotal(cachePrefix, () -> trendingFeedTotal());
+        log.info("🌍 CACHE HIT - Using cached trending feed: page={}, size={}, total={}", page, size, cachedTotal);
+        return SlicePage.fromCache(cachedContent, page, size, cachedTotal, false);
     }
 
     /**
@@ -118,43 +187,52 @@ public class QueryFeedService {
     @Cacheable(value = "engaging_posts", key = "#userId + '_' + #minLikes + '_' + #limit")
     public List<ReadFeedItem> getRecentEngagingPosts(Long userId, Long minLikes, int limit) {
         Pageable pageable = PageRequest.of(0, limit);
+        if (feedHydrationService.isReferenceMode()) {
+            return feedHydrationService.findRecentEngagingPosts(userId, minLikes, pageable);
+        }
         return readFeedItemRepository.findRecentEngagingPosts(userId, minLikes, pageable);
     }
 
     /**
-     * Get posts from specific author in user's feed
+     * Get posts from specific author in user's feed.
+     * Every author post is fanned out to every feed, so the author's post counter is used as an estimate.
      */
-    public Page<ReadFeedItem> getAuthorPostsInFeed(Long userId, Long authorId, int page, int size) {
+    public SlicePage<ReadFeedItem> getAuthorPostsInFeed(Long userId, Long authorId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return readFeedItemRepository.findByUserIdAndPostAuthorIdOrderByCreatedAtDesc(userId, authorId, pageable);
+        Slice<ReadFeedItem> result = feedHydrationService.isReferenceMode()
+                ? feedHydrationService.findAuthorPostsInFeed(userId, authorId, pageable)
+                : readFeedItemRepository.findByUserIdAndPostAuthorIdOrderByCreatedAtDesc(userId, authorId, pageable);
+        return SlicePage.of(result.getContent(), page, size, result.hasNext(), totalsService.authorPostTotal(authorId), false);
     }
 
     /**
      * Get posts user has liked
      */
-    public Page<ReadFeedItem> getUserLikedPosts(Long userId, int page, int size) {
+    public SlicePage<ReadFeedItem> getUserLikedPosts(Long userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         
         // Try cache first for the content
-        String cachePrefix = "user_liked_posts_" + userId;
-        List<ReadFeedItem> cachedContent = getCachedFeedContent(cachePrefix, page, size);
-        Long cachedTotal = getCachedFeedTotal(cachePrefix);
+        String cachePrefix = userFeedPrefix("user_liked_posts_", userId);
+        Supplier<Slice<ReadFeedItem>> loader = () -> feedHydrationService.isReferenceMode()
+                ? feedHydrationService.findUserLikedPosts(userId, pageable)
+                : readFeedItemRepository.findByUserIdAndIsLikedByUserTrueOrderByCreatedAtDesc(userId, pageable);
+        List<ReadFeedItem> cachedContent = getCachedFeedContent(cachePrefix, page, size, () -> loader.get().getContent());
         
-        if (cachedContent != null && cachedTotal != null) {
+        if (cachedContent != null) {
+            Long cachedTotal = getFeedTotal(cachePrefix, () -> totalsService.userLikedTotal(userId));
             log.info("❤️ CACHE HIT - Using cached liked posts: userId={}, page={}, size={}, total={}", userId, page, size, cachedTotal);
-            return new PageImpl<>(cachedContent, pageable, cachedTotal);
+            return SlicePage.fromCache(cachedContent, page, size, cachedTotal, false);
         }
         
         // Cache miss - load from DB
         log.info("❤️ CACHE MISS - Loading user liked posts from DB: userId={}, page={}, size={}", userId, page, size);
-        Page<ReadFeedItem> result = readFeedItemRepository.findByUserIdAndIsLikedByUserTrueOrderByCreatedAtDesc(userId, pageable);
+        Slice<ReadFeedItem> result = loader.get();
         
-        // Cache the content and total separately
+        Long total = getFeedTotal(cachePrefix, () -> totalsService.userLikedTotal(userId));
         cacheFeedContent(cachePrefix, page, size, result.getContent());
-        cacheFeedTotal(cachePrefix, result.getTotalElements());
         
-        log.info("❤️ CACHE STORE - Loaded {} liked posts for user {}, total={}", result.getNumberOfElements(), userId, result.getTotalElements());
-        return result;
+        log.info("❤️ CACHE STORE - Loaded {} liked posts for user {}, total={}", result.getNumberOfElements(), userId, total);
+        return SlicePage.of(result.getContent(), page, size, result.hasNext(), total, false);
     }
 
     /**
@@ -163,6 +241,9 @@ public class QueryFeedService {
     @Cacheable(value = "discovery_feed", key = "#minScore + '_' + #limit")
     public List<ReadFeedItem> getDiscoveryFeed(Double minScore, int limit) {
         Pageable pageable = PageRequest.of(0, limit);
+        if (feedHydrationService.isReferenceMode()) {
+            return feedHydrationService.findDiscoveryFeed(minScore, pageable);
+        }
         return readFeedItemRepository.findDiscoveryFeed(minScore, pageable);
     }
 
@@ -171,19 +252,57 @@ public class QueryFeedService {
      */
     @Cacheable(value = "user_feed_count", key = "#userId")
     public Long countUserFeedItems(Long userId) {
-        return readFeedItemRepository.countByUserId(userId);
+        return totalsService.userFeedTotal(userId);
+    }
+
+    /**
+     * Copied feeds hold one trending row per recipient, references read read_posts directly
+     */
+    private Long trendingFeedTotal() {
+        return totalsService.estimatedTotal(feedHydrationService.isReferenceMode()
+                ? TotalsService.POSTS_TABLE
+                : TotalsService.FEED_ITEMS_TABLE);
     }
 
     // ========== Feed Cache Helper Methods ==========
+
+    /**
+     * Per-user feed prefix versioned by the user's generation and the all-feeds generation
+     */
+    private String userFeedPrefix(String feedPrefix, Long userId) {
+        return pageGenerationService.versionedPrefix(feedPrefix + userId,
+                List.of(PageGenerationService.userFeedListing(userId), PageGenerationService.ALL_FEEDS));
+    }
+
+    /**
+     * Key of a paged feed content entry
+     */
+    private String feedContentKey(String cachePrefix, int page, int size) {
+        return cachePrefix + "_content_" + page + "_" + size;
+    }
+
+    /**
+     * Cached feed total, loaded from the totals source on a miss
+     */
+    private Long getFeedTotal(String cachePrefix, Supplier<Long> totalLoader) {
+        Long total = getCachedFeedTotal(cachePrefix);
+        if (total == null) {
+            total = totalLoader.get();
+            if (total != null) {
+                cacheFeedTotal(cachePrefix, total);
+            }
+        }
+        return total;
+    }
     
     /**
-     * Get cached feed content for pagination
+     * Get cached feed content for pagination; a page past its soft TTL is reloaded in the background
      */
-    @SuppressWarnings("unchecked")
-    private List<ReadFeedItem> getCachedFeedContent(String cachePrefix, int page, int size) {
+    private List<ReadFeedItem> getCachedFeedContent(String cachePrefix, int page, int size,
+                                                    Supplier<List<ReadFeedItem>> reloader) {
         try {
             Cache cache = cacheManager.getCache("feed_content");
-            String key = cachePrefix + "_content_" + page + "_" + size;
+            String key = feedContentKey(cachePrefix, page, size);
             log.debug("🔍 Looking for feed cache key: {}", key);
             
             if (cache != null) {
@@ -191,12 +310,13 @@ public class QueryFeedService {
                 if (wrapper != null) {
                     Object value = wrapper.get();
                     log.debug("🔍 Found cached feed value of type: {}", value != null ? value.getClass().getSimpleName() : "null");
-                    if (value instanceof List) {
-                        List<ReadFeedItem> result = (List<ReadFeedItem>) value;
+                    List<ReadFeedItem> result = pageRefreshScheduler.read(QueryApiConstants.CacheNames.FEED_CONTENT, key, value,
+                            () -> cacheFeedContent(cachePrefix, page, size, reloader.get()));
+                    if (result != null) {
                         log.info("✅ CACHE HIT - Found {} cached feed items for key: {}", result.size(), key);
                         return result;
                     } else {
-                        log.warn("❌ Cache feed value is not a List, it's: {}", value != null ? value.getClass().getName() : "null");
+                        log.warn("❌ Cache feed value is not a page, it's: {}", value != null ? value.getClass().getName() : "null");
                     }
                 } else {
                     log.debug("❌ No cache wrapper found for feed key: {}", key);
@@ -210,6 +330,43 @@ public class QueryFeedService {
         return null;
     }
     
+    /**
+     * Get a cached feed list by its full key; a page past its soft TTL is reloaded in the background
+     */
+    private List<ReadFeedItem> getCachedFeedList(String key, Supplier<List<ReadFeedItem>> reloader) {
+        try {
+            Cache cache = cacheManager.getCache("feed_content");
+            if (cache != null) {
+                Cache.ValueWrapper wrapper = cache.get(key);
+                List<ReadFeedItem> result = wrapper == null ? null
+                        : pageRefreshScheduler.read(QueryApiConstants.CacheNames.FEED_CONTENT, key, wrapper.get(),
+                                () -> cacheFeedList(key, reloader.get()));
+                if (result != null) {
+                    log.info("✅ CACHE HIT - Found cached feed page for key: {}", key);
+                    return result;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to get cached feed page for {}: {}", key, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Cache a feed list under its full key
+     */
+    private void cacheFeedList(String key, List<ReadFeedItem> content) {
+        try {
+            Cache cache = cacheManager.getCache("feed_content");
+            if (cache != null) {
+                cache.put(key, pageRefreshScheduler.stamp(content));
+                log.debug("💾 Cached feed page: {} items for key {}", content.size(), key);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to cache feed page for {}: {}", key, e.getMessage());
+        }
+    }
+    
     /**
      * Get cached feed total count
      */
@@ -254,8 +411,8 @@ public class QueryFeedService {
         try {
             Cache cache = cacheManager.getCache("feed_content");
             if (cache != null) {
-                String key = cachePrefix + "_content_" + page + "_" + size;
-                cache.put(key, content);
+                String key = feedContentKey(cachePrefix, page, size);
+                cache.put(key, pageRefreshScheduler.stamp(content));
                 log.debug("💾 Cached feed content: {} items for key {}", content.size(), key);
             }
         } catch (Exception e) {
@@ -1,25 +1,34 @@
 package com.puppies.api.read.service;
 
+import com.puppies.api.cache.coalescing.SingleFlightLoader;
 import com.puppies.api.common.constants.QueryApiConstants;
+import com.puppies.api.read.dto.CursorPage;
+import com.puppies.api.read.dto.SlicePage;
 import com.puppies.api.read.model.ReadPost;
 import com.puppies.api.read.repository.ReadPostRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Query service for posts - read-only operations from read store
+ *
+ * Page keys of each listing are versioned by {@link PageGenerationService}, so an
+ * author's or the global listing is invalidated with a single generation bump.
+ * Concurrent misses on the same page share one load through {@link SingleFlightLoader}; pages past
+ * their soft TTL are served while {@link PostCacheService} reloads them in the background.
  */
 @Service
 @RequiredArgsConstructor
@@ -29,16 +38,21 @@ public class QueryPostService {
 
     private final ReadPostRepository readPostRepository;
     private final PostCacheService postCacheService;
+    private final TotalsService totalsService;
+    private final PageGenerationService pageGenerationService;
+    private final SingleFlightLoader singleFlightLoader;
 
     /**
      * Get all posts with pagination
      */
-    public Page<ReadPost> getAllPosts(int page, int size) {
+    public SlicePage<ReadPost> getAllPosts(int page, int size) {
         return getPostsWithCache(
             QueryApiConstants.CacheKeys.POSTS_PREFIX,
             page, 
             size,
             pageable -> readPostRepository.findAllByOrderByCreatedAtDesc(pageable),
+            () -> totalsService.estimatedTotal(TotalsService.POSTS_TABLE),
+            false,
             QueryApiConstants.LogMessages.CACHE_HIT_POSTS,
             QueryApiConstants.LogMessages.CACHE_MISS_POSTS,
             QueryApiConstants.LogMessages.CACHE_STORE_POSTS
@@ -48,12 +62,14 @@ public class QueryPostService {
     /**
      * Get trending posts
      */
-    public Page<ReadPost> getTrendingPosts(int page, int size) {
+    public SlicePage<ReadPost> getTrendingPosts(int page, int size) {
         return getPostsWithCache(
             QueryApiConstants.CacheKeys.TRENDING_POSTS_PREFIX,
             page, 
             size,
             pageable -> readPostRepository.findAllByOrderByPopularityScoreDesc(pageable),
+            () -> totalsService.estimatedTotal(TotalsService.POSTS_TABLE),
+            false,
             QueryApiConstants.LogMessages.CACHE_HIT_TRENDING,
             QueryApiConstants.LogMessages.CACHE_MISS_TRENDING,
             QueryApiConstants.LogMessages.CACHE_STORE_TRENDING
@@ -63,12 +79,14 @@ public class QueryPostService {
     /**
      * Get most liked posts
      */
-    public Page<ReadPost> getPopularPosts(int page, int size) {
+    public SlicePage<ReadPost> getPopularPosts(int page, int size) {
         return getPostsWithCache(
             QueryApiConstants.CacheKeys.POPULAR_POSTS_PREFIX,
             page, 
             size,
             pageable -> readPostRepository.findAllByOrderByLikeCountDesc(pageable),
+            () -> totalsService.estimatedTotal(TotalsService.POSTS_TABLE),
+            false,
             QueryApiConstants.LogMessages.CACHE_HIT_POPULAR,
             QueryApiConstants.LogMessages.CACHE_MISS_POPULAR,
             QueryApiConstants.LogMessages.CACHE_STORE_POPULAR
@@ -78,19 +96,69 @@ public class QueryPostService {
     /**
      * Get posts by author
      */
-    public Page<ReadPost> getPostsByAuthor(Long authorId, int page, int size) {
+    public SlicePage<ReadPost> getPostsByAuthor(Long authorId, int page, int size) {
         String cachePrefix = QueryApiConstants.CacheKeys.AUTHOR_POSTS_PREFIX + authorId;
         return getPostsWithCache(
             cachePrefix,
             page, 
             size,
             pageable -> readPostRepository.findByAuthorIdOrderByCreatedAtDesc(authorId, pageable),
+            () -> totalsService.authorPostTotal(authorId),
+            true,
             QueryApiConstants.LogMessages.CACHE_HIT_AUTHOR,
             QueryApiConstants.LogMessages.CACHE_MISS_AUTHOR,
             QueryApiConstants.LogMessages.CACHE_STORE_AUTHOR
         );
     }
 
+    /**
+     * Get posts by creation date using keyset pagination (no OFFSET scan, no total count)
+     */
+    public CursorPage<ReadPost> getAllPostsAfter(String cursor, int size) {
+        return getPostsWithCursorCache(
+            QueryApiConstants.CacheKeys.POSTS_PREFIX,
+            cursor,
+            size,
+            KeysetCursor.Order.CREATED_AT,
+            (after, pageable) -> after == null
+                ? readPostRepository.findAllByOrderByCreatedAtDescIdDesc(pageable)
+                : readPostRepository.findPostsBefore(after.createdAt(), after.id(), pageable),
+            post -> KeysetCursor.ofCreatedAt(post.getCreatedAt(), post.getId())
+        );
+    }
+
+    /**
+     * Get trending posts using keyset pagination on (popularity_score, id)
+     */
+    public CursorPage<ReadPost> getTrendingPostsAfter(String cursor, int size) {
+        return getPostsWithCursorCache(
+            QueryApiConstants.CacheKeys.TRENDING_POSTS_PREFIX,
+            cursor,
+            size,
+            KeysetCursor.Order.POPULARITY,
+            (after, pageable) -> after == null
+                ? readPostRepository.findAllByOrderByPopularityScoreDescIdDesc(pageable)
+                : readPostRepository.findPostsRankedBelow(after.popularityScore(), after.id(), pageable),
+            post -> KeysetCursor.ofPopularity(post.getPopularityScore(), post.getId())
+        );
+    }
+
+    /**
+     * Get posts by author using keyset pagination
+     */
+    public CursorPage<ReadPost> getPostsByAuthorAfter(Long authorId, String cursor, int size) {
+        return getPostsWithCursorCache(
+            QueryApiConstants.CacheKeys.AUTHOR_POSTS_PREFIX + authorId,
+            cursor,
+            size,
+            KeysetCursor.Order.CREATED_AT,
+            (after, pageable) -> after == null
+                ? readPostRepository.findByAuthorIdOrderByCreatedAtDescIdDesc(authorId, pageable)
+                : readPostRepository.findAuthorPostsBefore(authorId, after.createdAt(), after.id(), pageable),
+            post -> KeysetCursor.ofCreatedAt(post.getCreatedAt(), post.getId())
+        );
+    }
+
     /**
      * Get post by ID
      */
@@ -107,11 +175,11 @@ public class QueryPostService {
     }
 
     /**
-     * Search posts by content
+     * Search posts by content. Matches are not counted, so the total is unknown.
      */
-    public Page<ReadPost> searchPosts(String searchTerm, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return readPostRepository.searchByContent(searchTerm, pageable);
+    public SlicePage<ReadPost> searchPosts(String searchTerm, int page, int size) {
+        Slice<ReadPost> result = readPostRepository.searchByContent(searchTerm, PageRequest.of(page, size));
+        return SlicePage.of(result.getContent(), page, size, result.hasNext(), null, false);
     }
 
     /**
@@ -138,7 +206,7 @@ public class QueryPostService {
      */
     @Cacheable(value = QueryApiConstants.CacheNames.AUTHOR_POST_COUNT, key = "#authorId")
     public Long countPostsByAuthor(Long authorId) {
-        return readPostRepository.countByAuthorId(authorId);
+        return totalsService.authorPostTotal(authorId);
     }
 
     // ========== Template Method for Cache Pattern ==========
@@ -146,36 +214,99 @@ public class QueryPostService {
     /**
      * Template method for getting posts with cache pattern.
      * Reduces code duplication by centralizing the cache logic.
+     * Pages are loaded as slices; the total comes from totalLoader and is cached
+     * separately, so a cache miss never runs a COUNT query. Concurrent misses on
+     * the same page key wait for a single load.
      */
-    private Page<ReadPost> getPostsWithCache(
-            String cachePrefix,
+    private SlicePage<ReadPost> getPostsWithCache(
+            String listing,
             int page,
             int size,
-            Function<Pageable, Page<ReadPost>> dataLoader,
+            Function<Pageable, Slice<ReadPost>> dataLoader,
+            Supplier<Long> totalLoader,
+            boolean exactTotal,
             String cacheHitLogMessage,
             String cacheMissLogMessage,
             String cacheStoreLogMessage) {
         
-        Pageable pageable = PageRequest.of(page, size);
+        String cachePrefix = pageGenerationService.versionedPrefix(listing);
+        Supplier<List<ReadPost>> reloader = () -> dataLoader.apply(PageRequest.of(page, size)).getContent();
+        Supplier<SlicePage<ReadPost>> cachedPage =
+            () -> getCachedPage(cachePrefix, page, size, reloader, totalLoader, exactTotal, cacheHitLogMessage);
         
         // Try cache first for the content
-        List<ReadPost> cachedContent = postCacheService.getCachedPostContent(cachePrefix, page, size);
-        Long cachedTotal = postCacheService.getCachedPostTotal(cachePrefix);
+        SlicePage<ReadPost> cached = cachedPage.get();
+        if (cached != null) {
+            return cached;
+        }
         
-        if (cachedContent != null && cachedTotal != null) {
-            log.info(cacheHitLogMessage, page, size, cachedTotal);
-            return new PageImpl<>(cachedContent, pageable, cachedTotal);
+        // Cache miss - load the slice from DB once for all concurrent callers
+        return singleFlightLoader.load(PostCacheService.buildContentCacheKey(cachePrefix, page, size), cachedPage, () -> {
+            log.info(cacheMissLogMessage, page, size);
+            Slice<ReadPost> result = dataLoader.apply(PageRequest.of(page, size));
+            Long total = getTotal(cachePrefix, totalLoader);
+            
+            postCacheService.cachePostContent(cachePrefix, page, size, result.getContent());
+            
+            log.info(cacheStoreLogMessage, result.getNumberOfElements(), page, total);
+            return SlicePage.of(result.getContent(), page, size, result.hasNext(), total, exactTotal);
+        });
+    }
+
+    /**
+     * Cached page with its total, or null on a miss. A page past its soft TTL is still returned
+     * and reloaded in the background.
+     */
+    private SlicePage<ReadPost> getCachedPage(String cachePrefix, int page, int size, Supplier<List<ReadPost>> reloader,
+                                              Supplier<Long> totalLoader, boolean exactTotal, String cacheHitLogMessage) {
+        List<ReadPost> cachedContent = postCacheService.getCachedPostContent(cachePrefix, page, size, reloader);
+        if (cachedContent == null) {
+            return null;
         }
+        Long total = getTotal(cachePrefix, totalLoader);
+        log.info(cacheHitLogMessage, page, size, total);
+        return SlicePage.fromCache(cachedContent, page, size, total, exactTotal);
+    }
+
+    /**
+     * Cached listing total, loaded from the totals source on a miss
+     */
+    private Long getTotal(String cachePrefix, Supplier<Long> totalLoader) {
+        Long total = postCacheService.getCachedPostTotal(cachePrefix);
+        if (total == null) {
+            total = totalLoader.get();
+            if (total != null) {
+                postCacheService.cachePostTotal(cachePrefix, total);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Template method for keyset pages. Fetches one extra row to learn whether another page
+     * exists, and caches the page under its cursor token.
+     */
+    private CursorPage<ReadPost> getPostsWithCursorCache(
+            String listing,
+            String cursorToken,
+            int size,
+            KeysetCursor.Order order,
+            BiFunction<KeysetCursor, Pageable, List<ReadPost>> dataLoader,
+            Function<ReadPost, KeysetCursor> cursorOf) {
         
-        // Cache miss - load from DB
-        log.info(cacheMissLogMessage, page, size);
-        Page<ReadPost> result = dataLoader.apply(pageable);
+        KeysetCursor after = KeysetCursor.decode(cursorToken, order);
+        String cachePrefix = pageGenerationService.versionedPrefix(listing);
         
-        // Cache the content and total separately
-        postCacheService.cachePostContent(cachePrefix, page, size, result.getContent());
-        postCacheService.cachePostTotal(cachePrefix, result.getTotalElements());
+        List<ReadPost> rows = postCacheService.getCachedCursorContent(cachePrefix, cursorToken, size,
+            () -> dataLoader.apply(after, PageRequest.of(0, size + 1)));
+        if (rows != null) {
+            log.info(QueryApiConstants.LogMessages.CACHE_HIT_CURSOR, cachePrefix, size);
+        } else {
+            log.info(QueryApiConstants.LogMessages.CACHE_MISS_CURSOR, cachePrefix, size);
+            rows = dataLoader.apply(after, PageRequest.of(0, size + 1));
+            postCacheService.cacheCursorContent(cachePrefix, cursorToken, size, rows);
+        }
         
-        log.info(cacheStoreLogMessage, result.getNumberOfElements(), page, result.getTotalElements());
-        return result;
+        return KeysetCursor.toPage(rows, size, cursorOf);
     }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.puppies.api.read.service;
+
+import com.puppies.api.config.QueryCacheProperties;
+import com.puppies.api.read.model.ReadCounter;
+import com.puppies.api.read.model.ReadUserProfile;
+import com.puppies.api.read.repository.ReadCounterRepository;
+import com.puppies.api.read.repository.ReadUserProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Totals for paged listings without COUNT queries.
+ *
+ * Per-user feed and per-author post totals are counters maintained by the Sync Worker
+ * in read_counters and are exact. Global listings use the planner's pg_class row
+ * estimate, which is approximate and reused for {@code cqrs.cache.totals.estimate-ttl}.
+ * A null total means it is unknown; listings still page correctly through {@code hasNext}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TotalsService {
+
+    public static final String POSTS_TABLE = "read_posts";
+    public static final String FEED_ITEMS_TABLE = "read_feed_items";
+
+    private final ReadCounterRepository readCounterRepository;
+    private final ReadUserProfileRepository readUserProfileRepository;
+    private final QueryCacheProperties cacheProperties;
+
+    private final Map<String, Estimate> estimates = new ConcurrentHashMap<>();
+
+    private record Estimate(Long rows, long readAtMillis) {}
+
+    /**
+     * Exact number of entries in a user's feed
+     */
+    public Long userFeedTotal(Long userId) {
+        return counter(ReadCounter.feedKey(userId));
+    }
+
+    /**
+     * Exact number of posts written by an author
+     */
+    public Long authorPostTotal(Long authorId) {
+        return counter(ReadCounter.authorPostsKey(authorId));
+    }
+
+    /**
+     * Likes given by a user, from the denormalized profile; approximate as a count of liked feed entries
+     */
+    public Long userLikedTotal(Long userId) {
+        try {
+            return readUserProfileRepository.findById(userId)
+                    .map(ReadUserProfile::getTotalLikesGiven)
+                    .orElse(0L);
+        } catch (Exception e) {
+            log.warn("Failed to read liked total for user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Approximate row count of a read store table from pg_class
+     */
+    public Long estimatedTotal(String tableName) {
+        long now = System.currentTimeMillis();
+        Estimate cached = estimates.get(tableName);
+        if (cached != null && now - cached.readAtMillis() < cacheProperties.getTotals().getEstimateTtl().toMillis()) {
+            return cached.rows();
+        }
+
+        Long rows = null;
+        try {
+            rows = readCounterRepository.findEstimatedRowCount(tableName)
+                    .filter(estimate -> estimate >= 0)
+                    .orElse(null);
+        } catch (Exception e) {
+            log.warn("Failed to read row estimate for {}: {}", tableName, e.getMessage());
+        }
+        estimates.put(tableName, new Estimate(rows, now));
+        return rows;
+    }
+
+    private Long counter(String counterKey) {
+        try {
+            // A missing counter means nothing has been counted under that key yet
+            return readCounterRepository.findValueByCounterKey(counterKey).orElse(0L);
+        } catch (Exception e) {
+            log.warn("Failed to read counter {}: {}", counterKey, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -10,7 +10,6 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,6 +20,7 @@ import java.util.Collections;
 /**
  * JWT Authentication Filter for Query API.
  * Validates JWT tokens and sets authentication context.
+ * Verified tokens are cached by digest until they expire, so repeat requests skip signature checks.
  */
 @Component
 @RequiredArgsConstructor
@@ -28,6 +28,7 @@ import java.util.Collections;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final JwtTokenCache jwtTokenCache;
 
     @Override
     protected void doFilterInternal(
@@ -37,7 +38,6 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // Check if Authorization header exists and starts with "Bearer "
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -49,28 +49,17 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            userEmail = jwtService.extractUsername(jwt);
-
-            // If user email is found and user is not already authenticated
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                
-                // For Query API, we create a simple authentication without loading full user details
-                // since we only need the email for read operations
-                if (!isTokenExpired(jwt)) {
-                    // Create simple user details with email
-                    UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
-                            .username(userEmail)
-                            .password("") // Not used in Query API
-                            .authorities(Collections.emptyList()) // Query API doesn't need roles
-                            .build();
-
+            // Skip tokens for requests that are already authenticated
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = resolvePrincipal(jwt);
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                     
-                    log.debug("🔐 JWT validated for user: {}", userEmail);
+                    log.debug("🔐 JWT validated for user: {}", userDetails.getUsername());
                 }
             }
         } catch (Exception e) {
@@ -81,13 +70,41 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Check if token is expired safely.
+     * Principal of a valid token, from the token cache or by verifying the token once.
+     * Expired or invalid tokens throw from the parser.
      */
-    private boolean isTokenExpired(String token) {
-        try {
-            return jwtService.extractExpiration(token).before(new java.util.Date());
-        } catch (Exception e) {
-            return true; // Consider expired if any error occurs
+    private UserDetails resolvePrincipal(String jwt) {
+        if (!jwtTokenCache.isEnabled()) {
+            return toUserDetails(jwtService.parse(jwt).subject());
+        }
+
+        TokenDigest digest = TokenDigest.of(jwt);
+        UserDetails cached = jwtTokenCache.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtService.ParsedToken token = jwtService.parse(jwt);
+        if (token.subject() == null) {
+            return null;
+        }
+        UserDetails userDetails = toUserDetails(token.subject());
+        jwtTokenCache.put(digest, userDetails, token.expiresAt());
+        return userDetails;
+    }
+
+    /**
+     * For Query API, we create a simple authentication without loading full user details
+     * since we only need the email for read operations.
+     */
+    private UserDetails toUserDetails(String userEmail) {
+        if (userEmail == null) {
+            return null;
         }
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(userEmail)
+                .password("") // Not used in Query API
+                .authorities(Collections.emptyList()) // Query API doesn't need roles
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.puppies.api.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -28,6 +29,18 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    private volatile JwtParser parser;
+
+    /**
+     * Verify the token once and return its subject and expiry.
+     *
+     * @throws io.jsonwebtoken.JwtException if the signature is invalid or the token has expired
+     */
+    public ParsedToken parse(String token) {
+        Claims claims = extractAllClaims(token);
+        return new ParsedToken(claims.getSubject(), claims.getExpiration().getTime());
+    }
+
     /**
      * Extract username (email) from JWT token.
      */
@@ -69,13 +82,25 @@ public class JwtService {
      * Extract all claims from JWT token.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
+    /**
+     * Parser for the signing key, built once; parsers are immutable and thread-safe.
+     */
+    private JwtParser getParser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser()
+                    .verifyWith(getSignInKey())
+                    .build();
+            parser = current;
+        }
+        return current;
+    }
+
     /**
      * Get the signing key for JWT operations.
      */
@@ -83,4 +108,13 @@ public class JwtService {
         byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
         return Keys.hmacShaKeyFor(keyBytes);
     }
-}
\ No newline at end of file
+
+    /**
+     * Subject and expiry of a verified token.
+     *
+     * @param subject   user email
+     * @param expiresAt expiry in epoch milliseconds
+     */
+    public record ParsedToken(String subject, long expiresAt) {
+    }
+}
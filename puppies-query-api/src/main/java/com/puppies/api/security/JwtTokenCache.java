@@ -0,0 +1,108 @@
+package com.puppies.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache from token digest to the authenticated principal and the token's expiry.
+ * 
+ * A warm token is authenticated with a digest and a lookup instead of signature
+ * verification, claims deserialization and a new UserDetails per request. Each entry
+ * expires with its token, so a cached token is never accepted past its expiry.
+ */
+@Component
+public class JwtTokenCache {
+
+    private final boolean enabled;
+    private final LongSupplier clock;
+    private final Cache<TokenDigest, CachedToken> tokens;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public JwtTokenCache(@Value("${jwt.token-cache.enabled:true}") boolean enabled,
+                         @Value("${jwt.token-cache.max-size:10000}") long maxSize) {
+        this(enabled, maxSize, System::currentTimeMillis);
+    }
+
+    JwtTokenCache(boolean enabled, long maxSize, LongSupplier clock) {
+        this.enabled = enabled;
+        this.clock = clock;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<TokenDigest, CachedToken>() {
+                    @Override
+                    public long expireAfterCreate(TokenDigest key, CachedToken value, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, value.expiresAt() - clock.getAsLong()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TokenDigest key, CachedToken value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(TokenDigest key, CachedToken value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cached principal for a token digest, or null on a miss or once the token has expired.
+     */
+    public UserDetails get(TokenDigest digest) {
+        CachedToken token = tokens.getIfPresent(digest);
+        if (token == null || clock.getAsLong() >= token.expiresAt()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return token.principal();
+    }
+
+    /**
+     * Cache the principal of a verified token until the token expires.
+     */
+    public void put(TokenDigest digest, UserDetails principal, long expiresAt) {
+        if (expiresAt > clock.getAsLong()) {
+            tokens.put(digest, new CachedToken(principal, expiresAt));
+        }
+    }
+
+    /**
+     * Hit/miss counters for monitoring.
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", tokens.estimatedSize());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hitCount / total);
+        return stats;
+    }
+
+    private record CachedToken(UserDetails principal, long expiresAt) {
+    }
+}
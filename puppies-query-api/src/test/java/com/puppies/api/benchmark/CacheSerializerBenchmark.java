@@ -0,0 +1,101 @@
+package com.puppies.api.benchmark;
+
+import com.puppies.api.cache.serialization.ReadModelRedisSerializer;
+import com.puppies.api.config.CacheConfig;
+import com.puppies.api.read.model.ReadPost;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * JMH comparison of the JSON cache serializer against the binary read-model serializer
+ * on cached post pages of realistic sizes.
+ *
+ * Run with: {@code mvn -pl puppies-query-api test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.puppies.api.benchmark.CacheSerializerBenchmark}
+ * Payload sizes are reported alongside the timings as the {@code payloadBytes} counter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSerializerBenchmark {
+
+    @Param({"10", "20", "50"})
+    private int pageSize;
+
+    @Param({"json", "binary", "binary-uncompressed"})
+    private String format;
+
+    private RedisSerializer<Object> serializer;
+    private List<ReadPost> page;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer(new CacheConfig().redisObjectMapper());
+        serializer = switch (format) {
+            case "binary" -> new ReadModelRedisSerializer(json, 1024);
+            case "binary-uncompressed" -> new ReadModelRedisSerializer(json, 0);
+            default -> json;
+        };
+
+        LocalDateTime base = LocalDateTime.now();
+        page = IntStream.range(0, pageSize)
+                .mapToObj(i -> ReadPost.builder()
+                        .id((long) i + 1)
+                        .authorId((long) (i % 7) + 1)
+                        .authorName("Author " + (i % 7))
+                        .content("Look at this puppy playing in the park, day " + i + " of training!")
+                        .imageUrl("http://localhost:8081/uploads/puppy-" + i + ".jpg")
+                        .likeCount((long) i * 3)
+                        .commentCount(0L)
+                        .viewCount((long) i * 11)
+                        .popularityScore(i * 1.5)
+                        .createdAt(base.minusMinutes(i))
+                        .updatedAt(base)
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new));
+        payload = serializer.serialize(page);
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadSize size) {
+        byte[] bytes = serializer.serialize(page);
+        size.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object deserialize(PayloadSize size) {
+        size.payloadBytes = payload.length;
+        return serializer.deserialize(payload);
+    }
+
+    /**
+     * Serialized page size, reported as a secondary result next to each benchmark's timing.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheSerializerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
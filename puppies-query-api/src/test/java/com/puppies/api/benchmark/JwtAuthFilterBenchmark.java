@@ -0,0 +1,88 @@
+package com.puppies.api.benchmark;
+
+import com.puppies.api.security.JwtAuthFilter;
+import com.puppies.api.security.JwtService;
+import com.puppies.api.security.JwtTokenCache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH measurement of the JWT filter's overhead per authenticated request,
+ * with the verified-token cache enabled and disabled.
+ *
+ * Run with: {@code mvn -pl puppies-query-api test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.puppies.api.benchmark.JwtAuthFilterBenchmark}
+ * Token cache hit/miss counters are logged once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@Slf4j
+public class JwtAuthFilterBenchmark {
+
+    private static final String SECRET = "mySecretKey123456789012345678901234567890";
+
+    @Param({"true", "false"})
+    private boolean tokenCache;
+
+    private JwtAuthFilter filter;
+    private JwtTokenCache jwtTokenCache;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        jwtTokenCache = new JwtTokenCache(tokenCache, 10_000);
+        filter = new JwtAuthFilter(jwtService, jwtTokenCache);
+
+        String token = Jwts.builder()
+                .subject("john@example.com")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        request = new MockHttpServletRequest("GET", "/api/posts/feed");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        log.info("JWT token cache [enabled={}]: {}", tokenCache, jwtTokenCache.getStats());
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        // OncePerRequestFilter marks the request as filtered, so clear the marker each time
+        request.clearAttributes();
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, response, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
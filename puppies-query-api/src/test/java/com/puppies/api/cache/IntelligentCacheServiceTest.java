@@ -1,24 +1,30 @@
 package com.puppies.api.cache;
 
+import com.puppies.api.cache.expiration.EarlyExpirationPolicy;
+import com.puppies.api.cache.metrics.CacheLayerAccounting;
 import com.puppies.api.cache.metrics.CacheMetrics;
+import com.puppies.api.cache.metrics.CacheMetricsRegistry;
 import com.puppies.api.cache.strategy.HotPostsCacheStrategy;
 import com.puppies.api.cache.strategy.UserBehaviorCacheStrategy;
+import com.puppies.api.config.QueryCacheProperties;
+import com.puppies.api.read.service.PostCacheWarmer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.data.redis.core.RedisTemplate;
 
 import java.util.Optional;
 import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -37,11 +43,20 @@ class IntelligentCacheServiceTest {
     @Mock
     private CacheManager cacheManager;
     
-    @Mock
-    private RedisTemplate<String, Object> redisTemplate;
-    
     @Mock
     private CacheMetrics cacheMetrics;
+
+    @Mock
+    private CacheLayerAccounting cacheLayerAccounting;
+
+    @Spy
+    private CacheMetricsRegistry metricsRegistry = new CacheMetricsRegistry(new QueryCacheProperties());
+
+    @Mock
+    private PostCacheWarmer postCacheWarmer;
+
+    @Spy
+    private EarlyExpirationPolicy earlyExpirationPolicy = new EarlyExpirationPolicy(new QueryCacheProperties());
     
     @Mock
     private HotPostsCacheStrategy hotPostsStrategy;
@@ -115,6 +130,7 @@ class IntelligentCacheServiceTest {
         verify(cacheMetrics).recordMiss("cold_posts");
         verify(coldCache).get(anyString());
         verify(coldCache).put(anyString(), eq(testData));
+        verify(cacheLayerAccounting).recordPut(eq("cold_posts"), anyString());
     }
 
     @Test
@@ -161,6 +177,26 @@ class IntelligentCacheServiceTest {
         verify(cacheMetrics).recordHit("hot_posts");
     }
 
+    @Test
+    @DisplayName("Should recompute a cached post early when the expiration policy picks this reader")
+    void getPost_WhenRecomputedEarly_ShouldReloadAndRewrite() {
+        // Given
+        when(coldCache.get(anyString())).thenReturn(cachedValue);
+        doReturn(true).when(earlyExpirationPolicy).shouldRecomputeEarly(eq("cold_posts"), anyString());
+        
+        Supplier<String> dataLoader = () -> "Fresh Data";
+
+        // When
+        Optional<String> result = intelligentCacheService.getPost(testPostId, testUserId, String.class, dataLoader);
+
+        // Then
+        assertThat(result).contains("Fresh Data");
+        verify(coldCache).put(anyString(), eq("Fresh Data"));
+        verify(earlyExpirationPolicy).recordWrite(eq("cold_posts"), anyString(), anyLong());
+        verify(cacheMetrics, never()).recordHit(anyString());
+        verify(cacheMetrics, never()).recordMiss(anyString());
+    }
+
     @Test
     @DisplayName("Should handle cache manager returning null cache")
     void getPost_WhenCacheManagerReturnsNull_ShouldLoadDataDirectly() {
@@ -259,6 +295,7 @@ class IntelligentCacheServiceTest {
             final int postIndex = i;
             intelligentCacheService.getPost((long) i, testUserId, String.class, () -> "Post " + postIndex);
         }
+        intelligentCacheService.refreshUserEngagementLevels();
         
         when(hotCache.get(anyString())).thenReturn(null);
         
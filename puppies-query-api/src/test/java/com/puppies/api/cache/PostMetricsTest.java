@@ -0,0 +1,118 @@
+package com.puppies.api.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for PostMetrics.
+ *
+ * A settable clock drives the per-minute buckets so window expiry can be checked without sleeping.
+ */
+@DisplayName("PostMetrics Tests")
+class PostMetricsTest {
+
+    private static final long START = Duration.ofDays(20000).toMillis();
+
+    private final AtomicLong now = new AtomicLong(START);
+
+    private PostMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new PostMetrics(1L, now::get);
+    }
+
+    @Test
+    @DisplayName("Should count views over a sliding 60 minute window")
+    void getViewsInLastHour_ShouldSlideWithTheClock() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            metrics.incrementViews();
+        }
+        advance(Duration.ofMinutes(30));
+        for (int i = 0; i < 3; i++) {
+            metrics.incrementViews();
+        }
+
+        // When / Then
+        assertThat(metrics.getViewsInLastHour()).isEqualTo(8);
+        advance(Duration.ofMinutes(31));
+        assertThat(metrics.getViewsInLastHour()).isEqualTo(3);
+        advance(Duration.ofMinutes(30));
+        assertThat(metrics.getViewsInLastHour()).isZero();
+        assertThat(metrics.getTotalViews()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should trend on more than ten engagements within two hours only")
+    void isTrending_ShouldUseTwoHourEngagementWindow() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            metrics.incrementViews();
+        }
+        advance(Duration.ofHours(1).plusMinutes(1));
+        for (int i = 0; i < 11; i++) {
+            metrics.recordEngagement("share");
+        }
+
+        // Then
+        assertThat(metrics.isTrending()).isTrue();
+        advance(Duration.ofHours(2).plusMinutes(10));
+        assertThat(metrics.isTrending()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should estimate unique viewers without keeping viewer IDs")
+    void getUniqueViewers_ShouldEstimateDistinctUsers() {
+        // Given
+        for (long userId = 1; userId <= 2000; userId++) {
+            metrics.addRecentAccess(userId);
+            metrics.addRecentAccess(userId);
+        }
+
+        // Then
+        assertThat((double) metrics.getUniqueViewers()).isCloseTo(2000, within(300.0));
+        assertThat((double) metrics.getUniqueViewersInLastHour()).isCloseTo(2000, within(300.0));
+        advance(Duration.ofHours(3));
+        assertThat(metrics.getUniqueViewersInLastHour()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count likes and comments towards engagement rate")
+    void getEngagementRate_ShouldCombineLikesAndComments() {
+        // Given
+        for (int i = 0; i < 20; i++) {
+            metrics.incrementViews();
+        }
+        metrics.recordEngagement("LIKE");
+        metrics.recordEngagement("comment");
+
+        // Then
+        assertThat(metrics.getEngagementRate()).isEqualTo(0.1);
+        assertThat(metrics.getTotalLikes()).isEqualTo(1);
+        assertThat(metrics.getTotalComments()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should only suggest eviction after two idle hours with low engagement")
+    void shouldEvict_AfterTwoIdleHours() {
+        // Given
+        metrics.updateLastAccessed();
+
+        // Then
+        assertThat(metrics.shouldEvict()).isFalse();
+        advance(Duration.ofHours(2).plusMinutes(1));
+        assertThat(metrics.shouldEvict()).isTrue();
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toMillis());
+    }
+}
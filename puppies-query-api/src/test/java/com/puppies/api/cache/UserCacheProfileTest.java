@@ -0,0 +1,112 @@
+package com.puppies.api.cache;
+
+import com.puppies.api.cache.UserCacheProfile.EngagementLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for UserCacheProfile.
+ *
+ * A settable clock drives the decayed access rate and session detection.
+ */
+@DisplayName("UserCacheProfile Tests")
+class UserCacheProfileTest {
+
+    private static final long START = Duration.ofDays(20000).toMillis();
+
+    private final AtomicLong now = new AtomicLong(START);
+
+    private UserCacheProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        profile = new UserCacheProfile(7L, now::get);
+    }
+
+    @Test
+    @DisplayName("Should only change engagement level when refreshed")
+    void refreshEngagementLevel_ShouldReclassifyOnlyOnRefresh() {
+        // Given
+        for (long postId = 0; postId < 60; postId++) {
+            profile.recordPostAccess(postId);
+        }
+
+        // Then
+        assertThat(profile.getEngagementLevel()).isEqualTo(EngagementLevel.MEDIUM);
+
+        // When
+        profile.refreshEngagementLevel();
+
+        // Then
+        assertThat(profile.getEngagementLevel()).isEqualTo(EngagementLevel.HIGH);
+        assertThat(profile.getRecommendedCacheTtlMinutes()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Should decay the daily access rate over time")
+    void getAccessesPerDay_ShouldDecayExponentially() {
+        // Given
+        for (long postId = 0; postId < 60; postId++) {
+            profile.recordPostAccess(postId);
+        }
+
+        // When
+        advance(Duration.ofDays(1));
+
+        // Then
+        assertThat(profile.getAccessesPerDay()).isCloseTo(60 / Math.E, within(0.01));
+
+        // When
+        advance(Duration.ofDays(2));
+        profile.refreshEngagementLevel();
+
+        // Then
+        assertThat(profile.getEngagementLevel()).isEqualTo(EngagementLevel.LOW);
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recent posts as preferred content")
+    void getPreferredContent_ShouldReturnLastTenPostsOldestFirst() {
+        // Given
+        for (long postId = 1; postId <= 15; postId++) {
+            profile.recordPostAccess(postId);
+        }
+
+        // When / Then
+        assertThat(profile.getPreferredContent()).containsExactly(6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L, 14L, 15L);
+        assertThat(profile.getTotalPostAccesses()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("Should archive profiles inactive for a week with low engagement")
+    void shouldArchive_ShouldRequireInactivityAndLowEngagement() {
+        // Given
+        profile.recordPostAccess(1L);
+        profile.incrementCacheMisses();
+
+        // When
+        advance(Duration.ofDays(8));
+        profile.refreshEngagementLevel();
+
+        // Then
+        assertThat(profile.getLastActivity()).isEqualTo(START);
+        assertThat(profile.shouldArchive()).isTrue();
+
+        // When
+        profile.updateLastActivity();
+
+        // Then
+        assertThat(profile.shouldArchive()).isFalse();
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toMillis());
+    }
+}
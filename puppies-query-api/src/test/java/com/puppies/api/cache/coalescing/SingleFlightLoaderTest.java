@@ -0,0 +1,170 @@
+package com.puppies.api.cache.coalescing;
+
+import com.puppies.api.config.QueryCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SingleFlightLoader.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SingleFlightLoader Tests")
+class SingleFlightLoaderTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private QueryCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new QueryCacheProperties();
+        properties.getSingleFlight().setLeasePollInterval(Duration.ofMillis(1));
+    }
+
+    @Test
+    @DisplayName("Should run one load for concurrent misses on the same key")
+    void load_ConcurrentMisses_ShouldShareOneLoad() throws Exception {
+        // Given
+        SingleFlightLoader loader = new SingleFlightLoader(stringRedisTemplate, properties);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<String> leader = executor.submit(() -> loader.load("trending_feed_content_0_10", () -> null, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "page";
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> waiter = executor.submit(() -> loader.load("trending_feed_content_0_10", () -> null, () -> {
+                loads.incrementAndGet();
+                return "duplicate";
+            }));
+            while (((Number) loader.getStats().get("coalescedWaiters")).longValue() == 0) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            // Then
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+            assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+            assertThat(loads).hasValue(1);
+            assertThat(loader.getStats()).containsEntry("loads", 1L).containsEntry("inFlight", 0);
+        } finally {
+            executor.shutdownNow();
+        }
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should not keep a failed load in flight")
+    void load_WhenLoaderFails_ShouldPropagateAndForget() {
+        // Given
+        SingleFlightLoader loader = new SingleFlightLoader(stringRedisTemplate, properties);
+
+        // When / Then
+        assertThrows(IllegalStateException.class,
+                () -> loader.load("posts_content_0_10", () -> null, () -> { throw new IllegalStateException("db down"); }));
+        assertThat(loader.load("posts_content_0_10", () -> null, () -> "page")).isEqualTo("page");
+    }
+
+    @Test
+    @DisplayName("Should return the page a just-finished flight cached instead of loading it again")
+    void load_WhenPageCachedBeforeWinningSlot_ShouldNotLoad() {
+        // Given - the previous flight wrote the page between this caller's miss and its slot
+        properties.getSingleFlight().setLeaseEnabled(true);
+        SingleFlightLoader loader = new SingleFlightLoader(stringRedisTemplate, properties);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        String page = loader.load("posts_content_0_10", () -> "cached page", () -> {
+            loads.incrementAndGet();
+            return "local load";
+        });
+
+        // Then
+        assertThat(page).isEqualTo("cached page");
+        assertThat(loads).hasValue(0);
+        assertThat(loader.getStats()).containsEntry("recheckHits", 1L).containsEntry("loads", 0L);
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should read the page loaded by the node holding the lease")
+    void load_WhenLeaseHeldElsewhere_ShouldWaitForCachedPage() {
+        // Given
+        properties.getSingleFlight().setLeaseEnabled(true);
+        SingleFlightLoader loader = new SingleFlightLoader(stringRedisTemplate, properties);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("cache:lease:posts_content_0_10"), anyString(), any(Duration.class)))
+                .thenReturn(false);
+        AtomicInteger reads = new AtomicInteger();
+
+        // When
+        String page = loader.load("posts_content_0_10",
+                () -> reads.incrementAndGet() < 2 ? null : "page from other node",
+                () -> "local load");
+
+        // Then
+        assertThat(page).isEqualTo("page from other node");
+        assertThat(loader.getStats()).containsEntry("leaseWaitHits", 1L).containsEntry("loads", 0L);
+    }
+
+    @Test
+    @DisplayName("Should load and release the lease when it is acquired")
+    void load_WhenLeaseAcquired_ShouldLoadAndRelease() {
+        // Given
+        properties.getSingleFlight().setLeaseEnabled(true);
+        SingleFlightLoader loader = new SingleFlightLoader(stringRedisTemplate, properties);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("cache:lease:posts_content_0_10"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+
+        // When
+        String page = loader.load("posts_content_0_10", () -> null, () -> "local load");
+
+        // Then
+        assertThat(page).isEqualTo("local load");
+        assertThat(loader.getStats()).containsEntry("leasesAcquired", 1L);
+        verify(stringRedisTemplate).execute(any(RedisScript.class), anyList(), any());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.puppies.api.cache.expiration;
+
+import com.puppies.api.config.QueryCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for EarlyExpirationPolicy.
+ */
+@DisplayName("EarlyExpirationPolicy Tests")
+class EarlyExpirationPolicyTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private QueryCacheProperties properties;
+    private EarlyExpirationPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        properties = new QueryCacheProperties();
+        // rand = 0.5, so -ln(1 - rand) = ln 2
+        policy = new EarlyExpirationPolicy(properties, now::get, () -> 0.5);
+    }
+
+    @Test
+    @DisplayName("Should spread TTLs of different keys within the region's jitter")
+    void ttl_ShouldBeJitteredPerKeyAndStable() {
+        // Given
+        Duration hotTtl = Duration.ofMinutes(30);
+        Set<Duration> distinct = new HashSet<>();
+
+        // When
+        for (int postId = 0; postId < 100; postId++) {
+            Duration ttl = policy.ttl("hot_posts", "post:" + postId + ":user:anonymous");
+            distinct.add(ttl);
+
+            // Then
+            assertThat(ttl).isBetween(Duration.ofMillis((long) (hotTtl.toMillis() * 0.9)), hotTtl);
+            assertThat(policy.ttl("hot_posts", "post:" + postId + ":user:anonymous")).isEqualTo(ttl);
+        }
+        assertThat(distinct).hasSizeGreaterThan(90);
+        assertThat(policy.covers("post_content")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should recompute early only close to expiry relative to the recompute cost")
+    void shouldRecomputeEarly_ShouldDependOnTimeLeftAndCost() {
+        // Given: a 200ms recompute, so the early window is about 139ms with beta 1
+        String key = "post:1:user:anonymous";
+        policy.recordWrite("hot_posts", key, Duration.ofMillis(200).toNanos());
+        long expiresAt = now.get() + policy.ttl("hot_posts", key).toMillis();
+
+        // When / Then
+        assertThat(policy.shouldRecomputeEarly("hot_posts", key)).isFalse();
+        now.set(expiresAt - 500);
+        assertThat(policy.shouldRecomputeEarly("hot_posts", key)).isFalse();
+        now.set(expiresAt - 100);
+        assertThat(policy.shouldRecomputeEarly("hot_posts", key)).isTrue();
+        assertThat(policy.getStats()).containsEntry("earlyRecomputes", 1L);
+    }
+
+    @Test
+    @DisplayName("Should not recompute untracked keys or when disabled")
+    void shouldRecomputeEarly_UntrackedOrDisabled_ShouldBeFalse() {
+        // Given
+        policy.recordWrite("cold_posts", "post:2:user:anonymous", Duration.ofMinutes(10).toNanos());
+
+        // When / Then
+        assertThat(policy.shouldRecomputeEarly("cold_posts", "post:3:user:anonymous")).isFalse();
+        assertThat(policy.shouldRecomputeEarly("cold_posts", "post:2:user:anonymous")).isTrue();
+        properties.getEarlyExpiration().setEnabled(false);
+        assertThat(policy.shouldRecomputeEarly("cold_posts", "post:2:user:anonymous")).isFalse();
+    }
+}
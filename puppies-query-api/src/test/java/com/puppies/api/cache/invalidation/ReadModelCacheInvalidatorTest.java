@@ -0,0 +1,135 @@
+package com.puppies.api.cache.invalidation;
+
+import com.puppies.api.cache.twolevel.TwoLevelCacheManager;
+import com.puppies.api.read.service.PageGenerationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReadModelCacheInvalidator.
+ *
+ * A ConcurrentMapCacheManager stands in for Redis behind a real L1, so tests can check that
+ * only this node's L1 copies are dropped while the shared copies are left to the sync worker.
+ * Listing invalidations are checked through the generations they make this node forget.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadModelCacheInvalidator Tests")
+class ReadModelCacheInvalidatorTest {
+
+    @Mock
+    private PageGenerationService pageGenerationService;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private ConcurrentMapCacheManager remoteCacheManager;
+
+    private TwoLevelCacheManager cacheManager;
+
+    private ReadModelCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager("post", "author_post_count", "user_feed_count");
+        cacheManager = new TwoLevelCacheManager(remoteCacheManager, stringRedisTemplate,
+                List.of("post", "user_feed_count"), 1000, Duration.ofMinutes(1));
+        invalidator = new ReadModelCacheInvalidator(cacheManager, pageGenerationService);
+    }
+
+    @Test
+    @DisplayName("Should drop the liked post's L1 copy and forget only its author's and the liker's listings")
+    void onMessage_ForLike_ShouldInvalidateTouchedDataOnly() {
+        // Given
+        Cache posts = warm("post", 1L, "post-1");
+        warm("post", 2L, "post-2");
+        Cache feedCounts = warm("user_feed_count", 2L, 10L);
+        warm("user_feed_count", 3L, 12L);
+        // The sync worker has already replaced the shared copies
+        remoteCacheManager.getCache("post").put(1L, "post-1-liked");
+        remoteCacheManager.getCache("user_feed_count").put(2L, 11L);
+
+        // When
+        invalidator.onMessage("{\"postIds\":[1],\"authorIds\":[7],\"feedUserIds\":[2],\"newPosts\":false,\"allFeeds\":false}");
+
+        // Then
+        assertThat(posts.get(1L).get()).isEqualTo("post-1-liked");
+        assertThat(posts.get(2L).get()).isEqualTo("post-2");
+        assertThat(feedCounts.get(2L).get()).isEqualTo(11L);
+        assertThat(feedCounts.get(3L).get()).isEqualTo(12L);
+        verify(pageGenerationService).forget("author_posts_7");
+        verify(pageGenerationService).forget("user_feed_2");
+        verifyNoMoreInteractions(pageGenerationService);
+        assertThat(invalidator.getStats()).containsEntry("forgottenGenerations", 2L);
+    }
+
+    @Test
+    @DisplayName("Should forget the post listing and all feeds for a change to every feed")
+    void invalidate_ForAllFeeds_ShouldForgetSharedListings() {
+        // Given
+        Cache feedCounts = warm("user_feed_count", 2L, 10L);
+        remoteCacheManager.getCache("user_feed_count").clear();
+        ReadModelInvalidation invalidation = new ReadModelInvalidation();
+        invalidation.getAuthorIds().add(7L);
+        invalidation.getFeedUserIds().add(2L);
+        invalidation.setNewPosts(true);
+        invalidation.setAllFeeds(true);
+
+        // When
+        invalidator.invalidate(invalidation);
+
+        // Then
+        verify(pageGenerationService).forget("author_posts_7");
+        verify(pageGenerationService).forget("posts");
+        verify(pageGenerationService).forget(PageGenerationService.ALL_FEEDS);
+        verify(pageGenerationService, never()).forget("user_feed_2");
+        assertThat(feedCounts.get(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should never write to Redis, however many nodes apply the message")
+    void invalidate_ShouldOnlyTouchLocalState() {
+        // Given
+        ReadModelInvalidation invalidation = new ReadModelInvalidation();
+        invalidation.getPostIds().add(1L);
+        invalidation.getAuthorIds().add(7L);
+        invalidation.setNewPosts(true);
+
+        // When
+        invalidator.invalidate(invalidation);
+
+        // Then
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should count malformed messages as failures without throwing")
+    void onMessage_WhenMalformed_ShouldRecordFailure() {
+        // When
+        invalidator.onMessage("not-json");
+
+        // Then
+        assertThat(invalidator.getStats()).containsEntry("failures", 1L);
+        verify(pageGenerationService, never()).forget(anyString());
+    }
+
+    private Cache warm(String cacheName, Object key, Object value) {
+        remoteCacheManager.getCache(cacheName).put(key, value);
+        Cache cache = cacheManager.getCache(cacheName);
+        cache.get(key);
+        return cache;
+    }
+}
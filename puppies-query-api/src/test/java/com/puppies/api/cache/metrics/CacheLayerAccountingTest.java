@@ -0,0 +1,181 @@
+package com.puppies.api.cache.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CacheLayerAccounting.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheLayerAccounting Tests")
+class CacheLayerAccountingTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private Cursor<String> cursor;
+
+    private CacheLayerAccounting accounting;
+
+    @BeforeEach
+    void setUp() {
+        accounting = new CacheLayerAccounting(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should count puts immediately and fill in byte sizes from one pipelined batch")
+    void recordPut_ThenMeasure_ShouldTrackEntriesAndBytes() {
+        // Given
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(120L, 80L));
+
+        // When
+        accounting.recordPut("hot_posts", "post:1:user:2");
+        accounting.recordPut("hot_posts", "post:2:user:2");
+        accounting.measurePending();
+
+        // Then
+        assertThat(accounting.getEntryCount("hot_posts")).isEqualTo(2);
+        assertThat(layer("hot_posts")).containsEntry("bytes", 200L);
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should drain the whole queue in batches and measure rewritten keys once")
+    @SuppressWarnings("unchecked")
+    void measurePending_ShouldDrainQueueAndDedupeKeys() {
+        // Given - 600 distinct keys, each written twice
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(Collections.<Object>nCopies(500, 10L), Collections.<Object>nCopies(100, 10L));
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 600; i++) {
+                accounting.recordPut("hot_posts", "post:" + i + ":user:anonymous");
+            }
+        }
+        assertThat(accounting.getLayerUsage()).containsEntry("pendingMeasurements", 600);
+
+        // When
+        accounting.measurePending();
+
+        // Then
+        verify(stringRedisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+        assertThat(layer("hot_posts")).containsEntry("bytes", 6000L);
+        assertThat(accounting.getLayerUsage()).containsEntry("pendingMeasurements", 0);
+    }
+
+    @Test
+    @DisplayName("Should subtract evicted entries and reset on clear")
+    void recordEvictAndClear_ShouldReduceUsage() {
+        // Given
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(120L, 80L));
+        accounting.recordPut("warm_posts", "a");
+        accounting.recordPut("warm_posts", "b");
+        accounting.measurePending();
+
+        // When
+        accounting.recordEvict("warm_posts", "a");
+
+        // Then
+        assertThat(accounting.getEntryCount("warm_posts")).isEqualTo(1);
+        assertThat(layer("warm_posts")).containsEntry("bytes", 80L);
+
+        // When
+        accounting.recordClear("warm_posts");
+
+        // Then
+        assertThat(accounting.getEntryCount("warm_posts")).isZero();
+        assertThat(layer("warm_posts")).containsEntry("bytes", 0L);
+    }
+
+    @Test
+    @DisplayName("Should correct tracked state from a SCAN of the layer and report drift")
+    void reconcileLayer_ShouldDropExpiredEntries() {
+        // Given - three puts tracked, only one key still in Redis
+        accounting.recordPut("cold_posts", "a");
+        accounting.recordPut("cold_posts", "b");
+        accounting.recordPut("cold_posts", "c");
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, false, false);
+        when(cursor.next()).thenReturn("cold_posts::b");
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(64L));
+
+        // When
+        accounting.reconcileLayer("cold_posts");
+
+        // Then
+        assertThat(accounting.getEntryCount("cold_posts")).isEqualTo(1);
+        assertThat(layer("cold_posts"))
+                .containsEntry("bytes", 64L)
+                .containsEntry("lastReconcileDrift", 2L);
+        verify(stringRedisTemplate, never()).keys(any());
+    }
+
+    @Test
+    @DisplayName("Should keep puts recorded while the SCAN is running")
+    void reconcileLayer_WithRacingPut_ShouldKeepIt() {
+        // Given - "a" is written after the SCAN has passed its slot
+        accounting.recordPut("cold_posts", "b");
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, false, false);
+        when(cursor.next()).thenAnswer(invocation -> {
+            accounting.recordPut("cold_posts", "a");
+            return "cold_posts::b";
+        });
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(64L));
+
+        // When
+        accounting.reconcileLayer("cold_posts");
+
+        // Then
+        assertThat(accounting.getEntryCount("cold_posts")).isEqualTo(2);
+        assertThat(layer("cold_posts"))
+                .containsEntry("bytes", 64L)
+                .containsEntry("lastReconcileDrift", 0L);
+    }
+
+    @Test
+    @DisplayName("Should treat evictions and clears reported by two-level regions like recorded ones")
+    void onEvictAndClear_ShouldUpdateLayer() {
+        // Given
+        accounting.recordPut("hot_posts", "post:1");
+        accounting.recordPut("hot_posts", "post:2");
+
+        // When
+        accounting.onEvict("hot_posts", "post:1");
+
+        // Then
+        assertThat(accounting.getEntryCount("hot_posts")).isEqualTo(1);
+        accounting.onClear("hot_posts");
+        assertThat(accounting.getEntryCount("hot_posts")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ignore layers it does not track")
+    void recordPut_ForUntrackedLayer_ShouldBeIgnored() {
+        accounting.recordPut("users", "1");
+
+        assertThat(accounting.getEntryCount("users")).isZero();
+        assertThat(accounting.getLayerUsage()).doesNotContainKey("users");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> layer(String name) {
+        return (Map<String, Object>) accounting.getLayerUsage().get(name);
+    }
+}
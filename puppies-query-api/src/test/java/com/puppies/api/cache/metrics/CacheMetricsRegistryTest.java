@@ -0,0 +1,82 @@
+package com.puppies.api.cache.metrics;
+
+import com.puppies.api.cache.PostMetrics;
+import com.puppies.api.cache.UserCacheProfile;
+import com.puppies.api.config.QueryCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CacheMetricsRegistry.
+ *
+ * Maintenance runs on the calling thread so evictions are visible right after {@code cleanUp()}.
+ */
+@DisplayName("CacheMetricsRegistry Tests")
+class CacheMetricsRegistryTest {
+
+    private CacheMetricsRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        QueryCacheProperties properties = new QueryCacheProperties();
+        properties.getMetricsRegistry().setPostMetricsBudget(DataSize.ofBytes(10L * PostMetrics.ESTIMATED_HEAP_BYTES));
+        properties.getMetricsRegistry().setUserProfilesBudget(DataSize.ofBytes(10L * UserCacheProfile.ESTIMATED_HEAP_BYTES));
+        registry = new CacheMetricsRegistry(properties, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should return the same instance to every consumer")
+    void getOrCreatePost_ShouldShareInstances() {
+        // When
+        PostMetrics created = registry.getOrCreatePost(1L);
+
+        // Then
+        assertThat(registry.getOrCreatePost(1L)).isSameAs(created);
+        assertThat(registry.getPost(1L)).isSameAs(created);
+        assertThat(registry.posts()).containsKey(1L);
+    }
+
+    @Test
+    @DisplayName("Should evict beyond the heap budget and report it")
+    void getOrCreatePost_BeyondBudget_ShouldEvict() {
+        // When
+        for (long postId = 0; postId < 100; postId++) {
+            registry.getOrCreatePost(postId);
+        }
+        registry.cleanUp();
+
+        // Then
+        assertThat(registry.getPostCount()).isLessThanOrEqualTo(10);
+        Map<String, Object> posts = region(CacheMetricsRegistry.POSTS);
+        assertThat(posts.get("usedBytes")).isEqualTo(registry.getPostCount() * PostMetrics.ESTIMATED_HEAP_BYTES);
+        assertThat(posts.get("evictions")).isEqualTo(100 - registry.getPostCount());
+        assertThat((Long) posts.get("evictionsLastMinute")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should bound user profiles independently of post metrics")
+    void getOrCreateUser_ShouldUseItsOwnBudget() {
+        // When
+        for (long userId = 0; userId < 50; userId++) {
+            registry.getOrCreateUser(userId).recordPostAccess(1L);
+        }
+        registry.getOrCreatePost(1L);
+        registry.cleanUp();
+
+        // Then
+        assertThat(registry.getUserCount()).isLessThanOrEqualTo(10);
+        assertThat(registry.getPostCount()).isEqualTo(1);
+        assertThat(region(CacheMetricsRegistry.POSTS)).containsEntry("occupancy", "10.00%");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> region(String name) {
+        return (Map<String, Object>) registry.getStats().get(name);
+    }
+}
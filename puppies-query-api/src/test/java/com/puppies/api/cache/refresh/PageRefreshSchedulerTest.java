@@ -0,0 +1,141 @@
+package com.puppies.api.cache.refresh;
+
+import com.puppies.api.config.QueryCacheProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PageRefreshScheduler.
+ */
+@DisplayName("PageRefreshScheduler Tests")
+class PageRefreshSchedulerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private QueryCacheProperties properties;
+    private PageRefreshScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new QueryCacheProperties();
+        properties.getStaleWhileRevalidate().setPostContentSoftTtl(Duration.ofMinutes(10));
+        scheduler = new PageRefreshScheduler(properties, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should stamp pages only while the mode is enabled")
+    void stamp_ShouldFollowEnabledFlag() {
+        // When
+        Object stamped = scheduler.stamp(List.of("a"));
+        properties.getStaleWhileRevalidate().setEnabled(false);
+        Object plain = scheduler.stamp(List.of("a"));
+
+        // Then
+        assertThat(stamped).isEqualTo(new StampedPage(List.of("a"), 1_000_000L));
+        assertThat(plain).isEqualTo(List.of("a"));
+    }
+
+    @Test
+    @DisplayName("Should serve a fresh page without scheduling a refresh")
+    void read_FreshPage_ShouldNotRefresh() {
+        // Given
+        AtomicInteger refreshes = new AtomicInteger();
+        Object value = scheduler.stamp(List.of("a"));
+        now.addAndGet(Duration.ofMinutes(9).toMillis());
+
+        // When
+        List<String> page = scheduler.read("post_content", "posts_content_0_10", value, refreshes::incrementAndGet);
+
+        // Then
+        assertThat(page).containsExactly("a");
+        assertThat(refreshes).hasValue(0);
+        assertThat(scheduler.getStats()).containsEntry("staleHits", 0L);
+    }
+
+    @Test
+    @DisplayName("Should serve a stale page and refresh it once in the background")
+    void read_StalePage_ShouldServeAndRefreshOnce() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicInteger refreshes = new AtomicInteger();
+        Runnable refresh = () -> {
+            refreshes.incrementAndGet();
+            await(release);
+            done.countDown();
+        };
+        Object value = scheduler.stamp(List.of("a"));
+        now.addAndGet(Duration.ofMinutes(11).toMillis());
+
+        // When
+        List<String> first = scheduler.read("post_content", "posts_content_0_10", value, refresh);
+        List<String> second = scheduler.read("post_content", "posts_content_0_10", value, refresh);
+        release.countDown();
+
+        // Then
+        assertThat(first).containsExactly("a");
+        assertThat(second).containsExactly("a");
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(refreshes).hasValue(1);
+        assertThat(scheduler.getStats())
+                .containsEntry("staleHits", 2L)
+                .containsEntry("refreshesScheduled", 1L)
+                .containsEntry("refreshesDeduplicated", 1L);
+    }
+
+    @Test
+    @DisplayName("Should treat unstamped pages as fresh and ignore other values")
+    void read_UnstampedValues_ShouldNotRefresh() {
+        // When / Then
+        assertThat(scheduler.<String>read("post_content", "k", List.of("a"), () -> { throw new AssertionError(); }))
+                .containsExactly("a");
+        assertThat(scheduler.<String>read("post_content", "k", 42L, null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should skip refreshes beyond the bounded backlog")
+    void read_WhenBacklogFull_ShouldRejectRefresh() {
+        // Given
+        properties.getStaleWhileRevalidate().setRefreshThreads(1);
+        properties.getStaleWhileRevalidate().setRefreshQueueCapacity(1);
+        scheduler.shutdown();
+        scheduler = new PageRefreshScheduler(properties, now::get);
+        CountDownLatch release = new CountDownLatch(1);
+        Object value = scheduler.stamp(List.of("a"));
+        now.addAndGet(Duration.ofMinutes(11).toMillis());
+
+        // When: one refresh runs, one waits in the queue, the third finds the backlog full
+        for (int page = 0; page < 3; page++) {
+            scheduler.read("post_content", "posts_content_" + page + "_10", value, () -> await(release));
+        }
+        release.countDown();
+
+        // Then
+        assertThat(scheduler.getStats())
+                .containsEntry("refreshesScheduled", 2L)
+                .containsEntry("refreshesRejected", 1L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.puppies.api.cache.serialization;
+
+import com.puppies.api.cache.refresh.StampedPage;
+import com.puppies.api.config.CacheConfig;
+import com.puppies.api.read.model.ReadFeedItem;
+import com.puppies.api.read.model.ReadPost;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ReadModelRedisSerializer.
+ */
+@DisplayName("ReadModelRedisSerializer Tests")
+class ReadModelRedisSerializerTest {
+
+    private GenericJackson2JsonRedisSerializer jsonSerializer;
+
+    private ReadModelRedisSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        jsonSerializer = new GenericJackson2JsonRedisSerializer(new CacheConfig().redisObjectMapper());
+        serializer = new ReadModelRedisSerializer(jsonSerializer, 1024);
+    }
+
+    @Test
+    @DisplayName("Should round-trip a page of posts, including null fields")
+    void serialize_PostPage_ShouldRoundTrip() {
+        // Given
+        List<ReadPost> page = new ArrayList<>(posts(3));
+        page.get(1).setContent(null);
+        page.get(1).setUpdatedAt(null);
+
+        // When
+        Object result = serializer.deserialize(serializer.serialize(page));
+
+        // Then
+        assertThat(result).isEqualTo(page);
+    }
+
+    @Test
+    @DisplayName("Should round-trip feed items and Long totals")
+    void serialize_FeedItemsAndTotals_ShouldRoundTrip() {
+        // Given
+        ReadFeedItem item = ReadFeedItem.builder()
+                .id(1L).userId(2L).postId(3L).postAuthorId(4L)
+                .postAuthorName("Jane Smith").postContent("Feed content ✨").postImageUrl("http://example.com/1.jpg")
+                .likeCount(7L).isLikedByUser(true).popularityScore(12.5)
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6_000_000))
+                .build();
+
+        // When / Then
+        assertThat(serializer.deserialize(serializer.serialize(List.of(item)))).isEqualTo(List.of(item));
+        assertThat(serializer.deserialize(serializer.serialize(42L))).isEqualTo(42L);
+        assertThat(serializer.deserialize(serializer.serialize(List.of()))).isEqualTo(List.of());
+    }
+
+    @Test
+    @DisplayName("Should round-trip a stamped page through the JSON serializer used by non-binary regions")
+    void jsonSerializer_StampedPage_ShouldRoundTrip() {
+        // Given
+        StampedPage page = new StampedPage(new ArrayList<>(posts(2)), 1_700_000_000_000L);
+
+        // When
+        Object result = jsonSerializer.deserialize(jsonSerializer.serialize(page));
+
+        // Then
+        assertThat(result).isEqualTo(page);
+    }
+
+    @Test
+    @DisplayName("Should round-trip a page stamped with its write time")
+    void serialize_StampedPage_ShouldRoundTrip() {
+        // Given
+        StampedPage page = new StampedPage(posts(3), 1_700_000_000_000L);
+
+        // When
+        byte[] binary = serializer.serialize(page);
+
+        // Then
+        assertThat(binary[0]).isEqualTo(ReadModelRedisSerializer.MAGIC);
+        assertThat(serializer.deserialize(binary)).isEqualTo(page);
+    }
+
+    @Test
+    @DisplayName("Should compress large pages and stay smaller than JSON")
+    void serialize_LargePage_ShouldCompressAndBeatJson() {
+        // Given
+        List<ReadPost> page = posts(50);
+
+        // When
+        byte[] binary = serializer.serialize(page);
+        byte[] json = jsonSerializer.serialize(page);
+
+        // Then
+        assertThat(binary[1] & 0x01).isEqualTo(1);
+        assertThat(binary.length).isLessThan(json.length / 2);
+        assertThat(serializer.deserialize(binary)).isEqualTo(page);
+    }
+
+    @Test
+    @DisplayName("Should fall back to JSON for other types and read values written as JSON")
+    void deserialize_JsonPayload_ShouldUseFallback() {
+        // Given
+        Map<String, Object> other = Map.of("status", "ok");
+        byte[] legacyPage = jsonSerializer.serialize(new ArrayList<>(posts(2)));
+
+        // When / Then
+        assertThat(serializer.serialize(other)[0]).isNotEqualTo(ReadModelRedisSerializer.MAGIC);
+        assertThat(serializer.deserialize(serializer.serialize(other))).isEqualTo(other);
+        assertThat(serializer.deserialize(legacyPage)).isEqualTo(posts(2));
+    }
+
+    static List<ReadPost> posts(int count) {
+        LocalDateTime base = LocalDateTime.of(2024, 6, 1, 12, 0);
+        return IntStream.range(0, count)
+                .mapToObj(i -> ReadPost.builder()
+                        .id((long) i + 1)
+                        .authorId((long) (i % 7) + 1)
+                        .authorName("Author " + (i % 7))
+                        .content("Look at this puppy playing in the park, day " + i + " of training!")
+                        .imageUrl("http://localhost:8081/uploads/puppy-" + i + ".jpg")
+                        .likeCount((long) i * 3)
+                        .commentCount(0L)
+                        .viewCount((long) i * 11)
+                        .popularityScore(i * 1.5)
+                        .createdAt(base.minusMinutes(i))
+                        .updatedAt(base)
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
@@ -0,0 +1,148 @@
+package com.puppies.api.cache.twolevel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+/**
+ * Unit tests for TwoLevelCacheManager.
+ *
+ * A ConcurrentMapCacheManager stands in for Redis so L1 behaviour can be observed
+ * by changing the remote copy behind the local one.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoLevelCacheManager Tests")
+class TwoLevelCacheManagerTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private ConcurrentMapCacheManager remoteCacheManager;
+
+    private TwoLevelCacheManager twoLevelCacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager("feed_content", "users");
+        twoLevelCacheManager = new TwoLevelCacheManager(remoteCacheManager, stringRedisTemplate,
+                List.of("feed_content"), 1000, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from L1 without going back to the remote cache")
+    void get_AfterRemoteHit_ShouldBeServedLocally() {
+        // Given
+        remoteCacheManager.getCache("feed_content").put("trending_feed_content_0_20", List.of(1L, 2L));
+        Cache cache = twoLevelCacheManager.getCache("feed_content");
+        cache.get("trending_feed_content_0_20");
+
+        // When - remote copy disappears, L1 still holds the page
+        remoteCacheManager.getCache("feed_content").evict("trending_feed_content_0_20");
+        Cache.ValueWrapper result = cache.get("trending_feed_content_0_20");
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(result.get()).isEqualTo(List.of(1L, 2L));
+        assertThat(twoLevelCacheManager.getLocalStats()).containsEntry("hits", 1L);
+    }
+
+    @Test
+    @DisplayName("Should broadcast writes and drop L1 entries invalidated by other nodes")
+    void onInvalidationMessage_FromOtherNode_ShouldEvictLocalCopy() {
+        // Given
+        Cache cache = twoLevelCacheManager.getCache("feed_content");
+        cache.put("user_feed_1_content_0_10", List.of(1L));
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(TwoLevelCacheManager.INVALIDATION_CHANNEL), message.capture());
+        assertThat(message.getValue()).endsWith("|feed_content|user_feed_1_content_0_10");
+
+        // When
+        remoteCacheManager.getCache("feed_content").evict("user_feed_1_content_0_10");
+        twoLevelCacheManager.onInvalidationMessage("other-node|feed_content|user_feed_1_content_0_10");
+
+        // Then
+        assertThat(cache.get("user_feed_1_content_0_10")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should ignore its own invalidation messages")
+    void onInvalidationMessage_FromSelf_ShouldKeepLocalCopy() {
+        // Given
+        Cache cache = twoLevelCacheManager.getCache("feed_content");
+        cache.put("key", "value");
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(TwoLevelCacheManager.INVALIDATION_CHANNEL), message.capture());
+        remoteCacheManager.getCache("feed_content").evict("key");
+
+        // When
+        twoLevelCacheManager.onInvalidationMessage(message.getValue());
+
+        // Then
+        assertThat(cache.get("key")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should drop L1 copies of keys written straight to Redis and broadcast them in one pipeline")
+    void evictWrittenRemotely_ShouldDropLocalCopiesAndPublish() {
+        // Given
+        TwoLevelCache cache = (TwoLevelCache) twoLevelCacheManager.getCache("feed_content");
+        remoteCacheManager.getCache("feed_content").put("page_0", List.of(1L));
+        cache.get("page_0");
+        remoteCacheManager.getCache("feed_content").put("page_0", List.of(2L));
+
+        // When
+        cache.evictWrittenRemotely(List.of("page_0"));
+
+        // Then
+        assertThat(cache.get("page_0").get()).isEqualTo(List.of(2L));
+        verify(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should report Redis evictions and clears, but not L1-only drops, to the removal listener")
+    void evictAndClear_ShouldNotifyRemovalListener() {
+        // Given
+        TwoLevelCacheManager.RemovalListener listener = mock(TwoLevelCacheManager.RemovalListener.class);
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(remoteCacheManager, stringRedisTemplate,
+                List.of("feed_content"), 1000, Duration.ofMinutes(1), listener);
+        Cache cache = manager.getCache("feed_content");
+        cache.put("page_0", List.of(1L));
+
+        // When
+        cache.evict("page_0");
+        cache.evictIfPresent("page_1");
+        manager.onInvalidationMessage("other-node|feed_content|page_2");
+        manager.evictLocal("feed_content", "page_3");
+        cache.clear();
+
+        // Then
+        verify(listener).onEvict("feed_content", "page_0");
+        verify(listener).onEvict("feed_content", "page_1");
+        verify(listener).onClear("feed_content");
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    @DisplayName("Should hand out the plain remote cache for regions without L1")
+    void getCache_ForRegionWithoutL1_ShouldReturnRemoteCache() {
+        assertThat(twoLevelCacheManager.getCache("users")).isSameAs(remoteCacheManager.getCache("users"));
+    }
+}
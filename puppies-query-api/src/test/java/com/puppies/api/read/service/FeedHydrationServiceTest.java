@@ -0,0 +1,150 @@
+package com.puppies.api.read.service;
+
+import com.puppies.api.read.dto.CursorPage;
+import com.puppies.api.read.model.ReadFeedItem;
+import com.puppies.api.read.model.ReadFeedRef;
+import com.puppies.api.read.model.ReadPost;
+import com.puppies.api.read.repository.ReadFeedRefRepository;
+import com.puppies.api.read.repository.ReadPostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FeedHydrationService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeedHydrationService Tests")
+class FeedHydrationServiceTest {
+
+    @Mock
+    private ReadFeedRefRepository readFeedRefRepository;
+
+    @Mock
+    private ReadPostRepository readPostRepository;
+
+    private FeedHydrationService feedHydrationService;
+
+    @BeforeEach
+    void setUp() {
+        feedHydrationService = new FeedHydrationService(readFeedRefRepository, readPostRepository, "REFERENCE");
+    }
+
+    @Test
+    @DisplayName("Should hydrate a page of references with one multi-get, keeping reference order")
+    void findUserFeed_ShouldHydrateInReferenceOrder() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        LocalDateTime now = LocalDateTime.now();
+        List<ReadFeedRef> refs = List.of(
+                ReadFeedRef.builder().userId(1L).postId(20L).createdAt(now).isLikedByUser(true).build(),
+                ReadFeedRef.builder().userId(1L).postId(10L).createdAt(now.minusHours(1)).isLikedByUser(false).build(),
+                ReadFeedRef.builder().userId(1L).postId(99L).createdAt(now.minusHours(2)).isLikedByUser(false).build());
+        when(readFeedRefRepository.findByUserIdOrderByCreatedAtDesc(1L, pageable))
+                .thenReturn(new SliceImpl<>(refs, pageable, true));
+        when(readPostRepository.findAllById(List.of(20L, 10L, 99L)))
+                .thenReturn(List.of(post(10L, 3L), post(20L, 7L)));
+
+        // When
+        Slice<ReadFeedItem> result = feedHydrationService.findUserFeed(1L, pageable);
+
+        // Then
+        assertThat(result.getContent())
+                .extracting(ReadFeedItem::getPostId, ReadFeedItem::getLikeCount, ReadFeedItem::getIsLikedByUser)
+                .containsExactly(
+                        tuple(20L, 7L, true),
+                        tuple(10L, 3L, false));
+        assertThat(result.hasNext()).isTrue();
+        verify(readPostRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should skip the multi-get for an empty page")
+    void findUserFeed_WithNoReferences_ShouldNotLoadPosts() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(readFeedRefRepository.findByUserIdOrderByCreatedAtDesc(1L, pageable))
+                .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+
+        // When
+        Slice<ReadFeedItem> result = feedHydrationService.findUserFeed(1L, pageable);
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        verifyNoInteractions(readPostRepository);
+    }
+
+    @Test
+    @DisplayName("Should read past dangling references so a keyset page still carries its next-page probe")
+    void findUserFeedBefore_WithDanglingReference_ShouldFillPage() {
+        // Given - page size 2 probed with 3 rows; post 30 is gone from read_posts
+        LocalDateTime now = LocalDateTime.now();
+        ReadFeedRef newest = ReadFeedRef.builder().userId(1L).postId(40L).createdAt(now).build();
+        ReadFeedRef dangling = ReadFeedRef.builder().userId(1L).postId(30L).createdAt(now.minusHours(1)).build();
+        ReadFeedRef older = ReadFeedRef.builder().userId(1L).postId(20L).createdAt(now.minusHours(2)).build();
+        ReadFeedRef oldest = ReadFeedRef.builder().userId(1L).postId(10L).createdAt(now.minusHours(3)).build();
+        when(readFeedRefRepository.findByUserIdOrderByCreatedAtDescPostIdDesc(1L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(newest, dangling, older));
+        when(readFeedRefRepository.findUserFeedBefore(1L, older.getCreatedAt(), 20L, PageRequest.of(0, 1)))
+                .thenReturn(List.of(oldest));
+        when(readPostRepository.findAllById(List.of(40L, 30L, 20L))).thenReturn(List.of(post(40L, 1L), post(20L, 1L)));
+        when(readPostRepository.findAllById(List.of(10L))).thenReturn(List.of(post(10L, 1L)));
+
+        // When
+        List<ReadFeedItem> rows = feedHydrationService.findUserFeedBefore(1L, null, PageRequest.of(0, 3));
+        CursorPage<ReadFeedItem> page = KeysetCursor.toPage(rows, 2,
+                item -> KeysetCursor.ofCreatedAt(item.getCreatedAt(), item.getPostId()));
+
+        // Then
+        assertThat(rows).extracting(ReadFeedItem::getPostId).containsExactly(40L, 20L, 10L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(KeysetCursor.decode(page.getNextCursor(), KeysetCursor.Order.CREATED_AT).id()).isEqualTo(20L);
+    }
+
+    @Test
+    @DisplayName("Should stop at the end of the feed even when the page is short")
+    void findUserFeedBefore_AtEndOfFeed_ShouldStop() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        KeysetCursor cursor = KeysetCursor.ofCreatedAt(now, 50L);
+        ReadFeedRef dangling = ReadFeedRef.builder().userId(1L).postId(30L).createdAt(now.minusHours(1)).build();
+        when(readFeedRefRepository.findUserFeedBefore(1L, cursor.createdAt(), 50L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(dangling));
+        when(readPostRepository.findAllById(List.of(30L))).thenReturn(List.of());
+
+        // When
+        List<ReadFeedItem> rows = feedHydrationService.findUserFeedBefore(1L, cursor, PageRequest.of(0, 3));
+
+        // Then
+        assertThat(rows).isEmpty();
+        verify(readFeedRefRepository, times(1)).findUserFeedBefore(any(), any(), any(), any());
+    }
+
+    private static ReadPost post(Long id, Long likeCount) {
+        return ReadPost.builder()
+                .id(id)
+                .authorId(2L)
+                .authorName("John Doe")
+                .content("Post " + id)
+                .imageUrl("http://example.com/image" + id + ".jpg")
+                .likeCount(likeCount)
+                .popularityScore(1.0)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
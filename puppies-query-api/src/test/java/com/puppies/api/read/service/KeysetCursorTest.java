@@ -0,0 +1,128 @@
+package com.puppies.api.read.service;
+
+import com.puppies.api.exception.InvalidCursorException;
+import com.puppies.api.read.dto.CursorPage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for KeysetCursor.
+ */
+@DisplayName("KeysetCursor Tests")
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Should decode an encoded cursor to the same position")
+    void encodeDecode_ShouldRoundTrip() {
+        // Given
+        KeysetCursor cursor = KeysetCursor.ofPopularity(12.5, 42L);
+
+        // When
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode(), KeysetCursor.Order.POPULARITY);
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.popularityScore()).isEqualTo(12.5);
+        assertThat(decoded.id()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Should keep created_at to the microsecond, matching the read store's precision")
+    void ofCreatedAt_ShouldRoundTripMicroseconds() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_789);
+
+        // When
+        KeysetCursor decoded = KeysetCursor.decode(KeysetCursor.ofCreatedAt(createdAt, 7L).encode(),
+                KeysetCursor.Order.CREATED_AT);
+
+        // Then
+        assertThat(decoded.createdAt()).isEqualTo(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000));
+        assertThat(decoded.id()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Should treat blank and first-page tokens as the first page")
+    void decode_WithBlankToken_ShouldReturnNull() {
+        assertThat(KeysetCursor.decode(null, KeysetCursor.Order.CREATED_AT)).isNull();
+        assertThat(KeysetCursor.decode(" ", KeysetCursor.Order.CREATED_AT)).isNull();
+        assertThat(KeysetCursor.decode("first", KeysetCursor.Order.CREATED_AT)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a token that is not URL-safe base64")
+    void decode_WithMalformedBase64_ShouldThrow() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not base64!", KeysetCursor.Order.CREATED_AT))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a token with the wrong number of fields")
+    void decode_WithBadFieldCount_ShouldThrow() {
+        assertThatThrownBy(() -> KeysetCursor.decode(token("v1:CREATED_AT:100"), KeysetCursor.Order.CREATED_AT))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a token with non-numeric fields")
+    void decode_WithNonNumericField_ShouldThrow() {
+        assertThatThrownBy(() -> KeysetCursor.decode(token("v1:CREATED_AT:abc:1"), KeysetCursor.Order.CREATED_AT))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a token issued under another format version")
+    void decode_WithWrongVersion_ShouldThrow() {
+        assertThatThrownBy(() -> KeysetCursor.decode(token("v0:CREATED_AT:100:1"), KeysetCursor.Order.CREATED_AT))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for another ordering")
+    void decode_WithOrderMismatch_ShouldThrow() {
+        // Given
+        String trendingToken = KeysetCursor.ofPopularity(3.0, 1L).encode();
+
+        // When / Then
+        assertThatThrownBy(() -> KeysetCursor.decode(trendingToken, KeysetCursor.Order.CREATED_AT))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("Should trim the probe row and point the cursor at the last row returned")
+    void toPage_WithProbeRow_ShouldTrimAndSetCursor() {
+        // When
+        CursorPage<Long> page = KeysetCursor.toPage(List.of(30L, 20L, 10L), 2,
+                id -> KeysetCursor.ofPopularity(id.doubleValue(), id));
+
+        // Then
+        assertThat(page.getContent()).containsExactly(30L, 20L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(KeysetCursor.decode(page.getNextCursor(), KeysetCursor.Order.POPULARITY).id()).isEqualTo(20L);
+    }
+
+    @Test
+    @DisplayName("Should report the last page without a cursor when no probe row came back")
+    void toPage_WithoutProbeRow_ShouldEndListing() {
+        // When
+        CursorPage<Long> page = KeysetCursor.toPage(List.of(30L, 20L), 2,
+                id -> KeysetCursor.ofPopularity(id.doubleValue(), id));
+
+        // Then
+        assertThat(page.getContent()).containsExactly(30L, 20L);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
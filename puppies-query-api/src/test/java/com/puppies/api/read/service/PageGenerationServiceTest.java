@@ -0,0 +1,95 @@
+package com.puppies.api.read.service;
+
+import com.puppies.api.config.QueryCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PageGenerationService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PageGenerationService Tests")
+class PageGenerationServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private PageGenerationService pageGenerationService;
+
+    @BeforeEach
+    void setUp() {
+        QueryCacheProperties cacheProperties = new QueryCacheProperties();
+        cacheProperties.getGenerations().setLocalTtl(Duration.ofMinutes(1));
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        pageGenerationService = new PageGenerationService(stringRedisTemplate, cacheProperties);
+    }
+
+    @Test
+    @DisplayName("Should embed every listing generation in the prefix and treat missing counters as zero")
+    void versionedPrefix_ShouldEmbedGenerations() {
+        // Given
+        when(valueOperations.multiGet(List.of("cache:generation:user_feed_42", "cache:generation:feeds")))
+                .thenReturn(Arrays.asList("3", null));
+
+        // When
+        String prefix = pageGenerationService.versionedPrefix("user_feed_popular_42",
+                List.of("user_feed_42", PageGenerationService.ALL_FEEDS));
+
+        // Then
+        assertThat(prefix).isEqualTo("user_feed_popular_42_g3.0");
+    }
+
+    @Test
+    @DisplayName("Should reuse a memoized generation until the listing is forgotten, without writing to Redis")
+    void forget_ShouldRereadGenerationFromRedis() {
+        // Given
+        when(valueOperations.multiGet(List.of("cache:generation:author_posts_7")))
+                .thenReturn(List.of("4"), List.of("5"));
+        String before = pageGenerationService.versionedPrefix("author_posts_7");
+
+        // When - the sync worker bumped the counter and its message reached this node
+        String memoized = pageGenerationService.versionedPrefix("author_posts_7");
+        pageGenerationService.forget("author_posts_7");
+        String after = pageGenerationService.versionedPrefix("author_posts_7");
+
+        // Then
+        assertThat(before).isEqualTo("author_posts_7_g4");
+        assertThat(memoized).isEqualTo("author_posts_7_g4");
+        assertThat(after).isEqualTo("author_posts_7_g5");
+        verify(valueOperations, times(2)).multiGet(anyList());
+        verify(valueOperations, never()).increment(anyString());
+    }
+
+    @Test
+    @DisplayName("Should fall back to generation zero without memoizing when Redis is unavailable")
+    void versionedPrefix_WhenRedisFails_ShouldUseGenerationZero() {
+        // Given
+        when(valueOperations.multiGet(anyList())).thenThrow(new RuntimeException("Redis down"));
+
+        // When
+        pageGenerationService.versionedPrefix("posts");
+        String prefix = pageGenerationService.versionedPrefix("posts");
+
+        // Then
+        assertThat(prefix).isEqualTo("posts_g0");
+        verify(valueOperations, times(2)).multiGet(anyList());
+    }
+}
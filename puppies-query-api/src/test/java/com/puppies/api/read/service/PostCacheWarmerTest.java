@@ -0,0 +1,194 @@
+package com.puppies.api.read.service;
+
+import com.puppies.api.cache.metrics.CacheLayerAccounting;
+import com.puppies.api.cache.metrics.CacheMetrics;
+import com.puppies.api.cache.refresh.PageRefreshScheduler;
+import com.puppies.api.cache.twolevel.TwoLevelCache;
+import com.puppies.api.config.QueryCacheProperties;
+import com.puppies.api.read.model.ReadPost;
+import com.puppies.api.read.repository.ReadPostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PostCacheWarmer.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostCacheWarmer Tests")
+class PostCacheWarmerTest {
+
+    @Mock
+    private ReadPostRepository readPostRepository;
+
+    @Mock
+    private PageGenerationService pageGenerationService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private CacheLayerAccounting cacheLayerAccounting;
+
+    @Mock
+    private CacheMetrics cacheMetrics;
+
+    @Mock
+    private PageRefreshScheduler pageRefreshScheduler;
+
+    @Mock
+    private Cache postContentCache;
+
+    @Mock
+    private Cache postCache;
+
+    @Mock
+    private Cache hotCache;
+
+    private PostCacheWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        QueryCacheProperties properties = new QueryCacheProperties();
+        properties.getWarming().setPages(2);
+        properties.getWarming().setPageSize(2);
+        warmer = new PostCacheWarmer(readPostRepository, pageGenerationService, cacheManager, stringRedisTemplate,
+                cacheLayerAccounting, cacheMetrics, pageRefreshScheduler, properties);
+
+        lenient().when(pageGenerationService.versionedPrefix(anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(pageRefreshScheduler.stamp(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(cacheManager.getCache("post_content")).thenReturn(postContentCache);
+        lenient().when(cacheManager.getCache("post")).thenReturn(postCache);
+        lenient().when(cacheManager.getCache("hot_posts")).thenReturn(hotCache);
+    }
+
+    @Test
+    @DisplayName("Should warm listing pages and bulk-load only trending posts missing from them")
+    void warm_ShouldLoadPagesAndMissingTrendingPostsOnce() {
+        // Given
+        ReadPost first = post(1L);
+        ReadPost second = post(2L);
+        ReadPost third = post(3L);
+        ReadPost trending = post(9L);
+        when(readPostRepository.findAllByOrderByPopularityScoreDesc(PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(List.of(first, second), PageRequest.of(0, 2), true));
+        when(readPostRepository.findAllByOrderByPopularityScoreDesc(PageRequest.of(1, 2)))
+                .thenReturn(new SliceImpl<>(List.of(third), PageRequest.of(1, 2), false));
+        when(readPostRepository.findAllById(List.of(9L))).thenReturn(List.of(trending));
+
+        // When
+        List<Long> warmed = warmer.warm(List.of(2L, 9L), postId -> "post:" + postId + ":user:anonymous");
+
+        // Then
+        assertThat(warmed).containsExactly(1L, 2L, 3L, 9L);
+        verify(readPostRepository, times(1)).findAllById(List.of(9L));
+        verify(postContentCache).put("trending_posts_content_0_2", List.of(first, second));
+        verify(postContentCache).put("trending_posts_content_1_2", List.of(third));
+        verify(postCache).put(9L, trending);
+        verify(hotCache).put("post:9:user:anonymous", trending);
+        verify(cacheLayerAccounting, times(4)).recordPut(eq("hot_posts"), anyString());
+        verify(stringRedisTemplate, never()).executePipelined(any(RedisCallback.class));
+        assertThat(warmer.getLastReport())
+                .containsEntry("pagesWarmed", 2)
+                .containsEntry("postsWarmed", 4)
+                .containsEntry("keysWritten", 10)
+                .containsKey("wallTimeMs");
+    }
+
+    @Test
+    @DisplayName("Should write Redis-backed regions in a single pipeline")
+    void warm_WithRedisCaches_ShouldPipelineWrites() {
+        // Given
+        RedisCache redisCache = mock(RedisCache.class);
+        when(redisCache.getName()).thenReturn("post_content");
+        when(redisCache.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new GenericJackson2JsonRedisSerializer())));
+        when(cacheManager.getCache("post_content")).thenReturn(redisCache);
+        when(readPostRepository.findAllByOrderByPopularityScoreDesc(PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 2), false));
+
+        // When
+        warmer.warm(List.of(), postId -> "post:" + postId);
+
+        // Then
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(redisCache, never()).put(any(), any());
+        verify(readPostRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should drop L1 copies of two-level regions after writing them through the pipeline")
+    void warm_WithTwoLevelCaches_ShouldEvictL1AfterPipeline() {
+        // Given
+        RedisCache redisCache = mock(RedisCache.class);
+        when(redisCache.getName()).thenReturn("post_content");
+        when(redisCache.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new GenericJackson2JsonRedisSerializer())));
+        TwoLevelCache twoLevelCache = mock(TwoLevelCache.class);
+        when(twoLevelCache.getRemote()).thenReturn(redisCache);
+        when(cacheManager.getCache("post_content")).thenReturn(twoLevelCache);
+        when(readPostRepository.findAllByOrderByPopularityScoreDesc(PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 2), false));
+
+        // When
+        warmer.warm(List.of(), postId -> "post:" + postId);
+
+        // Then
+        InOrder inOrder = inOrder(stringRedisTemplate, twoLevelCache);
+        inOrder.verify(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+        inOrder.verify(twoLevelCache).evictWrittenRemotely(List.of("trending_posts_content_0_2"));
+        verify(twoLevelCache, never()).put(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should report hot layer hit rate uplift between warming windows")
+    void warm_ShouldReportHitRateUplift() {
+        // Given
+        when(readPostRepository.findAllByOrderByPopularityScoreDesc(any()))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 2), false));
+        when(cacheMetrics.getHits("hot_posts")).thenReturn(5L, 20L);
+        when(cacheMetrics.getMisses("hot_posts")).thenReturn(5L, 10L);
+
+        // When
+        warmer.warm(List.of(), postId -> "post:" + postId);
+        warmer.warm(List.of(), postId -> "post:" + postId);
+
+        // Then: 50% before, then 15 hits out of 20 requests
+        assertThat(warmer.getLastReport())
+                .containsEntry("hotHitRateSinceLastWarming", String.format("%.2f%%", 75.0))
+                .containsEntry("hotHitRateUplift", String.format("%+.2f%%", 25.0));
+    }
+
+    private ReadPost post(Long id) {
+        return ReadPost.builder().id(id).authorId(1L).content("Post " + id).build();
+    }
+}
@@ -1,28 +1,34 @@
 package com.puppies.api.read.service;
 
+import com.puppies.api.cache.coalescing.SingleFlightLoader;
+import com.puppies.api.cache.refresh.PageRefreshScheduler;
+import com.puppies.api.read.dto.SlicePage;
 import com.puppies.api.read.model.ReadFeedItem;
 import com.puppies.api.read.repository.ReadFeedItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -40,6 +46,12 @@ class QueryFeedServiceTest {
     @Mock
     private ReadFeedItemRepository readFeedItemRepository;
     
+    @Mock
+    private FeedHydrationService feedHydrationService;
+
+    @Mock
+    private TotalsService totalsService;
+    
     @Mock
     private CacheManager cacheManager;
     
@@ -49,6 +61,15 @@ class QueryFeedServiceTest {
     @Mock
     private Cache feedTotalCache;
 
+    @Mock
+    private PageGenerationService pageGenerationService;
+
+    @Mock
+    private SingleFlightLoader singleFlightLoader;
+
+    @Mock
+    private PageRefreshScheduler pageRefreshScheduler;
+
     @InjectMocks
     private QueryFeedService queryFeedService;
 
@@ -61,6 +82,16 @@ class QueryFeedServiceTest {
     @BeforeEach
     void setUp() {
         testUserId = 1L;
+        // Keep page keys unversioned so they read as plain prefixes
+        lenient().when(pageGenerationService.versionedPrefix(anyString(), anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        // Misses run their loader directly
+        lenient().when(singleFlightLoader.load(anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        // Pages are cached unstamped and every cached page reads as fresh
+        lenient().when(pageRefreshScheduler.stamp(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(pageRefreshScheduler.read(anyString(), anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(2) instanceof List<?> page ? page : null);
         
         testFeedItem1 = ReadFeedItem.builder()
                 .id(1L)
@@ -119,7 +150,7 @@ class QueryFeedServiceTest {
         // Given
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadFeedItem> expectedPage = new PageImpl<>(testFeedItems, pageable, testFeedItems.size());
+        Slice<ReadFeedItem> expectedPage = new SliceImpl<>(testFeedItems, pageable, false);
         
         when(cacheManager.getCache("feed_content")).thenReturn(feedContentCache);
         when(cacheManager.getCache("feed_total")).thenReturn(feedTotalCache);
@@ -127,15 +158,17 @@ class QueryFeedServiceTest {
         when(feedTotalCache.get(anyString())).thenReturn(null); // Cache miss
         when(readFeedItemRepository.findByUserIdOrderByCreatedAtDesc(testUserId, pageable))
                 .thenReturn(expectedPage);
+        when(totalsService.userFeedTotal(testUserId)).thenReturn(2L);
 
         // When
-        Page<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
+        SlicePage<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(2);
         assertThat(result.getContent()).containsExactlyElementsOf(testFeedItems);
         assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.isTotalExact()).isTrue();
 
         verify(readFeedItemRepository).findByUserIdOrderByCreatedAtDesc(testUserId, pageable);
         verify(feedContentCache).put(eq("user_feed_1_content_0_10"), eq(testFeedItems));
@@ -160,7 +193,7 @@ class QueryFeedServiceTest {
         });
 
         // When
-        Page<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
+        SlicePage<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -170,6 +203,33 @@ class QueryFeedServiceTest {
 
         // Verify database was not called
         verify(readFeedItemRepository, never()).findByUserIdOrderByCreatedAtDesc(any(), any());
+        verifyNoInteractions(totalsService);
+    }
+
+    @Test
+    @DisplayName("Should serve a cached user feed page and hand its reload to the refresh scheduler")
+    void getUserFeed_WhenCacheHit_ShouldPassBackgroundReload() {
+        // Given
+        int page = 0, size = 10;
+        Pageable pageable = PageRequest.of(page, size);
+        Cache.ValueWrapper cached = () -> testFeedItems;
+        when(cacheManager.getCache("feed_content")).thenReturn(feedContentCache);
+        when(cacheManager.getCache("feed_total")).thenReturn(feedTotalCache);
+        when(feedContentCache.get("user_feed_1_content_0_10")).thenReturn(cached);
+        when(feedTotalCache.get("user_feed_1_total")).thenReturn(() -> 2L);
+        when(readFeedItemRepository.findByUserIdOrderByCreatedAtDesc(testUserId, pageable))
+                .thenReturn(new SliceImpl<>(List.of(testFeedItem2), pageable, false));
+
+        // When
+        SlicePage<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(pageRefreshScheduler).read(eq("feed_content"), eq("user_feed_1_content_0_10"), eq(testFeedItems), refresh.capture());
+        refresh.getValue().run();
+
+        // Then
+        assertThat(result.getContent()).containsExactlyElementsOf(testFeedItems);
+        verify(readFeedItemRepository).findByUserIdOrderByCreatedAtDesc(testUserId, pageable);
+        verify(feedContentCache).put("user_feed_1_content_0_10", List.of(testFeedItem2));
     }
 
     @Test
@@ -178,7 +238,7 @@ class QueryFeedServiceTest {
         // Given
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadFeedItem> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+        Slice<ReadFeedItem> emptyPage = new SliceImpl<>(List.of(), pageable, false);
         
         when(cacheManager.getCache("feed_content")).thenReturn(feedContentCache);
         when(cacheManager.getCache("feed_total")).thenReturn(feedTotalCache);
@@ -186,9 +246,10 @@ class QueryFeedServiceTest {
         when(feedTotalCache.get(anyString())).thenReturn(null);
         when(readFeedItemRepository.findByUserIdOrderByCreatedAtDesc(testUserId, pageable))
                 .thenReturn(emptyPage);
+        when(totalsService.userFeedTotal(testUserId)).thenReturn(0L);
 
         // When
-        Page<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
+        SlicePage<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -198,13 +259,37 @@ class QueryFeedServiceTest {
         verify(readFeedItemRepository).findByUserIdOrderByCreatedAtDesc(testUserId, pageable);
     }
 
+    @Test
+    @DisplayName("Should read hydrated feed references when reference storage mode is active")
+    void getUserFeed_InReferenceMode_ShouldUseHydratedReferences() {
+        // Given
+        int page = 0, size = 10;
+        Pageable pageable = PageRequest.of(page, size);
+        Slice<ReadFeedItem> hydratedPage = new SliceImpl<>(testFeedItems, pageable, false);
+        
+        when(cacheManager.getCache("feed_content")).thenReturn(feedContentCache);
+        when(cacheManager.getCache("feed_total")).thenReturn(feedTotalCache);
+        when(feedContentCache.get(anyString())).thenReturn(null);
+        when(feedTotalCache.get(anyString())).thenReturn(null);
+        when(feedHydrationService.isReferenceMode()).thenReturn(true);
+        when(feedHydrationService.findUserFeed(testUserId, pageable)).thenReturn(hydratedPage);
+
+        // When
+        SlicePage<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
+
+        // Then
+        assertThat(result.getContent()).containsExactlyElementsOf(testFeedItems);
+        verifyNoInteractions(readFeedItemRepository);
+        verify(feedContentCache).put(eq("user_feed_1_content_0_10"), eq(testFeedItems));
+    }
+
     @Test
     @DisplayName("Should verify user feed is ordered by creation date (newest first)")
     void getUserFeed_ShouldOrderByCreatedAtDesc() {
         // Given
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadFeedItem> expectedPage = new PageImpl<>(testFeedItems, pageable, testFeedItems.size());
+        Slice<ReadFeedItem> expectedPage = new SliceImpl<>(testFeedItems, pageable, false);
         
         when(cacheManager.getCache("feed_content")).thenReturn(feedContentCache);
         when(cacheManager.getCache("feed_total")).thenReturn(feedTotalCache);
@@ -229,7 +314,7 @@ class QueryFeedServiceTest {
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
         List<ReadFeedItem> likedPosts = List.of(testLikedFeedItem);
-        Page<ReadFeedItem> expectedPage = new PageImpl<>(likedPosts, pageable, likedPosts.size());
+        Slice<ReadFeedItem> expectedPage = new SliceImpl<>(likedPosts, pageable, false);
         
         when(cacheManager.getCache("feed_content")).thenReturn(feedContentCache);
         when(cacheManager.getCache("feed_total")).thenReturn(feedTotalCache);
@@ -237,9 +322,10 @@ class QueryFeedServiceTest {
         when(feedTotalCache.get(anyString())).thenReturn(null); // Cache miss
         when(readFeedItemRepository.findByUserIdAndIsLikedByUserTrueOrderByCreatedAtDesc(testUserId, pageable))
                 .thenReturn(expectedPage);
+        when(totalsService.userLikedTotal(testUserId)).thenReturn(1L);
 
         // When
-        Page<ReadFeedItem> result = queryFeedService.getUserLikedPosts(testUserId, page, size);
+        SlicePage<ReadFeedItem> result = queryFeedService.getUserLikedPosts(testUserId, page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -272,7 +358,7 @@ class QueryFeedServiceTest {
         });
 
         // When
-        Page<ReadFeedItem> result = queryFeedService.getUserLikedPosts(testUserId, page, size);
+        SlicePage<ReadFeedItem> result = queryFeedService.getUserLikedPosts(testUserId, page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -290,7 +376,7 @@ class QueryFeedServiceTest {
         // Given
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadFeedItem> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+        Slice<ReadFeedItem> emptyPage = new SliceImpl<>(List.of(), pageable, false);
         
         when(cacheManager.getCache("feed_content")).thenReturn(feedContentCache);
         when(cacheManager.getCache("feed_total")).thenReturn(feedTotalCache);
@@ -298,9 +384,10 @@ class QueryFeedServiceTest {
         when(feedTotalCache.get(anyString())).thenReturn(null);
         when(readFeedItemRepository.findByUserIdAndIsLikedByUserTrueOrderByCreatedAtDesc(testUserId, pageable))
                 .thenReturn(emptyPage);
+        when(totalsService.userLikedTotal(testUserId)).thenReturn(0L);
 
         // When
-        Page<ReadFeedItem> result = queryFeedService.getUserLikedPosts(testUserId, page, size);
+        SlicePage<ReadFeedItem> result = queryFeedService.getUserLikedPosts(testUserId, page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -317,7 +404,7 @@ class QueryFeedServiceTest {
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
         List<ReadFeedItem> likedPosts = List.of(testLikedFeedItem);
-        Page<ReadFeedItem> expectedPage = new PageImpl<>(likedPosts, pageable, likedPosts.size());
+        Slice<ReadFeedItem> expectedPage = new SliceImpl<>(likedPosts, pageable, false);
         
         when(cacheManager.getCache("feed_content")).thenReturn(feedContentCache);
         when(cacheManager.getCache("feed_total")).thenReturn(feedTotalCache);
@@ -342,7 +429,7 @@ class QueryFeedServiceTest {
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
         List<ReadFeedItem> popularityOrderedItems = Arrays.asList(testFeedItem2, testFeedItem1); // Higher score first
-        Page<ReadFeedItem> expectedPage = new PageImpl<>(popularityOrderedItems, pageable, popularityOrderedItems.size());
+        Slice<ReadFeedItem> expectedPage = new SliceImpl<>(popularityOrderedItems, pageable, false);
         
         when(cacheManager.getCache("feed_content")).thenReturn(feedContentCache);
         when(cacheManager.getCache("feed_total")).thenReturn(feedTotalCache);
@@ -352,7 +439,7 @@ class QueryFeedServiceTest {
                 .thenReturn(expectedPage);
 
         // When
-        Page<ReadFeedItem> result = queryFeedService.getUserFeedByPopularity(testUserId, page, size);
+        SlicePage<ReadFeedItem> result = queryFeedService.getUserFeedByPopularity(testUserId, page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -369,7 +456,7 @@ class QueryFeedServiceTest {
         // Given
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadFeedItem> expectedPage = new PageImpl<>(testFeedItems, pageable, testFeedItems.size());
+        Slice<ReadFeedItem> expectedPage = new SliceImpl<>(testFeedItems, pageable, false);
         
         when(cacheManager.getCache("feed_content")).thenReturn(feedContentCache);
         when(cacheManager.getCache("feed_total")).thenReturn(feedTotalCache);
@@ -377,14 +464,16 @@ class QueryFeedServiceTest {
         when(feedTotalCache.get(anyString())).thenReturn(null);
         when(readFeedItemRepository.findAllByOrderByPopularityScoreDesc(pageable))
                 .thenReturn(expectedPage);
+        when(totalsService.estimatedTotal(TotalsService.FEED_ITEMS_TABLE)).thenReturn(2L);
 
         // When
-        Page<ReadFeedItem> result = queryFeedService.getTrendingFeed(page, size);
+        SlicePage<ReadFeedItem> result = queryFeedService.getTrendingFeed(page, size);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(2);
         assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.isTotalExact()).isFalse();
 
         verify(readFeedItemRepository).findAllByOrderByPopularityScoreDesc(pageable);
     }
@@ -420,13 +509,13 @@ class QueryFeedServiceTest {
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
         List<ReadFeedItem> authorPosts = List.of(testFeedItem1);
-        Page<ReadFeedItem> expectedPage = new PageImpl<>(authorPosts, pageable, authorPosts.size());
+        Slice<ReadFeedItem> expectedPage = new SliceImpl<>(authorPosts, pageable, false);
         
         when(readFeedItemRepository.findByUserIdAndPostAuthorIdOrderByCreatedAtDesc(testUserId, authorId, pageable))
                 .thenReturn(expectedPage);
 
         // When
-        Page<ReadFeedItem> result = queryFeedService.getAuthorPostsInFeed(testUserId, authorId, page, size);
+        SlicePage<ReadFeedItem> result = queryFeedService.getAuthorPostsInFeed(testUserId, authorId, page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -437,18 +526,18 @@ class QueryFeedServiceTest {
     }
 
     @Test
-    @DisplayName("Should count user feed items")
+    @DisplayName("Should count user feed items from the maintained counter")
     void countUserFeedItems_ShouldReturnCorrectCount() {
         // Given
         Long expectedCount = 5L;
-        when(readFeedItemRepository.countByUserId(testUserId)).thenReturn(expectedCount);
+        when(totalsService.userFeedTotal(testUserId)).thenReturn(expectedCount);
 
         // When
         Long result = queryFeedService.countUserFeedItems(testUserId);
 
         // Then
         assertThat(result).isEqualTo(expectedCount);
-        verify(readFeedItemRepository).countByUserId(testUserId);
+        verifyNoInteractions(readFeedItemRepository);
     }
 
     @Test
@@ -482,7 +571,7 @@ class QueryFeedServiceTest {
         // Given
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadFeedItem> expectedPage = new PageImpl<>(testFeedItems, pageable, testFeedItems.size());
+        Slice<ReadFeedItem> expectedPage = new SliceImpl<>(testFeedItems, pageable, false);
         
         when(cacheManager.getCache("feed_content")).thenReturn(null);
         when(cacheManager.getCache("feed_total")).thenReturn(null);
@@ -490,7 +579,7 @@ class QueryFeedServiceTest {
                 .thenReturn(expectedPage);
 
         // When
-        Page<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
+        SlicePage<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -504,14 +593,14 @@ class QueryFeedServiceTest {
         // Given
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadFeedItem> expectedPage = new PageImpl<>(testFeedItems, pageable, testFeedItems.size());
+        Slice<ReadFeedItem> expectedPage = new SliceImpl<>(testFeedItems, pageable, false);
         
         when(cacheManager.getCache("feed_content")).thenThrow(new RuntimeException("Cache error"));
         when(readFeedItemRepository.findByUserIdOrderByCreatedAtDesc(testUserId, pageable))
                 .thenReturn(expectedPage);
 
         // When
-        Page<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
+        SlicePage<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -527,7 +616,7 @@ class QueryFeedServiceTest {
         // Given
         int page = 1000, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadFeedItem> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+        Slice<ReadFeedItem> emptyPage = new SliceImpl<>(List.of(), pageable, false);
         
         when(cacheManager.getCache("feed_content")).thenReturn(feedContentCache);
         when(cacheManager.getCache("feed_total")).thenReturn(feedTotalCache);
@@ -535,9 +624,10 @@ class QueryFeedServiceTest {
         when(feedTotalCache.get(anyString())).thenReturn(null);
         when(readFeedItemRepository.findByUserIdOrderByCreatedAtDesc(testUserId, pageable))
                 .thenReturn(emptyPage);
+        when(totalsService.userFeedTotal(testUserId)).thenReturn(0L);
 
         // When
-        Page<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
+        SlicePage<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -551,7 +641,7 @@ class QueryFeedServiceTest {
         // Given
         int page = 0, size = 5;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadFeedItem> expectedPage = new PageImpl<>(testFeedItems.subList(0, 1), pageable, testFeedItems.size());
+        Slice<ReadFeedItem> expectedPage = new SliceImpl<>(testFeedItems.subList(0, 1), pageable, true);
         
         when(cacheManager.getCache("feed_content")).thenReturn(feedContentCache);
         when(cacheManager.getCache("feed_total")).thenReturn(feedTotalCache);
@@ -561,11 +651,12 @@ class QueryFeedServiceTest {
                 .thenReturn(expectedPage);
 
         // When
-        Page<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
+        SlicePage<ReadFeedItem> result = queryFeedService.getUserFeed(testUserId, page, size);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isTrue();
         verify(readFeedItemRepository).findByUserIdOrderByCreatedAtDesc(testUserId, pageable);
     }
 }
\ No newline at end of file
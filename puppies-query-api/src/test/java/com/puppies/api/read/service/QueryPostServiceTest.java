@@ -1,5 +1,9 @@
 package com.puppies.api.read.service;
 
+import com.puppies.api.cache.coalescing.SingleFlightLoader;
+import com.puppies.api.exception.InvalidCursorException;
+import com.puppies.api.read.dto.CursorPage;
+import com.puppies.api.read.dto.SlicePage;
 import com.puppies.api.read.model.ReadPost;
 import com.puppies.api.read.repository.ReadPostRepository;
 import com.puppies.api.read.service.PostCacheService;
@@ -11,19 +15,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +49,15 @@ class QueryPostServiceTest {
     @Mock
     private PostCacheService postCacheService;
 
+    @Mock
+    private TotalsService totalsService;
+
+    @Mock
+    private PageGenerationService pageGenerationService;
+
+    @Mock
+    private SingleFlightLoader singleFlightLoader;
+
     @InjectMocks
     private QueryPostService queryPostService;
 
@@ -51,6 +66,13 @@ class QueryPostServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Keep page keys unversioned so they read as plain prefixes
+        lenient().when(pageGenerationService.versionedPrefix(anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        // Misses run their loader directly
+        lenient().when(singleFlightLoader.load(anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+
         testPost = ReadPost.builder()
                 .id(1L)
                 .authorId(1L)
@@ -89,21 +111,24 @@ class QueryPostServiceTest {
         // Given
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadPost> expectedPage = new PageImpl<>(testPosts, pageable, testPosts.size());
+        Slice<ReadPost> expectedPage = new SliceImpl<>(testPosts, pageable, false);
         
         // Mock cache miss
-        when(postCacheService.getCachedPostContent("posts", page, size)).thenReturn(null);
+        when(postCacheService.getCachedPostContent(eq("posts"), eq(page), eq(size), any())).thenReturn(null);
         when(postCacheService.getCachedPostTotal("posts")).thenReturn(null);
         when(readPostRepository.findAllByOrderByCreatedAtDesc(pageable)).thenReturn(expectedPage);
+        when(totalsService.estimatedTotal(TotalsService.POSTS_TABLE)).thenReturn(2L);
 
         // When
-        Page<ReadPost> result = queryPostService.getAllPosts(page, size);
+        SlicePage<ReadPost> result = queryPostService.getAllPosts(page, size);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(2);
         assertThat(result.getContent()).containsExactlyElementsOf(testPosts);
         assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.isTotalExact()).isFalse();
+        assertThat(result.isHasNext()).isFalse();
 
         verify(readPostRepository).findAllByOrderByCreatedAtDesc(pageable);
         verify(postCacheService).cachePostContent("posts", page, size, testPosts);
@@ -117,11 +142,11 @@ class QueryPostServiceTest {
         int page = 0, size = 10;
         
         // Mock cache hit
-        when(postCacheService.getCachedPostContent("posts", page, size)).thenReturn(testPosts);
+        when(postCacheService.getCachedPostContent(eq("posts"), eq(page), eq(size), any())).thenReturn(testPosts);
         when(postCacheService.getCachedPostTotal("posts")).thenReturn(2L);
 
         // When
-        Page<ReadPost> result = queryPostService.getAllPosts(page, size);
+        SlicePage<ReadPost> result = queryPostService.getAllPosts(page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -131,6 +156,28 @@ class QueryPostServiceTest {
 
         // Verify database was not called
         verify(readPostRepository, never()).findAllByOrderByCreatedAtDesc(any());
+        verifyNoInteractions(totalsService);
+    }
+
+    @Test
+    @DisplayName("Should report a following page for a full cached page below the exact total")
+    void getPostsByAuthor_WhenCacheHitWithExactTotal_ShouldDeriveHasNext() {
+        // Given
+        Long authorId = 1L;
+        int size = 2;
+        when(postCacheService.getCachedPostContent(eq("author_posts_1"), eq(0), eq(size), any())).thenReturn(testPosts);
+        when(postCacheService.getCachedPostContent(eq("author_posts_1"), eq(1), eq(size), any())).thenReturn(testPosts);
+        when(postCacheService.getCachedPostTotal("author_posts_1")).thenReturn(4L);
+
+        // When
+        SlicePage<ReadPost> first = queryPostService.getPostsByAuthor(authorId, 0, size);
+        SlicePage<ReadPost> last = queryPostService.getPostsByAuthor(authorId, 1, size);
+
+        // Then
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getTotalElements()).isEqualTo(4);
+        verifyNoInteractions(readPostRepository, totalsService);
     }
 
     @Test
@@ -139,16 +186,17 @@ class QueryPostServiceTest {
         // Given
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadPost> expectedPage = new PageImpl<>(testPosts, pageable, testPosts.size());
+        Slice<ReadPost> expectedPage = new SliceImpl<>(testPosts, pageable, false);
         
         // Mock cache miss
-        when(postCacheService.getCachedPostContent("trending_posts", page, size)).thenReturn(null);
+        when(postCacheService.getCachedPostContent(eq("trending_posts"), eq(page), eq(size), any())).thenReturn(null);
         when(postCacheService.getCachedPostTotal("trending_posts")).thenReturn(null);
         when(readPostRepository.findAllByOrderByPopularityScoreDesc(pageable))
                 .thenReturn(expectedPage);
+        when(totalsService.estimatedTotal(TotalsService.POSTS_TABLE)).thenReturn(2L);
 
         // When
-        Page<ReadPost> result = queryPostService.getTrendingPosts(page, size);
+        SlicePage<ReadPost> result = queryPostService.getTrendingPosts(page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -168,13 +216,13 @@ class QueryPostServiceTest {
         String searchTerm = "test";
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadPost> expectedPage = new PageImpl<>(List.of(testPost), pageable, 1);
+        Slice<ReadPost> expectedPage = new SliceImpl<>(List.of(testPost), pageable, false);
         
         when(readPostRepository.searchByContent(searchTerm, pageable))
                 .thenReturn(expectedPage);
 
         // When
-        Page<ReadPost> result = queryPostService.searchPosts(searchTerm, page, size);
+        SlicePage<ReadPost> result = queryPostService.searchPosts(searchTerm, page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -224,21 +272,24 @@ class QueryPostServiceTest {
         Long authorId = 1L;
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadPost> expectedPage = new PageImpl<>(List.of(testPost), pageable, 1);
+        Slice<ReadPost> expectedPage = new SliceImpl<>(List.of(testPost), pageable, false);
         
         // Mock cache miss
-        when(postCacheService.getCachedPostContent("author_posts_" + authorId, page, size)).thenReturn(null);
+        when(postCacheService.getCachedPostContent(eq("author_posts_" + authorId), eq(page), eq(size), any())).thenReturn(null);
         when(postCacheService.getCachedPostTotal("author_posts_" + authorId)).thenReturn(null);
         when(readPostRepository.findByAuthorIdOrderByCreatedAtDesc(authorId, pageable))
                 .thenReturn(expectedPage);
+        when(totalsService.authorPostTotal(authorId)).thenReturn(1L);
 
         // When
-        Page<ReadPost> result = queryPostService.getPostsByAuthor(authorId, page, size);
+        SlicePage<ReadPost> result = queryPostService.getPostsByAuthor(authorId, page, size);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getAuthorId()).isEqualTo(authorId);
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        assertThat(result.isTotalExact()).isTrue();
 
         verify(readPostRepository).findByAuthorIdOrderByCreatedAtDesc(authorId, pageable);
         verify(postCacheService).cachePostContent("author_posts_" + authorId, page, size, List.of(testPost));
@@ -251,16 +302,17 @@ class QueryPostServiceTest {
         // Given
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadPost> expectedPage = new PageImpl<>(List.of(testPost), pageable, 1);
+        Slice<ReadPost> expectedPage = new SliceImpl<>(List.of(testPost), pageable, false);
         
         // Mock cache miss
-        when(postCacheService.getCachedPostContent("popular_posts", page, size)).thenReturn(null);
+        when(postCacheService.getCachedPostContent(eq("popular_posts"), eq(page), eq(size), any())).thenReturn(null);
         when(postCacheService.getCachedPostTotal("popular_posts")).thenReturn(null);
         when(readPostRepository.findAllByOrderByLikeCountDesc(pageable))
                 .thenReturn(expectedPage);
+        when(totalsService.estimatedTotal(TotalsService.POSTS_TABLE)).thenReturn(1L);
 
         // When
-        Page<ReadPost> result = queryPostService.getPopularPosts(page, size);
+        SlicePage<ReadPost> result = queryPostService.getPopularPosts(page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -279,18 +331,19 @@ class QueryPostServiceTest {
         String searchTerm = "nonexistent";
         int page = 0, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadPost> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+        Slice<ReadPost> emptyPage = new SliceImpl<>(List.of(), pageable, false);
         
         when(readPostRepository.searchByContent(searchTerm, pageable))
                 .thenReturn(emptyPage);
 
         // When
-        Page<ReadPost> result = queryPostService.searchPosts(searchTerm, page, size);
+        SlicePage<ReadPost> result = queryPostService.searchPosts(searchTerm, page, size);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).isEmpty();
-        assertThat(result.getTotalElements()).isEqualTo(0);
+        assertThat(result.getTotalElements()).isNull();
+        assertThat(result.isHasNext()).isFalse();
 
         verify(readPostRepository).searchByContent(searchTerm, pageable);
     }
@@ -301,15 +354,16 @@ class QueryPostServiceTest {
         // Given
         int page = 1000, size = 10;
         Pageable pageable = PageRequest.of(page, size);
-        Page<ReadPost> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+        Slice<ReadPost> emptyPage = new SliceImpl<>(List.of(), pageable, false);
         
         // Mock cache miss
-        when(postCacheService.getCachedPostContent("posts", page, size)).thenReturn(null);
+        when(postCacheService.getCachedPostContent(eq("posts"), eq(page), eq(size), any())).thenReturn(null);
         when(postCacheService.getCachedPostTotal("posts")).thenReturn(null);
         when(readPostRepository.findAllByOrderByCreatedAtDesc(pageable)).thenReturn(emptyPage);
+        when(totalsService.estimatedTotal(TotalsService.POSTS_TABLE)).thenReturn(0L);
 
         // When
-        Page<ReadPost> result = queryPostService.getAllPosts(page, size);
+        SlicePage<ReadPost> result = queryPostService.getAllPosts(page, size);
 
         // Then
         assertThat(result).isNotNull();
@@ -330,4 +384,45 @@ class QueryPostServiceTest {
             queryPostService.getAllPosts(page, size);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should seek the next cursor page without counting and hand back an opaque cursor")
+    void getAllPostsAfter_ShouldSeekFromCursor() {
+        // Given - first page of one post, with one extra row signalling another page
+        when(readPostRepository.findAllByOrderByCreatedAtDescIdDesc(PageRequest.of(0, 2)))
+                .thenReturn(List.of(testPost, testPosts.get(0)));
+
+        // When
+        CursorPage<ReadPost> first = queryPostService.getAllPostsAfter(null, 1);
+
+        // Then
+        assertThat(first.getContent()).containsExactly(testPost);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getNextCursor()).isNotBlank();
+        verify(postCacheService).cacheCursorContent("posts", null, 1, List.of(testPost, testPosts.get(0)));
+
+        // Given - the cursor seeks past the last returned row
+        when(readPostRepository.findPostsBefore(testPost.getCreatedAt(), testPost.getId(), PageRequest.of(0, 2)))
+                .thenReturn(List.of(testPosts.get(0)));
+
+        // When
+        CursorPage<ReadPost> second = queryPostService.getAllPostsAfter(first.getNextCursor(), 1);
+
+        // Then
+        assertThat(second.getContent()).containsExactly(testPosts.get(0));
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        verify(readPostRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for a different ordering")
+    void getTrendingPostsAfter_WithCreatedAtCursor_ShouldReject() {
+        // Given
+        String latestCursor = KeysetCursor.ofCreatedAt(testPost.getCreatedAt(), testPost.getId()).encode();
+
+        // When & Then
+        assertThrows(InvalidCursorException.class, () -> queryPostService.getTrendingPostsAfter(latestCursor, 10));
+        assertThrows(InvalidCursorException.class, () -> queryPostService.getTrendingPostsAfter("not-a-cursor", 10));
+    }
+}
@@ -0,0 +1,133 @@
+package com.puppies.api.read.service;
+
+import com.puppies.api.config.QueryCacheProperties;
+import com.puppies.api.read.model.ReadCounter;
+import com.puppies.api.read.model.ReadUserProfile;
+import com.puppies.api.read.repository.ReadCounterRepository;
+import com.puppies.api.read.repository.ReadUserProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TotalsService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TotalsService Tests")
+class TotalsServiceTest {
+
+    @Mock
+    private ReadCounterRepository readCounterRepository;
+
+    @Mock
+    private ReadUserProfileRepository readUserProfileRepository;
+
+    private QueryCacheProperties cacheProperties;
+
+    private TotalsService totalsService;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new QueryCacheProperties();
+        totalsService = new TotalsService(readCounterRepository, readUserProfileRepository, cacheProperties);
+    }
+
+    @Test
+    @DisplayName("Should read feed and author totals from their counters")
+    void counterTotals_ShouldReadCounters() {
+        // Given
+        when(readCounterRepository.findValueByCounterKey(ReadCounter.feedKey(1L))).thenReturn(Optional.of(12L));
+        when(readCounterRepository.findValueByCounterKey(ReadCounter.authorPostsKey(2L))).thenReturn(Optional.of(3L));
+
+        // When / Then
+        assertThat(totalsService.userFeedTotal(1L)).isEqualTo(12L);
+        assertThat(totalsService.authorPostTotal(2L)).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Should report zero for a counter that was never written")
+    void userFeedTotal_WithoutCounter_ShouldBeZero() {
+        // Given
+        when(readCounterRepository.findValueByCounterKey(ReadCounter.feedKey(1L))).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThat(totalsService.userFeedTotal(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report an unknown total rather than fail when the counter cannot be read")
+    void authorPostTotal_WhenRepositoryFails_ShouldBeNull() {
+        // Given
+        when(readCounterRepository.findValueByCounterKey(ReadCounter.authorPostsKey(2L)))
+                .thenThrow(new RuntimeException("connection refused"));
+
+        // When / Then
+        assertThat(totalsService.authorPostTotal(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should read the liked total from the user profile, defaulting to zero")
+    void userLikedTotal_ShouldUseProfile() {
+        // Given
+        when(readUserProfileRepository.findById(1L))
+                .thenReturn(Optional.of(ReadUserProfile.builder().id(1L).totalLikesGiven(8L).build()));
+        when(readUserProfileRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThat(totalsService.userLikedTotal(1L)).isEqualTo(8L);
+        assertThat(totalsService.userLikedTotal(2L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reuse a table estimate within its TTL")
+    void estimatedTotal_WithinTtl_ShouldReadOnce() {
+        // Given
+        cacheProperties.getTotals().setEstimateTtl(Duration.ofMinutes(1));
+        when(readCounterRepository.findEstimatedRowCount(TotalsService.POSTS_TABLE)).thenReturn(Optional.of(5000L));
+
+        // When
+        Long first = totalsService.estimatedTotal(TotalsService.POSTS_TABLE);
+        Long second = totalsService.estimatedTotal(TotalsService.POSTS_TABLE);
+
+        // Then
+        assertThat(first).isEqualTo(5000L);
+        assertThat(second).isEqualTo(5000L);
+        verify(readCounterRepository, times(1)).findEstimatedRowCount(TotalsService.POSTS_TABLE);
+    }
+
+    @Test
+    @DisplayName("Should re-read a table estimate once its TTL has passed")
+    void estimatedTotal_AfterTtl_ShouldReread() {
+        // Given
+        cacheProperties.getTotals().setEstimateTtl(Duration.ZERO);
+        when(readCounterRepository.findEstimatedRowCount(TotalsService.FEED_ITEMS_TABLE))
+                .thenReturn(Optional.of(100L), Optional.of(150L));
+
+        // When
+        totalsService.estimatedTotal(TotalsService.FEED_ITEMS_TABLE);
+        Long second = totalsService.estimatedTotal(TotalsService.FEED_ITEMS_TABLE);
+
+        // Then
+        assertThat(second).isEqualTo(150L);
+        verify(readCounterRepository, times(2)).findEstimatedRowCount(TotalsService.FEED_ITEMS_TABLE);
+    }
+
+    @Test
+    @DisplayName("Should treat a never-analyzed table's negative estimate as unknown")
+    void estimatedTotal_WithNegativeEstimate_ShouldBeNull() {
+        // Given
+        when(readCounterRepository.findEstimatedRowCount(TotalsService.POSTS_TABLE)).thenReturn(Optional.of(-1L));
+
+        // When / Then
+        assertThat(totalsService.estimatedTotal(TotalsService.POSTS_TABLE)).isNull();
+    }
+}
@@ -0,0 +1,116 @@
+package com.puppies.api.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JwtAuthFilter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthFilter Tests")
+class JwtAuthFilterTest {
+
+    private static final String TOKEN = "header.payload.signature";
+    private static final String EMAIL = "john@example.com";
+
+    @Mock
+    private JwtService jwtService;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should verify a repeated token once and serve it from the token cache")
+    void doFilter_WithRepeatedToken_ShouldVerifyOnce() throws Exception {
+        // Given
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, new JwtTokenCache(true, 100, now::get));
+        when(jwtService.parse(TOKEN)).thenReturn(new JwtService.ParsedToken(EMAIL, now.get() + 60_000));
+
+        // When
+        Authentication first = filter(filter, TOKEN);
+        Authentication second = filter(filter, TOKEN);
+
+        // Then
+        assertThat(((UserDetails) first.getPrincipal()).getUsername()).isEqualTo(EMAIL);
+        assertThat(second.getPrincipal()).isSameAs(first.getPrincipal());
+        verify(jwtService, times(1)).parse(TOKEN);
+    }
+
+    @Test
+    @DisplayName("Should verify a cached token again once it has expired")
+    void doFilter_AfterTokenExpiry_ShouldVerifyAgain() throws Exception {
+        // Given
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, new JwtTokenCache(true, 100, now::get));
+        when(jwtService.parse(TOKEN))
+                .thenReturn(new JwtService.ParsedToken(EMAIL, now.get() + 60_000))
+                .thenThrow(new RuntimeException("token expired"));
+        filter(filter, TOKEN);
+
+        // When
+        now.addAndGet(60_000);
+        Authentication authentication = filter(filter, TOKEN);
+
+        // Then
+        assertThat(authentication).isNull();
+        verify(jwtService, times(2)).parse(TOKEN);
+    }
+
+    @Test
+    @DisplayName("Should verify every request when the token cache is disabled")
+    void doFilter_WithCacheDisabled_ShouldVerifyEachRequest() throws Exception {
+        // Given
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, new JwtTokenCache(false, 100, now::get));
+        when(jwtService.parse(TOKEN)).thenReturn(new JwtService.ParsedToken(EMAIL, now.get() + 60_000));
+
+        // When
+        filter(filter, TOKEN);
+        Authentication authentication = filter(filter, TOKEN);
+
+        // Then
+        assertThat(((UserDetails) authentication.getPrincipal()).getUsername()).isEqualTo(EMAIL);
+        verify(jwtService, times(2)).parse(TOKEN);
+    }
+
+    @Test
+    @DisplayName("Should continue unauthenticated without a bearer token")
+    void doFilter_WithoutBearerToken_ShouldSkip() throws Exception {
+        // Given
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, new JwtTokenCache(true, 100, now::get));
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isNotNull();
+        verifyNoInteractions(jwtService);
+    }
+
+    private static Authentication filter(JwtAuthFilter filter, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
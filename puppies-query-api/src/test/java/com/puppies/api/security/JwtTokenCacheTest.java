@@ -0,0 +1,66 @@
+package com.puppies.api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for JwtTokenCache.
+ */
+@DisplayName("JwtTokenCache Tests")
+class JwtTokenCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final UserDetails principal = User.builder()
+            .username("john@example.com")
+            .password("")
+            .authorities(Collections.emptyList())
+            .build();
+
+    private JwtTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JwtTokenCache(true, 100, now::get);
+    }
+
+    @Test
+    @DisplayName("Should return the cached principal until the token expires")
+    void get_ShouldHitUntilTokenExpiry() {
+        // Given
+        TokenDigest digest = TokenDigest.of("header.payload.signature");
+        cache.put(digest, principal, now.get() + 60_000);
+
+        // When / Then
+        assertThat(cache.get(digest)).isSameAs(principal);
+        assertThat(cache.get(TokenDigest.of("header.payload.signature"))).isSameAs(principal);
+        now.addAndGet(60_000);
+        assertThat(cache.get(digest)).isNull();
+        assertThat(cache.getStats())
+                .containsEntry("hits", 2L)
+                .containsEntry("misses", 1L);
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that are already expired or unknown")
+    void put_WithExpiredToken_ShouldMiss() {
+        // Given
+        TokenDigest expired = TokenDigest.of("expired.token.signature");
+        cache.put(expired, principal, now.get() - 1);
+
+        // When / Then
+        assertThat(cache.get(expired)).isNull();
+        assertThat(cache.get(TokenDigest.of("other.token.signature"))).isNull();
+        assertThat(cache.getStats())
+                .containsEntry("hits", 0L)
+                .containsEntry("misses", 2L)
+                .containsEntry("hitRate", 0.0);
+    }
+}
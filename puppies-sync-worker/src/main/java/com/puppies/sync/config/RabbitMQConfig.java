@@ -39,14 +39,21 @@ public class RabbitMQConfig {
     }
 
     /**
-     * Rabbit listener container factory with JSON converter
+     * Rabbit listener container factory with JSON converter.
+     * 
+     * Each queue keeps exactly one consumer so messages are received in order; the
+     * parallelism comes from PartitionedEventExecutor lanes keyed by aggregate ID.
+     * Raising consumer concurrency here would reorder events for the same post.
      */
     @Bean
     public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
-            ConnectionFactory connectionFactory) {
+            ConnectionFactory connectionFactory, SyncProperties syncProperties) {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(jsonMessageConverter());
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        factory.setPrefetchCount(Math.max(1, syncProperties.getPartitions().getPrefetch()));
         return factory;
     }
-}
\ No newline at end of file
+}
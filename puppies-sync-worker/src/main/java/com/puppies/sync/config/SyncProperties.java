@@ -0,0 +1,151 @@
+package com.puppies.sync.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Tuning properties for the Sync Worker write paths.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "sync")
+@Data
+public class SyncProperties {
+
+    private FanOut fanOut = new FanOut();
+
+    private LikeBatch likeBatch = new LikeBatch();
+
+    private Partitions partitions = new Partitions();
+
+    private Feed feed = new Feed();
+
+    private Invalidation invalidation = new Invalidation();
+
+    /**
+     * How feed entries are stored in the Read Store.
+     */
+    public enum FeedStorageMode {
+        /** Denormalized copies of each post in read_feed_items */
+        COPY,
+        /** Narrow (user, post) references in read_feed_refs, hydrated from read_posts on read */
+        REFERENCE
+    }
+
+    /**
+     * Feed storage settings.
+     */
+    @Data
+    public static class Feed {
+
+        /**
+         * Whether fan-out writes full copies or references. Must match feed.storage-mode in the Query API.
+         * Default: COPY
+         */
+        private FeedStorageMode storageMode = FeedStorageMode.COPY;
+
+        public boolean isReferenceMode() {
+            return storageMode == FeedStorageMode.REFERENCE;
+        }
+    }
+
+    /**
+     * Query API cache invalidation settings.
+     */
+    @Data
+    public static class Invalidation {
+
+        /**
+         * Publish the cache keys touched by each committed read store update.
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Redis pub/sub channel the Query API listens on. Must match cqrs.cache.invalidation.channel.
+         * Default: puppies:cache:read-model-invalidation
+         */
+        private String channel = "puppies:cache:read-model-invalidation";
+
+        /**
+         * Redis key prefix of the listing generation counters bumped before publishing.
+         * Must match the Query API's PageGenerationService.
+         * Default: cache:generation:
+         */
+        private String generationKeyPrefix = "cache:generation:";
+
+        /**
+         * Redis lifetime of a generation counter, refreshed on every bump; must exceed every
+         * Query API page TTL, otherwise a reset counter could resurrect old pages.
+         * Default: 1d
+         */
+        private Duration generationTtl = Duration.ofDays(1);
+    }
+
+    /**
+     * Feed fan-out settings used when a new post is copied into recipients' feeds.
+     */
+    @Data
+    public static class FanOut {
+
+        /**
+         * Number of recipient IDs read per page and written per JDBC batch.
+         * Default: 500
+         */
+        private int batchSize = 500;
+    }
+
+    /**
+     * Micro-batching settings for the shared like/unlike accumulator.
+     */
+    @Data
+    public static class LikeBatch {
+
+        /**
+         * Coalesce like and unlike events in windows instead of applying them one at a time.
+         * Default: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of events that triggers an early flush of the current window.
+         * Should not exceed sync.partitions.prefetch, or windows only flush on max wait.
+         * Default: 100
+         */
+        private int size = 100;
+
+        /**
+         * Maximum time an event waits in the window before it is flushed.
+         * Default: 200ms
+         */
+        private long maxWaitMs = 200;
+    }
+
+    /**
+     * Ordered lane settings for parallel event processing.
+     */
+    @Data
+    public static class Partitions {
+
+        /**
+         * Number of single-threaded lanes events are hashed onto by aggregate ID.
+         * Default: 4
+         */
+        private int lanes = 4;
+
+        /**
+         * Unacked messages a queue consumer may hand to the lanes at once.
+         * Default: 250
+         */
+        private int prefetch = 250;
+
+        /**
+         * How long a like or unlike stays parked, unacked, waiting for its post to reach the read
+         * store before it is dead-lettered. Parked messages count against the prefetch.
+         * Default: 30000ms
+         */
+        private long parkTimeoutMs = 30000;
+    }
+}
@@ -2,6 +2,7 @@ package com.puppies.sync.consumer;
 
 import com.puppies.sync.event.PostCreatedEvent;
 import com.puppies.sync.event.PostLikedEvent;
+import com.puppies.sync.event.PostUnlikedEvent;
 import com.puppies.sync.event.UserCreatedEvent;
 import com.puppies.sync.service.ReadStoreUpdateService;
 import lombok.RequiredArgsConstructor;
@@ -9,9 +10,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * RabbitMQ event consumer that listens to events from Command API
- * and updates the Read database accordingly
+ * and updates the Read database accordingly.
+ * 
+ * Single-message handlers run on ordered lanes keyed by aggregate ID and return the
+ * lane's future, so each message is acked only once its read store update completes.
+ * Creations and likes come from different queues, so a like can still reach the lane before
+ * its post exists; it is then parked in {@link ParkedLikeEvents}, still unacked, and replayed
+ * on the lane right after the post is created.
  */
 @Component
 @RequiredArgsConstructor
@@ -19,34 +28,85 @@ import org.springframework.stereotype.Component;
 public class EventConsumer {
 
     private final ReadStoreUpdateService readStoreUpdateService;
+    private final PartitionedEventExecutor partitionedEventExecutor;
+    private final LikeDeltaAccumulator likeDeltaAccumulator;
+    private final ParkedLikeEvents parkedLikeEvents;
 
     @RabbitListener(queues = "puppies.post.created.queue")
-    public void handlePostCreated(PostCreatedEvent event) {
+    public CompletableFuture<Void> handlePostCreated(PostCreatedEvent event) {
         if (event != null) {
             log.info("🔄 Processing PostCreatedEvent: {}", event.getPostId());
         } else {
             log.warn("⚠️ Received null PostCreatedEvent");
         }
-        readStoreUpdateService.handlePostCreated(event);
+        return partitionedEventExecutor.submit(event != null ? event.getPostId() : null, () -> {
+            readStoreUpdateService.handlePostCreated(event);
+            if (event != null) {
+                parkedLikeEvents.replay(event.getPostId());
+            }
+        });
     }
 
+    /**
+     * With sync.like-batch.enabled, likes go through the shared like/unlike accumulator, whose
+     * windows are applied on the posts' lanes, and are acked when their window commits;
+     * otherwise each like is applied on its post's lane. Either way a like for a post that is not
+     * in the read store yet is parked until the post is created.
+     */
     @RabbitListener(queues = "puppies.post.liked.queue")
-    public void handlePostLiked(PostLikedEvent event) {
+    public CompletableFuture<Void> handlePostLiked(PostLikedEvent event) {
         if (event != null) {
             log.info("❤️ Processing PostLikedEvent: {}", event.getPostId());
         } else {
             log.warn("⚠️ Received null PostLikedEvent");
         }
-        readStoreUpdateService.handlePostLiked(event);
+        if (event != null && likeDeltaAccumulator.isEnabled()) {
+            return likeDeltaAccumulator.recordLike(event);
+        }
+        return submitLikeChange(event != null ? event.getPostId() : null,
+                () -> readStoreUpdateService.handlePostLiked(event));
+    }
+
+    /**
+     * Unlikes share the like accumulator, so a like and unlike in the same window cancel out.
+     */
+    @RabbitListener(queues = "puppies.post.unliked.queue")
+    public CompletableFuture<Void> handlePostUnliked(PostUnlikedEvent event) {
+        if (event != null) {
+            log.info("💔 Processing PostUnlikedEvent: {}", event.getPostId());
+        } else {
+            log.warn("⚠️ Received null PostUnlikedEvent");
+        }
+        if (event != null && likeDeltaAccumulator.isEnabled()) {
+            return likeDeltaAccumulator.recordUnlike(event);
+        }
+        return submitLikeChange(event != null ? event.getPostId() : null,
+                () -> readStoreUpdateService.handlePostUnliked(event));
     }
 
     @RabbitListener(queues = "puppies.user.created.queue")
-    public void handleUserCreated(UserCreatedEvent event) {
+    public CompletableFuture<Void> handleUserCreated(UserCreatedEvent event) {
         if (event != null) {
             log.info("👤 Processing UserCreatedEvent: {}", event.getUserId());
         } else {
             log.warn("⚠️ Received null UserCreatedEvent");
         }
-        readStoreUpdateService.handleUserCreated(event);
+        return partitionedEventExecutor.submit(event != null ? event.getUserId() : null,
+                () -> readStoreUpdateService.handleUserCreated(event));
+    }
+
+    /**
+     * Apply a like or unlike on its post's lane, parking it if the post does not exist yet.
+     * The returned future completes once the change is applied, which may be after a replay.
+     */
+    private CompletableFuture<Void> submitLikeChange(Long postId, Runnable apply) {
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        partitionedEventExecutor.submit(postId, () -> parkedLikeEvents.applyOrPark(postId, apply, ack))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        ack.completeExceptionally(error);
+                    }
+                });
+        return ack;
     }
-}
\ No newline at end of file
+}
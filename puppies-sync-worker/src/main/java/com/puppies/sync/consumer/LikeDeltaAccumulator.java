@@ -0,0 +1,246 @@
+package com.puppies.sync.consumer;
+
+import com.puppies.sync.config.SyncProperties;
+import com.puppies.sync.event.PostLikedEvent;
+import com.puppies.sync.event.PostUnlikedEvent;
+import com.puppies.sync.service.LikeDelta;
+import com.puppies.sync.service.ReadStoreUpdateService;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared net-delta accumulator for like and unlike events.
+ * 
+ * Events from both queues are folded into one window keyed by (post, user). A like counts +1
+ * and an unlike -1, so flapping within a window cancels out before touching the database.
+ * A window is flushed when it reaches the configured size or after the configured max wait.
+ * The window is split by lane and each part is applied in one transaction on the
+ * {@link PartitionedEventExecutor} lane owning its posts, so likes stay ordered behind the
+ * post's creation exactly as on the unbatched path. Deltas for a post that is not in the read
+ * store yet, or that already has parked events, are parked in {@link ParkedLikeEvents} and
+ * applied once the post is created. Each recorded event gets a future that completes when its
+ * post's deltas commit, which is what the listener acks on.
+ */
+@Component
+@Slf4j
+public class LikeDeltaAccumulator {
+
+    private final ReadStoreUpdateService readStoreUpdateService;
+    private final PartitionedEventExecutor partitionedEventExecutor;
+    private final ParkedLikeEvents parkedLikeEvents;
+    private final SyncProperties.LikeBatch settings;
+    private final ScheduledExecutorService flusher;
+
+    private final Object lock = new Object();
+    private Map<LikeKey, LikeDelta> window = new LinkedHashMap<>();
+    private Map<Long, List<CompletableFuture<Void>>> waitersByPost = new HashMap<>();
+    private int pendingEvents;
+
+    private final AtomicLong eventsRecorded = new AtomicLong();
+    private final AtomicLong eventsCancelled = new AtomicLong();
+    private final AtomicLong windowsFlushed = new AtomicLong();
+
+    public LikeDeltaAccumulator(ReadStoreUpdateService readStoreUpdateService,
+                                PartitionedEventExecutor partitionedEventExecutor,
+                                ParkedLikeEvents parkedLikeEvents,
+                                SyncProperties syncProperties) {
+        this.readStoreUpdateService = readStoreUpdateService;
+        this.partitionedEventExecutor = partitionedEventExecutor;
+        this.parkedLikeEvents = parkedLikeEvents;
+        this.settings = syncProperties.getLikeBatch();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sync-like-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (settings.isEnabled()) {
+            long maxWaitMs = Math.max(1, settings.getMaxWaitMs());
+            flusher.scheduleWithFixedDelay(this::flush, maxWaitMs, maxWaitMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Whether like/unlike events should be routed through the accumulator.
+     */
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    public CompletableFuture<Void> recordLike(PostLikedEvent event) {
+        return record(event.getPostId(), event.getUserId(), 1, event.getLikedAt());
+    }
+
+    public CompletableFuture<Void> recordUnlike(PostUnlikedEvent event) {
+        return record(event.getPostId(), event.getUserId(), -1, event.getUnlikedAt());
+    }
+
+    /**
+     * Accumulator statistics.
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "eventsRecorded", eventsRecorded.get(),
+            "eventsCancelled", eventsCancelled.get(),
+            "windowsFlushed", windowsFlushed.get()
+        );
+    }
+
+    private CompletableFuture<Void> record(Long postId, Long userId, int delta, LocalDateTime at) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        boolean full;
+        synchronized (lock) {
+            LikeDelta pending = window.computeIfAbsent(new LikeKey(postId, userId),
+                    key -> LikeDelta.builder().postId(postId).userId(userId).build());
+            if (pending.getDelta() != 0 && Integer.signum(pending.getDelta()) != Integer.signum(delta)) {
+                eventsCancelled.addAndGet(2);
+            }
+            pending.setDelta(pending.getDelta() + delta);
+            if (at != null && (pending.getLastActiveAt() == null || at.isAfter(pending.getLastActiveAt()))) {
+                pending.setLastActiveAt(at);
+            }
+            waitersByPost.computeIfAbsent(postId, key -> new ArrayList<>()).add(future);
+            full = ++pendingEvents >= Math.max(1, settings.getSize());
+        }
+        eventsRecorded.incrementAndGet();
+        if (full) {
+            flusher.execute(this::flush);
+        }
+        return future;
+    }
+
+    /**
+     * Hand the current window to the event lanes. Runs only on the flusher thread, and each lane
+     * applies its parts in submission order, so windows touching a post are applied in order.
+     */
+    void flush() {
+        Map<LikeKey, LikeDelta> toApply;
+        Map<Long, List<CompletableFuture<Void>>> toComplete;
+        int events;
+        synchronized (lock) {
+            if (pendingEvents == 0) {
+                return;
+            }
+            toApply = window;
+            toComplete = waitersByPost;
+            events = pendingEvents;
+            window = new LinkedHashMap<>();
+            waitersByPost = new HashMap<>();
+            pendingEvents = 0;
+        }
+
+        Map<Integer, List<LikeDelta>> deltasByLane = new LinkedHashMap<>();
+        for (LikeDelta delta : toApply.values()) {
+            deltasByLane.computeIfAbsent(partitionedEventExecutor.laneFor(delta.getPostId()), lane -> new ArrayList<>())
+                    .add(delta);
+        }
+        windowsFlushed.incrementAndGet();
+        log.debug("📦 Flushing like window: {} events across {} lanes", events, deltasByLane.size());
+
+        for (List<LikeDelta> laneDeltas : deltasByLane.values()) {
+            partitionedEventExecutor.submit(laneDeltas.get(0).getPostId(), () -> applyOnLane(laneDeltas, toComplete))
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            laneDeltas.stream()
+                                    .map(LikeDelta::getPostId)
+                                    .distinct()
+                                    .forEach(postId -> settle(toComplete.get(postId), error));
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Apply one lane's part of a window in one transaction. Runs on the lane, so parking decisions
+     * for its posts cannot race with their creation.
+     */
+    private void applyOnLane(List<LikeDelta> laneDeltas, Map<Long, List<CompletableFuture<Void>>> waitersByPost) {
+        Map<Long, List<LikeDelta>> deltasByPost = new LinkedHashMap<>();
+        for (LikeDelta delta : laneDeltas) {
+            deltasByPost.computeIfAbsent(delta.getPostId(), postId -> new ArrayList<>()).add(delta);
+        }
+
+        // Posts with parked events keep their order by parking behind them
+        List<LikeDelta> ready = new ArrayList<>();
+        deltasByPost.forEach((postId, postDeltas) -> {
+            if (parkedLikeEvents.hasParked(postId)) {
+                park(postId, postDeltas, waitersByPost.get(postId));
+            } else {
+                ready.addAll(postDeltas);
+            }
+        });
+        if (ready.isEmpty()) {
+            return;
+        }
+
+        Set<Long> missingPostIds;
+        try {
+            missingPostIds = readStoreUpdateService.applyLikeDeltas(ready);
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to apply like window part of {} changes", ready.size(), e);
+            ready.stream().map(LikeDelta::getPostId).distinct().forEach(postId -> settle(waitersByPost.get(postId), e));
+            return;
+        }
+        ready.stream().map(LikeDelta::getPostId).distinct().forEach(postId -> {
+            if (missingPostIds.contains(postId)) {
+                park(postId, deltasByPost.get(postId), waitersByPost.get(postId));
+            } else {
+                settle(waitersByPost.get(postId), null);
+            }
+        });
+    }
+
+    private void park(Long postId, List<LikeDelta> postDeltas, List<CompletableFuture<Void>> waiters) {
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        ack.whenComplete((ignored, error) -> settle(waiters, error));
+        parkedLikeEvents.park(postId, () -> readStoreUpdateService.applyLikeDeltas(postDeltas), ack);
+    }
+
+    private static void settle(List<CompletableFuture<Void>> waiters, Throwable error) {
+        if (waiters == null) {
+            return;
+        }
+        if (error == null) {
+            waiters.forEach(f -> f.complete(null));
+            return;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        waiters.forEach(f -> f.completeExceptionally(cause));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Hand whatever is pending to the lanes before the flusher stops accepting work
+        flusher.execute(this::flush);
+        flusher.shutdown();
+        try {
+            // The lanes are shut down after this bean, so let the last flush reach them first
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class LikeKey {
+        private final Long postId;
+        private final Long userId;
+    }
+}
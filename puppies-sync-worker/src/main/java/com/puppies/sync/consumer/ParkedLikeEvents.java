@@ -0,0 +1,164 @@
+package com.puppies.sync.consumer;
+
+import com.puppies.sync.config.SyncProperties;
+import com.puppies.sync.service.ReadStoreUpdateService.MissingPostException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Like and unlike events held back until their post reaches the read store.
+ *
+ * Post creations and likes arrive on separate queues, so lanes alone cannot stop a like from
+ * reaching its post's lane before the post exists. Such a like is parked with its message
+ * still unacked, later likes for the same post queue up behind it, and the post's creation
+ * replays them in order on the same lane. Events still parked after the timeout are rejected
+ * without requeue, so they end up in the dead letter queue instead of being dropped.
+ *
+ * Everything for a post runs on that post's lane, including expiry.
+ */
+@Component
+@Slf4j
+public class ParkedLikeEvents {
+
+    private final PartitionedEventExecutor partitionedEventExecutor;
+    private final long timeoutMs;
+    private final ScheduledExecutorService sweeper;
+
+    private final Map<Long, Deque<ParkedEvent>> parkedByPost = new ConcurrentHashMap<>();
+
+    private final AtomicLong eventsParked = new AtomicLong();
+    private final AtomicLong eventsReplayed = new AtomicLong();
+    private final AtomicLong eventsExpired = new AtomicLong();
+
+    @Autowired
+    public ParkedLikeEvents(PartitionedEventExecutor partitionedEventExecutor, SyncProperties syncProperties) {
+        this(partitionedEventExecutor, syncProperties.getPartitions().getParkTimeoutMs());
+    }
+
+    public ParkedLikeEvents(PartitionedEventExecutor partitionedEventExecutor, long timeoutMs) {
+        this.partitionedEventExecutor = partitionedEventExecutor;
+        this.timeoutMs = Math.max(1, timeoutMs);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sync-parked-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepMs = Math.max(1, this.timeoutMs / 2);
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Apply a like or unlike unless its post has events parked or is not in the read store yet,
+     * in which case it is parked behind them. Must run on the post's lane.
+     */
+    public void applyOrPark(Long postId, Runnable apply, CompletableFuture<Void> ack) {
+        if (postId != null && hasParked(postId)) {
+            park(postId, apply, ack);
+            return;
+        }
+        try {
+            apply.run();
+            ack.complete(null);
+        } catch (MissingPostException e) {
+            park(postId, apply, ack);
+        } catch (RuntimeException e) {
+            ack.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Park an event for a post missing from the read store. Must run on the post's lane.
+     */
+    public void park(Long postId, Runnable apply, CompletableFuture<Void> ack) {
+        parkedByPost.computeIfAbsent(postId, key -> new ConcurrentLinkedDeque<>())
+                .addLast(new ParkedEvent(apply, ack, System.currentTimeMillis()));
+        eventsParked.incrementAndGet();
+        log.debug("⏸️ Parked like change for post {} until it reaches the read store", postId);
+    }
+
+    public boolean hasParked(Long postId) {
+        return parkedByPost.containsKey(postId);
+    }
+
+    /**
+     * Apply the events parked for a post, in arrival order, once it exists. Must run on the post's lane.
+     */
+    public void replay(Long postId) {
+        Deque<ParkedEvent> parked = parkedByPost.remove(postId);
+        if (parked == null) {
+            return;
+        }
+        log.info("▶️ Replaying {} parked like changes for post {}", parked.size(), postId);
+        for (ParkedEvent event : parked) {
+            try {
+                event.apply().run();
+                event.ack().complete(null);
+            } catch (RuntimeException e) {
+                event.ack().completeExceptionally(e);
+            }
+            eventsReplayed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Parking statistics.
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "postsWaiting", parkedByPost.size(),
+            "eventsParked", eventsParked.get(),
+            "eventsReplayed", eventsReplayed.get(),
+            "eventsExpired", eventsExpired.get()
+        );
+    }
+
+    /**
+     * Hand posts whose oldest parked event has timed out to their lanes for expiry.
+     */
+    void sweep() {
+        long cutoff = System.currentTimeMillis() - timeoutMs;
+        parkedByPost.forEach((postId, parked) -> {
+            ParkedEvent oldest = parked.peekFirst();
+            if (oldest != null && oldest.parkedAt() <= cutoff) {
+                partitionedEventExecutor.submit(postId, () -> expire(postId, cutoff));
+            }
+        });
+    }
+
+    private void expire(Long postId, long cutoff) {
+        Deque<ParkedEvent> parked = parkedByPost.get(postId);
+        if (parked == null) {
+            return;
+        }
+        while (!parked.isEmpty() && parked.peekFirst().parkedAt() <= cutoff) {
+            parked.pollFirst().ack().completeExceptionally(new AmqpRejectAndDontRequeueException(
+                    "Post " + postId + " not in read store after " + timeoutMs + "ms"));
+            eventsExpired.incrementAndGet();
+        }
+        if (parked.isEmpty()) {
+            parkedByPost.remove(postId);
+        }
+        log.warn("⚠️ Dead-lettering like changes for post {} that never reached the read store", postId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private record ParkedEvent(Runnable apply, CompletableFuture<Void> ack, long parkedAt) {
+    }
+}
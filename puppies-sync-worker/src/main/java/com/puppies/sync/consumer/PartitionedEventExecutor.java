@@ -0,0 +1,68 @@
+package com.puppies.sync.consumer;
+
+import com.puppies.sync.config.SyncProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs event handlers on a fixed set of single-threaded lanes.
+ * 
+ * Events are hashed by aggregate ID (e.g. post ID) onto a lane, so events for the
+ * same aggregate are applied in the order they were received while different
+ * aggregates are processed in parallel across cores.
+ */
+@Component
+@Slf4j
+public class PartitionedEventExecutor {
+
+    private final ExecutorService[] lanes;
+
+    @Autowired
+    public PartitionedEventExecutor(SyncProperties syncProperties) {
+        this(syncProperties.getPartitions().getLanes());
+    }
+
+    public PartitionedEventExecutor(int laneCount) {
+        this.lanes = new ExecutorService[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            String threadName = "sync-lane-" + i;
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        log.info("🛣️ Started {} ordered event lanes", lanes.length);
+    }
+
+    /**
+     * Lane index for the given aggregate key. Null keys always map to lane 0.
+     */
+    public int laneFor(Object key) {
+        return key == null ? 0 : Math.floorMod(key.hashCode(), lanes.length);
+    }
+
+    /**
+     * Submit a task on the lane owning the given aggregate key.
+     */
+    public CompletableFuture<Void> submit(Object key, Runnable task) {
+        return CompletableFuture.runAsync(task, lanes[laneFor(key)]);
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.puppies.sync.event;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event published when a post is unliked
+ * Must match the structure from com.puppies.api.event.PostUnlikedEvent
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostUnlikedEvent {
+    // Domain event base fields
+    private String eventId;
+    private String eventType;
+    private LocalDateTime occurredAt;
+    private String aggregateId;
+    private Long aggregateVersion;
+    
+    // Event-specific data
+    private Long postId;
+    private Long userId;
+    private String userName;
+    private LocalDateTime unlikedAt;
+}
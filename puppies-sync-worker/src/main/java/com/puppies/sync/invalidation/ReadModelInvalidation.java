@@ -0,0 +1,101 @@
+package com.puppies.sync.invalidation;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read model entities touched by one committed read store transaction.
+ * Published to the Query API, which maps it to the cache keys that hold them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadModelInvalidation {
+
+    /** Posts whose body or counters changed */
+    @Builder.Default
+    private Set<Long> postIds = new LinkedHashSet<>();
+
+    /** Authors whose post listings changed */
+    @Builder.Default
+    private Set<Long> authorIds = new LinkedHashSet<>();
+
+    /** Users whose feed entries changed */
+    @Builder.Default
+    private Set<Long> feedUserIds = new LinkedHashSet<>();
+
+    /** A post was added, so the first page of the newest posts listing changed */
+    private boolean newPosts;
+
+    /**
+     * Every feed changed. Reserved for rare global changes such as a bulk rebuild; a post's
+     * fan-out names its recipients in {@link #feedUserIds} instead, one message per page.
+     */
+    private boolean allFeeds;
+
+    /**
+     * Redis keys of the single cached entries holding the touched data, in the Query API's
+     * {@code region::key} cache key format.
+     */
+    @JsonIgnore
+    public List<String> cacheKeys() {
+        List<String> keys = new ArrayList<>();
+        for (Long postId : postIds) {
+            keys.add("post::" + postId);
+        }
+        for (Long authorId : authorIds) {
+            keys.add("author_post_count::" + authorId);
+        }
+        if (!allFeeds) {
+            for (Long userId : feedUserIds) {
+                keys.add("user_feed_count::" + userId);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Query API cache regions cleared entirely.
+     */
+    @JsonIgnore
+    public List<String> clearedRegions() {
+        return allFeeds ? List.of("user_feed_count") : List.of();
+    }
+
+    /**
+     * Paged listings whose generation must move so their cached pages are never read again.
+     * Names match the Query API's listing names (PageGenerationService).
+     */
+    @JsonIgnore
+    public List<String> listings() {
+        List<String> listings = new ArrayList<>();
+        for (Long authorId : authorIds) {
+            listings.add("author_posts_" + authorId);
+        }
+        if (newPosts) {
+            listings.add("posts");
+        }
+        if (allFeeds) {
+            listings.add("feeds");
+        } else {
+            for (Long userId : feedUserIds) {
+                listings.add("user_feed_" + userId);
+            }
+        }
+        return listings;
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return postIds.isEmpty() && authorIds.isEmpty() && feedUserIds.isEmpty() && !newPosts && !allFeeds;
+    }
+}
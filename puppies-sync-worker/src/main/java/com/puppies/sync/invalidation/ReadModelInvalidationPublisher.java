@@ -0,0 +1,125 @@
+package com.puppies.sync.invalidation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.puppies.sync.config.SyncProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes read model invalidations to the Query API once the read store transaction commits.
+ *
+ * Messages are only sent after commit, so a query node that evicts and immediately reloads a page
+ * always sees the new rows. Rolled back updates publish nothing. A lost message only leaves the
+ * affected pages to expire by TTL.
+ *
+ * The shared Redis side of the invalidation happens here, once per change and before the message
+ * goes out: touched entries are deleted and paged listings move to a new generation in one
+ * pipelined round trip. Query nodes then only drop their memoized generations and L1 copies, so
+ * the cost of a change does not grow with the number of query nodes.
+ */
+@Component
+@Slf4j
+public class ReadModelInvalidationPublisher {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final SyncProperties syncProperties;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong evictedKeys = new AtomicLong();
+    private final AtomicLong generationBumps = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public ReadModelInvalidationPublisher(StringRedisTemplate stringRedisTemplate, SyncProperties syncProperties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.syncProperties = syncProperties;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCommitted(ReadModelInvalidation invalidation) {
+        SyncProperties.Invalidation settings = syncProperties.getInvalidation();
+        if (!settings.isEnabled() || invalidation.isEmpty()) {
+            return;
+        }
+        applyToRedis(invalidation, settings);
+        try {
+            stringRedisTemplate.convertAndSend(settings.getChannel(), objectMapper.writeValueAsString(invalidation));
+            published.incrementAndGet();
+            log.debug("📣 Published cache invalidation: {}", invalidation);
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.warn("⚠️ Failed to publish cache invalidation {}: {}", invalidation, e.getMessage());
+        }
+    }
+
+    /**
+     * Snapshot of publish counters.
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+            "published", published.get(),
+            "evictedKeys", evictedKeys.get(),
+            "generationBumps", generationBumps.get(),
+            "failed", failed.get()
+        );
+    }
+
+    /**
+     * Delete the touched entries and INCR each listing's generation (refreshing its TTL) in one
+     * pipeline, then clear whole regions by SCAN. A failure is counted and the message is still
+     * published, so query nodes drop their local copies and Redis pages expire by TTL.
+     */
+    private void applyToRedis(ReadModelInvalidation invalidation, SyncProperties.Invalidation settings) {
+        List<String> cacheKeys = invalidation.cacheKeys();
+        List<String> listings = invalidation.listings();
+        long ttlSeconds = Math.max(1, settings.getGenerationTtl().toSeconds());
+        try {
+            if (!cacheKeys.isEmpty() || !listings.isEmpty()) {
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (String cacheKey : cacheKeys) {
+                        connection.keyCommands().del(cacheKey.getBytes(StandardCharsets.UTF_8));
+                    }
+                    for (String listing : listings) {
+                        byte[] key = (settings.getGenerationKeyPrefix() + listing).getBytes(StandardCharsets.UTF_8);
+                        connection.stringCommands().incr(key);
+                        connection.keyCommands().expire(key, ttlSeconds);
+                    }
+                    return null;
+                });
+                evictedKeys.addAndGet(cacheKeys.size());
+                generationBumps.addAndGet(listings.size());
+            }
+            for (String region : invalidation.clearedRegions()) {
+                clearRegion(region);
+            }
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.warn("⚠️ Failed to apply cache invalidation {} to Redis: {}", invalidation, e.getMessage());
+        }
+    }
+
+    private void clearRegion(String region) {
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(
+                ScanOptions.scanOptions().match(region + "::*").count(1000).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+        if (!keys.isEmpty()) {
+            stringRedisTemplate.delete(keys);
+            evictedKeys.addAndGet(keys.size());
+        }
+        log.debug("🧹 Cleared {} cached entries of region {}", keys.size(), region);
+    }
+}
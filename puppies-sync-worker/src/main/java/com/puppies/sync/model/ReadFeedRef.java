@@ -0,0 +1,49 @@
+package com.puppies.sync.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Reference-only Feed entry for Read Store
+ * Points at a post instead of copying it; post data is hydrated from read_posts on read
+ */
+@Entity
+@Table(name = "read_feed_refs")
+@IdClass(ReadFeedRef.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadFeedRef {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "is_liked_by_user", nullable = false)
+    private Boolean isLikedByUser = false;
+
+    /**
+     * Composite primary key (user_id, post_id)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long postId;
+    }
+}
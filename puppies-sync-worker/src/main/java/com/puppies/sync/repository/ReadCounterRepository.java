@@ -0,0 +1,27 @@
+package com.puppies.sync.repository;
+
+import com.puppies.sync.model.ReadCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for maintained totals in the Read Store
+ */
+@Repository
+public interface ReadCounterRepository extends JpaRepository<ReadCounter, String> {
+
+    /**
+     * Add delta to a counter, creating it on first use
+     */
+    @Modifying
+    @Query(value = "INSERT INTO read_counters (counter_key, counter_value, updated_at) " +
+                   "VALUES (:counterKey, :delta, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (counter_key) DO UPDATE SET " +
+                   "counter_value = GREATEST(read_counters.counter_value + EXCLUDED.counter_value, 0), " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int incrementBy(@Param("counterKey") String counterKey, @Param("delta") long delta);
+}
@@ -36,6 +36,24 @@ public interface ReadFeedItemRepository extends JpaRepository<ReadFeedItem, Long
     @Query("UPDATE ReadFeedItem f SET f.popularityScore = :score, f.updatedAt = CURRENT_TIMESTAMP WHERE f.postId = :postId")
     int updatePopularityScoreForPost(@Param("postId") Long postId, @Param("score") Double score);
 
+    /**
+     * Update like count and popularity score for all feed items of a post in one statement
+     */
+    @Modifying
+    @Query("UPDATE ReadFeedItem f SET f.likeCount = :likeCount, f.popularityScore = :score, f.updatedAt = CURRENT_TIMESTAMP WHERE f.postId = :postId")
+    int updateLikeCountAndPopularityForPost(@Param("postId") Long postId, @Param("likeCount") Long likeCount, @Param("score") Double score);
+
+    /**
+     * Apply a single like or unlike to all feed items of a post: counters for every row,
+     * like status for the acting user
+     */
+    @Modifying
+    @Query("UPDATE ReadFeedItem f SET f.likeCount = :likeCount, f.popularityScore = :score, " +
+           "f.isLikedByUser = CASE WHEN f.userId = :userId THEN :isLiked ELSE f.isLikedByUser END, " +
+           "f.updatedAt = CURRENT_TIMESTAMP WHERE f.postId = :postId")
+    int applyLikeStatusForUser(@Param("postId") Long postId, @Param("userId") Long userId, @Param("isLiked") Boolean isLiked,
+                               @Param("likeCount") Long likeCount, @Param("score") Double score);
+
     /**
      * Find all feed items for a specific post
      */
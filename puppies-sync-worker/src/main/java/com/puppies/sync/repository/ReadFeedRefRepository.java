@@ -0,0 +1,22 @@
+package com.puppies.sync.repository;
+
+import com.puppies.sync.model.ReadFeedRef;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for reference-only feed entries in the Read Store
+ */
+@Repository
+public interface ReadFeedRefRepository extends JpaRepository<ReadFeedRef, ReadFeedRef.Key> {
+
+    /**
+     * Update like status for a specific user and post
+     */
+    @Modifying
+    @Query("UPDATE ReadFeedRef r SET r.isLikedByUser = :isLiked WHERE r.postId = :postId AND r.userId = :userId")
+    int updateLikeStatusForUser(@Param("postId") Long postId, @Param("userId") Long userId, @Param("isLiked") Boolean isLiked);
+}
@@ -22,6 +22,22 @@ public interface ReadPostRepository extends JpaRepository<ReadPost, Long> {
     @Query("UPDATE ReadPost p SET p.likeCount = p.likeCount + 1, p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = :postId")
     int incrementLikeCount(@Param("postId") Long postId);
 
+    /**
+     * Adjust like count for a post by a (possibly negative) delta, never going below zero, and
+     * recompute its popularity score from the new count in the same statement. Returns the fields
+     * needed to propagate the change without a read-after-write round trip.
+     * 
+     * Score: (likes * 2 + views * 0.1) * max(0.1, 1 / (1 + whole hours since creation * 0.1))
+     */
+    @Query(value = "UPDATE read_posts SET like_count = GREATEST(like_count + :delta, 0), " +
+                   "popularity_score = (GREATEST(like_count + :delta, 0) * 2.0 + view_count * 0.1) * " +
+                   "GREATEST(0.1, 1.0 / (1.0 + FLOOR(EXTRACT(EPOCH FROM (LOCALTIMESTAMP - created_at)) / 3600) * 0.1)), " +
+                   "updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE id = :postId " +
+                   "RETURNING like_count AS likeCount, author_id AS authorId, popularity_score AS popularityScore",
+           nativeQuery = true)
+    Optional<LikeCountSnapshot> adjustLikeCountReturning(@Param("postId") Long postId, @Param("delta") Long delta);
+
     /**
      * Decrement like count for a post
      */
@@ -53,4 +69,13 @@ public interface ReadPostRepository extends JpaRepository<ReadPost, Long> {
      */
     @Query("SELECT COUNT(p) FROM ReadPost p WHERE p.authorId = :authorId")
     Long countByAuthorId(@Param("authorId") Long authorId);
+
+    /**
+     * Post state returned by {@link #adjustLikeCountReturning(Long, Long)}
+     */
+    interface LikeCountSnapshot {
+        Long getLikeCount();
+        Long getAuthorId();
+        Double getPopularityScore();
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.puppies.sync.repository;
 
 import com.puppies.sync.model.ReadUserProfile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -30,6 +32,13 @@ public interface ReadUserProfileRepository extends JpaRepository<ReadUserProfile
     @Query("UPDATE ReadUserProfile u SET u.totalLikesReceived = u.totalLikesReceived + 1, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId")
     int incrementLikesReceived(@Param("userId") Long userId);
 
+    /**
+     * Adjust total likes received for a user by an aggregated (possibly negative) delta, never going below zero
+     */
+    @Modifying
+    @Query("UPDATE ReadUserProfile u SET u.totalLikesReceived = GREATEST(u.totalLikesReceived + :delta, 0), u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId")
+    int adjustLikesReceived(@Param("userId") Long userId, @Param("delta") Long delta);
+
     /**
      * Decrement total likes received for a user
      */
@@ -44,6 +53,13 @@ public interface ReadUserProfileRepository extends JpaRepository<ReadUserProfile
     @Query("UPDATE ReadUserProfile u SET u.totalLikesGiven = u.totalLikesGiven + 1, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId")
     int incrementLikesGiven(@Param("userId") Long userId);
 
+    /**
+     * Adjust total likes given by a user by an aggregated (possibly negative) delta, never going below zero
+     */
+    @Modifying
+    @Query("UPDATE ReadUserProfile u SET u.totalLikesGiven = GREATEST(u.totalLikesGiven + :delta, 0), u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId")
+    int adjustLikesGiven(@Param("userId") Long userId, @Param("delta") Long delta);
+
     /**
      * Decrement total likes given by a user
      */
@@ -51,6 +67,19 @@ public interface ReadUserProfileRepository extends JpaRepository<ReadUserProfile
     @Query("UPDATE ReadUserProfile u SET u.totalLikesGiven = u.totalLikesGiven - 1, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId AND u.totalLikesGiven > 0")
     int decrementLikesGiven(@Param("userId") Long userId);
 
+    /**
+     * Apply a single like (+1) or unlike (-1) to both profiles involved: likes given and activity
+     * for the acting user, likes received for the post author. Counters never go below zero.
+     */
+    @Modifying
+    @Query("UPDATE ReadUserProfile u SET " +
+           "u.totalLikesGiven = CASE WHEN u.id = :likerId THEN GREATEST(u.totalLikesGiven + :delta, 0) ELSE u.totalLikesGiven END, " +
+           "u.totalLikesReceived = CASE WHEN u.id = :authorId THEN GREATEST(u.totalLikesReceived + :delta, 0) ELSE u.totalLikesReceived END, " +
+           "u.lastActiveAt = CASE WHEN u.id = :likerId THEN :activeAt ELSE u.lastActiveAt END, " +
+           "u.updatedAt = CURRENT_TIMESTAMP WHERE u.id IN (:likerId, :authorId)")
+    int applyLikeDelta(@Param("likerId") Long likerId, @Param("authorId") Long authorId,
+                       @Param("delta") Long delta, @Param("activeAt") LocalDateTime activeAt);
+
     /**
      * Update last active timestamp
      */
@@ -58,6 +87,12 @@ public interface ReadUserProfileRepository extends JpaRepository<ReadUserProfile
     @Query("UPDATE ReadUserProfile u SET u.lastActiveAt = :timestamp, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId")
     int updateLastActiveAt(@Param("userId") Long userId, @Param("timestamp") LocalDateTime timestamp);
 
+    /**
+     * Page through user IDs in ascending order, starting after the given ID (keyset pagination)
+     */
+    @Query("SELECT u.id FROM ReadUserProfile u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     /**
      * Find user profile by email
      */
@@ -0,0 +1,186 @@
+package com.puppies.sync.service;
+
+import com.puppies.sync.config.SyncProperties;
+import com.puppies.sync.invalidation.ReadModelInvalidation;
+import com.puppies.sync.model.ReadCounter;
+import com.puppies.sync.model.ReadPost;
+import com.puppies.sync.repository.ReadUserProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans a new post out to recipients' feeds in the Read Store.
+ *
+ * Recipient IDs are streamed in keyset pages and each page is written as one multi-row
+ * {@code INSERT ... SELECT ... FROM unnest(?) ON CONFLICT (user_id, post_id) DO NOTHING
+ * RETURNING user_id}, so a post costs a couple of round trips per page instead of one per
+ * recipient, and the statement reports exactly which recipients gained the post. Redelivered
+ * events are harmless because duplicates are skipped by the unique (user_id, post_id) index.
+ *
+ * Recipients' feed totals in read_counters are then bumped once per page with a single
+ * set-based upsert covering the returned recipients. Recipients are written and counted in
+ * ascending ID order, so concurrent fan-outs take the row locks in the same order.
+ *
+ * Each page also publishes a {@link ReadModelInvalidation} naming the recipients whose feeds
+ * gained the post, so query nodes invalidate those feeds only; messages stay bounded by the
+ * page size and are sent once the transaction commits.
+ *
+ * In {@code REFERENCE} storage mode only the (user_id, post_id, created_at) reference is
+ * written to read_feed_refs; the post itself is hydrated from read_posts at query time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedFanOutService {
+
+    static final String INSERT_FEED_ITEM_SQL =
+            "INSERT INTO read_feed_items (user_id, post_id, post_author_id, post_author_name, post_content, " +
+            "post_image_url, like_count, is_liked_by_user, popularity_score, created_at, updated_at) " +
+            "SELECT u.user_id, ?, ?, ?, ?, ?, ?, FALSE, ?, ?, ? " +
+            "FROM unnest(?::bigint[]) WITH ORDINALITY AS u(user_id, ord) ORDER BY u.ord " +
+            "ON CONFLICT (user_id, post_id) DO NOTHING RETURNING user_id";
+
+    static final String INSERT_FEED_REF_SQL =
+            "INSERT INTO read_feed_refs (user_id, post_id, created_at, is_liked_by_user) " +
+            "SELECT u.user_id, ?, ?, FALSE " +
+            "FROM unnest(?::bigint[]) WITH ORDINALITY AS u(user_id, ord) ORDER BY u.ord " +
+            "ON CONFLICT (user_id, post_id) DO NOTHING RETURNING user_id";
+
+    /**
+     * Adds one to the feed counter of every user in the array, in array order.
+     */
+    static final String INCREMENT_FEED_COUNTERS_SQL =
+            "INSERT INTO read_counters (counter_key, counter_value, updated_at) " +
+            "SELECT '" + ReadCounter.FEED_PREFIX + "' || u.user_id, 1, CURRENT_TIMESTAMP " +
+            "FROM unnest(?::bigint[]) WITH ORDINALITY AS u(user_id, ord) ORDER BY u.ord " +
+            "ON CONFLICT (counter_key) DO UPDATE SET counter_value = read_counters.counter_value + 1, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private final ReadUserProfileRepository readUserProfileRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SyncProperties syncProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Per-batch metrics
+    private final AtomicLong batchesWritten = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong totalBatchNanos = new AtomicLong();
+    private final AtomicLong maxBatchNanos = new AtomicLong();
+
+    /**
+     * Create feed items for every recipient of the given post.
+     *
+     * @return number of feed rows inserted (recipients that already had the post are skipped)
+     */
+    public long fanOut(ReadPost post) {
+        int batchSize = Math.max(1, syncProperties.getFanOut().getBatchSize());
+        Timestamp createdAt = Timestamp.valueOf(post.getCreatedAt());
+        long inserted = 0;
+        long lastUserId = 0L;
+        boolean referenceMode = syncProperties.getFeed().isReferenceMode();
+
+        while (true) {
+            List<Long> recipientIds = readUserProfileRepository.findIdsAfter(lastUserId, PageRequest.of(0, batchSize));
+            if (recipientIds.isEmpty()) {
+                break;
+            }
+
+            long start = System.nanoTime();
+            List<Long> recipients = new ArrayList<>(referenceMode
+                    ? writeRefBatch(post, recipientIds, createdAt)
+                    : writeCopyBatch(post, recipientIds, createdAt));
+            Collections.sort(recipients);
+            incrementFeedCounters(recipients);
+            invalidateFeeds(recipients);
+            recordBatch(recipients.size(), System.nanoTime() - start);
+
+            inserted += recipients.size();
+            lastUserId = recipientIds.get(recipientIds.size() - 1);
+            if (recipientIds.size() < batchSize) {
+                break;
+            }
+        }
+
+        log.debug("✅ Fanned out post {} to {} feeds", post.getId(), inserted);
+        return inserted;
+    }
+
+    /**
+     * Snapshot of fan-out batch metrics.
+     */
+    public Map<String, Object> getStats() {
+        long batches = batchesWritten.get();
+        double avgBatchMs = batches > 0 ? totalBatchNanos.get() / (double) batches / 1_000_000.0 : 0.0;
+        return Map.of(
+            "batches", batches,
+            "rows", rowsWritten.get(),
+            "avgBatchMs", avgBatchMs,
+            "maxBatchMs", maxBatchNanos.get() / 1_000_000.0
+        );
+    }
+
+    private List<Long> writeCopyBatch(ReadPost post, List<Long> recipientIds, Timestamp createdAt) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Nullable wrappers default to the column defaults instead of unboxing to an NPE
+        long likeCount = post.getLikeCount() != null ? post.getLikeCount() : 0L;
+        double popularityScore = post.getPopularityScore() != null ? post.getPopularityScore() : 0.0;
+        return jdbcTemplate.query(INSERT_FEED_ITEM_SQL, ps -> {
+            ps.setLong(1, post.getId());
+            ps.setLong(2, post.getAuthorId());
+            ps.setString(3, post.getAuthorName());
+            ps.setString(4, post.getContent());
+            ps.setString(5, post.getImageUrl());
+            ps.setLong(6, likeCount);
+            ps.setDouble(7, popularityScore);
+            ps.setTimestamp(8, createdAt);
+            ps.setTimestamp(9, now);
+            ps.setArray(10, ps.getConnection().createArrayOf("bigint", recipientIds.toArray()));
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    private List<Long> writeRefBatch(ReadPost post, List<Long> recipientIds, Timestamp createdAt) {
+        return jdbcTemplate.query(INSERT_FEED_REF_SQL, ps -> {
+            ps.setLong(1, post.getId());
+            ps.setTimestamp(2, createdAt);
+            ps.setArray(3, ps.getConnection().createArrayOf("bigint", recipientIds.toArray()));
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    private void incrementFeedCounters(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(INCREMENT_FEED_COUNTERS_SQL, ps ->
+                ps.setArray(1, ps.getConnection().createArrayOf("bigint", userIds.toArray())));
+    }
+
+    private void invalidateFeeds(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        eventPublisher.publishEvent(ReadModelInvalidation.builder()
+                .feedUserIds(new LinkedHashSet<>(userIds))
+                .build());
+    }
+
+    private void recordBatch(int rows, long elapsedNanos) {
+        batchesWritten.incrementAndGet();
+        rowsWritten.addAndGet(rows);
+        totalBatchNanos.addAndGet(elapsedNanos);
+        maxBatchNanos.accumulateAndGet(elapsedNanos, Math::max);
+        log.debug("📦 Fan-out batch of {} rows written in {} ms", rows, elapsedNanos / 1_000_000.0);
+    }
+}
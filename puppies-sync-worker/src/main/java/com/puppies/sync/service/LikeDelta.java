@@ -0,0 +1,23 @@
+package com.puppies.sync.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Net like change of one user on one post within a batch window.
+ * A like counts +1 and an unlike -1, so a like/unlike pair nets to zero.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LikeDelta {
+    private Long postId;
+    private Long userId;
+    private int delta;
+    private LocalDateTime lastActiveAt;
+}
@@ -1,22 +1,37 @@
 package com.puppies.sync.service;
 
+import com.puppies.sync.config.SyncProperties;
 import com.puppies.sync.event.PostCreatedEvent;
 import com.puppies.sync.event.PostLikedEvent;
+import com.puppies.sync.event.PostUnlikedEvent;
 import com.puppies.sync.event.UserCreatedEvent;
+import com.puppies.sync.invalidation.ReadModelInvalidation;
+import com.puppies.sync.model.ReadCounter;
 import com.puppies.sync.model.ReadFeedItem;
+import com.puppies.sync.model.ReadFeedRef;
 import com.puppies.sync.model.ReadPost;
 import com.puppies.sync.model.ReadUserProfile;
+import com.puppies.sync.repository.ReadCounterRepository;
 import com.puppies.sync.repository.ReadFeedItemRepository;
+import com.puppies.sync.repository.ReadFeedRefRepository;
 import com.puppies.sync.repository.ReadPostRepository;
+import com.puppies.sync.repository.ReadPostRepository.LikeCountSnapshot;
 import com.puppies.sync.repository.ReadUserProfileRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service responsible for updating the Read database
@@ -24,6 +39,8 @@ import java.util.Optional;
  * 
  * This is the CORRECT place for read store updates in CQRS architecture.
  * The Command API publishes events, and this service consumes them.
+ * Each update also publishes a {@link ReadModelInvalidation} that is sent to
+ * the Query API once the transaction commits.
  */
 @Service
 @RequiredArgsConstructor
@@ -33,6 +50,11 @@ public class ReadStoreUpdateService {
     private final ReadPostRepository readPostRepository;
     private final ReadUserProfileRepository readUserProfileRepository;
     private final ReadFeedItemRepository readFeedItemRepository;
+    private final ReadFeedRefRepository readFeedRefRepository;
+    private final ReadCounterRepository readCounterRepository;
+    private final FeedFanOutService feedFanOutService;
+    private final SyncProperties syncProperties;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void handlePostCreated(PostCreatedEvent event) {
@@ -66,16 +88,23 @@ public class ReadStoreUpdateService {
                 createUserProfilePlaceholder(event.getAuthorId(), event.getAuthorName());
                 readUserProfileRepository.incrementPostsCount(event.getAuthorId());
             }
+            readCounterRepository.incrementBy(ReadCounter.authorPostsKey(event.getAuthorId()), 1);
             
             // 3. Create feed items for all users (in real system, this would be for followers only)
-            // For demo purposes, we'll create feed items for a few mock users
-            createFeedItemsForNewPost(readPost);
+            long feedItemsCreated = createFeedItemsForNewPost(readPost);
             
             // 4. Update daily/hourly aggregations (for analytics)
             updatePostCreationMetrics(event);
             
+            // 5. Invalidate the author's listings and the newest posts; fan-out already
+            //    invalidated the recipients' feeds page by page
+            eventPublisher.publishEvent(ReadModelInvalidation.builder()
+                .authorIds(Set.of(event.getAuthorId()))
+                .newPosts(true)
+                .build());
+            
             log.info("✅ Post {} successfully added to read store with {} feed items", 
-                    event.getPostId(), countFeedItemsForPost(event.getPostId()));
+                    event.getPostId(), feedItemsCreated);
             
         } catch (Exception e) {
             log.error("❌ Failed to update read store for post creation: {}", event.getPostId(), e);
@@ -88,47 +117,110 @@ public class ReadStoreUpdateService {
         log.info("❤️ Updating read store for post like: {}", event.getPostId());
         
         try {
-            // 1. Update like count in denormalized post record
-            int updatedPosts = readPostRepository.incrementLikeCount(event.getPostId());
-            if (updatedPosts == 0) {
-                log.warn("⚠️ Post {} not found in read store, skipping like update", event.getPostId());
-                return;
-            }
+            applySingleLikeDelta(event.getPostId(), event.getUserId(), 1, event.getLikedAt());
+            log.info("✅ Like for post {} successfully processed in read store", event.getPostId());
             
-            // 2. Update like count in all feed items for this post
-            Optional<ReadPost> readPost = readPostRepository.findById(event.getPostId());
-            if (readPost.isPresent()) {
-                Long newLikeCount = readPost.get().getLikeCount();
-                readFeedItemRepository.updateLikeCountForPost(event.getPostId(), newLikeCount);
-                
-                // Update like status for the specific user
-                readFeedItemRepository.updateLikeStatusForUser(event.getPostId(), event.getUserId(), true);
-                
-                log.debug("✅ Updated like count to {} for post {}", newLikeCount, event.getPostId());
-            }
+        } catch (MissingPostException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("❌ Failed to update read store for post like: {}", event.getPostId(), e);
+            throw new ReadStoreUpdateException("Failed to process post like event", e);
+        }
+    }
+
+    @Transactional
+    public void handlePostUnliked(PostUnlikedEvent event) {
+        log.info("💔 Updating read store for post unlike: {}", event.getPostId());
+        
+        try {
+            applySingleLikeDelta(event.getPostId(), event.getUserId(), -1, event.getUnlikedAt());
+            log.info("✅ Unlike for post {} successfully processed in read store", event.getPostId());
             
-            // 3. Update user statistics
-            // Increment likes given by the user who liked
-            readUserProfileRepository.incrementLikesGiven(event.getUserId());
+        } catch (MissingPostException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("❌ Failed to update read store for post unlike: {}", event.getPostId(), e);
+            throw new ReadStoreUpdateException("Failed to process post unlike event", e);
+        }
+    }
+
+    /**
+     * Apply a window of coalesced like/unlike deltas in one transaction.
+     * 
+     * Deltas are summed per post and per user, so a viral post receives a single
+     * {@code like_count = like_count + k} update per window instead of one transaction per event.
+     * Deltas that net to zero (a like cancelled by an unlike) never reach the database.
+     * 
+     * @return posts not in the read store yet, whose deltas were left unapplied
+     */
+    @Transactional
+    public Set<Long> applyLikeDeltas(List<LikeDelta> deltas) {
+        List<LikeDelta> effective = deltas.stream().filter(d -> d.getDelta() != 0).toList();
+        if (effective.isEmpty()) {
+            return Set.of();
+        }
+        log.info("❤️ Updating read store for {} coalesced like changes", effective.size());
+        
+        try {
+            boolean referenceMode = syncProperties.getFeed().isReferenceMode();
+            Map<Long, List<LikeDelta>> deltasByPost = effective.stream()
+                    .collect(Collectors.groupingBy(LikeDelta::getPostId, LinkedHashMap::new, Collectors.toList()));
+            Map<Long, Long> likesGivenByUser = new LinkedHashMap<>();
+            Map<Long, LocalDateTime> lastActiveByUser = new HashMap<>();
+            Set<Long> missingPostIds = new LinkedHashSet<>();
+            ReadModelInvalidation invalidation = ReadModelInvalidation.builder().build();
             
-            // Increment likes received by the post author
-            Optional<ReadPost> post = readPostRepository.findById(event.getPostId());
-            if (post.isPresent()) {
-                readUserProfileRepository.incrementLikesReceived(post.get().getAuthorId());
-                log.debug("✅ Incremented likes received for post author {}", post.get().getAuthorId());
+            for (Map.Entry<Long, List<LikeDelta>> entry : deltasByPost.entrySet()) {
+                Long postId = entry.getKey();
+                List<LikeDelta> postDeltas = entry.getValue();
+                long delta = postDeltas.stream().mapToLong(LikeDelta::getDelta).sum();
+                
+                // 1. One aggregated like count update per post
+                Optional<LikeCountSnapshot> snapshot = readPostRepository.adjustLikeCountReturning(postId, delta);
+                if (snapshot.isEmpty()) {
+                    log.warn("⚠️ Post {} not in read store yet, leaving {} like changes unapplied", postId, postDeltas.size());
+                    missingPostIds.add(postId);
+                    continue;
+                }
+                LikeCountSnapshot post = snapshot.get();
+                invalidation.getPostIds().add(postId);
+                invalidation.getAuthorIds().add(post.getAuthorId());
+                
+                // 2. Propagate counters to feed items and the post author
+                if (!referenceMode) {
+                    readFeedItemRepository.updateLikeCountAndPopularityForPost(postId, post.getLikeCount(),
+                            post.getPopularityScore());
+                }
+                if (delta != 0) {
+                    readUserProfileRepository.adjustLikesReceived(post.getAuthorId(), delta);
+                }
+                
+                for (LikeDelta userDelta : postDeltas) {
+                    updateFeedLikeStatus(postId, userDelta.getUserId(), userDelta.getDelta() > 0);
+                    likesGivenByUser.merge(userDelta.getUserId(), (long) userDelta.getDelta(), Long::sum);
+                    invalidation.getFeedUserIds().add(userDelta.getUserId());
+                    if (userDelta.getLastActiveAt() != null) {
+                        lastActiveByUser.merge(userDelta.getUserId(), userDelta.getLastActiveAt(),
+                                (a, b) -> a.isAfter(b) ? a : b);
+                    }
+                }
             }
             
-            // 4. Update popularity score based on engagement
-            updatePopularityScore(event.getPostId());
+            // 3. One statistics update per acting user
+            likesGivenByUser.forEach((userId, given) -> {
+                if (given != 0) {
+                    readUserProfileRepository.adjustLikesGiven(userId, given);
+                }
+            });
+            lastActiveByUser.forEach(readUserProfileRepository::updateLastActiveAt);
+            eventPublisher.publishEvent(invalidation);
             
-            // 5. Update user activity timestamp
-            readUserProfileRepository.updateLastActiveAt(event.getUserId(), event.getLikedAt());
-            
-            log.info("✅ Like for post {} successfully processed in read store", event.getPostId());
+            log.info("✅ {} like changes across {} posts processed in read store", effective.size(), deltasByPost.size());
+            return missingPostIds;
             
         } catch (Exception e) {
-            log.error("❌ Failed to update read store for post like: {}", event.getPostId(), e);
-            throw new ReadStoreUpdateException("Failed to process post like event", e);
+            log.error("❌ Failed to update read store for {} coalesced like changes", effective.size(), e);
+            throw new ReadStoreUpdateException("Failed to process coalesced like changes", e);
         }
     }
 
@@ -157,6 +249,9 @@ public class ReadStoreUpdateService {
             
             // 2. Initialize feed items for existing posts (limited for demo)
             initializeFeedForNewUser(event.getUserId());
+            eventPublisher.publishEvent(ReadModelInvalidation.builder()
+                .feedUserIds(Set.of(event.getUserId()))
+                .build());
             
             // 3. Update user registration metrics
             updateUserRegistrationMetrics(event);
@@ -180,38 +275,13 @@ public class ReadStoreUpdateService {
     /**
      * Create feed items for a new post (for all users in demo)
      */
-    private void createFeedItemsForNewPost(ReadPost readPost) {
+    private long createFeedItemsForNewPost(ReadPost readPost) {
         try {
             // In a real system, this would only create feed items for followers
-            // For demo, we'll create feed items for existing users (limited to avoid too many records)
-            List<ReadUserProfile> users = readUserProfileRepository.findAll();
-            
-            int feedItemsCreated = 0;
-            for (ReadUserProfile user : users) {
-                if (feedItemsCreated >= 10) break; // Limit for demo
-                
-                ReadFeedItem feedItem = ReadFeedItem.builder()
-                    .userId(user.getId())
-                    .postId(readPost.getId())
-                    .postAuthorId(readPost.getAuthorId())
-                    .postAuthorName(readPost.getAuthorName())
-                    .postContent(readPost.getContent())
-                    .postImageUrl(readPost.getImageUrl())
-                    .likeCount(readPost.getLikeCount())
-                    .isLikedByUser(false)
-                    .popularityScore(readPost.getPopularityScore())
-                    .createdAt(readPost.getCreatedAt())
-                    .updatedAt(LocalDateTime.now())
-                    .build();
-                
-                readFeedItemRepository.save(feedItem);
-                feedItemsCreated++;
-            }
-            
-            log.debug("✅ Created {} feed items for post {}", feedItemsCreated, readPost.getId());
-            
+            return feedFanOutService.fanOut(readPost);
         } catch (Exception e) {
             log.warn("⚠️ Failed to create feed items for post {}", readPost.getId(), e);
+            return 0;
         }
     }
 
@@ -228,6 +298,16 @@ public class ReadStoreUpdateService {
                     .toList();
             
             for (ReadPost post : recentPosts) {
+                if (syncProperties.getFeed().isReferenceMode()) {
+                    readFeedRefRepository.save(ReadFeedRef.builder()
+                        .userId(userId)
+                        .postId(post.getId())
+                        .createdAt(post.getCreatedAt())
+                        .isLikedByUser(false)
+                        .build());
+                    continue;
+                }
+                
                 ReadFeedItem feedItem = ReadFeedItem.builder()
                     .userId(userId)
                     .postId(post.getId())
@@ -244,6 +324,9 @@ public class ReadStoreUpdateService {
                 
                 readFeedItemRepository.save(feedItem);
             }
+            if (!recentPosts.isEmpty()) {
+                readCounterRepository.incrementBy(ReadCounter.feedKey(userId), recentPosts.size());
+            }
             
             log.debug("✅ Initialized feed with {} posts for user {}", recentPosts.size(), userId);
             
@@ -253,30 +336,46 @@ public class ReadStoreUpdateService {
     }
 
     /**
-     * Update popularity score based on engagement
+     * Apply a single like (+1) or unlike (-1), deriving every follow-up write from the row
+     * returned by the like count update
      */
-    private void updatePopularityScore(Long postId) {
-        try {
-            Optional<ReadPost> postOpt = readPostRepository.findById(postId);
-            if (postOpt.isPresent()) {
-                ReadPost post = postOpt.get();
-                
-                // Simple popularity calculation based on likes and age
-                long hoursOld = java.time.Duration.between(post.getCreatedAt(), LocalDateTime.now()).toHours();
-                double ageDecay = Math.max(0.1, 1.0 / (1.0 + hoursOld * 0.1));
-                double likeScore = post.getLikeCount() * 2.0;
-                double viewScore = post.getViewCount() * 0.1;
-                
-                double newPopularityScore = (likeScore + viewScore) * ageDecay;
-                
-                readPostRepository.updatePopularityScore(postId, newPopularityScore);
-                readFeedItemRepository.updatePopularityScoreForPost(postId, newPopularityScore);
-                
-                log.debug("✅ Updated popularity score to {} for post {}", newPopularityScore, postId);
-            }
-            
-        } catch (Exception e) {
-            log.warn("⚠️ Failed to update popularity score for post {}", postId, e);
+    private void applySingleLikeDelta(Long postId, Long userId, int delta, LocalDateTime activeAt) {
+        // 1. Update like count and popularity score, and read back what the rest of the update needs
+        Optional<LikeCountSnapshot> snapshot = readPostRepository.adjustLikeCountReturning(postId, (long) delta);
+        if (snapshot.isEmpty()) {
+            throw new MissingPostException(postId);
+        }
+        LikeCountSnapshot post = snapshot.get();
+        
+        // 2. Update like count, popularity and the user's like status in all feed items for this post.
+        //    Reference feeds hydrate counters from read_posts, so only the user's own entry changes.
+        if (syncProperties.getFeed().isReferenceMode()) {
+            readFeedRefRepository.updateLikeStatusForUser(postId, userId, delta > 0);
+        } else {
+            readFeedItemRepository.applyLikeStatusForUser(postId, userId, delta > 0, post.getLikeCount(),
+                    post.getPopularityScore());
+        }
+        log.debug("✅ Updated like count to {} for post {}", post.getLikeCount(), postId);
+        
+        // 3. Update likes given and activity for the user, likes received for the author
+        readUserProfileRepository.applyLikeDelta(userId, post.getAuthorId(), (long) delta, activeAt);
+        
+        // 4. Invalidate the post, its author's listings and the acting user's feed
+        eventPublisher.publishEvent(ReadModelInvalidation.builder()
+            .postIds(Set.of(postId))
+            .authorIds(Set.of(post.getAuthorId()))
+            .feedUserIds(Set.of(userId))
+            .build());
+    }
+
+    /**
+     * Update a single user's like status in whichever feed storage is active
+     */
+    private void updateFeedLikeStatus(Long postId, Long userId, boolean isLiked) {
+        if (syncProperties.getFeed().isReferenceMode()) {
+            readFeedRefRepository.updateLikeStatusForUser(postId, userId, isLiked);
+        } else {
+            readFeedItemRepository.updateLikeStatusForUser(postId, userId, isLiked);
         }
     }
 
@@ -308,18 +407,6 @@ public class ReadStoreUpdateService {
         }
     }
 
-    /**
-     * Count feed items for a post
-     */
-    private long countFeedItemsForPost(Long postId) {
-        try {
-            return readFeedItemRepository.findByPostId(postId).size();
-        } catch (Exception e) {
-            log.warn("⚠️ Failed to count feed items for post {}", postId, e);
-            return 0;
-        }
-    }
-
     /**
      * Update post creation metrics (for analytics)
      */
@@ -343,5 +430,19 @@ public class ReadStoreUpdateService {
         public ReadStoreUpdateException(String message, Throwable cause) {
             super(message, cause);
         }
+
+        public ReadStoreUpdateException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Exception thrown when a like or unlike arrives before its post reached the read store.
+     * Nothing was written, so the event can be applied again once the post exists.
+     */
+    public static class MissingPostException extends ReadStoreUpdateException {
+        public MissingPostException(Long postId) {
+            super("Post " + postId + " not in read store yet");
+        }
     }
 }
\ No newline at end of file
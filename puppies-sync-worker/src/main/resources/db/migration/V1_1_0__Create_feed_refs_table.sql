@@ -0,0 +1,17 @@
+-- Reference-only feed storage
+-- Feed rows hold just the (user, post) pair; post bodies and counters are hydrated
+-- from read_posts at query time, so a like no longer rewrites every recipient's row
+
+CREATE TABLE read_feed_refs (
+    user_id BIGINT NOT NULL,
+    post_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    is_liked_by_user BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (user_id, post_id)
+);
+
+-- Indexes for read_feed_refs
+CREATE INDEX idx_read_feed_refs_user_created ON read_feed_refs(user_id, created_at DESC);
+CREATE INDEX idx_read_feed_refs_user_liked ON read_feed_refs(user_id, created_at DESC) WHERE is_liked_by_user;
+
+COMMENT ON TABLE read_feed_refs IS 'Narrow feed entries referencing read_posts, used when sync.feed.storage-mode is REFERENCE';
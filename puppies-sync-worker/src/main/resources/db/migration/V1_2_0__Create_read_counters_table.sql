@@ -0,0 +1,23 @@
+-- Maintained totals for paged endpoints
+-- The sync worker bumps these in the same statements that write feed and post rows,
+-- so the Query API can report totals without running COUNT(*) on the request path
+
+CREATE TABLE read_counters (
+    counter_key VARCHAR(100) PRIMARY KEY,
+    counter_value BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Backfill from existing rows (feed counters come from whichever storage mode holds data)
+INSERT INTO read_counters (counter_key, counter_value)
+SELECT 'feed:user:' || user_id, COUNT(*) FROM read_feed_items GROUP BY user_id
+ON CONFLICT (counter_key) DO UPDATE SET counter_value = read_counters.counter_value + EXCLUDED.counter_value;
+
+INSERT INTO read_counters (counter_key, counter_value)
+SELECT 'feed:user:' || user_id, COUNT(*) FROM read_feed_refs GROUP BY user_id
+ON CONFLICT (counter_key) DO UPDATE SET counter_value = read_counters.counter_value + EXCLUDED.counter_value;
+
+INSERT INTO read_counters (counter_key, counter_value)
+SELECT 'posts:author:' || author_id, COUNT(*) FROM read_posts GROUP BY author_id;
+
+COMMENT ON TABLE read_counters IS 'Incrementally maintained per-user feed and per-author post totals';
@@ -0,0 +1,23 @@
+-- Keyset pagination support
+-- Cursor endpoints seek with row comparisons such as (created_at, id) < (:createdAt, :id),
+-- which only stay cheap with a composite index matching the ORDER BY of each listing
+
+-- popularity_score must never be NULL: NULLs sort first under DESC and break the
+-- (popularity_score, id) seek, and cursors already treat a missing score as 0
+UPDATE read_posts SET popularity_score = 0.0 WHERE popularity_score IS NULL;
+ALTER TABLE read_posts ALTER COLUMN popularity_score SET NOT NULL;
+
+-- read_posts: latest, trending and per-author listings
+CREATE INDEX idx_read_posts_created_id ON read_posts(created_at DESC, id DESC);
+CREATE INDEX idx_read_posts_popularity_id ON read_posts(popularity_score DESC, id DESC);
+CREATE INDEX idx_read_posts_author_created_id ON read_posts(author_id, created_at DESC, id DESC);
+
+-- Single-column indexes superseded by the composites above
+DROP INDEX IF EXISTS idx_read_posts_created_at;
+DROP INDEX IF EXISTS idx_read_posts_popularity;
+
+-- Per-user feeds in both storage modes
+CREATE INDEX idx_read_feed_items_user_created_id ON read_feed_items(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_read_feed_refs_user_created_post ON read_feed_refs(user_id, created_at DESC, post_id DESC);
+DROP INDEX IF EXISTS idx_read_feed_items_user_created;
+DROP INDEX IF EXISTS idx_read_feed_refs_user_created;
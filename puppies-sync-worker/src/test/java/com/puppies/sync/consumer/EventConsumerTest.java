@@ -2,18 +2,28 @@ package com.puppies.sync.consumer;
 
 import com.puppies.sync.event.PostCreatedEvent;
 import com.puppies.sync.event.PostLikedEvent;
+import com.puppies.sync.event.PostUnlikedEvent;
 import com.puppies.sync.event.UserCreatedEvent;
 import com.puppies.sync.service.ReadStoreUpdateService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 /**
@@ -29,6 +39,15 @@ class EventConsumerTest {
     @Mock
     private ReadStoreUpdateService readStoreUpdateService;
 
+    @Mock
+    private LikeDeltaAccumulator likeDeltaAccumulator;
+
+    @Spy
+    private PartitionedEventExecutor partitionedEventExecutor = new PartitionedEventExecutor(2);
+
+    @Spy
+    private ParkedLikeEvents parkedLikeEvents = new ParkedLikeEvents(partitionedEventExecutor, 60_000);
+
     @InjectMocks
     private EventConsumer eventConsumer;
 
@@ -36,6 +55,12 @@ class EventConsumerTest {
     private PostLikedEvent postLikedEvent;
     private UserCreatedEvent userCreatedEvent;
 
+    @AfterEach
+    void tearDown() {
+        parkedLikeEvents.shutdown();
+        partitionedEventExecutor.shutdown();
+    }
+
     @BeforeEach
     void setUp() {
         postCreatedEvent = PostCreatedEvent.builder()
@@ -70,7 +95,7 @@ class EventConsumerTest {
     @DisplayName("Should handle PostCreatedEvent and delegate to service")
     void handlePostCreated_ShouldDelegateToReadStoreUpdateService() {
         // When
-        eventConsumer.handlePostCreated(postCreatedEvent);
+        eventConsumer.handlePostCreated(postCreatedEvent).join();
 
         // Then
         verify(readStoreUpdateService).handlePostCreated(postCreatedEvent);
@@ -81,18 +106,53 @@ class EventConsumerTest {
     @DisplayName("Should handle PostLikedEvent and delegate to service")
     void handlePostLiked_ShouldDelegateToReadStoreUpdateService() {
         // When
-        eventConsumer.handlePostLiked(postLikedEvent);
+        eventConsumer.handlePostLiked(postLikedEvent).join();
 
         // Then
         verify(readStoreUpdateService).handlePostLiked(postLikedEvent);
         verifyNoMoreInteractions(readStoreUpdateService);
     }
 
+    @Test
+    @DisplayName("Should handle PostUnlikedEvent and delegate to service")
+    void handlePostUnliked_ShouldDelegateToReadStoreUpdateService() {
+        // Given
+        PostUnlikedEvent postUnlikedEvent = PostUnlikedEvent.builder()
+                .eventId("test-event-4")
+                .postId(1L)
+                .userId(2L)
+                .occurredAt(LocalDateTime.now())
+                .build();
+
+        // When
+        eventConsumer.handlePostUnliked(postUnlikedEvent).join();
+
+        // Then
+        verify(readStoreUpdateService).handlePostUnliked(postUnlikedEvent);
+        verifyNoMoreInteractions(readStoreUpdateService);
+    }
+
+    @Test
+    @DisplayName("Should route likes through the accumulator when like batching is enabled")
+    void handlePostLiked_WhenBatchingEnabled_ShouldRecordInAccumulator() {
+        // Given
+        CompletableFuture<Void> windowCommit = new CompletableFuture<>();
+        when(likeDeltaAccumulator.isEnabled()).thenReturn(true);
+        when(likeDeltaAccumulator.recordLike(postLikedEvent)).thenReturn(windowCommit);
+
+        // When
+        CompletableFuture<Void> result = eventConsumer.handlePostLiked(postLikedEvent);
+
+        // Then
+        assertThat(result).isSameAs(windowCommit);
+        verifyNoInteractions(readStoreUpdateService);
+    }
+
     @Test
     @DisplayName("Should handle UserCreatedEvent and delegate to service")
     void handleUserCreated_ShouldDelegateToReadStoreUpdateService() {
         // When
-        eventConsumer.handleUserCreated(userCreatedEvent);
+        eventConsumer.handleUserCreated(userCreatedEvent).join();
 
         // Then
         verify(readStoreUpdateService).handleUserCreated(userCreatedEvent);
@@ -103,7 +163,7 @@ class EventConsumerTest {
     @DisplayName("Should handle PostCreatedEvent with null values gracefully")
     void handlePostCreated_WithNullEvent_ShouldStillDelegateToService() {
         // When
-        eventConsumer.handlePostCreated(null);
+        eventConsumer.handlePostCreated(null).join();
 
         // Then
         verify(readStoreUpdateService).handlePostCreated(null);
@@ -113,7 +173,7 @@ class EventConsumerTest {
     @DisplayName("Should handle PostLikedEvent with null values gracefully")
     void handlePostLiked_WithNullEvent_ShouldStillDelegateToService() {
         // When
-        eventConsumer.handlePostLiked(null);
+        eventConsumer.handlePostLiked(null).join();
 
         // Then
         verify(readStoreUpdateService).handlePostLiked(null);
@@ -123,7 +183,7 @@ class EventConsumerTest {
     @DisplayName("Should handle UserCreatedEvent with null values gracefully")
     void handleUserCreated_WithNullEvent_ShouldStillDelegateToService() {
         // When
-        eventConsumer.handleUserCreated(null);
+        eventConsumer.handleUserCreated(null).join();
 
         // Then
         verify(readStoreUpdateService).handleUserCreated(null);
@@ -145,7 +205,7 @@ class EventConsumerTest {
                 .build();
 
         // When
-        eventConsumer.handlePostCreated(completeEvent);
+        eventConsumer.handlePostCreated(completeEvent).join();
 
         // Then
         verify(readStoreUpdateService).handlePostCreated(eq(completeEvent));
@@ -163,7 +223,7 @@ class EventConsumerTest {
                 .build();
 
         // When
-        eventConsumer.handlePostLiked(completeEvent);
+        eventConsumer.handlePostLiked(completeEvent).join();
 
         // Then
         verify(readStoreUpdateService).handlePostLiked(eq(completeEvent));
@@ -183,7 +243,7 @@ class EventConsumerTest {
                 .build();
 
         // When
-        eventConsumer.handleUserCreated(completeEvent);
+        eventConsumer.handleUserCreated(completeEvent).join();
 
         // Then
         verify(readStoreUpdateService).handleUserCreated(eq(completeEvent));
@@ -197,12 +257,10 @@ class EventConsumerTest {
                 .when(readStoreUpdateService).handlePostCreated(any());
 
         // When/Then
-        try {
-            eventConsumer.handlePostCreated(postCreatedEvent);
-        } catch (RuntimeException e) {
-            // Exception should propagate to trigger RabbitMQ retry mechanism
-            assert e.getMessage().equals("Database connection failed");
-        }
+        // Exception should complete the future exceptionally so the message is rejected
+        assertThatThrownBy(() -> eventConsumer.handlePostCreated(postCreatedEvent).join())
+                .isInstanceOf(CompletionException.class)
+                .hasRootCauseMessage("Database connection failed");
 
         verify(readStoreUpdateService).handlePostCreated(postCreatedEvent);
     }
@@ -211,9 +269,9 @@ class EventConsumerTest {
     @DisplayName("Should handle multiple events in sequence")
     void handleMultipleEvents_ShouldProcessAllCorrectly() {
         // When
-        eventConsumer.handleUserCreated(userCreatedEvent);
-        eventConsumer.handlePostCreated(postCreatedEvent);
-        eventConsumer.handlePostLiked(postLikedEvent);
+        eventConsumer.handleUserCreated(userCreatedEvent).join();
+        eventConsumer.handlePostCreated(postCreatedEvent).join();
+        eventConsumer.handlePostLiked(postLikedEvent).join();
 
         // Then
         verify(readStoreUpdateService).handleUserCreated(userCreatedEvent);
@@ -223,39 +281,90 @@ class EventConsumerTest {
     }
 
     @Test
-    @DisplayName("Should maintain event processing order")
-    void handleEvents_ShouldMaintainProcessingOrder() {
+    @DisplayName("Should maintain event processing order for the same post")
+    void handleEvents_ShouldMaintainProcessingOrderForSamePost() {
         // Given
-        PostCreatedEvent firstEvent = PostCreatedEvent.builder()
-                .eventId("first-event")
-                .postId(1L)
-                .authorId(1L)
-                .authorName("First Author")
-                .textContent("First post")
-                .imageUrl("http://example.com/first.jpg")
-                .createdAt(LocalDateTime.now().minusHours(2))
-                .occurredAt(LocalDateTime.now().minusHours(2))
+        PostLikedEvent likeForSamePost = PostLikedEvent.builder()
+                .eventId("like-after-create")
+                .postId(postCreatedEvent.getPostId())
+                .userId(2L)
+                .occurredAt(LocalDateTime.now())
                 .build();
 
-        PostCreatedEvent secondEvent = PostCreatedEvent.builder()
-                .eventId("second-event")
-                .postId(2L)
-                .authorId(2L)
-                .authorName("Second Author")
-                .textContent("Second post")
-                .imageUrl("http://example.com/second.jpg")
-                .createdAt(LocalDateTime.now().minusHours(1))
-                .occurredAt(LocalDateTime.now().minusHours(1))
+        // When
+        CompletableFuture<Void> created = eventConsumer.handlePostCreated(postCreatedEvent);
+        CompletableFuture<Void> liked = eventConsumer.handlePostLiked(likeForSamePost);
+        CompletableFuture.allOf(created, liked).join();
+
+        // Then
+        // Both events hash onto the same lane, so a like received after the creation is applied after it
+        var inOrder = inOrder(readStoreUpdateService);
+        inOrder.verify(readStoreUpdateService).handlePostCreated(postCreatedEvent);
+        inOrder.verify(readStoreUpdateService).handlePostLiked(likeForSamePost);
+    }
+
+    @Test
+    @DisplayName("Should park a like delivered before its post and apply it once the post is created")
+    void handlePostLiked_BeforePostCreated_ShouldParkUntilCreated() throws Exception {
+        // Given: the liked queue delivers first, while the post is not in the read store yet
+        PostUnlikedEvent unlikeForSamePost = PostUnlikedEvent.builder()
+                .eventId("unlike-before-create")
+                .postId(postCreatedEvent.getPostId())
+                .userId(2L)
+                .occurredAt(LocalDateTime.now())
                 .build();
+        doThrow(new ReadStoreUpdateService.MissingPostException(1L)).doNothing()
+                .when(readStoreUpdateService).handlePostLiked(postLikedEvent);
 
         // When
-        eventConsumer.handlePostCreated(firstEvent);
-        eventConsumer.handlePostCreated(secondEvent);
+        CompletableFuture<Void> liked = eventConsumer.handlePostLiked(postLikedEvent);
+        CompletableFuture<Void> unliked = eventConsumer.handlePostUnliked(unlikeForSamePost);
+        partitionedEventExecutor.submit(1L, () -> { }).get(5, TimeUnit.SECONDS);
 
-        // Then
-        // Verify calls were made in order
+        // Then: nothing is acked, and the later unlike waits behind the parked like
+        assertThat(liked).isNotDone();
+        assertThat(unliked).isNotDone();
+        verify(readStoreUpdateService, never()).handlePostUnliked(any());
+
+        eventConsumer.handlePostCreated(postCreatedEvent).get(5, TimeUnit.SECONDS);
+        CompletableFuture.allOf(liked, unliked).get(5, TimeUnit.SECONDS);
         var inOrder = inOrder(readStoreUpdateService);
-        inOrder.verify(readStoreUpdateService).handlePostCreated(firstEvent);
-        inOrder.verify(readStoreUpdateService).handlePostCreated(secondEvent);
+        inOrder.verify(readStoreUpdateService).handlePostCreated(postCreatedEvent);
+        inOrder.verify(readStoreUpdateService).handlePostLiked(postLikedEvent);
+        inOrder.verify(readStoreUpdateService).handlePostUnliked(unlikeForSamePost);
+        assertThat(parkedLikeEvents.hasParked(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should dead-letter a parked like whose post never arrives")
+    void handlePostLiked_WhenPostNeverArrives_ShouldRejectWithoutRequeue() {
+        // Given
+        ParkedLikeEvents shortParking = new ParkedLikeEvents(partitionedEventExecutor, 50);
+        EventConsumer consumer = new EventConsumer(readStoreUpdateService, partitionedEventExecutor,
+                likeDeltaAccumulator, shortParking);
+        doThrow(new ReadStoreUpdateService.MissingPostException(1L))
+                .when(readStoreUpdateService).handlePostLiked(postLikedEvent);
+
+        try {
+            // When
+            CompletableFuture<Void> liked = consumer.handlePostLiked(postLikedEvent);
+
+            // Then
+            assertThatThrownBy(() -> liked.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(AmqpRejectAndDontRequeueException.class);
+            assertThat(shortParking.hasParked(1L)).isFalse();
+        } finally {
+            shortParking.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hash events for the same aggregate onto the same lane")
+    void laneFor_ShouldBeStablePerAggregate() {
+        // Then
+        assertThat(partitionedEventExecutor.laneFor(42L)).isEqualTo(partitionedEventExecutor.laneFor(42L));
+        assertThat(partitionedEventExecutor.laneFor(null)).isZero();
+        assertThat(partitionedEventExecutor.laneFor(42L)).isBetween(0, partitionedEventExecutor.getLaneCount() - 1);
     }
-}
\ No newline at end of file
+}
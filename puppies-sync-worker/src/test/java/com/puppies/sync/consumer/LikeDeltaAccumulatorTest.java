@@ -0,0 +1,173 @@
+package com.puppies.sync.consumer;
+
+import com.puppies.sync.config.SyncProperties;
+import com.puppies.sync.event.PostCreatedEvent;
+import com.puppies.sync.event.PostLikedEvent;
+import com.puppies.sync.event.PostUnlikedEvent;
+import com.puppies.sync.service.LikeDelta;
+import com.puppies.sync.service.ReadStoreUpdateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LikeDeltaAccumulator.
+ *
+ * Windows are flushed explicitly; the scheduled flusher is disabled
+ * because like batching is left off in the test properties. Flushed
+ * windows are applied on real event lanes, so tests wait on the futures.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LikeDeltaAccumulator Tests")
+class LikeDeltaAccumulatorTest {
+
+    @Mock
+    private ReadStoreUpdateService readStoreUpdateService;
+
+    private final PartitionedEventExecutor partitionedEventExecutor = new PartitionedEventExecutor(2);
+
+    private final ParkedLikeEvents parkedLikeEvents = new ParkedLikeEvents(partitionedEventExecutor, 60_000);
+
+    private LikeDeltaAccumulator likeDeltaAccumulator;
+
+    @BeforeEach
+    void setUp() {
+        likeDeltaAccumulator = new LikeDeltaAccumulator(
+                readStoreUpdateService, partitionedEventExecutor, parkedLikeEvents, new SyncProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        likeDeltaAccumulator.shutdown();
+        parkedLikeEvents.shutdown();
+        partitionedEventExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should cancel a like and unlike from the same user within one window")
+    @SuppressWarnings("unchecked")
+    void flush_WithLikeAndUnlike_ShouldNetToZero() throws Exception {
+        // Given
+        CompletableFuture<Void> like = likeDeltaAccumulator.recordLike(
+                PostLikedEvent.builder().postId(1L).userId(2L).build());
+        CompletableFuture<Void> unlike = likeDeltaAccumulator.recordUnlike(
+                PostUnlikedEvent.builder().postId(1L).userId(2L).build());
+        CompletableFuture<Void> otherLike = likeDeltaAccumulator.recordLike(
+                PostLikedEvent.builder().postId(1L).userId(3L).build());
+
+        // When
+        likeDeltaAccumulator.flush();
+        CompletableFuture.allOf(like, unlike, otherLike).get(5, TimeUnit.SECONDS);
+
+        // Then
+        ArgumentCaptor<List<LikeDelta>> deltasCaptor = ArgumentCaptor.forClass(List.class);
+        verify(readStoreUpdateService).applyLikeDeltas(deltasCaptor.capture());
+        assertThat(deltasCaptor.getValue())
+                .extracting(LikeDelta::getUserId, LikeDelta::getDelta)
+                .containsExactly(
+                        tuple(2L, 0),
+                        tuple(3L, 1));
+        assertThat(likeDeltaAccumulator.getStats()).containsEntry("eventsCancelled", 2L);
+    }
+
+    @Test
+    @DisplayName("Should fail every event in the window when the flush fails")
+    void flush_WhenServiceFails_ShouldCompleteFuturesExceptionally() {
+        // Given
+        doThrow(new RuntimeException("Database update failed"))
+                .when(readStoreUpdateService).applyLikeDeltas(anyList());
+        CompletableFuture<Void> like = likeDeltaAccumulator.recordLike(
+                PostLikedEvent.builder().postId(1L).userId(2L).build());
+
+        // When
+        likeDeltaAccumulator.flush();
+
+        // Then
+        assertThatThrownBy(() -> like.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("Database update failed");
+    }
+
+    @Test
+    @DisplayName("Should apply a like recorded before its post's creation after the creation")
+    void flush_WithLikeBeforeCreate_ShouldApplyAfterCreateOnPostLane() throws Exception {
+        // Given: the like is received first, then the creation of its post is still running
+        CountDownLatch createRunning = new CountDownLatch(1);
+        CountDownLatch releaseCreate = new CountDownLatch(1);
+        PostCreatedEvent created = PostCreatedEvent.builder().postId(1L).authorId(9L).build();
+        doAnswer(invocation -> {
+            createRunning.countDown();
+            releaseCreate.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(readStoreUpdateService).handlePostCreated(created);
+        CompletableFuture<Void> like = likeDeltaAccumulator.recordLike(
+                PostLikedEvent.builder().postId(1L).userId(2L).build());
+        CompletableFuture<Void> create = partitionedEventExecutor.submit(1L,
+                () -> readStoreUpdateService.handlePostCreated(created));
+        assertThat(createRunning.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        likeDeltaAccumulator.flush();
+
+        // Then: the like waits on the post's lane until the creation commits
+        verify(readStoreUpdateService, after(100).never()).applyLikeDeltas(anyList());
+        assertThat(like).isNotDone();
+        releaseCreate.countDown();
+        CompletableFuture.allOf(create, like).get(5, TimeUnit.SECONDS);
+        InOrder inOrder = inOrder(readStoreUpdateService);
+        inOrder.verify(readStoreUpdateService).handlePostCreated(created);
+        inOrder.verify(readStoreUpdateService).applyLikeDeltas(anyList());
+    }
+
+    @Test
+    @DisplayName("Should park a window's deltas for a post missing from the read store until it is created")
+    void flush_WithMissingPost_ShouldParkUntilReplayed() throws Exception {
+        // Given: post 1 is not in the read store yet, post 3 is
+        when(readStoreUpdateService.applyLikeDeltas(anyList())).thenReturn(Set.of(1L), Set.of());
+        CompletableFuture<Void> early = likeDeltaAccumulator.recordLike(
+                PostLikedEvent.builder().postId(1L).userId(2L).build());
+        CompletableFuture<Void> other = likeDeltaAccumulator.recordLike(
+                PostLikedEvent.builder().postId(3L).userId(2L).build());
+
+        // When
+        likeDeltaAccumulator.flush();
+        other.get(5, TimeUnit.SECONDS);
+
+        // Then: the early like is held unacked until the post's creation replays it
+        assertThat(early).isNotDone();
+        assertThat(parkedLikeEvents.hasParked(1L)).isTrue();
+        partitionedEventExecutor.submit(1L, () -> parkedLikeEvents.replay(1L)).get(5, TimeUnit.SECONDS);
+        early.get(5, TimeUnit.SECONDS);
+        verify(readStoreUpdateService, times(2)).applyLikeDeltas(anyList());
+    }
+
+    @Test
+    @DisplayName("Should not call the service for an empty window")
+    void flush_WithEmptyWindow_ShouldDoNothing() {
+        // When
+        likeDeltaAccumulator.flush();
+
+        // Then
+        verify(readStoreUpdateService, never()).applyLikeDeltas(any());
+    }
+}
@@ -0,0 +1,109 @@
+package com.puppies.sync.invalidation;
+
+import com.puppies.sync.config.SyncProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReadModelInvalidationPublisher.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadModelInvalidationPublisher Tests")
+class ReadModelInvalidationPublisherTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private Cursor<String> cursor;
+
+    private SyncProperties syncProperties;
+
+    private ReadModelInvalidationPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        syncProperties = new SyncProperties();
+        publisher = new ReadModelInvalidationPublisher(stringRedisTemplate, syncProperties);
+    }
+
+    @Test
+    @DisplayName("Should publish the touched entities as JSON on the configured channel")
+    void onCommitted_ShouldPublishJson() {
+        // Given
+        ReadModelInvalidation invalidation = ReadModelInvalidation.builder()
+                .authorIds(Set.of(7L))
+                .newPosts(true)
+                .allFeeds(true)
+                .build();
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+
+        // When
+        publisher.onCommitted(invalidation);
+
+        // Then
+        InOrder inOrder = inOrder(stringRedisTemplate);
+        inOrder.verify(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+        inOrder.verify(stringRedisTemplate).scan(any(ScanOptions.class));
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        inOrder.verify(stringRedisTemplate).convertAndSend(eq("puppies:cache:read-model-invalidation"), message.capture());
+        assertThat(message.getValue())
+                .contains("\"authorIds\":[7]")
+                .contains("\"newPosts\":true")
+                .contains("\"allFeeds\":true")
+                .doesNotContain("empty");
+        assertThat(publisher.getStats())
+                .containsEntry("published", 1L)
+                .containsEntry("evictedKeys", 1L)
+                .containsEntry("generationBumps", 3L)
+                .containsEntry("failed", 0L);
+    }
+
+    @Test
+    @DisplayName("Should name the entries and listings a change touches by their Query API keys")
+    void cacheKeysAndListings_ShouldNameTouchedData() {
+        // Given
+        ReadModelInvalidation fannedOut = ReadModelInvalidation.builder()
+                .postIds(Set.of(5L))
+                .authorIds(Set.of(7L))
+                .feedUserIds(Set.of(2L))
+                .newPosts(true)
+                .build();
+
+        // When / Then
+        assertThat(fannedOut.cacheKeys())
+                .containsExactly("post::5", "author_post_count::7", "user_feed_count::2");
+        assertThat(fannedOut.listings()).containsExactly("author_posts_7", "posts", "user_feed_2");
+        assertThat(fannedOut.clearedRegions()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not publish empty invalidations or when disabled")
+    void onCommitted_WhenEmptyOrDisabled_ShouldSkip() {
+        // When
+        publisher.onCommitted(ReadModelInvalidation.builder().build());
+        syncProperties.getInvalidation().setEnabled(false);
+        publisher.onCommitted(ReadModelInvalidation.builder().postIds(Set.of(1L)).build());
+
+        // Then
+        verify(stringRedisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+}
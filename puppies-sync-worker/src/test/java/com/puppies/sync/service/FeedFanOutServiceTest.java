@@ -0,0 +1,191 @@
+package com.puppies.sync.service;
+
+import com.puppies.sync.config.SyncProperties;
+import com.puppies.sync.invalidation.ReadModelInvalidation;
+import com.puppies.sync.model.ReadPost;
+import com.puppies.sync.repository.ReadUserProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FeedFanOutService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeedFanOutService Tests")
+class FeedFanOutServiceTest {
+
+    @Mock
+    private ReadUserProfileRepository readUserProfileRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private FeedFanOutService feedFanOutService;
+
+    private SyncProperties syncProperties;
+
+    private ReadPost post;
+
+    @BeforeEach
+    void setUp() {
+        syncProperties = new SyncProperties();
+        syncProperties.getFanOut().setBatchSize(2);
+        feedFanOutService = new FeedFanOutService(readUserProfileRepository, jdbcTemplate, syncProperties, eventPublisher);
+
+        post = ReadPost.builder()
+                .id(10L)
+                .authorId(1L)
+                .authorName("John Doe")
+                .content("Test post content")
+                .imageUrl("http://example.com/image.jpg")
+                .likeCount(0L)
+                .popularityScore(1.0)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should page recipients by ID and write one multi-row insert per page")
+    void fanOut_ShouldWriteOneInsertPerPage() {
+        // Given
+        when(readUserProfileRepository.findIdsAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(1L, 2L));
+        when(readUserProfileRepository.findIdsAfter(2L, PageRequest.of(0, 2))).thenReturn(List.of(3L));
+        stubInserted(FeedFanOutService.INSERT_FEED_ITEM_SQL, List.of(2L, 1L), List.of(3L));
+
+        // When
+        long inserted = feedFanOutService.fanOut(post);
+
+        // Then
+        assertThat(inserted).isEqualTo(3L);
+        verify(jdbcTemplate, times(2)).query(eq(FeedFanOutService.INSERT_FEED_ITEM_SQL),
+                any(PreparedStatementSetter.class), any(RowMapper.class));
+        // Short page means no further lookup is needed
+        verify(readUserProfileRepository, times(2)).findIdsAfter(any(Long.class), any());
+        assertThat(feedFanOutService.getStats()).containsEntry("batches", 2L).containsEntry("rows", 3L);
+        // One bounded feed invalidation per page, naming that page's recipients
+        verify(eventPublisher).publishEvent(ReadModelInvalidation.builder().feedUserIds(Set.of(1L, 2L)).build());
+        verify(eventPublisher).publishEvent(ReadModelInvalidation.builder().feedUserIds(Set.of(3L)).build());
+    }
+
+    @Test
+    @DisplayName("Should write narrow feed references in reference storage mode")
+    void fanOut_InReferenceMode_ShouldWriteFeedRefs() {
+        // Given
+        syncProperties.getFeed().setStorageMode(SyncProperties.FeedStorageMode.REFERENCE);
+        when(readUserProfileRepository.findIdsAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(1L));
+        stubInserted(FeedFanOutService.INSERT_FEED_REF_SQL, List.of(1L));
+
+        // When
+        feedFanOutService.fanOut(post);
+
+        // Then
+        verify(jdbcTemplate, never()).query(eq(FeedFanOutService.INSERT_FEED_ITEM_SQL),
+                any(PreparedStatementSetter.class), any(RowMapper.class));
+    }
+
+    @Test
+    @DisplayName("Should not write anything when there are no recipients")
+    void fanOut_WithNoRecipients_ShouldSkipWrites() {
+        // Given
+        when(readUserProfileRepository.findIdsAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of());
+
+        // When
+        long inserted = feedFanOutService.fanOut(post);
+
+        // Then
+        assertThat(inserted).isZero();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should bind column defaults for a post without like count or score")
+    void fanOut_WithNullCounters_ShouldBindDefaults() throws Exception {
+        // Given
+        post.setLikeCount(null);
+        post.setPopularityScore(null);
+        when(readUserProfileRepository.findIdsAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(1L));
+        stubInserted(FeedFanOutService.INSERT_FEED_ITEM_SQL, List.of(1L));
+
+        // When
+        feedFanOutService.fanOut(post);
+
+        // Then
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbcTemplate).query(eq(FeedFanOutService.INSERT_FEED_ITEM_SQL), setter.capture(), any(RowMapper.class));
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(ps.getConnection()).thenReturn(connection);
+        setter.getValue().setValues(ps);
+        verify(ps).setLong(6, 0L);
+        verify(ps).setDouble(7, 0.0);
+        verify(connection).createArrayOf("bigint", new Object[] {1L});
+    }
+
+    @Test
+    @DisplayName("Should bump feed counters once per page for the rows actually inserted")
+    void fanOut_ShouldIncrementCountersForInsertedRowsOnly() throws Exception {
+        // Given: recipient 2 already had the post from an earlier delivery
+        syncProperties.getFanOut().setBatchSize(3);
+        when(readUserProfileRepository.findIdsAfter(0L, PageRequest.of(0, 3))).thenReturn(List.of(1L, 2L));
+        stubInserted(FeedFanOutService.INSERT_FEED_ITEM_SQL, List.of(1L));
+
+        // When
+        long inserted = feedFanOutService.fanOut(post);
+
+        // Then
+        assertThat(inserted).isEqualTo(1L);
+        verify(eventPublisher).publishEvent(ReadModelInvalidation.builder().feedUserIds(Set.of(1L)).build());
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbcTemplate).update(eq(FeedFanOutService.INCREMENT_FEED_COUNTERS_SQL), setter.capture());
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(ps.getConnection()).thenReturn(connection);
+        setter.getValue().setValues(ps);
+        verify(connection).createArrayOf("bigint", new Object[] {1L});
+    }
+
+    @Test
+    @DisplayName("Should skip the counter upsert when a redelivered page inserts nothing")
+    void fanOut_WhenPageAlreadyWritten_ShouldNotTouchCounters() {
+        // Given
+        when(readUserProfileRepository.findIdsAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(1L));
+        stubInserted(FeedFanOutService.INSERT_FEED_ITEM_SQL, List.of());
+
+        // When
+        long inserted = feedFanOutService.fanOut(post);
+
+        // Then
+        assertThat(inserted).isZero();
+        verify(jdbcTemplate, never()).update(any(String.class), any(PreparedStatementSetter.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private void stubInserted(String sql, List<Long> first, List<?>... rest) {
+        doReturn(first, (Object[]) rest).when(jdbcTemplate)
+                .query(eq(sql), any(PreparedStatementSetter.class), any(RowMapper.class));
+    }
+}
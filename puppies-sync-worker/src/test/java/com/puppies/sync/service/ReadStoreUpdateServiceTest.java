@@ -1,12 +1,18 @@
 package com.puppies.sync.service;
 
+import com.puppies.sync.config.SyncProperties;
 import com.puppies.sync.event.PostCreatedEvent;
 import com.puppies.sync.event.PostLikedEvent;
+import com.puppies.sync.event.PostUnlikedEvent;
 import com.puppies.sync.event.UserCreatedEvent;
 import com.puppies.sync.model.ReadFeedItem;
 import com.puppies.sync.model.ReadPost;
 import com.puppies.sync.model.ReadUserProfile;
+import com.puppies.sync.invalidation.ReadModelInvalidation;
+import com.puppies.sync.model.ReadCounter;
+import com.puppies.sync.repository.ReadCounterRepository;
 import com.puppies.sync.repository.ReadFeedItemRepository;
+import com.puppies.sync.repository.ReadFeedRefRepository;
 import com.puppies.sync.repository.ReadPostRepository;
 import com.puppies.sync.repository.ReadUserProfileRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,11 +22,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -47,6 +56,21 @@ class ReadStoreUpdateServiceTest {
     @Mock
     private ReadFeedItemRepository readFeedItemRepository;
 
+    @Mock
+    private ReadFeedRefRepository readFeedRefRepository;
+
+    @Mock
+    private ReadCounterRepository readCounterRepository;
+
+    @Mock
+    private FeedFanOutService feedFanOutService;
+
+    @Spy
+    private SyncProperties syncProperties = new SyncProperties();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ReadStoreUpdateService readStoreUpdateService;
 
@@ -100,7 +124,6 @@ class ReadStoreUpdateServiceTest {
     void handlePostCreated_ShouldCreateReadPostAndUpdateUserProfile() {
         // Given
         when(readUserProfileRepository.incrementPostsCount(postCreatedEvent.getAuthorId())).thenReturn(1);
-        when(readUserProfileRepository.findAll()).thenReturn(List.of(existingUserProfile));
 
         // When
         readStoreUpdateService.handlePostCreated(postCreatedEvent);
@@ -124,8 +147,11 @@ class ReadStoreUpdateServiceTest {
         // Verify user profile post count increment
         verify(readUserProfileRepository).incrementPostsCount(1L);
 
-        // Verify feed items creation
-        verify(readFeedItemRepository, atLeastOnce()).save(any(ReadFeedItem.class));
+        // Verify maintained author total
+        verify(readCounterRepository).incrementBy(ReadCounter.authorPostsKey(1L), 1);
+
+        // Verify feed fan-out
+        verify(feedFanOutService).fanOut(savedPost);
     }
 
     @Test
@@ -133,7 +159,6 @@ class ReadStoreUpdateServiceTest {
     void handlePostCreated_WhenUserNotFound_ShouldCreatePlaceholderProfile() {
         // Given
         when(readUserProfileRepository.incrementPostsCount(postCreatedEvent.getAuthorId())).thenReturn(0);
-        when(readUserProfileRepository.findAll()).thenReturn(List.of());
 
         // When
         readStoreUpdateService.handlePostCreated(postCreatedEvent);
@@ -155,11 +180,135 @@ class ReadStoreUpdateServiceTest {
     @Test
     @DisplayName("Should handle PostLikedEvent and increment like count")
     void handlePostLiked_ShouldIncrementLikeCount() {
+        // Given
+        when(readPostRepository.adjustLikeCountReturning(1L, 1L)).thenReturn(Optional.of(snapshot(1L, 7L)));
+
+        // When
+        readStoreUpdateService.handlePostLiked(postLikedEvent);
+
+        // Then
+        verify(readPostRepository).adjustLikeCountReturning(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should propagate like from the returned post row without re-reading the post")
+    void handlePostLiked_ShouldPropagateFromReturnedRow() {
+        // Given
+        when(readPostRepository.adjustLikeCountReturning(1L, 1L)).thenReturn(Optional.of(snapshot(5L, 7L)));
+
+        // When
+        readStoreUpdateService.handlePostLiked(postLikedEvent);
+
+        // Then
+        // The score is recomputed by the like count update itself
+        verify(readPostRepository, never()).updatePopularityScore(any(), any());
+        verify(readFeedItemRepository).applyLikeStatusForUser(1L, 2L, true, 5L, 10.0);
+        verify(readUserProfileRepository).applyLikeDelta(2L, 7L, 1L, postLikedEvent.getLikedAt());
+        verify(readPostRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should publish an invalidation for the liked post, its author and the liking user's feed")
+    void handlePostLiked_ShouldPublishInvalidation() {
+        // Given
+        when(readPostRepository.adjustLikeCountReturning(1L, 1L)).thenReturn(Optional.of(snapshot(5L, 7L)));
+
+        // When
+        readStoreUpdateService.handlePostLiked(postLikedEvent);
+
+        // Then
+        ArgumentCaptor<ReadModelInvalidation> invalidationCaptor = ArgumentCaptor.forClass(ReadModelInvalidation.class);
+        verify(eventPublisher).publishEvent(invalidationCaptor.capture());
+        ReadModelInvalidation invalidation = invalidationCaptor.getValue();
+        assertThat(invalidation.getPostIds()).containsExactly(1L);
+        assertThat(invalidation.getAuthorIds()).containsExactly(7L);
+        assertThat(invalidation.getFeedUserIds()).containsExactly(2L);
+        assertThat(invalidation.isNewPosts()).isFalse();
+        assertThat(invalidation.isAllFeeds()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should only touch the liking user's feed reference in reference storage mode")
+    void handlePostLiked_InReferenceMode_ShouldNotRewriteFeedCopies() {
+        // Given
+        syncProperties.getFeed().setStorageMode(SyncProperties.FeedStorageMode.REFERENCE);
+        when(readPostRepository.adjustLikeCountReturning(1L, 1L)).thenReturn(Optional.of(snapshot(5L, 7L)));
+
         // When
         readStoreUpdateService.handlePostLiked(postLikedEvent);
 
         // Then
-        verify(readPostRepository).incrementLikeCount(1L);
+        verify(readFeedRefRepository).updateLikeStatusForUser(1L, 2L, true);
+        verifyNoInteractions(readFeedItemRepository);
+        verify(readUserProfileRepository).applyLikeDelta(2L, 7L, 1L, postLikedEvent.getLikedAt());
+    }
+
+    @Test
+    @DisplayName("Should report a like for a post missing from the read store so it can be retried")
+    void handlePostLiked_WhenPostNotFound_ShouldThrowMissingPost() {
+        // Given
+        when(readPostRepository.adjustLikeCountReturning(1L, 1L)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> readStoreUpdateService.handlePostLiked(postLikedEvent))
+                .isInstanceOf(ReadStoreUpdateService.MissingPostException.class);
+        verifyNoInteractions(readFeedItemRepository, readUserProfileRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should handle PostUnlikedEvent and decrement like count")
+    void handlePostUnliked_ShouldDecrementLikeCount() {
+        // Given
+        PostUnlikedEvent unlikedEvent = PostUnlikedEvent.builder().postId(1L).userId(2L).build();
+        when(readPostRepository.adjustLikeCountReturning(1L, -1L)).thenReturn(Optional.of(snapshot(4L, 7L)));
+
+        // When
+        readStoreUpdateService.handlePostUnliked(unlikedEvent);
+
+        // Then
+        verify(readFeedItemRepository).applyLikeStatusForUser(eq(1L), eq(2L), eq(false), eq(4L), any(Double.class));
+        verify(readUserProfileRepository).applyLikeDelta(2L, 7L, -1L, null);
+    }
+
+    @Test
+    @DisplayName("Should apply one aggregated update per post for coalesced like deltas")
+    void applyLikeDeltas_ShouldAggregatePerPost() {
+        // Given
+        List<LikeDelta> deltas = List.of(
+                LikeDelta.builder().postId(1L).userId(2L).delta(1).build(),
+                LikeDelta.builder().postId(1L).userId(3L).delta(1).build(),
+                LikeDelta.builder().postId(1L).userId(4L).delta(-1).build(),
+                LikeDelta.builder().postId(2L).userId(2L).delta(1).build());
+        
+        when(readPostRepository.adjustLikeCountReturning(1L, 1L)).thenReturn(Optional.of(snapshot(3L, 1L)));
+        when(readPostRepository.adjustLikeCountReturning(2L, 1L)).thenReturn(Optional.empty());
+
+        // When
+        Set<Long> missingPostIds = readStoreUpdateService.applyLikeDeltas(deltas);
+
+        // Then
+        verify(readPostRepository).adjustLikeCountReturning(1L, 1L);
+        verify(readFeedItemRepository).updateLikeCountAndPopularityForPost(1L, 3L, 6.0);
+        verify(readUserProfileRepository).adjustLikesReceived(1L, 1L);
+        verify(readFeedItemRepository).updateLikeStatusForUser(1L, 2L, true);
+        verify(readFeedItemRepository).updateLikeStatusForUser(1L, 4L, false);
+        verify(readUserProfileRepository).adjustLikesGiven(2L, 1L);
+        verify(readUserProfileRepository).adjustLikesGiven(3L, 1L);
+        verify(readUserProfileRepository).adjustLikesGiven(4L, -1L);
+        
+        // Changes for a post missing from the read store are left unapplied and reported
+        verify(readFeedItemRepository, never()).updateLikeStatusForUser(eq(2L), any(), any());
+        assertThat(missingPostIds).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when all like deltas cancel out")
+    void applyLikeDeltas_WhenAllDeltasCancel_ShouldSkipDatabase() {
+        // When
+        readStoreUpdateService.applyLikeDeltas(List.of(LikeDelta.builder().postId(1L).userId(2L).delta(0).build()));
+
+        // Then
+        verifyNoInteractions(readPostRepository, readFeedItemRepository, readUserProfileRepository);
     }
 
     @Test
@@ -220,7 +369,6 @@ class ReadStoreUpdateServiceTest {
     void handlePostCreated_ShouldCalculateInitialPopularityScore() {
         // Given
         when(readUserProfileRepository.incrementPostsCount(postCreatedEvent.getAuthorId())).thenReturn(1);
-        when(readUserProfileRepository.findAll()).thenReturn(List.of(existingUserProfile));
 
         // When
         readStoreUpdateService.handlePostCreated(postCreatedEvent);
@@ -235,35 +383,28 @@ class ReadStoreUpdateServiceTest {
     }
 
     @Test
-    @DisplayName("Should create feed items for all users when post is created")
-    void handlePostCreated_ShouldCreateFeedItemsForAllUsers() {
+    @DisplayName("Should delegate feed creation to fan-out service when post is created")
+    void handlePostCreated_ShouldFanOutNewPost() {
         // Given
-        ReadUserProfile user1 = ReadUserProfile.builder().id(1L).name("User 1").build();
-        ReadUserProfile user2 = ReadUserProfile.builder().id(2L).name("User 2").build();
-        List<ReadUserProfile> allUsers = List.of(user1, user2);
-        
         when(readUserProfileRepository.incrementPostsCount(postCreatedEvent.getAuthorId())).thenReturn(1);
-        when(readUserProfileRepository.findAll()).thenReturn(allUsers);
+        when(feedFanOutService.fanOut(any(ReadPost.class))).thenReturn(2L);
 
         // When
         readStoreUpdateService.handlePostCreated(postCreatedEvent);
 
         // Then
-        // Verify feed items are created for all users
-        ArgumentCaptor<ReadFeedItem> feedItemCaptor = ArgumentCaptor.forClass(ReadFeedItem.class);
-        verify(readFeedItemRepository, times(2)).save(feedItemCaptor.capture());
+        ArgumentCaptor<ReadPost> readPostCaptor = ArgumentCaptor.forClass(ReadPost.class);
+        verify(feedFanOutService).fanOut(readPostCaptor.capture());
         
-        List<ReadFeedItem> feedItems = feedItemCaptor.getAllValues();
-        assertThat(feedItems).hasSize(2);
+        ReadPost fannedOutPost = readPostCaptor.getValue();
+        assertThat(fannedOutPost.getId()).isEqualTo(1L);
+        assertThat(fannedOutPost.getAuthorId()).isEqualTo(1L);
+        assertThat(fannedOutPost.getContent()).isEqualTo("Test post content");
+        assertThat(fannedOutPost.getImageUrl()).isEqualTo("http://example.com/image.jpg");
+        assertThat(fannedOutPost.getCreatedAt()).isEqualTo(postCreatedEvent.getCreatedAt());
         
-        // Verify feed items have correct data
-        feedItems.forEach(feedItem -> {
-            assertThat(feedItem.getPostId()).isEqualTo(1L);
-            assertThat(feedItem.getPostAuthorId()).isEqualTo(1L);
-            assertThat(feedItem.getPostContent()).isEqualTo("Test post content");
-            assertThat(feedItem.getPostImageUrl()).isEqualTo("http://example.com/image.jpg");
-            assertThat(feedItem.getCreatedAt()).isEqualTo(postCreatedEvent.getCreatedAt());
-        });
+        // Feed rows are no longer saved one by one through JPA
+        verify(readFeedItemRepository, never()).save(any(ReadFeedItem.class));
     }
 
     @Test
@@ -284,7 +425,7 @@ class ReadStoreUpdateServiceTest {
     @DisplayName("Should handle repository errors during like count increment")
     void handlePostLiked_WhenRepositoryFails_ShouldPropagateException() {
         // Given
-        when(readPostRepository.incrementLikeCount(any(Long.class)))
+        when(readPostRepository.adjustLikeCountReturning(any(Long.class), any(Long.class)))
                 .thenThrow(new RuntimeException("Database update failed"));
 
         // When/Then
@@ -299,7 +440,6 @@ class ReadStoreUpdateServiceTest {
     void handlePostCreated_ShouldExecuteInTransaction() {
         // Given
         when(readUserProfileRepository.incrementPostsCount(postCreatedEvent.getAuthorId())).thenReturn(1);
-        when(readUserProfileRepository.findAll()).thenReturn(List.of(existingUserProfile));
 
         // When
         readStoreUpdateService.handlePostCreated(postCreatedEvent);
@@ -308,7 +448,7 @@ class ReadStoreUpdateServiceTest {
         // Verify all operations are called (indicating transaction scope)
         verify(readPostRepository).save(any(ReadPost.class));
         verify(readUserProfileRepository).incrementPostsCount(any(Long.class));
-        verify(readFeedItemRepository, atLeastOnce()).save(any(ReadFeedItem.class));
+        verify(feedFanOutService).fanOut(any(ReadPost.class));
     }
 
     @Test
@@ -327,7 +467,6 @@ class ReadStoreUpdateServiceTest {
                 .build();
         
         when(readUserProfileRepository.incrementPostsCount(2L)).thenReturn(1);
-        when(readUserProfileRepository.findAll()).thenReturn(List.of());
 
         // When
         readStoreUpdateService.handlePostCreated(minimalEvent);
@@ -341,4 +480,23 @@ class ReadStoreUpdateServiceTest {
         assertThat(savedPost.getContent()).isNull();
         assertThat(savedPost.getImageUrl()).isEqualTo("http://example.com/minimal.jpg");
     }
+
+    private static ReadPostRepository.LikeCountSnapshot snapshot(Long likeCount, Long authorId) {
+        return new ReadPostRepository.LikeCountSnapshot() {
+            @Override
+            public Long getLikeCount() {
+                return likeCount;
+            }
+
+            @Override
+            public Long getAuthorId() {
+                return authorId;
+            }
+
+            @Override
+            public Double getPopularityScore() {
+                return likeCount * 2.0;
+            }
+        };
+    }
 }